@@ -0,0 +1,209 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.benchmark.ip2geo;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+import org.opensearch.geospatial.ip2geo.common.URLDenyListChecker;
+import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
+import org.opensearch.geospatial.ip2geo.dao.Ip2GeoCachedDao;
+import org.opensearch.geospatial.ip2geo.processor.Ip2GeoProcessor;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.threadpool.ThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare time to process a burst of concurrent documents through Ip2Geo processor with and without virtual threads
+ *
+ * Documents are processed by {@link Ip2GeoProcessor} with {@link Ip2GeoExecutor} and {@link Ip2GeoCachedDao} of the plugin,
+ * while the search of {@link GeoIpDataDao} is stubbed to block for a fixed latency. Every document has a new ip, so
+ * every lookup misses the cache and blocks. Documents are submitted from a fixed pool sized like the write thread pool.
+ * With "platform", plugins.geospatial.ip2geo.virtual_threads.enabled is off and lookups block the pool threads. With
+ * "virtual", it is on and the processor moves each document to a virtual thread through
+ * {@link Ip2GeoExecutor#forBlockingCall()}, which requires JDK 21.
+ *
+ * Run with ./gradlew :benchmarks:run --args 'Ip2GeoBlockingLookupBenchmark'
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class Ip2GeoBlockingLookupBenchmark {
+    private static final int WRITE_THREADS = 8;
+    private static final String DATASOURCE_NAME = "benchmark";
+    private static final String INDEX_NAME = ".geospatial-ip2geo-data.benchmark";
+    private static final String IP_FIELD = "ip";
+    private static final String TARGET_FIELD = "geo";
+
+    @Param({ "platform", "virtual" })
+    public String executor;
+
+    @Param({ "1000", "10000" })
+    public int concurrentDocuments;
+
+    @Param({ "5" })
+    public int lookupLatencyMillis;
+
+    private ThreadPool threadPool;
+    private Ip2GeoExecutor ip2GeoExecutor;
+    private ExecutorService writeExecutor;
+    private Ip2GeoProcessor processor;
+    private int nextIp;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Settings settings = Settings.builder()
+            .put("node.name", Ip2GeoBlockingLookupBenchmark.class.getSimpleName())
+            .put(Ip2GeoSettings.VIRTUAL_THREADS_ENABLED.getKey(), "virtual".equals(executor))
+            .build();
+        Set<Setting<?>> registeredSettings = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        registeredSettings.addAll(Ip2GeoSettings.settings());
+        ClusterSettings clusterSettings = new ClusterSettings(settings, registeredSettings);
+        threadPool = new ThreadPool(settings);
+        ClusterService clusterService = new ClusterService(settings, clusterSettings, threadPool);
+        ip2GeoExecutor = new Ip2GeoExecutor(threadPool, settings);
+        GeoIpDataDao geoIpDataDao = new DelayedGeoIpDataDao(clusterService, ip2GeoExecutor, clusterSettings, lookupLatencyMillis);
+        processor = new Ip2GeoProcessor(
+            DATASOURCE_NAME,
+            null,
+            IP_FIELD,
+            TARGET_FIELD,
+            DATASOURCE_NAME,
+            null,
+            false,
+            clusterSettings,
+            null,
+            geoIpDataDao,
+            new AvailableIp2GeoCachedDao(clusterService, geoIpDataDao),
+            ip2GeoExecutor
+        );
+        writeExecutor = Executors.newFixedThreadPool(WRITE_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writeExecutor.shutdownNow();
+        ip2GeoExecutor.close();
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void processDocuments() throws InterruptedException {
+        CountDownLatch processed = new CountDownLatch(concurrentDocuments);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < concurrentDocuments; i++) {
+            IngestDocument document = createDocument(nextIp++);
+            writeExecutor.execute(() -> processor.execute(document, (result, e) -> {
+                if (e != null) {
+                    failure.compareAndSet(null, e);
+                }
+                processed.countDown();
+            }));
+        }
+        processed.await();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Failed to process documents", failure.get());
+        }
+    }
+
+    private static IngestDocument createDocument(final int ip) {
+        Map<String, Object> source = new HashMap<>();
+        source.put(
+            IP_FIELD,
+            String.format(Locale.ROOT, "%d.%d.%d.%d", (ip >>> 24) & 0xff, (ip >>> 16) & 0xff, (ip >>> 8) & 0xff, ip & 0xff)
+        );
+        return new IngestDocument("index", Integer.toString(ip), null, null, null, source);
+    }
+
+    /**
+     * GeoIP data DAO whose search blocks for a fixed latency, the same way a search on GeoIP data index does
+     */
+    private static final class DelayedGeoIpDataDao extends GeoIpDataDao {
+        private static final Map<String, Object> GEO_DATA = Map.of("country_name", "United States", "city_name", "Seattle");
+        private final int lookupLatencyMillis;
+
+        private DelayedGeoIpDataDao(
+            final ClusterService clusterService,
+            final Ip2GeoExecutor ip2GeoExecutor,
+            final ClusterSettings clusterSettings,
+            final int lookupLatencyMillis
+        ) {
+            super(clusterService, null, new URLDenyListChecker(clusterSettings), ip2GeoExecutor);
+            this.lookupLatencyMillis = lookupLatencyMillis;
+        }
+
+        @Override
+        public Map<String, Object> getGeoIpData(final String indexName, final String ip, final TimeValue timeout) {
+            try {
+                Thread.sleep(lookupLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return GEO_DATA;
+        }
+    }
+
+    /**
+     * Cached DAO with routing of a single available datasource, as cluster state is not applied in the benchmark
+     */
+    private static final class AvailableIp2GeoCachedDao extends Ip2GeoCachedDao {
+        private AvailableIp2GeoCachedDao(final ClusterService clusterService, final GeoIpDataDao geoIpDataDao) {
+            super(clusterService, null, null, geoIpDataDao);
+        }
+
+        @Override
+        public String getIndexName(final String datasourceName) {
+            return INDEX_NAME;
+        }
+
+        @Override
+        public boolean isExpired(final String datasourceName) {
+            return false;
+        }
+
+        @Override
+        public boolean has(final String datasourceName) {
+            return true;
+        }
+
+        @Override
+        public DatasourceState getState(final String datasourceName) {
+            return DatasourceState.AVAILABLE;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.benchmark.ip2geo;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.codecs.FilterCodec;
+import org.apache.lucene.codecs.StoredFieldsFormat;
+import org.apache.lucene.codecs.lucene90.Lucene90StoredFieldsFormat;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.InetAddressPoint;
+import org.apache.lucene.document.InetAddressRange;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortedSetSortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare lookup latency and index size of Ip2Geo data index layouts
+ *
+ * The benchmark builds Lucene indices the same way OpenSearch does for the fields of an Ip2Geo data index.
+ * "current" stores the full source without index sorting using the default codec, and "lookup_optimized"
+ * sorts documents by the start of ip range, compresses stored fields with best compression, and stores
+ * only GeoIP data in source. Documents are added in random order as bulk requests are not guaranteed to
+ * be applied in the order of the database file. Index size of each layout is printed at setup.
+ *
+ * Run with ./gradlew :benchmarks:run --args 'Ip2GeoDataIndexLayoutBenchmark'
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class Ip2GeoDataIndexLayoutBenchmark {
+    private static final String ID_FIELD_NAME = "_id";
+    private static final String SOURCE_FIELD_NAME = "_source";
+    private static final String IP_RANGE_FIELD_NAME = "_cidr";
+    private static final String IP_RANGE_START_FIELD_NAME = "_cidr_start";
+    private static final String[] COUNTRIES = { "United States", "Germany", "Japan", "Brazil", "India", "Kenya", "Canada", "France" };
+    private static final String[] CITIES = { "Seattle", "Berlin", "Tokyo", "Sao Paulo", "Mumbai", "Nairobi", "Toronto", "Paris" };
+    private static final int NUM_LOOKUP_IPS = 1 << 12;
+
+    @Param({ "current", "lookup_optimized" })
+    public String layout;
+
+    @Param({ "100000" })
+    public int numRanges;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private InetAddress[] lookupIps;
+    private int totalHitsThreshold;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        List<Integer> rangeStarts = new ArrayList<>(numRanges);
+        int start = 1 << 24;
+        for (int i = 0; i < numRanges; i++) {
+            rangeStarts.add(start);
+            // Leave random gaps between ranges so that some lookups do not match any range
+            start += 256 * (1 + random.nextInt(2));
+        }
+
+        lookupIps = new InetAddress[NUM_LOOKUP_IPS];
+        for (int i = 0; i < NUM_LOOKUP_IPS; i++) {
+            lookupIps[i] = toInetAddress(rangeStarts.get(random.nextInt(numRanges)) + random.nextInt(512));
+        }
+
+        Collections.shuffle(rangeStarts, random);
+        boolean optimized = "lookup_optimized".equals(layout);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, indexWriterConfig(optimized))) {
+            for (int rangeStart : rangeStarts) {
+                writer.addDocument(createDocument(rangeStart, random, optimized));
+            }
+            writer.forceMerge(1);
+        }
+
+        long sizeInBytes = 0;
+        for (String file : directory.listAll()) {
+            sizeInBytes += directory.fileLength(file);
+        }
+        System.out.printf(Locale.ROOT, "%nIndex size of %s layout with %d ranges: %d bytes%n", layout, numRanges, sizeInBytes);
+
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        // Search request tracks total hits up to 10,000 by default and the optimized lookup disables it
+        totalHitsThreshold = optimized ? 1 : 10000;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public int lookup() throws IOException {
+        InetAddress ip = lookupIps[next++ & (NUM_LOOKUP_IPS - 1)];
+        TopDocs topDocs = searcher.search(
+            InetAddressRange.newIntersectsQuery(IP_RANGE_FIELD_NAME, ip, ip),
+            new TopScoreDocCollectorManager(1, totalHitsThreshold)
+        );
+        if (topDocs.scoreDocs.length == 0) {
+            return 0;
+        }
+        return searcher.storedFields().document(topDocs.scoreDocs[0].doc).getBinaryValue(SOURCE_FIELD_NAME).length;
+    }
+
+    private IndexWriterConfig indexWriterConfig(final boolean optimized) {
+        IndexWriterConfig config = new IndexWriterConfig();
+        if (optimized) {
+            config.setCodec(new BestCompressionCodec());
+            config.setIndexSort(new Sort(new SortedSetSortField(IP_RANGE_START_FIELD_NAME, false)));
+        }
+        return config;
+    }
+
+    private Document createDocument(final int rangeStart, final Random random, final boolean optimized) throws UnknownHostException {
+        InetAddress lower = toInetAddress(rangeStart);
+        InetAddress upper = toInetAddress(rangeStart + 255);
+        String cidr = lower.getHostAddress() + "/24";
+        String data = String.format(
+            Locale.ROOT,
+            "{\"country_name\":\"%s\",\"city_name\":\"%s\",\"location\":\"%.4f,%.4f\",\"time_zone\":\"UTC%+d\"}",
+            COUNTRIES[random.nextInt(COUNTRIES.length)],
+            CITIES[random.nextInt(CITIES.length)],
+            random.nextDouble() * 180 - 90,
+            random.nextDouble() * 360 - 180,
+            random.nextInt(24) - 12
+        );
+
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD_NAME, cidr, Field.Store.YES));
+        document.add(new InetAddressRange(IP_RANGE_FIELD_NAME, lower, upper));
+        if (optimized) {
+            document.add(new SortedSetDocValuesField(IP_RANGE_START_FIELD_NAME, new BytesRef(InetAddressPoint.encode(lower))));
+            document.add(new StoredField(SOURCE_FIELD_NAME, new BytesRef(("{\"_data\":" + data + "}").getBytes(StandardCharsets.UTF_8))));
+        } else {
+            String source = String.format(Locale.ROOT, "{\"%s\":\"%s\",\"_data\":%s}", IP_RANGE_FIELD_NAME, cidr, data);
+            document.add(new StoredField(SOURCE_FIELD_NAME, new BytesRef(source.getBytes(StandardCharsets.UTF_8))));
+        }
+        return document;
+    }
+
+    private static InetAddress toInetAddress(final int address) throws UnknownHostException {
+        return InetAddress.getByAddress(
+            new byte[] { (byte) (address >>> 24), (byte) (address >>> 16), (byte) (address >>> 8), (byte) address }
+        );
+    }
+
+    /**
+     * Default codec with stored fields compressed by best compression mode as "index.codec: best_compression" does
+     */
+    private static class BestCompressionCodec extends FilterCodec {
+        private final StoredFieldsFormat storedFieldsFormat = new Lucene90StoredFieldsFormat(
+            Lucene90StoredFieldsFormat.Mode.BEST_COMPRESSION
+        );
+
+        BestCompressionCodec() {
+            super(Codec.getDefault().getName(), Codec.getDefault());
+        }
+
+        @Override
+        public StoredFieldsFormat storedFieldsFormat() {
+            return storedFieldsFormat;
+        }
+    }
+}
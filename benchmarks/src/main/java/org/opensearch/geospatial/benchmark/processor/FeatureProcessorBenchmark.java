@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.benchmark.processor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.geospatial.geojson.Feature;
+import org.opensearch.geospatial.processor.FeatureProcessor;
+import org.opensearch.ingest.IngestDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare cost of converting a GeoJSON Feature with many properties into a document
+ *
+ * "featureProcessor" runs {@link FeatureProcessor}, which reads the Feature as a view over the document and moves
+ * properties into the document directly. "copyAndSetFieldValue" is the previous conversion, which copies geometry
+ * and properties into new maps, and moves properties one at a time with {@link IngestDocument#setFieldValue}.
+ * Both start from a new {@link IngestDocument} of the same Feature, like an upload does.
+ *
+ * Run with ./gradlew :benchmarks:run --args 'FeatureProcessorBenchmark'
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FeatureProcessorBenchmark {
+    private static final String INDEX = "benchmark";
+    private static final String FIELD = "location";
+
+    @Param({ "10", "10000" })
+    public int numProperties;
+
+    private Map<String, Object> feature;
+    private FeatureProcessor processor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < numProperties; i++) {
+            properties.put("property_" + i, i % 2 == 0 ? "value_" + i : i);
+        }
+        Map<String, Object> geometry = new HashMap<>();
+        geometry.put(Feature.TYPE_KEY, "Polygon");
+        geometry.put("coordinates", List.of(List.of(List.of(0.0, 0.0), List.of(1.0, 0.0), List.of(1.0, 1.0), List.of(0.0, 0.0))));
+        feature = new HashMap<>();
+        feature.put(Feature.TYPE_KEY, Feature.TYPE);
+        feature.put(Feature.GEOMETRY_KEY, geometry);
+        feature.put(Feature.PROPERTIES_KEY, properties);
+        processor = new FeatureProcessor(null, null, FIELD);
+    }
+
+    @Benchmark
+    public IngestDocument featureProcessor() {
+        return processor.execute(newDocument());
+    }
+
+    @Benchmark
+    public IngestDocument copyAndSetFieldValue() {
+        IngestDocument document = newDocument();
+        Map<String, Object> source = document.getSourceAndMetadata();
+        Map<String, Object> geometry = new HashMap<>(Collections.unmodifiableMap(toMap(source.get(Feature.GEOMETRY_KEY))));
+        Map<String, Object> properties = new HashMap<>(Collections.unmodifiableMap(toMap(source.get(Feature.PROPERTIES_KEY))));
+        document.removeField(Feature.TYPE_KEY);
+        properties.forEach(document::setFieldValue);
+        document.removeField(Feature.PROPERTIES_KEY);
+        document.setFieldValue(FIELD, geometry);
+        document.removeField(Feature.GEOMETRY_KEY);
+        return document;
+    }
+
+    private IngestDocument newDocument() {
+        return new IngestDocument(INDEX, null, null, null, null, feature);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(final Object value) {
+        return new HashMap<>((Map<String, Object>) value);
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.benchmark.upload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.common.geo.GeometryParser;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.geospatial.action.upload.geojson.FeatureIterator;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent;
+import org.opensearch.geospatial.processor.FeatureProcessor;
+import org.opensearch.ingest.IngestDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare upload throughput of GeoJSON and FlatGeobuf for a dataset of 1M polygons
+ *
+ * Each invocation prepares index requests for every feature of the dataset the same way the upload does, from
+ * validating the request body to serializing the source of index requests, without executing them. Both formats
+ * carry the same polygons with an integer and a string property. Scores are features per second, and the size
+ * of each request body is printed at setup.
+ *
+ * Either way, the geometry in the source is parsed again with {@link GeometryParser} by the geo_shape mapper on
+ * the shard, from GeoJSON or from WKT. With parseOnShard, each source is also parsed the way the mapper does,
+ * so scores cover both ends of the upload, short of writing to Lucene.
+ *
+ * Run with ./gradlew :benchmarks:run --args 'UploadFormatBenchmark'
+ */
+@Fork(value = 1, jvmArgsAppend = { "-Xms6g", "-Xmx6g" })
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(UploadFormatBenchmark.NUM_FEATURES)
+@State(Scope.Benchmark)
+public class UploadFormatBenchmark {
+    static final int NUM_FEATURES = 1_000_000;
+    private static final String INDEX = "benchmark";
+    private static final String FIELD = "location";
+    private static final String FIELD_TYPE = "geo_shape";
+
+    @Param({ "5", "16" })
+    public int numVertices;
+
+    @Param({ "false", "true" })
+    public boolean parseOnShard;
+
+    // defaults of geo_shape: counterclockwise orientation, no coercion and ignoring z value
+    private final GeometryParser geometryParser = new GeometryParser(true, false, true);
+
+    private BytesReference geoJSON;
+    private BytesReference flatGeobuf;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        double[][][] polygons = randomPolygons(new Random(42));
+        geoJSON = buildGeoJSON(polygons);
+        flatGeobuf = new BytesArray(new FlatGeobufWriter().write(polygons));
+        System.out.printf(
+            Locale.ROOT,
+            "%nRequest body of %d polygons with %d vertices: GeoJSON %d bytes, FlatGeobuf %d bytes%n",
+            NUM_FEATURES,
+            numVertices,
+            geoJSON.length(),
+            flatGeobuf.length()
+        );
+    }
+
+    @Benchmark
+    public void geoJSON(final Blackhole blackhole) throws IOException, ParseException {
+        final UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(geoJSON);
+        final FeatureProcessor processor = new FeatureProcessor(null, null, content.getFieldName());
+        try (FeatureIterator features = content.features()) {
+            while (features.hasNext()) {
+                IngestDocument document = new IngestDocument(INDEX, null, null, null, null, features.next());
+                processor.execute(document);
+                document.extractMetadata();
+                consume(new IndexRequest(INDEX).source(document.getSourceAndMetadata()), blackhole);
+            }
+        }
+    }
+
+    @Benchmark
+    public void flatGeobuf(final Blackhole blackhole) throws IOException, ParseException {
+        final UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.createFromFlatGeobuf(INDEX, FIELD, FIELD_TYPE, flatGeobuf);
+        try (FeatureIterator features = content.features()) {
+            while (features.hasNext()) {
+                consume(new IndexRequest(INDEX).source(features.next()), blackhole);
+            }
+        }
+    }
+
+    private void consume(final IndexRequest request, final Blackhole blackhole) throws IOException, ParseException {
+        blackhole.consume(request);
+        if (parseOnShard) {
+            blackhole.consume(parseGeometry(request));
+        }
+    }
+
+    /**
+     * Parse the geospatial field from the source of the request, like the geo_shape mapper does on the shard
+     */
+    private Object parseGeometry(final IndexRequest request) throws IOException, ParseException {
+        try (
+            XContentParser parser = XContentHelper.createParser(
+                NamedXContentRegistry.EMPTY,
+                DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                request.source(),
+                request.getContentType()
+            )
+        ) {
+            parser.nextToken();
+            while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                final String name = parser.currentName();
+                parser.nextToken();
+                if (FIELD.equals(name)) {
+                    return geometryParser.parse(parser);
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new IllegalStateException("source has no field " + FIELD);
+    }
+
+    /**
+     * @return polygons as closed rings of x and y, around random centers
+     */
+    private double[][][] randomPolygons(final Random random) {
+        double[][][] polygons = new double[NUM_FEATURES][][];
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            double x = random.nextDouble() * 350 - 175;
+            double y = random.nextDouble() * 170 - 85;
+            double[] xs = new double[numVertices + 1];
+            double[] ys = new double[numVertices + 1];
+            for (int j = 0; j < numVertices; j++) {
+                double angle = 2 * Math.PI * j / numVertices;
+                xs[j] = x + Math.cos(angle) * (0.5 + random.nextDouble());
+                ys[j] = y + Math.sin(angle) * (0.5 + random.nextDouble());
+            }
+            xs[numVertices] = xs[0];
+            ys[numVertices] = ys[0];
+            polygons[i] = new double[][] { xs, ys };
+        }
+        return polygons;
+    }
+
+    private BytesReference buildGeoJSON(final double[][][] polygons) throws IOException {
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.startObject().field("index", INDEX).field("field", FIELD).field("type", FIELD_TYPE).startArray("data");
+            for (int i = 0; i < polygons.length; i++) {
+                builder.startObject().field("type", "Feature");
+                builder.startObject("geometry").field("type", "Polygon").startArray("coordinates").startArray();
+                for (int j = 0; j < polygons[i][0].length; j++) {
+                    builder.startArray().value(polygons[i][0][j]).value(polygons[i][1][j]).endArray();
+                }
+                builder.endArray().endArray().endObject();
+                builder.field("properties", Map.of("id", i, "name", "feature-" + i));
+                builder.endObject();
+            }
+            builder.endArray().endObject();
+            return BytesReference.bytes(builder);
+        }
+    }
+
+    /**
+     * Writes polygons as FlatGeobuf without spatial index, with columns id of type Int and name of type String
+     *
+     * Every object a FlatBuffers table refers is written after the table.
+     */
+    private static final class FlatGeobufWriter {
+        private static final byte[] MAGIC_BYTES = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00 };
+        private static final byte GEOMETRY_TYPE_POLYGON = 3;
+        private static final byte COLUMN_TYPE_INT = 5;
+        private static final byte COLUMN_TYPE_STRING = 11;
+        private ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+        private byte[] write(final double[][][] polygons) {
+            buffer.put(MAGIC_BYTES);
+            final int headerSize = reserve(Integer.BYTES);
+            buffer.putInt(headerSize, writeHeader(polygons.length) - headerSize - Integer.BYTES);
+            for (int i = 0; i < polygons.length; i++) {
+                final int featureSize = reserve(Integer.BYTES);
+                writeFeature(polygons[i], i);
+                buffer.putInt(featureSize, buffer.position() - featureSize - Integer.BYTES);
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        /**
+         * @return end position of the header
+         */
+        private int writeHeader(final long featureCount) {
+            final int root = reserve(Integer.BYTES);
+            // geometry_type, columns, features_count and index_node_size
+            final int table = writeTable(root, new int[] { 2, 7, 8, 9 }, new int[] { 1, 4, 8, 2 });
+            buffer.put(fieldPosition(table, 0), GEOMETRY_TYPE_POLYGON);
+            buffer.putLong(fieldPosition(table, 2), featureCount);
+            buffer.putShort(fieldPosition(table, 3), (short) 0);
+            final int columns = reserve(3 * Integer.BYTES);
+            patch(fieldPosition(table, 1), columns);
+            buffer.putInt(columns, 2);
+            writeColumn(columns + Integer.BYTES, "id", COLUMN_TYPE_INT);
+            writeColumn(columns + 2 * Integer.BYTES, "name", COLUMN_TYPE_STRING);
+            return buffer.position();
+        }
+
+        private void writeColumn(final int reference, final String name, final byte type) {
+            final int table = writeTable(reference, new int[] { 0, 1 }, new int[] { 4, 1 });
+            buffer.put(fieldPosition(table, 1), type);
+            patch(fieldPosition(table, 0), writeString(name));
+        }
+
+        private void writeFeature(final double[][] polygon, final int id) {
+            final int root = reserve(Integer.BYTES);
+            // geometry and properties
+            final int table = writeTable(root, new int[] { 0, 1 }, new int[] { 4, 4 });
+            // xy of geometry, without ends as the polygon has a single ring
+            final int geometry = writeTable(fieldPosition(table, 0), new int[] { 1 }, new int[] { 4 });
+            final int xy = reserve(Integer.BYTES + polygon[0].length * 2 * Double.BYTES);
+            patch(fieldPosition(geometry, 0), xy);
+            buffer.putInt(xy, polygon[0].length * 2);
+            for (int i = 0; i < polygon[0].length; i++) {
+                buffer.putDouble(xy + Integer.BYTES + 2 * i * Double.BYTES, polygon[0][i]);
+                buffer.putDouble(xy + Integer.BYTES + (2 * i + 1) * Double.BYTES, polygon[1][i]);
+            }
+            final byte[] name = ("feature-" + id).getBytes(StandardCharsets.UTF_8);
+            final int properties = reserve(Integer.BYTES + 2 * Short.BYTES + 2 * Integer.BYTES + name.length);
+            patch(fieldPosition(table, 1), properties);
+            buffer.putInt(properties, 2 * Short.BYTES + 2 * Integer.BYTES + name.length);
+            buffer.putShort(properties + Integer.BYTES, (short) 0);
+            buffer.putInt(properties + Integer.BYTES + Short.BYTES, id);
+            buffer.putShort(properties + 2 * Integer.BYTES + Short.BYTES, (short) 1);
+            buffer.putInt(properties + 2 * Integer.BYTES + 2 * Short.BYTES, name.length);
+            putBytes(properties + 3 * Integer.BYTES + 2 * Short.BYTES, name);
+        }
+
+        /**
+         * Write vtable followed by a table with given fields, and make the reference point to the table
+         *
+         * @param reference position of the offset which refers the table
+         * @param fields indices of fields in ascending order
+         * @param sizes sizes of fields
+         * @return position of the table
+         */
+        private int writeTable(final int reference, final int[] fields, final int[] sizes) {
+            final int vtableSize = 2 * Short.BYTES + (fields[fields.length - 1] + 1) * Short.BYTES;
+            final int vtable = reserve(vtableSize);
+            final int table = reserve(Integer.BYTES + Arrays.stream(sizes).sum());
+            buffer.putShort(vtable, (short) vtableSize);
+            buffer.putShort(vtable + Short.BYTES, (short) (buffer.position() - table));
+            buffer.putInt(table, table - vtable);
+            int offset = Integer.BYTES;
+            for (int i = 0; i < fields.length; i++) {
+                buffer.putShort(vtable + 2 * Short.BYTES + fields[i] * Short.BYTES, (short) offset);
+                offset += sizes[i];
+            }
+            patch(reference, table);
+            return table;
+        }
+
+        /**
+         * @return position of the i-th field of the table written by {@link #writeTable(int, int[], int[])}
+         */
+        private int fieldPosition(final int table, final int index) {
+            final int vtable = table - buffer.getInt(table);
+            int position = table + Integer.BYTES;
+            final int fields = (Short.toUnsignedInt(buffer.getShort(vtable)) - 2 * Short.BYTES) / Short.BYTES;
+            int found = -1;
+            for (int field = 0; field < fields; field++) {
+                final int offset = Short.toUnsignedInt(buffer.getShort(vtable + 2 * Short.BYTES + field * Short.BYTES));
+                if (offset != 0 && ++found == index) {
+                    position = table + offset;
+                    break;
+                }
+            }
+            return position;
+        }
+
+        private int writeString(final String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            final int position = reserve(Integer.BYTES + bytes.length);
+            buffer.putInt(position, bytes.length);
+            putBytes(position + Integer.BYTES, bytes);
+            return position;
+        }
+
+        private void putBytes(final int position, final byte[] bytes) {
+            buffer.duplicate().position(position).put(bytes);
+        }
+
+        private void patch(final int reference, final int target) {
+            buffer.putInt(reference, target - reference);
+        }
+
+        private int reserve(final int size) {
+            if (buffer.remaining() < size) {
+                final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + size))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+                grown.put(buffer.array(), 0, buffer.position());
+                buffer = grown;
+            }
+            final int position = buffer.position();
+            buffer.position(position + size);
+            return position;
+        }
+    }
+}
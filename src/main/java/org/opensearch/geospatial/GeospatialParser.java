@@ -27,6 +27,10 @@ public final class GeospatialParser {
 
     /**
      * Convert object into Map
+     *
+     * If every key is already a String, which is always the case for parsed content, an unmodifiable view
+     * over the input is returned without copying it. Otherwise, keys are converted to String into a new Map.
+     *
      * @param input Object that is also an instance of Map
      * @return input object in Map type
      */
@@ -35,6 +39,9 @@ public final class GeospatialParser {
             throw new IllegalArgumentException(input + " is not an instance of Map, but of type [ " + input.getClass().getName() + " ]");
         }
         Map<Object, Object> inputMap = (Map<Object, Object>) input;
+        if (hasOnlyStringKeys(inputMap)) {
+            return Collections.unmodifiableMap((Map<String, Object>) input);
+        }
         Map<String, Object> stringObjectMap = new HashMap<>();
         for (Map.Entry<Object, Object> entry : inputMap.entrySet()) {
             stringObjectMap.put(entry.getKey().toString(), entry.getValue());
@@ -42,6 +49,15 @@ public final class GeospatialParser {
         return Collections.unmodifiableMap(stringObjectMap);
     }
 
+    private static boolean hasOnlyStringKeys(final Map<Object, Object> input) {
+        for (Object key : input.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * User inputs are usually deserialized into Map. extractValueAsString will help caller to
      * extract value from the Map and cast it to string with validation.
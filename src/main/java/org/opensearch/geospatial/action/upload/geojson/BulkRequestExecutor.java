@@ -0,0 +1,354 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequestBuilder;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.tasks.TaskCancelledException;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * BulkRequestExecutor is responsible for executing bulk requests prepared by {@link ContentBuilder}
+ * and aggregating their results with {@link BulkResponseAggregator}.
+ *
+ * At most maxInFlight bulk requests are executed at a time, and the next bulk request is read from the
+ * iterator only when a bulk request completes, so that features of an upload are not held in memory
+ * beyond bulk requests in flight. Bulk requests are read in generic thread pool rather than in bulk response
+ * callbacks. Features rejected by the cluster are retried after a backoff while their bulk request keeps its
+ * slot, which slows down the upload instead of failing it.
+ *
+ * In incremental mode, unchanged features are removed from a bulk request with
+ * {@link ContentBuilder#removeUnchanged} before it is executed, while the bulk request holds its slot.
+ */
+public class BulkRequestExecutor {
+    private static final Logger LOGGER = LogManager.getLogger(BulkRequestExecutor.class);
+
+    private final ContentBuilder contentBuilder;
+    private final ThreadPool threadPool;
+    private final int maxInFlight;
+    private final BackoffPolicy backoffPolicy;
+
+    /**
+     * @param contentBuilder {@link ContentBuilder} instance to prepare bulk requests for retry
+     * @param threadPool thread pool to read bulk requests and schedule retries
+     * @param maxInFlight max number of bulk requests in flight
+     * @param backoffPolicy backoff policy to retry rejected features of a bulk request
+     */
+    public BulkRequestExecutor(
+        final ContentBuilder contentBuilder,
+        final ThreadPool threadPool,
+        final int maxInFlight,
+        final BackoffPolicy backoffPolicy
+    ) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("max number of bulk requests in flight must be 1 or greater");
+        }
+        this.contentBuilder = Objects.requireNonNull(contentBuilder, "ContentBuilder instance cannot be null");
+        this.threadPool = Objects.requireNonNull(threadPool, "ThreadPool instance cannot be null");
+        this.maxInFlight = maxInFlight;
+        this.backoffPolicy = Objects.requireNonNull(backoffPolicy, "BackoffPolicy cannot be null");
+    }
+
+    /**
+     * Execute bulk requests and notify the listener with a response aggregated across all bulk requests
+     *
+     * Results are aggregated with the aggregator of the task, and every bulk request is marked as a completed chunk
+     * once all its features are done, so that the task reports progress of the upload. The listener is notified
+     * with failure if a bulk request fails as a whole for a reason other than rejection, or if the task is cancelled.
+     * Bulk requests in flight are not interrupted on failure or cancellation, but no more bulk requests are executed,
+     * and the listener is notified only after bulk requests in flight are done. Hence, no feature is indexed after the
+     * listener is notified, and acknowledged features of the task don't change once the upload is failed.
+     *
+     * @param bulkRequests bulk requests to execute
+     * @param task task of the upload
+     * @param listener listener to notify with aggregated response
+     */
+    public void execute(
+        final Iterator<BulkRequestBuilder> bulkRequests,
+        final UploadGeoJSONTask task,
+        final ActionListener<UploadGeoJSONResponse> listener
+    ) {
+        new Execution(bulkRequests, task, listener).executeNext();
+    }
+
+    private class Execution {
+        private final Iterator<BulkRequestBuilder> bulkRequests;
+        private final UploadGeoJSONTask task;
+        private final BulkResponseAggregator aggregator;
+        private final ActionListener<UploadGeoJSONResponse> listener;
+        private int inFlight;
+        private int chunks;
+        private boolean reading;
+        private boolean exhausted;
+        private boolean completed;
+        private Exception failure;
+
+        private Execution(
+            final Iterator<BulkRequestBuilder> bulkRequests,
+            final UploadGeoJSONTask task,
+            final ActionListener<UploadGeoJSONResponse> listener
+        ) {
+            this.bulkRequests = bulkRequests;
+            this.task = task;
+            this.aggregator = task.getAggregator();
+            this.listener = listener;
+        }
+
+        /**
+         * Reads next bulk requests in generic thread pool, unless a thread is reading them already
+         *
+         * This is called from bulk response callbacks, which run on transport threads, while reading a bulk request parses
+         * features of the bulk request, and hashes them in incremental mode.
+         */
+        private void executeNext() {
+            synchronized (this) {
+                if (reading) {
+                    return;
+                }
+                reading = true;
+            }
+            try {
+                threadPool.generic().execute(this::readChunks);
+            } catch (Exception e) {
+                LOGGER.debug("Failed to fork reading bulk requests. Read them in the current thread", e);
+                readChunks();
+            }
+        }
+
+        /**
+         * Reads and starts bulk requests while slots are available, and completes the execution once all bulk requests are done
+         *
+         * Only one thread reads bulk requests at a time. A slot is reserved under the lock, while the bulk request is read
+         * outside of it, so that completions of bulk requests in flight are not blocked by reading. A slot released while
+         * reading is picked up by the reading thread, as it checks available slots again before it stops reading.
+         * No bulk request is read once the execution has failed or the task is cancelled, and the listener is notified
+         * with the failure once bulk requests in flight are done.
+         */
+        private void readChunks() {
+            while (true) {
+                Exception error = null;
+                UploadGeoJSONResponse response = null;
+                synchronized (this) {
+                    if (completed == false && inFlight < maxInFlight && canRead()) {
+                        inFlight++;
+                    } else {
+                        reading = false;
+                        if (completed || inFlight > 0) {
+                            return;
+                        }
+                        completed = true;
+                        if (failure != null) {
+                            error = failure;
+                        } else if (task.isCancelled()) {
+                            error = cancelled();
+                        } else {
+                            try {
+                                response = aggregator.toResponse();
+                            } catch (Exception e) {
+                                error = e;
+                            }
+                        }
+                    }
+                }
+                if (error != null) {
+                    listener.onFailure(error);
+                    return;
+                }
+                if (response != null) {
+                    listener.onResponse(response);
+                    return;
+                }
+                readChunk();
+            }
+        }
+
+        /**
+         * Reads next bulk request into the reserved slot and starts it, or releases the slot if there is no more bulk request
+         */
+        private void readChunk() {
+            final BulkRequestBuilder bulkRequest;
+            try {
+                bulkRequest = bulkRequests.hasNext() ? bulkRequests.next() : null;
+            } catch (Exception e) {
+                synchronized (this) {
+                    inFlight--;
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+                return;
+            }
+            final Chunk chunk;
+            synchronized (this) {
+                if (bulkRequest == null) {
+                    inFlight--;
+                    exhausted = true;
+                    return;
+                }
+                chunk = new Chunk(chunks++, bulkRequest);
+            }
+            start(chunk);
+        }
+
+        private void start(final Chunk chunk) {
+            if (contentBuilder.isIncremental() == false) {
+                send(chunk, chunk.bulkRequest, backoffPolicy.iterator());
+                return;
+            }
+            try {
+                contentBuilder.removeUnchanged(chunk.bulkRequest, aggregator, ActionListener.wrap(changed -> {
+                    if (changed == null) {
+                        release(chunk);
+                        return;
+                    }
+                    send(chunk, changed, backoffPolicy.iterator());
+                }, e -> abandon(chunk, e)));
+            } catch (Exception e) {
+                abandon(chunk, e);
+            }
+        }
+
+        private boolean canRead() {
+            return exhausted == false && failure == null && task.isCancelled() == false;
+        }
+
+        private void send(final Chunk chunk, final BulkRequestBuilder bulkRequest, final Iterator<TimeValue> backoff) {
+            try {
+                bulkRequest.execute(new ActionListener<>() {
+                    @Override
+                    public void onResponse(final BulkResponse response) {
+                        onBulkResponse(chunk, bulkRequest, response, backoff);
+                    }
+
+                    @Override
+                    public void onFailure(final Exception e) {
+                        onBulkFailure(chunk, bulkRequest, e, backoff);
+                    }
+                });
+            } catch (Exception e) {
+                abandon(chunk, e);
+            }
+        }
+
+        private void onBulkResponse(
+            final Chunk chunk,
+            final BulkRequestBuilder bulkRequest,
+            final BulkResponse response,
+            final Iterator<TimeValue> backoff
+        ) {
+            final List<Integer> rejected = new ArrayList<>();
+            aggregator.addTook(response.getTook().millis());
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed() && item.status() == RestStatus.TOO_MANY_REQUESTS && backoff.hasNext()) {
+                    rejected.add(item.getItemId());
+                    continue;
+                }
+                aggregator.add(item);
+            }
+            if (rejected.isEmpty()) {
+                release(chunk);
+                return;
+            }
+            final BulkRequestBuilder retry;
+            try {
+                retry = contentBuilder.prepareRetry(bulkRequest, rejected);
+            } catch (Exception e) {
+                abandon(chunk, e);
+                return;
+            }
+            retryAfterBackoff(chunk, retry, backoff);
+        }
+
+        private void onBulkFailure(
+            final Chunk chunk,
+            final BulkRequestBuilder bulkRequest,
+            final Exception e,
+            final Iterator<TimeValue> backoff
+        ) {
+            if (ExceptionsHelper.status(e) == RestStatus.TOO_MANY_REQUESTS && backoff.hasNext()) {
+                retryAfterBackoff(chunk, bulkRequest, backoff);
+                return;
+            }
+            abandon(chunk, new IllegalStateException("Failed to index document due to " + e.getMessage(), e));
+        }
+
+        private void retryAfterBackoff(final Chunk chunk, final BulkRequestBuilder bulkRequest, final Iterator<TimeValue> backoff) {
+            final TimeValue delay = backoff.next();
+            LOGGER.debug("Bulk request with {} features was rejected. Retry after {}", bulkRequest.numberOfActions(), delay);
+            try {
+                threadPool.schedule(() -> {
+                    if (isFailed() || task.isCancelled()) {
+                        abandon(chunk, null);
+                        return;
+                    }
+                    send(chunk, bulkRequest, backoff);
+                }, delay, ThreadPool.Names.GENERIC);
+            } catch (Exception e) {
+                abandon(chunk, e);
+            }
+        }
+
+        private void release(final Chunk chunk) {
+            aggregator.completeChunk(chunk.sequence);
+            synchronized (this) {
+                inFlight--;
+            }
+            executeNext();
+        }
+
+        private TaskCancelledException cancelled() {
+            return new TaskCancelledException(
+                "upload was cancelled, resume the upload from feature [" + aggregator.getAcknowledged() + "] with resume_from"
+            );
+        }
+
+        /**
+         * Releases the slot of a bulk request whose features are not all done, and fails the execution
+         *
+         * @param chunk bulk request which is given up
+         * @param e cause of the failure, or null if the bulk request is given up due to an earlier failure or cancellation
+         */
+        private void abandon(final Chunk chunk, final Exception e) {
+            synchronized (this) {
+                inFlight--;
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            executeNext();
+        }
+
+        private synchronized boolean isFailed() {
+            return failure != null;
+        }
+    }
+
+    /**
+     * Bulk request with its sequence number in the order it is read
+     */
+    private static final class Chunk {
+        private final int sequence;
+        private final BulkRequestBuilder bulkRequest;
+
+        private Chunk(final int sequence, final BulkRequestBuilder bulkRequest) {
+            this.sequence = sequence;
+            this.bulkRequest = bulkRequest;
+        }
+    }
+}
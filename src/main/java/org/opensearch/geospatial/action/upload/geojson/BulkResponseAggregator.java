@@ -0,0 +1,157 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import org.opensearch.action.bulk.BulkItemResponse;
+
+/**
+ * BulkResponseAggregator aggregates results of features of an upload into a single {@link UploadGeoJSONResponse}
+ *
+ * Every item is counted, while only the first {@link #MAX_FAILURES_IN_RESPONSE} failed items are kept with details,
+ * so that the response doesn't grow with the number of features.
+ *
+ * It also keeps track of the acknowledged position, which is the number of features from the start of data whose
+ * results are known. Bulk requests, referred as chunks here, can complete out of order, hence, the position only
+ * moves past a chunk once the chunk and all chunks before it are completed. An interrupted upload can be resumed
+ * from this position without missing any feature. This class is thread safe.
+ */
+public class BulkResponseAggregator {
+    /**
+     * Max number of failed items with details in the response. All failed items are still counted.
+     */
+    public static final int MAX_FAILURES_IN_RESPONSE = 1000;
+
+    private final List<BulkItemResponse> failures = new ArrayList<>();
+    private final Deque<Long> chunkEndPositions = new ArrayDeque<>();
+    private final BitSet completedChunks = new BitSet();
+    private final long resumedFrom;
+    private long total;
+    private long failureCount;
+    private long unchanged;
+    private long tookInMillis;
+    private long acknowledged;
+    private int acknowledgedChunks;
+
+    public BulkResponseAggregator() {
+        this(0);
+    }
+
+    /**
+     * @param resumedFrom position of the feature from where the upload is resumed
+     */
+    public BulkResponseAggregator(final long resumedFrom) {
+        this.resumedFrom = resumedFrom;
+        this.acknowledged = resumedFrom;
+    }
+
+    /**
+     * Add result of a feature
+     * @param item result of indexing a feature
+     */
+    public synchronized void add(final BulkItemResponse item) {
+        total++;
+        if (item.isFailed() == false) {
+            return;
+        }
+        failureCount++;
+        if (failures.size() < MAX_FAILURES_IN_RESPONSE) {
+            failures.add(item);
+        }
+    }
+
+    /**
+     * Add features which are not indexed since they are already indexed with the same content
+     * @param count number of unchanged features
+     */
+    public synchronized void addUnchanged(final long count) {
+        total += count;
+        unchanged += count;
+    }
+
+    /**
+     * Add time taken by a bulk request
+     * @param tookInMillis time taken by a bulk request in milliseconds
+     */
+    public synchronized void addTook(final long tookInMillis) {
+        this.tookInMillis += tookInMillis;
+    }
+
+    /**
+     * Add a chunk of features, in the order the chunks are prepared
+     * @param endPosition position of the feature next to the last feature of the chunk
+     */
+    public synchronized void addChunk(final long endPosition) {
+        chunkEndPositions.addLast(endPosition);
+    }
+
+    /**
+     * Mark a chunk as completed, and move acknowledged position past every chunk completed in order
+     * @param chunk sequence number of the chunk, in the order the chunks are added
+     */
+    public synchronized void completeChunk(final int chunk) {
+        completedChunks.set(chunk);
+        while (completedChunks.get(acknowledgedChunks) && chunkEndPositions.isEmpty() == false) {
+            completedChunks.clear(acknowledgedChunks);
+            acknowledged = chunkEndPositions.pollFirst();
+            acknowledgedChunks++;
+        }
+    }
+
+    /**
+     * @return number of features added so far
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return number of failed features added so far
+     */
+    public synchronized long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * @return number of unchanged features added so far
+     */
+    public synchronized long getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return number of features from the start of data whose results are known
+     */
+    public synchronized long getAcknowledged() {
+        return acknowledged;
+    }
+
+    /**
+     * @return position of the feature from where the upload is resumed
+     */
+    public long getResumedFrom() {
+        return resumedFrom;
+    }
+
+    /**
+     * @return response aggregated from features added so far
+     */
+    public synchronized UploadGeoJSONResponse toResponse() {
+        return new UploadGeoJSONResponse(
+            tookInMillis,
+            total,
+            failureCount,
+            unchanged,
+            Collections.unmodifiableList(new ArrayList<>(failures))
+        );
+    }
+}
@@ -5,64 +5,378 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.TreeMap;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequestBuilder;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetRequestBuilder;
+import org.opensearch.action.get.MultiGetResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexRequestBuilder;
-import org.opensearch.action.support.WriteRequest;
 import org.opensearch.client.Client;
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.geospatial.GeospatialParser;
+import org.opensearch.geospatial.processor.FeatureProcessor;
+import org.opensearch.ingest.IngestDocument;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
 
 /**
  * ContentBuilder is responsible for preparing Request that can be executed
  * to upload GeoJSON Features as Documents.
+ *
+ * In incremental mode, every document stores a hash of the feature in {@link #FEATURE_HASH_FIELD}, and features
+ * whose hash is already stored in the index are removed from bulk requests, see {@link #removeUnchanged}.
  */
 public class ContentBuilder {
     public static final String GEOJSON_FEATURE_ID_FIELD = "id";
+    /**
+     * Field of the document to store hash of the feature in incremental mode
+     */
+    public static final String FEATURE_HASH_FIELD = "feature_hash";
+    private static final Logger LOGGER = LogManager.getLogger(ContentBuilder.class);
+    private static final String HASH_SOURCE_KEY = "source";
+    private static final FetchSourceContext FEATURE_HASH_SOURCE = new FetchSourceContext(true, new String[] { FEATURE_HASH_FIELD }, null);
     private final Client client;
+    private final int maxFeaturesPerBulkRequest;
+    private final long maxBulkRequestSizeInBytes;
+    private final boolean incremental;
 
     public ContentBuilder(Client client) {
+        this(
+            client,
+            UploadGeoJSONSettings.BULK_MAX_FEATURES.getDefault(Settings.EMPTY),
+            UploadGeoJSONSettings.BULK_MAX_SIZE.getDefault(Settings.EMPTY)
+        );
+    }
+
+    /**
+     * @param client client to build requests
+     * @param maxFeaturesPerBulkRequest max number of features in a bulk request
+     * @param maxBulkRequestSize max size of sources in a bulk request
+     */
+    public ContentBuilder(Client client, int maxFeaturesPerBulkRequest, ByteSizeValue maxBulkRequestSize) {
+        this(client, maxFeaturesPerBulkRequest, maxBulkRequestSize, false);
+    }
+
+    /**
+     * @param client client to build requests
+     * @param maxFeaturesPerBulkRequest max number of features in a bulk request
+     * @param maxBulkRequestSize max size of sources in a bulk request
+     * @param incremental whether to store hash of features, so that unchanged features are not indexed again
+     */
+    public ContentBuilder(Client client, int maxFeaturesPerBulkRequest, ByteSizeValue maxBulkRequestSize, boolean incremental) {
         this.client = Objects.requireNonNull(client, "Client cannot be null");
+        this.maxFeaturesPerBulkRequest = maxFeaturesPerBulkRequest;
+        this.maxBulkRequestSizeInBytes = Objects.requireNonNull(maxBulkRequestSize, "max bulk request size cannot be null").getBytes();
+        this.incremental = incremental;
     }
 
-    public Optional<BulkRequestBuilder> prepare(UploadGeoJSONRequestContent content, String pipeline) {
-        return prepareContentRequest(content, pipeline);
+    /**
+     * @return whether unchanged features are expected to be removed with {@link #removeUnchanged} before indexing
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Prepare bulk requests to index features of UploadGeoJSONRequestContent as documents
+     *
+     * Each bulk request is built only when it is requested from the iterator, with features read from the content
+     * until either max number of features or max size of sources is reached, so that only features of
+     * bulk requests in flight are held in memory. Bulk requests don't refresh the index, which is expected to be
+     * refreshed once after all bulk requests complete.
+     *
+     * Features are converted into documents with {@link FeatureProcessor} while building index requests, instead of
+     * an ingest pipeline, so that an upload doesn't need any cluster state update, unless the content already reads
+     * features as documents. Features which cannot be read or converted are not indexed, and added to the aggregator
+     * as failed items. Every bulk request is added to the aggregator as a chunk, with the position of the feature
+     * next to its last feature.
+     *
+     * Features before {@link BulkResponseAggregator#getResumedFrom()} are skipped without being built.
+     *
+     * In incremental mode, a hash of the id and the document is stored in {@link #FEATURE_HASH_FIELD} as the first
+     * field of the document. Features without id are indexed with the hash as id, so that an unchanged feature
+     * keeps its document across uploads.
+     *
+     * @param content content to upload
+     * @param aggregator aggregator to add features which cannot be converted into documents, and chunks to
+     * @return iterator of bulk requests, which is empty if there are no valid features to upload
+     */
+    public Iterator<BulkRequestBuilder> prepare(UploadGeoJSONRequestContent content, BulkResponseAggregator aggregator) {
+        return new BulkRequestIterator(content, aggregator);
+    }
+
+    /**
+     * Prepare a bulk request to retry a subset of index requests from a previous bulk request
+     *
+     * @param bulkRequest previous bulk request
+     * @param itemIds positions of index requests in the previous bulk request to retry
+     * @return bulk request with index requests to retry
+     */
+    public BulkRequestBuilder prepareRetry(BulkRequestBuilder bulkRequest, List<Integer> itemIds) {
+        final List<DocWriteRequest<?>> requests = bulkRequest.request().requests();
+        final BulkRequestBuilder retry = client.prepareBulk();
+        for (int itemId : itemIds) {
+            retry.add((IndexRequest) requests.get(itemId));
+        }
+        return retry;
     }
 
-    // build BulkRequestBuilder, by, iterating, UploadGeoJSONRequestContent's data. This depends on
-    // GeospatialParser.getFeatures to extract features from user input, create IndexRequestBuilder
-    // with index name and pipeline.
-    private Optional<BulkRequestBuilder> prepareContentRequest(UploadGeoJSONRequestContent content, String pipeline) {
-        if (content.getData().isEmpty()) {
-            return Optional.empty();
+    /**
+     * Remove index requests of features which are already indexed with the same hash, with a single multi get request
+     *
+     * Removed features are added to the aggregator as unchanged. If the lookup fails, the bulk request is
+     * indexed as is, since indexing unchanged features again is only slower, but not wrong.
+     *
+     * @param bulkRequest bulk request prepared in incremental mode
+     * @param aggregator aggregator to add unchanged features to
+     * @param listener listener to notify with bulk request of changed features, or null if every feature is unchanged
+     */
+    public void removeUnchanged(
+        final BulkRequestBuilder bulkRequest,
+        final BulkResponseAggregator aggregator,
+        final ActionListener<BulkRequestBuilder> listener
+    ) {
+        final List<DocWriteRequest<?>> requests = bulkRequest.request().requests();
+        final MultiGetRequestBuilder lookup = client.prepareMultiGet();
+        for (DocWriteRequest<?> request : requests) {
+            lookup.add(new MultiGetRequest.Item(request.index(), request.id()).fetchSourceContext(FEATURE_HASH_SOURCE));
         }
-        final BulkRequestBuilder builder = prepareBulkRequestBuilder();
-        content.getData()
-            .stream()
-            .map(GeospatialParser::toStringObjectMap)
-            .map(GeospatialParser::getFeatures)
-            .flatMap(List::stream)
-            .map(this::createIndexRequestBuilder)
-            .map(indexRequestBuilder -> indexRequestBuilder.setIndex(content.getIndexName()))
-            .map(indexRequestBuilder -> indexRequestBuilder.setPipeline(pipeline))
-            .forEach(builder::add);
-        if (builder.numberOfActions() < 1) { // check any features to upload
-            return Optional.empty();
+        lookup.execute(new ActionListener<>() {
+            @Override
+            public void onResponse(final MultiGetResponse response) {
+                final MultiGetItemResponse[] items = response.getResponses();
+                final BulkRequestBuilder changed = client.prepareBulk();
+                int unchanged = 0;
+                try {
+                    for (int i = 0; i < items.length; i++) {
+                        final IndexRequest request = (IndexRequest) requests.get(i);
+                        if (isUnchanged(request, items[i])) {
+                            unchanged++;
+                            continue;
+                        }
+                        changed.add(request);
+                    }
+                } catch (Exception e) {
+                    onFailure(e);
+                    return;
+                }
+                aggregator.addUnchanged(unchanged);
+                listener.onResponse(unchanged == items.length ? null : changed);
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                LOGGER.warn("Failed to look up hash of features, index all features of the bulk request", e);
+                listener.onResponse(bulkRequest);
+            }
+        });
+    }
+
+    private static boolean isUnchanged(final IndexRequest request, final MultiGetItemResponse item) throws IOException {
+        if (item.isFailed() || item.getResponse().isExists() == false || item.getResponse().getSource() == null) {
+            return false;
+        }
+        return readFeatureHash(request).equals(item.getResponse().getSource().get(FEATURE_HASH_FIELD));
+    }
+
+    /**
+     * Read hash of the feature from the first field of the source, without parsing the rest of the source
+     */
+    private static String readFeatureHash(final IndexRequest request) throws IOException {
+        try (
+            XContentParser parser = XContentHelper.createParser(
+                NamedXContentRegistry.EMPTY,
+                LoggingDeprecationHandler.INSTANCE,
+                request.source(),
+                request.getContentType()
+            )
+        ) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT
+                || parser.nextToken() != XContentParser.Token.FIELD_NAME
+                || FEATURE_HASH_FIELD.equals(parser.currentName()) == false) {
+                throw new IllegalStateException("document doesn't start with field [ " + FEATURE_HASH_FIELD + " ]");
+            }
+            parser.nextToken();
+            return parser.text();
+        }
+    }
+
+    /**
+     * Compute hash of a feature from its id and document
+     *
+     * Keys of objects are sorted before hashing, hence, the hash doesn't depend on the order of keys in the request.
+     *
+     * @param id id of the feature, which can be null
+     * @param document document of the feature
+     * @return SHA-256 of the feature as hex string
+     */
+    static String hash(final String id, final Map<String, Object> document) throws IOException {
+        final MessageDigest digest = MessageDigests.sha256();
+        try (
+            OutputStream output = new DigestOutputStream(OutputStream.nullOutputStream(), digest);
+            XContentBuilder builder = XContentFactory.jsonBuilder(output)
+        ) {
+            builder.startObject();
+            builder.field(GEOJSON_FEATURE_ID_FIELD, id);
+            builder.field(HASH_SOURCE_KEY, sortKeys(document));
+            builder.endObject();
         }
-        return Optional.of(builder);
+        return MessageDigests.toHexString(digest.digest());
+    }
+
+    /**
+     * @return copy of the document with hash of the feature as its first field
+     */
+    private static Map<String, Object> withFeatureHash(final Map<String, Object> document, final String hash) {
+        final Map<String, Object> hashed = new LinkedHashMap<>();
+        hashed.put(FEATURE_HASH_FIELD, hash);
+        document.forEach(hashed::putIfAbsent);
+        return hashed;
     }
 
-    private BulkRequestBuilder prepareBulkRequestBuilder() {
-        return client.prepareBulk().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+    private static Object sortKeys(final Object value) {
+        if (value instanceof Map) {
+            final Map<String, Object> sorted = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sorted.put(String.valueOf(entry.getKey()), sortKeys(entry.getValue()));
+            }
+            return sorted;
+        }
+        if (value instanceof List) {
+            final List<Object> sorted = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                sorted.add(sortKeys(element));
+            }
+            return sorted;
+        }
+        return value;
     }
 
-    private IndexRequestBuilder createIndexRequestBuilder(Map<String, Object> source) {
+    private IndexRequestBuilder createIndexRequestBuilder(Map<String, Object> source, String id) {
         final IndexRequestBuilder requestBuilder = client.prepareIndex().setSource(source);
-        String id = GeospatialParser.extractValueAsString(source, GEOJSON_FEATURE_ID_FIELD);
         return Strings.hasText(id) ? requestBuilder.setId(id) : requestBuilder;
     }
+
+    private class BulkRequestIterator implements Iterator<BulkRequestBuilder> {
+        private final FeatureIterator features;
+        private final boolean hasDocuments;
+        private final String indexName;
+        private final FeatureProcessor featureProcessor;
+        private final BulkResponseAggregator aggregator;
+        private long position;
+        private BulkRequestBuilder next;
+
+        private BulkRequestIterator(UploadGeoJSONRequestContent content, BulkResponseAggregator aggregator) {
+            this.aggregator = Objects.requireNonNull(aggregator, "aggregator cannot be null");
+            this.features = content.features();
+            this.hasDocuments = content.hasDocuments();
+            this.indexName = content.getIndexName();
+            this.featureProcessor = new FeatureProcessor(null, null, content.getFieldName());
+            this.position = features.skip(aggregator.getResumedFrom());
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = build();
+            }
+            return next != null;
+        }
+
+        @Override
+        public BulkRequestBuilder next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            final BulkRequestBuilder builder = next;
+            next = null;
+            return builder;
+        }
+
+        /**
+         * @return bulk request with the next valid features, or null if there are no more valid features
+         */
+        private BulkRequestBuilder build() {
+            BulkRequestBuilder builder = null;
+            int count = 0;
+            long sizeInBytes = 0;
+            while (count < maxFeaturesPerBulkRequest && sizeInBytes < maxBulkRequestSizeInBytes && features.hasNext()) {
+                String id = null;
+                Map<String, Object> document;
+                try {
+                    // iterator moves past a feature which cannot be read, hence, it is reported like an invalid feature
+                    Map<String, Object> feature = features.next();
+                    if (hasDocuments) {
+                        document = feature;
+                    } else {
+                        id = GeospatialParser.extractValueAsString(feature, GEOJSON_FEATURE_ID_FIELD);
+                        document = toDocument(feature);
+                    }
+                    if (incremental) {
+                        final String hash = hash(id, document);
+                        id = Strings.hasText(id) ? id : hash;
+                        document = withFeatureHash(document, hash);
+                    }
+                } catch (Exception e) {
+                    aggregator.add(
+                        new BulkItemResponse(
+                            (int) Math.min(position++, Integer.MAX_VALUE),
+                            DocWriteRequest.OpType.INDEX,
+                            new BulkItemResponse.Failure(indexName, id, e)
+                        )
+                    );
+                    continue;
+                }
+                IndexRequestBuilder indexRequest = createIndexRequestBuilder(document, id).setIndex(indexName);
+                sizeInBytes += indexRequest.request().source().length();
+                if (builder == null) {
+                    builder = client.prepareBulk();
+                }
+                builder.add(indexRequest);
+                count++;
+                position++;
+            }
+            if (builder != null) {
+                aggregator.addChunk(position);
+            }
+            return builder;
+        }
+
+        /**
+         * Convert GeoJSON Feature into a document the same way as {@link FeatureProcessor} does in an ingest pipeline
+         */
+        private Map<String, Object> toDocument(Map<String, Object> feature) {
+            IngestDocument ingestDocument = new IngestDocument(indexName, null, null, null, null, feature);
+            featureProcessor.execute(ingestDocument);
+            ingestDocument.extractMetadata();
+            return ingestDocument.getSourceAndMetadata();
+        }
+    }
 }
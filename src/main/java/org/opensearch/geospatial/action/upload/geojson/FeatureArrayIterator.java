@@ -0,0 +1,186 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.geospatial.geojson.FeatureCollection;
+
+/**
+ * FeatureArrayIterator reads GeoJSON Features from data array of {@link UploadGeoJSONRequest}'s body one at a time
+ *
+ * Only the Feature being returned is built as Map. GeoJSON objects in data are expected to be validated by
+ * {@link UploadGeoJSONRequestContent#create(org.opensearch.core.common.bytes.BytesReference)} which records
+ * positions of Feature and FeatureCollection in data. Other GeoJSON objects are skipped.
+ * The parser is closed once all Features are read.
+ */
+public final class FeatureArrayIterator implements FeatureIterator {
+    private final XContentParser parser;
+    private final BitSet featurePositions;
+    private final BitSet featureCollectionPositions;
+    private int position = -1;
+    private boolean inFeatureCollection;
+    private boolean closed;
+    private Map<String, Object> next;
+
+    FeatureArrayIterator(final XContentParser parser, final BitSet featurePositions, final BitSet featureCollectionPositions)
+        throws IOException {
+        this.parser = parser;
+        this.featurePositions = featurePositions;
+        this.featureCollectionPositions = featureCollectionPositions;
+        if (moveToData() == false) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            next = readNext();
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse content", e);
+        }
+        if (next == null) {
+            close();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> feature = next;
+        next = null;
+        return feature;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to close parser", e);
+        }
+    }
+
+    /**
+     * Move the parser to the start of data array
+     *
+     * @return true if data array is found, false otherwise
+     */
+    private boolean moveToData() throws IOException {
+        if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String key = parser.currentName();
+            if (parser.nextToken() == XContentParser.Token.START_ARRAY
+                && UploadGeoJSONRequestContent.FIELD_DATA.getPreferredName().equals(key)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    @Override
+    public long skip(final long count) {
+        long skipped = 0;
+        if (count > 0 && next != null) {
+            next = null;
+            skipped++;
+        }
+        try {
+            while (skipped < count && closed == false) {
+                if (moveToNextFeature() == false) {
+                    close();
+                    break;
+                }
+                parser.skipChildren();
+                skipped++;
+            }
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse content", e);
+        }
+        return skipped;
+    }
+
+    private Map<String, Object> readNext() throws IOException {
+        return moveToNextFeature() ? parser.map() : null;
+    }
+
+    /**
+     * Move the parser to the start of next Feature
+     *
+     * @return true if the parser is at the start of next Feature, false if there are no more Features
+     */
+    private boolean moveToNextFeature() throws IOException {
+        while (true) {
+            if (inFeatureCollection) {
+                if (parser.nextToken() == XContentParser.Token.START_OBJECT) {
+                    return true;
+                }
+                // All features of the collection are read. Skip the rest of the collection.
+                inFeatureCollection = false;
+                skipToEndOfObject();
+                continue;
+            }
+
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+                return false;
+            }
+            position++;
+            if (featurePositions.get(position)) {
+                return true;
+            }
+            if (featureCollectionPositions.get(position)) {
+                inFeatureCollection = moveToFeatures();
+                continue;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Move the parser to the start of features array of a FeatureCollection
+     *
+     * @return true if features array is found, false if the end of the FeatureCollection is reached
+     */
+    private boolean moveToFeatures() throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String key = parser.currentName();
+            if (parser.nextToken() == XContentParser.Token.START_ARRAY && FeatureCollection.FEATURES_KEY.equals(key)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private void skipToEndOfObject() throws IOException {
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+}
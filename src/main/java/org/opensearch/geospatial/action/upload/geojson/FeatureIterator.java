@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * FeatureIterator reads GeoJSON Features of {@link UploadGeoJSONRequest}'s body one at a time
+ *
+ * Only the Feature being returned is built as Map, so that the body is never held in memory as Features.
+ */
+public interface FeatureIterator extends Iterator<Map<String, Object>>, Closeable {
+
+    /**
+     * Skip Features without building them
+     *
+     * @param count number of Features to skip
+     * @return number of Features skipped, which is less than count if there are not enough Features
+     */
+    long skip(long count);
+
+    @Override
+    void close();
+}
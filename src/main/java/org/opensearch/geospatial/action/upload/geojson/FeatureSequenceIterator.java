@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+
+/**
+ * FeatureSequenceIterator reads GeoJSON Features from a newline delimited body one at a time
+ *
+ * Every line of the body is a GeoJSON Feature, optionally prefixed with record separator as per
+ * GeoJSON Text Sequences (RFC 8142). Blank lines are ignored. Each line is parsed independently
+ * only when it is read, hence, memory used to read Features doesn't grow with the size of the body.
+ * Lines are expected to be validated by
+ * {@link UploadGeoJSONRequestContent#createFromSequence(String, String, String, BytesReference)}.
+ */
+public final class FeatureSequenceIterator implements FeatureIterator {
+    private static final byte LINE_FEED = '\n';
+    private static final byte RECORD_SEPARATOR = 0x1E;
+    private final BytesReference content;
+    private int offset;
+    private long lineNumber;
+    private Map<String, Object> next;
+
+    FeatureSequenceIterator(final BytesReference content) {
+        this.content = content;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        final BytesReference line = nextLine();
+        if (line == null) {
+            return false;
+        }
+        try (XContentParser parser = createParser(line)) {
+            next = parser.map();
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse line [ " + lineNumber + " ]", e);
+        }
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> feature = next;
+        next = null;
+        return feature;
+    }
+
+    @Override
+    public long skip(final long count) {
+        long skipped = 0;
+        if (count > 0 && next != null) {
+            next = null;
+            skipped++;
+        }
+        while (skipped < count && nextLine() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        offset = content.length();
+        next = null;
+    }
+
+    /**
+     * Move to the next non blank line
+     *
+     * @return next line without record separator, or null if there are no more lines
+     */
+    BytesReference nextLine() {
+        while (offset < content.length()) {
+            int end = content.indexOf(LINE_FEED, offset);
+            if (end < 0) {
+                end = content.length();
+            }
+            int start = offset;
+            offset = end + 1;
+            lineNumber++;
+            while (start < end && isIgnorable(content.get(start))) {
+                start++;
+            }
+            if (start < end) {
+                return content.slice(start, end - start);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of the line read last, starting from 1
+     */
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    static XContentParser createParser(final BytesReference line) throws IOException {
+        return XContentType.JSON.xContent()
+            .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, line.streamInput());
+    }
+
+    private static boolean isIgnorable(final byte value) {
+        return value == RECORD_SEPARATOR || value == ' ' || value == '\t' || value == '\r';
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.opensearch.geometry.utils.WellKnownText;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufFeature;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufReader;
+
+/**
+ * FlatGeobufFeatureIterator reads features of FlatGeobuf one at a time as documents
+ *
+ * Unlike other {@link FeatureIterator}s, a feature is returned as a document ready to index, where properties are
+ * fields of the document, and geometry is in the geospatial field as WKT. Geometry is never converted into GeoJSON,
+ * which saves parsing and converting GeoJSON on the coordinator. The WKT is still parsed again into a geometry by
+ * the field mapper on the shard, as any other geospatial source is.
+ * A feature which cannot be decoded fails with {@link IllegalArgumentException} after the iterator moves past it.
+ */
+public final class FlatGeobufFeatureIterator implements FeatureIterator {
+    private final FlatGeobufReader reader;
+    private final String fieldName;
+    private boolean closed;
+
+    FlatGeobufFeatureIterator(final FlatGeobufReader reader, final String fieldName) {
+        this.reader = reader;
+        this.fieldName = fieldName;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return closed == false && reader.hasNext();
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        final FlatGeobufFeature feature = reader.next();
+        final Map<String, Object> document = feature.getProperties();
+        document.put(fieldName, WellKnownText.INSTANCE.toWKT(feature.getGeometry()));
+        return document;
+    }
+
+    @Override
+    public long skip(final long count) {
+        return closed ? 0 : reader.skip(count);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -12,6 +12,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
 import org.opensearch.client.IndicesAdminClient;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
@@ -45,6 +46,18 @@ public class IndexManager {
         }
     }
 
+    /**
+     * Refreshes an index and notifies the listener on status of action.
+     * @param indexName Index Name to be refreshed
+     * @param refreshIndexStep Notification Listener that will notify status of action
+     */
+    public void refresh(final String indexName, final StepListener<Void> refreshIndexStep) {
+        client.refresh(new RefreshRequest(indexName), ActionListener.wrap(refreshResponse -> {
+            LOGGER.debug("Refreshed index: " + indexName);
+            refreshIndexStep.onResponse(null);
+        }, refreshIndexStep::onFailure));
+    }
+
     private XContentBuilder buildMapping(Map<String, String> fieldMap) throws IOException {
         final XContentBuilder mapBuilder = XContentFactory.jsonBuilder().startObject().startObject(MAPPING_PROPERTIES_KEY);
         for (Map.Entry<String, String> field : fieldMap.entrySet()) {
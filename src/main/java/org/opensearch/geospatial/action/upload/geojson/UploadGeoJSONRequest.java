@@ -12,6 +12,7 @@
 package org.opensearch.geospatial.action.upload.geojson;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 
 import org.opensearch.action.ActionRequest;
@@ -19,11 +20,14 @@ import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.tasks.TaskId;
 import org.opensearch.rest.RestRequest;
+import org.opensearch.tasks.Task;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 @AllArgsConstructor
 @Getter
@@ -37,22 +41,149 @@ public class UploadGeoJSONRequest extends ActionRequest {
     private final RestRequest.Method method;
     @NonNull
     private final BytesReference content;
+    /**
+     * Position of the feature in data from where the upload starts. Features before this position are
+     * expected to be uploaded already by a previous upload, which was interrupted.
+     */
+    private final long resumeFrom;
+    /**
+     * Format of the content
+     */
+    @NonNull
+    private final Format format;
+    /**
+     * Name of the index, field and field type are part of the content for {@link Format#GEOJSON},
+     * and part of the request for other formats
+     */
+    private final String indexName;
+    private final String fieldName;
+    private final String fieldType;
+    /**
+     * Whether features already indexed with the same content by a previous upload are skipped
+     */
+    @Setter
+    private boolean incremental;
+
+    public UploadGeoJSONRequest(RestRequest.Method method, BytesReference content) {
+        this(method, content, 0);
+    }
+
+    public UploadGeoJSONRequest(RestRequest.Method method, BytesReference content, long resumeFrom) {
+        this(method, content, resumeFrom, Format.GEOJSON, null, null, null, false);
+    }
 
     public UploadGeoJSONRequest(StreamInput in) throws IOException {
         super(in);
         this.content = Objects.requireNonNull(in.readBytesReference(), "data is missing");
         this.method = Objects.requireNonNull(in.readEnum(RestRequest.Method.class), "RestRequest Method is missing");
+        this.resumeFrom = in.readVLong();
+        this.format = in.readEnum(Format.class);
+        this.indexName = in.readOptionalString();
+        this.fieldName = in.readOptionalString();
+        this.fieldType = in.readOptionalString();
+        this.incremental = in.readBoolean();
+    }
+
+    /**
+     * Creates a request to upload newline delimited GeoJSON Features
+     * @param method request method
+     * @param content newline delimited GeoJSON Features
+     * @param resumeFrom position of the feature from where the upload starts
+     * @param indexName name of the index to upload features to
+     * @param fieldName name of the field to store geometry of features
+     * @param fieldType type of the field to store geometry of features
+     * @return request to upload newline delimited GeoJSON Features
+     */
+    public static UploadGeoJSONRequest ofSequence(
+        RestRequest.Method method,
+        BytesReference content,
+        long resumeFrom,
+        String indexName,
+        String fieldName,
+        String fieldType
+    ) {
+        return new UploadGeoJSONRequest(method, content, resumeFrom, Format.GEOJSON_SEQ, indexName, fieldName, fieldType, false);
+    }
+
+    /**
+     * Creates a request to upload features of FlatGeobuf
+     * @param method request method
+     * @param content FlatGeobuf
+     * @param resumeFrom position of the feature from where the upload starts
+     * @param indexName name of the index to upload features to
+     * @param fieldName name of the field to store geometry of features
+     * @param fieldType type of the field to store geometry of features
+     * @return request to upload features of FlatGeobuf
+     */
+    public static UploadGeoJSONRequest ofFlatGeobuf(
+        RestRequest.Method method,
+        BytesReference content,
+        long resumeFrom,
+        String indexName,
+        String fieldName,
+        String fieldType
+    ) {
+        return new UploadGeoJSONRequest(method, content, resumeFrom, Format.FLATGEOBUF, indexName, fieldName, fieldType, false);
+    }
+
+    /**
+     * Creates {@link UploadGeoJSONRequestContent} from the content based on its format
+     * @return UploadGeoJSONRequestContent of this request
+     */
+    public UploadGeoJSONRequestContent toRequestContent() {
+        switch (format) {
+            case GEOJSON_SEQ:
+                return UploadGeoJSONRequestContent.createFromSequence(indexName, fieldName, fieldType, content);
+            case FLATGEOBUF:
+                return UploadGeoJSONRequestContent.createFromFlatGeobuf(indexName, fieldName, fieldType, content);
+            default:
+                return UploadGeoJSONRequestContent.create(content);
+        }
     }
 
     @Override
     public ActionRequestValidationException validate() {
+        if (resumeFrom < 0) {
+            ActionRequestValidationException exception = new ActionRequestValidationException();
+            exception.addValidationError("resume_from must be 0 or greater");
+            return exception;
+        }
         return null;
     }
 
+    @Override
+    public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new UploadGeoJSONTask(id, type, action, getDescription(), parentTaskId, headers, resumeFrom);
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeBytesReference(content);
         out.writeEnum(method);
+        out.writeVLong(resumeFrom);
+        out.writeEnum(format);
+        out.writeOptionalString(indexName);
+        out.writeOptionalString(fieldName);
+        out.writeOptionalString(fieldType);
+        out.writeBoolean(incremental);
+    }
+
+    /**
+     * Format of the content of upload request
+     */
+    public enum Format {
+        /**
+         * JSON object with index, field, type and data of GeoJSON objects
+         */
+        GEOJSON,
+        /**
+         * Newline delimited GeoJSON Features, including GeoJSON Text Sequences (RFC 8142)
+         */
+        GEOJSON_SEQ,
+        /**
+         * FlatGeobuf, binary encoding of features with optional spatial index
+         */
+        FLATGEOBUF
     }
 }
@@ -5,22 +5,39 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
-import static org.opensearch.geospatial.GeospatialParser.extractValueAsString;
-
-import java.util.List;
+import java.io.IOException;
+import java.util.BitSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.ParseField;
 import org.opensearch.core.common.Strings;
-import org.opensearch.geospatial.GeospatialParser;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufReader;
+import org.opensearch.geospatial.geojson.Feature;
+import org.opensearch.geospatial.geojson.FeatureCollection;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 
 /**
  * UploadGeoJSONRequestContent is the Data model for UploadGeoJSONRequest's body
+ *
+ * The body is read with a streaming parser. {@link #create(BytesReference)} validates the body and counts features
+ * without building them, and {@link #features()} reads features one at a time, so that an upload never holds
+ * all features in memory on top of the request body itself.
+ *
+ * The body can also be newline delimited GeoJSON Features, see
+ * {@link #createFromSequence(String, String, String, BytesReference)}, or FlatGeobuf, see
+ * {@link #createFromFlatGeobuf(String, String, String, BytesReference)}, in which case index and field are not part of the body.
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class UploadGeoJSONRequestContent {
@@ -31,13 +48,20 @@ public final class UploadGeoJSONRequestContent {
     public static final ParseField FIELD_GEOSPATIAL_TYPE = new ParseField("type");
     public static final ParseField FIELD_DATA = new ParseField("data");
 
-    // Custom Vector Map can support fetching up to 10K Features. Hence, we chose same value as limit
-    // for upload as well.
-    public static final int MAX_SUPPORTED_GEOJSON_FEATURE_COUNT = 10_000;
     private final String indexName;
     private final String fieldName;
     private final String fieldType;
-    private final List<Object> data;
+    private final BytesReference content;
+    /**
+     * Positions of GeoJSON objects of type Feature in data
+     */
+    private final BitSet featurePositions;
+    /**
+     * Positions of GeoJSON objects of type FeatureCollection in data
+     */
+    private final BitSet featureCollectionPositions;
+    private final long featureCount;
+    private final UploadGeoJSONRequest.Format format;
 
     /**
      * Creates UploadGeoJSONRequestContent from the user input
@@ -48,60 +72,304 @@ public final class UploadGeoJSONRequestContent {
      */
     public static UploadGeoJSONRequestContent create(Map<String, Object> input) {
         Objects.requireNonNull(input, "input cannot be null");
-        final String index = validateIndexName(input);
-        String fieldName = extractValueAsString(input, FIELD_GEOSPATIAL.getPreferredName());
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            return create(BytesReference.bytes(builder.map(input)));
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse content", e);
+        }
+    }
+
+    /**
+     * Creates UploadGeoJSONRequestContent from the request body
+     *
+     * The body is scanned once to validate arguments and count features. Features are not built until
+     * they are read with {@link #features()}.
+     *
+     * @param content request body in JSON
+     * @return UploadGeoJSONRequestContent based on value from the request body
+     * @throws NullPointerException if content is null or a required field is missing
+     * @throws IllegalArgumentException if content doesn't have valid arguments
+     */
+    public static UploadGeoJSONRequestContent create(final BytesReference content) {
+        Objects.requireNonNull(content, "content cannot be null");
+        String index = null;
+        String fieldName = null;
+        String fieldType = null;
+        boolean hasData = false;
+        BitSet featurePositions = new BitSet();
+        BitSet featureCollectionPositions = new BitSet();
+        long featureCount = 0;
+        try (XContentParser parser = createParser(content)) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+                throw new IllegalArgumentException("content is not an instance of Map, but of type [ " + parser.currentToken() + " ]");
+            }
+            while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                String key = parser.currentName();
+                parser.nextToken();
+                if (FIELD_INDEX.getPreferredName().equals(key)) {
+                    index = readString(parser);
+                } else if (FIELD_GEOSPATIAL.getPreferredName().equals(key)) {
+                    fieldName = readString(parser);
+                } else if (FIELD_GEOSPATIAL_TYPE.getPreferredName().equals(key)) {
+                    fieldType = readString(parser);
+                } else if (FIELD_DATA.getPreferredName().equals(key) && parser.currentToken() != XContentParser.Token.VALUE_NULL) {
+                    hasData = true;
+                    featureCount = scanData(parser, featurePositions, featureCollectionPositions);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse content", e);
+        }
+
+        validateIndexName(index);
         if (!Strings.hasText(fieldName)) {
             fieldName = GEOSPATIAL_DEFAULT_FIELD_NAME; // use default filed name, if field name is empty
         }
-        final String fieldType = extractValueAsString(input, FIELD_GEOSPATIAL_TYPE.getPreferredName());
         if (!Strings.hasText(fieldType)) {
             throw new IllegalArgumentException("field [ " + FIELD_GEOSPATIAL_TYPE.getPreferredName() + " ] cannot be empty");
         }
-        final Object geoJSONData = Objects.requireNonNull(
-            input.get(FIELD_DATA.getPreferredName()),
-            "field [ " + FIELD_DATA.getPreferredName() + " ] cannot be empty"
+        if (!hasData) {
+            throw new NullPointerException("field [ " + FIELD_DATA.getPreferredName() + " ] cannot be empty");
+        }
+        return new UploadGeoJSONRequestContent(
+            index,
+            fieldName,
+            fieldType,
+            content,
+            featurePositions,
+            featureCollectionPositions,
+            featureCount,
+            UploadGeoJSONRequest.Format.GEOJSON
+        );
+    }
+
+    /**
+     * Creates UploadGeoJSONRequestContent from a newline delimited request body
+     *
+     * Every non blank line of the body must be a GeoJSON Feature, optionally prefixed with record separator
+     * as per GeoJSON Text Sequences (RFC 8142). The body is scanned once to validate every line and count
+     * features. Features are not built until they are read with {@link #features()}.
+     *
+     * @param index name of the index to upload features to
+     * @param fieldName name of the field to store geometry of features, default field name is used if empty
+     * @param fieldType type of the field to store geometry of features
+     * @param content newline delimited GeoJSON Features
+     * @return UploadGeoJSONRequestContent based on given arguments and the request body
+     * @throws IllegalArgumentException if arguments are not valid, or a line is not a GeoJSON Feature
+     */
+    public static UploadGeoJSONRequestContent createFromSequence(
+        final String index,
+        final String fieldName,
+        final String fieldType,
+        final BytesReference content
+    ) {
+        Objects.requireNonNull(content, "content cannot be null");
+        validateIndexName(index);
+        if (!Strings.hasText(fieldType)) {
+            throw new IllegalArgumentException("field [ " + FIELD_GEOSPATIAL_TYPE.getPreferredName() + " ] cannot be empty");
+        }
+        final FeatureSequenceIterator lines = new FeatureSequenceIterator(content);
+        long featureCount = 0;
+        BytesReference line;
+        while ((line = lines.nextLine()) != null) {
+            validateSequenceLine(line, lines.getLineNumber());
+            featureCount++;
+        }
+        return new UploadGeoJSONRequestContent(
+            index,
+            Strings.hasText(fieldName) ? fieldName : GEOSPATIAL_DEFAULT_FIELD_NAME,
+            fieldType,
+            content,
+            null,
+            null,
+            featureCount,
+            UploadGeoJSONRequest.Format.GEOJSON_SEQ
         );
-        if (!(geoJSONData instanceof List)) {
+    }
+
+    /**
+     * Creates UploadGeoJSONRequestContent from a FlatGeobuf request body
+     *
+     * The header is validated and features are counted by their size prefix without being decoded.
+     * Features are decoded only when they are read with {@link #features()}.
+     *
+     * @param index name of the index to upload features to
+     * @param fieldName name of the field to store geometry of features, default field name is used if empty
+     * @param fieldType type of the field to store geometry of features
+     * @param content FlatGeobuf
+     * @return UploadGeoJSONRequestContent based on given arguments and the request body
+     * @throws IllegalArgumentException if arguments are not valid, or the body is not valid FlatGeobuf
+     */
+    public static UploadGeoJSONRequestContent createFromFlatGeobuf(
+        final String index,
+        final String fieldName,
+        final String fieldType,
+        final BytesReference content
+    ) {
+        Objects.requireNonNull(content, "content cannot be null");
+        validateIndexName(index);
+        if (!Strings.hasText(fieldType)) {
+            throw new IllegalArgumentException("field [ " + FIELD_GEOSPATIAL_TYPE.getPreferredName() + " ] cannot be empty");
+        }
+        final FlatGeobufReader reader = FlatGeobufReader.create(content);
+        final long featureCount = reader.skip(Long.MAX_VALUE);
+        final long expectedFeatureCount = reader.getHeader().getFeaturesCount();
+        if (expectedFeatureCount != 0 && expectedFeatureCount != featureCount) {
             throw new IllegalArgumentException(
-                geoJSONData + " is not an instance of List, but of type [ " + geoJSONData.getClass().getName() + " ]"
+                "FlatGeobuf has [ " + featureCount + " ] features, but its header has [ " + expectedFeatureCount + " ]"
             );
         }
-        validateFeatureCount(geoJSONData);
-        return new UploadGeoJSONRequestContent(index, fieldName, fieldType, (List<Object>) geoJSONData);
+        return new UploadGeoJSONRequestContent(
+            index,
+            Strings.hasText(fieldName) ? fieldName : GEOSPATIAL_DEFAULT_FIELD_NAME,
+            fieldType,
+            content,
+            null,
+            null,
+            featureCount,
+            UploadGeoJSONRequest.Format.FLATGEOBUF
+        );
+    }
+
+    /**
+     * Validate that a line is a single GeoJSON object of type Feature, without building it
+     */
+    private static void validateSequenceLine(final BytesReference line, final long lineNumber) {
+        try (XContentParser parser = FeatureSequenceIterator.createParser(line)) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+                throw new IllegalArgumentException(
+                    "line [ " + lineNumber + " ] is not an instance of Map, but of type [ " + parser.currentToken() + " ]"
+                );
+            }
+            String type = null;
+            while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                String key = parser.currentName();
+                parser.nextToken();
+                if (Feature.TYPE_KEY.equals(key)) {
+                    type = readString(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("line [ " + lineNumber + " ] has more than one GeoJSON object");
+            }
+            if (!Feature.TYPE.equalsIgnoreCase(type)) {
+                throw new IllegalArgumentException("line [ " + lineNumber + " ] is not a GeoJSON Feature, but of type [ " + type + " ]");
+            }
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse line [ " + lineNumber + " ]", e);
+        }
     }
 
-    private static void validateFeatureCount(Object geoJSONData) {
-        final long featureCount = getFeatureCount(geoJSONData);
-        if (featureCount > MAX_SUPPORTED_GEOJSON_FEATURE_COUNT) {
+    /**
+     * Scan GeoJSON objects in data, and record positions of Feature and FeatureCollection without building them
+     *
+     * @return number of features in data
+     */
+    private static long scanData(final XContentParser parser, final BitSet featurePositions, final BitSet featureCollectionPositions)
+        throws IOException {
+        if (parser.currentToken() != XContentParser.Token.START_ARRAY) {
             throw new IllegalArgumentException(
-                String.format(
-                    Locale.ROOT,
-                    "Received %d features, but, cannot upload more than %d features",
-                    featureCount,
-                    MAX_SUPPORTED_GEOJSON_FEATURE_COUNT
-                )
+                FIELD_DATA.getPreferredName() + " is not an instance of List, but of type [ " + parser.currentToken() + " ]"
             );
         }
+        long featureCount = 0;
+        int position = 0;
+        while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+            if (parser.currentToken() != XContentParser.Token.START_OBJECT) {
+                throw new IllegalArgumentException("GeoJSON is not an instance of Map, but of type [ " + parser.currentToken() + " ]");
+            }
+            String type = null;
+            long collectionFeatureCount = 0;
+            String invalidFeatures = null;
+            while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                String key = parser.currentName();
+                XContentParser.Token token = parser.nextToken();
+                if (Feature.TYPE_KEY.equals(key)) {
+                    type = readString(parser);
+                } else if (FeatureCollection.FEATURES_KEY.equals(key) && token == XContentParser.Token.START_ARRAY) {
+                    while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                        if (parser.currentToken() != XContentParser.Token.START_OBJECT) {
+                            invalidFeatures = "feature is not an instance of Map, but of type [ " + parser.currentToken() + " ]";
+                        }
+                        parser.skipChildren();
+                        collectionFeatureCount++;
+                    }
+                } else if (FeatureCollection.FEATURES_KEY.equals(key) && token != XContentParser.Token.VALUE_NULL) {
+                    invalidFeatures = FeatureCollection.FEATURES_KEY + " is not an instance of type List, but of type [ " + token + " ]";
+                    parser.skipChildren();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            Objects.requireNonNull(type, Feature.TYPE_KEY + " cannot be null");
+            if (Feature.TYPE.equalsIgnoreCase(type)) {
+                featurePositions.set(position);
+                featureCount++;
+            } else if (FeatureCollection.TYPE.equalsIgnoreCase(type)) {
+                if (invalidFeatures != null) {
+                    throw new IllegalArgumentException(invalidFeatures);
+                }
+                featureCollectionPositions.set(position);
+                featureCount += collectionFeatureCount;
+            }
+            position++;
+        }
+        return featureCount;
     }
 
-    private static long getFeatureCount(Object geoJSONData) {
-        return ((List<Object>) geoJSONData).stream()
-            .map(GeospatialParser::toStringObjectMap)
-            .map(GeospatialParser::getFeatures)
-            .flatMap(List::stream)
-            .count();
+    private static String readString(final XContentParser parser) throws IOException {
+        XContentParser.Token token = parser.currentToken();
+        if (token == XContentParser.Token.VALUE_NULL) {
+            return null;
+        }
+        if (token != XContentParser.Token.VALUE_STRING) {
+            String value = token.isValue() ? parser.text() : token.name();
+            throw new IllegalArgumentException(value + " is not an instance of String, but of type [ " + token + " ]");
+        }
+        return parser.text();
     }
 
-    private static String validateIndexName(Map<String, Object> input) {
-        String index = extractValueAsString(input, FIELD_INDEX.getPreferredName());
+    private static XContentParser createParser(final BytesReference content) throws IOException {
+        return XContentType.JSON.xContent()
+            .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, content.streamInput());
+    }
+
+    private static void validateIndexName(String index) {
         if (Strings.hasText(index)) {
-            return index;
+            return;
         }
         throw new IllegalArgumentException(
             String.format(Locale.getDefault(), "field [ %s ] cannot be empty", FIELD_INDEX.getPreferredName())
         );
     }
 
+    /**
+     * Returns an iterator reading GeoJSON Features in data one at a time, in the order they appear in the request
+     *
+     * Features inside a FeatureCollection are returned individually. Features of FlatGeobuf are returned as
+     * documents instead, see {@link #hasDocuments()}.
+     *
+     * @return iterator of GeoJSON Features as Map
+     */
+    public FeatureIterator features() {
+        if (format == UploadGeoJSONRequest.Format.GEOJSON_SEQ) {
+            return new FeatureSequenceIterator(content);
+        }
+        if (format == UploadGeoJSONRequest.Format.FLATGEOBUF) {
+            return new FlatGeobufFeatureIterator(FlatGeobufReader.create(content), fieldName);
+        }
+        try {
+            return new FeatureArrayIterator(createParser(content), featurePositions, featureCollectionPositions);
+        } catch (IOException e) {
+            throw new OpenSearchParseException("Failed to parse content", e);
+        }
+    }
+
     public String getIndexName() {
         return indexName;
     }
@@ -110,11 +378,21 @@ public final class UploadGeoJSONRequestContent {
         return fieldName;
     }
 
-    public List<Object> getData() {
-        return data;
-    }
-
     public String getFieldType() {
         return fieldType;
     }
+
+    /**
+     * @return whether {@link #features()} returns documents with geometry in the geospatial field, instead of GeoJSON Features
+     */
+    public boolean hasDocuments() {
+        return format == UploadGeoJSONRequest.Format.FLATGEOBUF;
+    }
+
+    /**
+     * @return number of GeoJSON Features in data
+     */
+    public long getFeatureCount() {
+        return featureCount;
+    }
 }
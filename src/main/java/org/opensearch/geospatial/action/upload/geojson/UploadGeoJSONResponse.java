@@ -30,41 +30,125 @@ public class UploadGeoJSONResponse extends ActionResponse implements ToXContentO
     private static final String SUCCESS = "success";
     private static final String TOTAL = "total";
     private static final String TOOK = "took";
+    private static final String UNCHANGED = "unchanged";
 
-    private final BulkResponse bulkResponse;
+    private final long tookInMillis;
+    private final long total;
+    private final long failureCount;
+    /**
+     * Successful items which were not indexed since they are already indexed with the same content
+     */
+    private final long unchanged;
+    /**
+     * Failed items with details, which may be a subset of all failed items in a large upload
+     */
+    private final List<BulkItemResponse> failures;
 
     public UploadGeoJSONResponse(BulkResponse bulkResponse) {
+        this(
+            bulkResponse.getTook().getMillis(),
+            bulkResponse.getItems().length,
+            Arrays.stream(bulkResponse.getItems()).filter(BulkItemResponse::isFailed).collect(Collectors.toUnmodifiableList())
+        );
+    }
+
+    private UploadGeoJSONResponse(long tookInMillis, long total, List<BulkItemResponse> failures) {
+        this(tookInMillis, total, failures.size(), failures);
+    }
+
+    /**
+     * Creates a response aggregated across bulk requests of an upload
+     * @param tookInMillis time taken by all bulk requests in milliseconds
+     * @param total number of features in the upload
+     * @param failureCount number of features failed to be indexed
+     * @param failures failed items to include in the response, which can be fewer than failureCount
+     */
+    public UploadGeoJSONResponse(long tookInMillis, long total, long failureCount, List<BulkItemResponse> failures) {
+        this(tookInMillis, total, failureCount, 0, failures);
+    }
+
+    /**
+     * Creates a response aggregated across bulk requests of an incremental upload
+     * @param tookInMillis time taken by all bulk requests in milliseconds
+     * @param total number of features in the upload
+     * @param failureCount number of features failed to be indexed
+     * @param unchanged number of features not indexed since they are already indexed with the same content
+     * @param failures failed items to include in the response, which can be fewer than failureCount
+     */
+    public UploadGeoJSONResponse(long tookInMillis, long total, long failureCount, long unchanged, List<BulkItemResponse> failures) {
         super();
-        this.bulkResponse = bulkResponse;
+        this.tookInMillis = tookInMillis;
+        this.total = total;
+        this.failureCount = failureCount;
+        this.unchanged = unchanged;
+        this.failures = failures;
     }
 
     public UploadGeoJSONResponse(StreamInput in) throws IOException {
         super(in);
-        this.bulkResponse = new BulkResponse(in);
+        this.tookInMillis = in.readVLong();
+        this.total = in.readVLong();
+        this.failureCount = in.readVLong();
+        this.unchanged = in.readVLong();
+        this.failures = in.readList(BulkItemResponse::new);
     }
 
     @Override
     public void writeTo(StreamOutput streamOutput) throws IOException {
-        this.bulkResponse.writeTo(streamOutput);
+        streamOutput.writeVLong(tookInMillis);
+        streamOutput.writeVLong(total);
+        streamOutput.writeVLong(failureCount);
+        streamOutput.writeVLong(unchanged);
+        streamOutput.writeList(failures);
+    }
+
+    public long getTookInMillis() {
+        return tookInMillis;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getSuccessCount() {
+        return total - failureCount;
+    }
+
+    public boolean hasFailures() {
+        return failureCount > 0;
+    }
+
+    public List<BulkItemResponse> getFailures() {
+        return failures;
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         /*
-        If BulkResponse has no failures:
+        If upload has no failures:
             {
               "took": 100,
               "errors": false,
               "total": 5,
               "success": 5,
+              "unchanged": 0,
               "failure": 0
             }
-        If BulkResponse has failures:
+        If upload has failures:
             {
               "took": 100,
               "errors": true,
               "total": 4,
               "success": 2,
+              "unchanged": 0,
               "failure": 2,
               "failures": [
                   {
@@ -79,10 +163,10 @@ public class UploadGeoJSONResponse extends ActionResponse implements ToXContentO
           }
          */
         builder.startObject();
-        builder.field(TOOK, bulkResponse.getTook().getMillis());
-        builder.field(ERRORS, bulkResponse.hasFailures());
-        builder.field(TOTAL, bulkResponse.getItems().length);
-        if (!bulkResponse.hasFailures()) {
+        builder.field(TOOK, tookInMillis);
+        builder.field(ERRORS, hasFailures());
+        builder.field(TOTAL, total);
+        if (!hasFailures()) {
             buildSuccessXContent(builder);
             return builder.endObject();
         }
@@ -91,22 +175,19 @@ public class UploadGeoJSONResponse extends ActionResponse implements ToXContentO
     }
 
     private void buildSuccessXContent(XContentBuilder builder) throws IOException {
-        buildResultXContent(builder, bulkResponse.getItems().length, NO_FAILURE);
+        buildResultXContent(builder, total, NO_FAILURE);
     }
 
-    private void buildResultXContent(XContentBuilder builder, int successCount, int failureCount) throws IOException {
+    private void buildResultXContent(XContentBuilder builder, long successCount, long failureCount) throws IOException {
         builder.field(SUCCESS, successCount);
+        builder.field(UNCHANGED, unchanged);
         builder.field(FAILURE, failureCount);
     }
 
     private void buildFailureXContent(XContentBuilder builder) throws IOException {
-        final List<BulkItemResponse> failedResponses = Arrays.stream(bulkResponse.getItems())
-            .filter(BulkItemResponse::isFailed)
-            .collect(Collectors.toUnmodifiableList());
-        int successCount = bulkResponse.getItems().length - failedResponses.size();
-        buildResultXContent(builder, successCount, failedResponses.size());
+        buildResultXContent(builder, getSuccessCount(), failureCount);
         builder.startArray(FAILURES);
-        for (BulkItemResponse response : failedResponses) {
+        for (BulkItemResponse response : failures) {
             builder.startObject();
             builder.field(ID, response.getId());
             builder.field(STATUS, response.getFailure().getStatus().getStatus());
@@ -0,0 +1,90 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.util.List;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+
+/**
+ * Settings for GeoJSON upload operations
+ */
+public class UploadGeoJSONSettings {
+
+    /**
+     * Max number of features in a bulk request while uploading GeoJSON
+     */
+    public static final Setting<Integer> BULK_MAX_FEATURES = Setting.intSetting(
+        "plugins.geospatial.upload.bulk.max_features",
+        1000,
+        1,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Max size of sources in a bulk request while uploading GeoJSON
+     *
+     * A bulk request is sent once either this size or {@link #BULK_MAX_FEATURES} is reached.
+     */
+    public static final Setting<ByteSizeValue> BULK_MAX_SIZE = Setting.byteSizeSetting(
+        "plugins.geospatial.upload.bulk.max_size",
+        new ByteSizeValue(5, ByteSizeUnit.MB),
+        new ByteSizeValue(1, ByteSizeUnit.KB),
+        new ByteSizeValue(100, ByteSizeUnit.MB),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of bulk requests in flight for a single upload
+     */
+    public static final Setting<Integer> BULK_MAX_IN_FLIGHT = Setting.intSetting(
+        "plugins.geospatial.upload.bulk.max_in_flight",
+        2,
+        1,
+        16,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Initial backoff before retrying features rejected by the cluster
+     *
+     * Backoff grows exponentially on each retry of the same bulk request.
+     */
+    public static final Setting<TimeValue> BULK_RETRY_INITIAL_BACKOFF = Setting.timeSetting(
+        "plugins.geospatial.upload.bulk.retry_initial_backoff",
+        TimeValue.timeValueMillis(100),
+        TimeValue.timeValueMillis(1),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of retries of features rejected by the cluster in a bulk request
+     *
+     * Features which are still rejected after this number of retries are reported as failures in the response.
+     */
+    public static final Setting<Integer> BULK_MAX_RETRIES = Setting.intSetting(
+        "plugins.geospatial.upload.bulk.max_retries",
+        8,
+        0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Return all settings of GeoJSON upload feature
+     * @return a list of all settings for GeoJSON upload feature
+     */
+    public static final List<Setting<?>> settings() {
+        return List.of(BULK_MAX_FEATURES, BULK_MAX_SIZE, BULK_MAX_IN_FLIGHT, BULK_RETRY_INITIAL_BACKOFF, BULK_MAX_RETRIES);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.tasks.CancellableTask;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Task of a GeoJSON upload, which reports progress of the upload and can be cancelled
+ *
+ * Results of features are aggregated into {@link BulkResponseAggregator} held by this task, so that
+ * progress is available through the task management API while the upload is running.
+ */
+public class UploadGeoJSONTask extends CancellableTask {
+    private final BulkResponseAggregator aggregator;
+    private volatile long featureCount;
+
+    /**
+     * @param resumedFrom position of the feature from where the upload is resumed
+     */
+    public UploadGeoJSONTask(
+        final long id,
+        final String type,
+        final String action,
+        final String description,
+        final TaskId parentTaskId,
+        final Map<String, String> headers,
+        final long resumedFrom
+    ) {
+        super(id, type, action, description, parentTaskId, headers);
+        this.aggregator = new BulkResponseAggregator(resumedFrom);
+    }
+
+    /**
+     * @return aggregator of results of features of this upload
+     */
+    public BulkResponseAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * @param featureCount number of features parsed from the request
+     */
+    public void setFeatureCount(final long featureCount) {
+        this.featureCount = featureCount;
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    @Override
+    public Status getStatus() {
+        return new Status(
+            featureCount,
+            aggregator.getTotal() - aggregator.getFailureCount(),
+            aggregator.getFailureCount(),
+            aggregator.getResumedFrom(),
+            aggregator.getAcknowledged()
+        );
+    }
+
+    /**
+     * Progress of a GeoJSON upload
+     */
+    @Getter
+    @EqualsAndHashCode
+    public static class Status implements org.opensearch.tasks.Task.Status {
+        public static final String NAME = "upload_geojson";
+        private static final String FIELD_FEATURES = "features";
+        private static final String FIELD_INDEXED = "indexed";
+        private static final String FIELD_FAILED = "failed";
+        private static final String FIELD_RESUMED_FROM = "resumed_from";
+        private static final String FIELD_ACKNOWLEDGED = "acknowledged";
+
+        /**
+         * Number of features parsed from the request
+         */
+        private final long features;
+        /**
+         * Number of features indexed so far
+         */
+        private final long indexed;
+        /**
+         * Number of features failed so far
+         */
+        private final long failed;
+        /**
+         * Position of the feature from where the upload is resumed
+         */
+        private final long resumedFrom;
+        /**
+         * Number of features from the start of data whose results are known. Upload can be resumed from here.
+         */
+        private final long acknowledged;
+
+        public Status(final long features, final long indexed, final long failed, final long resumedFrom, final long acknowledged) {
+            this.features = features;
+            this.indexed = indexed;
+            this.failed = failed;
+            this.resumedFrom = resumedFrom;
+            this.acknowledged = acknowledged;
+        }
+
+        public Status(final StreamInput in) throws IOException {
+            this.features = in.readVLong();
+            this.indexed = in.readVLong();
+            this.failed = in.readVLong();
+            this.resumedFrom = in.readVLong();
+            this.acknowledged = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(final StreamOutput out) throws IOException {
+            out.writeVLong(features);
+            out.writeVLong(indexed);
+            out.writeVLong(failed);
+            out.writeVLong(resumedFrom);
+            out.writeVLong(acknowledged);
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+            builder.startObject();
+            builder.field(FIELD_FEATURES, features);
+            builder.field(FIELD_INDEXED, indexed);
+            builder.field(FIELD_FAILED, failed);
+            builder.field(FIELD_RESUMED_FROM, resumedFrom);
+            builder.field(FIELD_ACKNOWLEDGED, acknowledged);
+            return builder.endObject();
+        }
+    }
+}
@@ -11,19 +11,19 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
-import java.util.Map;
-
 import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.bulk.BackoffPolicy;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.geospatial.GeospatialParser;
 import org.opensearch.geospatial.stats.upload.UploadStats;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
 /**
@@ -33,26 +33,30 @@ public class UploadGeoJSONTransportAction extends HandledTransportAction<UploadG
 
     private final ClusterService clusterService;
     private final Client client;
+    private final ThreadPool threadPool;
 
     @Inject
     public UploadGeoJSONTransportAction(
         ClusterService clusterService,
         TransportService transportService,
         ActionFilters actionFilters,
-        Client client
+        Client client,
+        ThreadPool threadPool
     ) {
         super(UploadGeoJSONAction.NAME, transportService, actionFilters, UploadGeoJSONRequest::new);
         this.clusterService = clusterService;
         this.client = client;
+        this.threadPool = threadPool;
     }
 
     @Override
     protected void doExecute(Task task, UploadGeoJSONRequest request, ActionListener<UploadGeoJSONResponse> actionListener) {
         UploadStats.getInstance().incrementAPICount();
 
-        final Map<String, Object> contentAsMap = GeospatialParser.convertToMap(request.getContent());
-        // 1. parse request's data and extract into UploadGeoJSONRequestContent
-        final UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(contentAsMap);
+        // 1. parse request's data and extract into UploadGeoJSONRequestContent without building features
+        final UploadGeoJSONRequestContent content = request.toRequestContent();
+        final UploadGeoJSONTask uploadTask = (UploadGeoJSONTask) task;
+        uploadTask.setFeatureCount(content.getFeatureCount());
         // 2. Check should we continue upload if index exist.
         boolean failIfIndexExist = shouldFailIfIndexExist(request.getMethod());
         final boolean indexExists = clusterService.state().getRoutingTable().hasIndex(content.getIndexName());
@@ -60,10 +64,24 @@ public class UploadGeoJSONTransportAction extends HandledTransportAction<UploadG
             throw new ResourceAlreadyExistsException(content.getIndexName());
         }
         final IndexManager indexManager = new IndexManager(client.admin().indices());
-        final PipelineManager pipelineManager = new PipelineManager(client.admin().cluster());
-        final ContentBuilder contentBuilder = new ContentBuilder(client);
+        final ClusterSettings clusterSettings = clusterService.getClusterSettings();
+        final ContentBuilder contentBuilder = new ContentBuilder(
+            client,
+            clusterSettings.get(UploadGeoJSONSettings.BULK_MAX_FEATURES),
+            clusterSettings.get(UploadGeoJSONSettings.BULK_MAX_SIZE),
+            request.isIncremental()
+        );
+        final BulkRequestExecutor bulkRequestExecutor = new BulkRequestExecutor(
+            contentBuilder,
+            threadPool,
+            clusterSettings.get(UploadGeoJSONSettings.BULK_MAX_IN_FLIGHT),
+            BackoffPolicy.exponentialBackoff(
+                clusterSettings.get(UploadGeoJSONSettings.BULK_RETRY_INITIAL_BACKOFF),
+                clusterSettings.get(UploadGeoJSONSettings.BULK_MAX_RETRIES)
+            )
+        );
         // 3. upload GeoJSON as index document.
-        new Uploader(indexManager, pipelineManager, contentBuilder).upload(content, indexExists, actionListener);
+        new Uploader(indexManager, contentBuilder, bulkRequestExecutor).upload(content, indexExists, uploadTask, actionListener);
     }
 
     /*
@@ -5,78 +5,79 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
-import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.StepListener;
-import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequestBuilder;
-import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.UUIDs;
 import org.opensearch.common.collect.MapBuilder;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
 import org.opensearch.geospatial.stats.upload.UploadMetric;
 import org.opensearch.geospatial.stats.upload.UploadStats;
 
 /**
  * Uploader will upload GeoJSON objects from UploadGeoJSONRequestContent as
- * Documents to given index in three stage.
- * At first stage (preUpload), resources like index, mapping, pipeline with
- * GeoJSON Feature processors, will be created.
- * At second stage (upload), Feature will be extracted from GeoJSON and indexed using
- * BulkAction. This supports both Feature and FeatureCollection.
- * At third stage (postUpload), previously created pipeline will be deleted
+ * Documents to given index in two stage.
+ * At first stage (preUpload), resources like index and mapping will be created.
+ * At second stage (upload), Feature will be extracted from GeoJSON, converted into a document and indexed using
+ * BulkAction, with a bounded number of bulk requests in flight, and the index is refreshed once.
+ * This supports both Feature and FeatureCollection.
  * At final stage response or failure will be added to the listener.
+ * Features of a successful upload and their indexing rate are recorded in {@link GeospatialMetrics}.
  */
 public class Uploader {
 
     private static final Logger LOGGER = LogManager.getLogger(Uploader.class);
     private static final String GEOJSON = "geojson";
+    private static final String KEYWORD = "keyword";
 
     private final IndexManager indexManager;
-    private final PipelineManager pipelineManager;
     private final ContentBuilder contentBuilder;
+    private final BulkRequestExecutor bulkRequestExecutor;
 
     /**
-     * Uploads {@link UploadGeoJSONRequestContent#getData()}
+     * Uploads {@link UploadGeoJSONRequestContent#features()}
      * @param indexManager {@link IndexManager} instance to perform index based operations
-     * @param pipelineManager {@link PipelineManager} instance to perform Pipeline operations
      * @param contentBuilder {@link ContentBuilder} instance to prepare BulkRequest
+     * @param bulkRequestExecutor {@link BulkRequestExecutor} instance to execute BulkRequest
      */
-    public Uploader(final IndexManager indexManager, final PipelineManager pipelineManager, final ContentBuilder contentBuilder) {
-
+    public Uploader(final IndexManager indexManager, final ContentBuilder contentBuilder, final BulkRequestExecutor bulkRequestExecutor) {
         this.indexManager = Objects.requireNonNull(indexManager, "IndexManager instance cannot be null");
-        this.pipelineManager = Objects.requireNonNull(pipelineManager, "PipelineManager instance cannot be null");
         this.contentBuilder = Objects.requireNonNull(contentBuilder, "ContentBuilder instance cannot be null");
+        this.bulkRequestExecutor = Objects.requireNonNull(bulkRequestExecutor, "BulkRequestExecutor instance cannot be null");
     }
 
     /**
      * upload abstracts following operations from request
      * 1. Create index if it doesn't exist.
-     * 2. Create pipeline with {@link org.opensearch.geospatial.processor.FeatureProcessor}
-     * 3. Prepare Content from {@link UploadGeoJSONRequestContent#getData()}
-     * 4. Upload content
-     * 5. Delete pipeline
+     * 2. Prepare Content from {@link UploadGeoJSONRequestContent#features()}, converting features into documents
+     * 3. Upload content in bulk requests, and refresh the index once all bulk requests complete
+     * Upload doesn't update cluster state other than creating the index.
      * @param content {@link UploadGeoJSONRequestContent} derived from {@link UploadGeoJSONRequest}
      * @param isIndexAlreadyExists confirms whether the uploader should create the new index or not
+     * @param task task of the upload, which tracks progress and cancellation of the upload
      * @param flowListener action listener that contains the response of upload action.
      */
     public void upload(
         final UploadGeoJSONRequestContent content,
         final boolean isIndexAlreadyExists,
+        final UploadGeoJSONTask task,
         final ActionListener<UploadGeoJSONResponse> flowListener
     ) {
         // validate input
         Objects.requireNonNull(flowListener, "listener cannot be null");
         Objects.requireNonNull(content, "content cannot be null");
+        Objects.requireNonNull(task, "task cannot be null");
 
+        final long startTime = System.nanoTime();
         // initialize step listeners to chain steps
         final StepListener<Void> createIndexStep = new StepListener<>();
-        final StepListener<String> createPipelineStep = new StepListener<>();
-        final StepListener<BulkResponse> indexFeatureStep = new StepListener<>();
-        final StepListener<Exception> deletePipelineStep = new StepListener<>();
+        final StepListener<UploadGeoJSONResponse> indexFeatureStep = new StepListener<>();
 
         if (isIndexAlreadyExists) {
             LOGGER.info("Index [ " + content.getIndexName() + " ] is already exists");
@@ -85,98 +86,80 @@ public class Uploader {
             // create index
             MapBuilder<String, String> fieldMap = new MapBuilder<>();
             fieldMap.put(content.getFieldName(), content.getFieldType());
+            if (contentBuilder.isIncremental()) {
+                fieldMap.put(ContentBuilder.FEATURE_HASH_FIELD, KEYWORD);
+            }
             indexManager.create(content.getIndexName(), fieldMap.immutableMap(), createIndexStep);
         }
-        // create a pipeline after creating index
-        createIndexStep.whenComplete(
-            notUsed -> pipelineManager.create(content.getFieldName(), createPipelineStep),
-            flowListener::onFailure
-        );
 
-        // index features as document after creating pipeline
-        createPipelineStep.whenComplete(pipeline -> indexContentAsDocument(pipeline, content, indexFeatureStep), flowListener::onFailure);
-
-        // delete pipeline
-        indexFeatureStep.whenComplete(notUsed -> {
-            String pipeline = createPipelineStep.result();
-            pipelineManager.delete(pipeline, deletePipelineStep, () -> null);
-        }, uploadFailed -> {
-            String pipeline = createPipelineStep.result();
-            pipelineManager.delete(pipeline, deletePipelineStep, () -> uploadFailed);
-        });
+        // index features as document after creating index
+        createIndexStep.whenComplete(notUsed -> indexContentAsDocument(content, task, indexFeatureStep), flowListener::onFailure);
 
         // set response or failure depending on previous steps status
-        deletePipelineStep.whenComplete(uploadFailedException -> {
-            if (uploadFailedException != null) {
-                throw uploadFailedException;
-            }
-            BulkResponse response = indexFeatureStep.result();
-            createAndAddMetricToStats(createPipelineStep.result(), response);
-            flowListener.onResponse(new UploadGeoJSONResponse(response));
-        }, deletePipelineFailed -> {
-            try {
-                BulkResponse response = indexFeatureStep.result();
-                createAndAddMetricToStats(createPipelineStep.result(), response);
-                // TODO Propagate deletePipelineFailed exception to response as low severity error
-                flowListener.onResponse(new UploadGeoJSONResponse(response));
-            } catch (IllegalStateException stepFailed) {
-                flowListener.onFailure(deletePipelineFailed);
+        indexFeatureStep.whenComplete(response -> {
+            // a resumed upload with no features left has nothing to record, and a metric requires at least one feature
+            if (response.getTotal() > 0) {
+                createAndAddMetricToStats(UUIDs.randomBase64UUID(), response);
+                GeospatialMetrics.getInstance()
+                    .onUpload(content.getIndexName(), response.getTotal(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
             }
-        });
-
+            flowListener.onResponse(response);
+        }, flowListener::onFailure);
     }
 
     private void indexContentAsDocument(
-        String pipeline,
         UploadGeoJSONRequestContent content,
-        StepListener<BulkResponse> uploadStepListener
+        UploadGeoJSONTask task,
+        StepListener<UploadGeoJSONResponse> uploadStepListener
     ) {
-        Optional<BulkRequestBuilder> contentRequestBuilder = contentBuilder.prepare(content, pipeline);
-        if (contentRequestBuilder.isEmpty()) {
-            uploadStepListener.onFailure(new IllegalStateException("No valid features are available to index"));
+        final BulkResponseAggregator aggregator = task.getAggregator();
+        final Iterator<BulkRequestBuilder> bulkRequests;
+        try {
+            bulkRequests = contentBuilder.prepare(content, aggregator);
+            // a resumed upload may have no features left to index
+            if (bulkRequests.hasNext() == false && aggregator.getTotal() == 0 && aggregator.getResumedFrom() == 0) {
+                uploadStepListener.onFailure(new IllegalStateException("No valid features are available to index"));
+                return;
+            }
+        } catch (Exception e) {
+            uploadStepListener.onFailure(e);
             return;
         }
-        contentRequestBuilder.get()
-            .execute(
-                ActionListener.wrap(
-                    uploadStepListener::onResponse,
-                    bulkRequestFailedException -> uploadStepListener.onFailure(
-                        new IllegalStateException("Failed to index document due to " + bulkRequestFailedException.getMessage())
-                    )
-                )
-            );
+        bulkRequestExecutor.execute(
+            bulkRequests,
+            task,
+            ActionListener.wrap(
+                response -> refreshIndex(content.getIndexName(), response, uploadStepListener),
+                uploadStepListener::onFailure
+            )
+        );
     }
 
-    private void createAndAddMetricToStats(String metricID, BulkResponse response) {
+    /**
+     * Refresh the index once after all bulk requests complete, so that uploaded documents are visible for search
+     *
+     * Documents are already indexed by then, hence, the response is notified even if refresh fails.
+     */
+    private void refreshIndex(String indexName, UploadGeoJSONResponse response, StepListener<UploadGeoJSONResponse> uploadStepListener) {
+        final StepListener<Void> refreshIndexStep = new StepListener<>();
+        refreshIndexStep.whenComplete(notUsed -> uploadStepListener.onResponse(response), refreshFailed -> {
+            LOGGER.warn("Failed to refresh index [ " + indexName + " ] after upload", refreshFailed);
+            uploadStepListener.onResponse(response);
+        });
+        indexManager.refresh(indexName, refreshIndexStep);
+    }
+
+    private void createAndAddMetricToStats(String metricID, UploadGeoJSONResponse response) {
         UploadMetric metric = createUploadMetric(metricID, response);
         UploadStats.getInstance().addMetric(metric);
     }
 
-    private UploadMetric createUploadMetric(String id, BulkResponse response) {
+    private UploadMetric createUploadMetric(String id, UploadGeoJSONResponse response) {
         UploadMetric.UploadMetricBuilder metricBuilder = new UploadMetric.UploadMetricBuilder(id, GEOJSON);
-        BulkItemResponse[] items = response.getItems();
-        metricBuilder.uploadCount(items.length);
-        metricBuilder.duration(response.getTook().duration());
-        if (response.hasFailures()) {
-            return createFailedUploadMetric(metricBuilder, items);
-        }
-        return createSuccessUploadMetric(metricBuilder, items);
-    }
-
-    private UploadMetric createSuccessUploadMetric(UploadMetric.UploadMetricBuilder metricBuilder, BulkItemResponse[] items) {
-        Objects.requireNonNull(metricBuilder, "metric builder cannot be null");
-        Objects.requireNonNull(items, "BulkItemResponse array cannot be null");
-        metricBuilder.successCount(items.length);
-        return metricBuilder.build();
-    }
-
-    private UploadMetric createFailedUploadMetric(UploadMetric.UploadMetricBuilder metricBuilder, BulkItemResponse[] items) {
-        Objects.requireNonNull(metricBuilder, "metric builder cannot be null");
-        Objects.requireNonNull(items, "BulkItemResponse cannot be null");
-        long failed = Arrays.stream(items).filter(BulkItemResponse::isFailed).count();
-        metricBuilder.failedCount(failed);
-        long success = items.length - failed;
-        metricBuilder.successCount(success);
+        metricBuilder.uploadCount(response.getTotal());
+        metricBuilder.duration(response.getTookInMillis());
+        metricBuilder.successCount(response.getSuccessCount());
+        metricBuilder.failedCount(response.getFailureCount());
         return metricBuilder.build();
     }
 }
@@ -15,4 +15,8 @@ public class IndexSetting {
     public static final String AUTO_EXPAND_REPLICAS = "index.auto_expand_replicas";
     public static final String HIDDEN = "index.hidden";
     public static final String BLOCKS_WRITE = "index.blocks.write";
+    public static final String CODEC = "index.codec";
+    public static final String SORT_FIELD = "index.sort.field";
+    public static final String SORT_ORDER = "index.sort.order";
+    public static final String ROUTING_ALLOCATION_REQUIRE_ID = "index.routing.allocation.require._id";
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read only view of a FlatBuffers table, which is the encoding of header and features of FlatGeobuf
+ *
+ * Values are read in place from the buffer, and only the fields FlatGeobuf uses are supported.
+ * Fields are referred by their index in the schema. Offsets which point outside of the buffer are
+ * rejected with {@link IllegalArgumentException}, so that a corrupted buffer never causes a large allocation.
+ */
+final class FlatBufferTable {
+    private static final int SIZE_OF_OFFSET = Integer.BYTES;
+    private static final int VTABLE_METADATA_SIZE = 2 * Short.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final int vtable;
+    private final int vtableSize;
+
+    private FlatBufferTable(final ByteBuffer buffer, final int position) {
+        this.buffer = buffer;
+        this.position = checkPosition(buffer, position, SIZE_OF_OFFSET);
+        this.vtable = checkPosition(buffer, position - buffer.getInt(position), VTABLE_METADATA_SIZE);
+        this.vtableSize = Short.toUnsignedInt(buffer.getShort(vtable));
+        checkPosition(buffer, vtable, vtableSize);
+    }
+
+    /**
+     * @param buffer buffer in little endian order, which starts with the offset of the root table
+     * @return root table of the buffer
+     */
+    static FlatBufferTable root(final ByteBuffer buffer) {
+        return new FlatBufferTable(buffer, indirect(buffer, 0));
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    boolean has(final int field) {
+        return fieldOffset(field) != 0;
+    }
+
+    int getUByte(final int field, final int defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : Byte.toUnsignedInt(buffer.get(checkPosition(buffer, position + offset, Byte.BYTES)));
+    }
+
+    boolean getBoolean(final int field) {
+        return getUByte(field, 0) != 0;
+    }
+
+    int getUShort(final int field, final int defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : Short.toUnsignedInt(buffer.getShort(checkPosition(buffer, position + offset, Short.BYTES)));
+    }
+
+    long getLong(final int field, final long defaultValue) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? defaultValue : buffer.getLong(checkPosition(buffer, position + offset, Long.BYTES));
+    }
+
+    /**
+     * @return string value of the field, or null if the field is absent
+     */
+    String getString(final int field) {
+        final int offset = fieldOffset(field);
+        if (offset == 0) {
+            return null;
+        }
+        final int start = indirect(buffer, position + offset);
+        final int length = checkLength(buffer, start, Byte.BYTES);
+        return readString(buffer, start + SIZE_OF_OFFSET, length);
+    }
+
+    /**
+     * @return table of the field, or null if the field is absent
+     */
+    FlatBufferTable getTable(final int field) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? null : new FlatBufferTable(buffer, indirect(buffer, position + offset));
+    }
+
+    /**
+     * @param elementSize size of an element of the vector in bytes
+     * @return number of elements of the vector of the field, or 0 if the field is absent
+     */
+    int getVectorLength(final int field, final int elementSize) {
+        final int offset = fieldOffset(field);
+        return offset == 0 ? 0 : checkLength(buffer, indirect(buffer, position + offset), elementSize);
+    }
+
+    /**
+     * @return position of the first element of the vector of the field, which must be present
+     */
+    int getVectorStart(final int field) {
+        return indirect(buffer, position + fieldOffset(field)) + SIZE_OF_OFFSET;
+    }
+
+    /**
+     * @return table at the index of the vector of tables of the field
+     */
+    FlatBufferTable getTableAt(final int field, final int index) {
+        return new FlatBufferTable(buffer, indirect(buffer, getVectorStart(field) + index * SIZE_OF_OFFSET));
+    }
+
+    static String readString(final ByteBuffer buffer, final int start, final int length) {
+        checkPosition(buffer, start, length);
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.duplicate().position(start).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int fieldOffset(final int field) {
+        final int entry = VTABLE_METADATA_SIZE + field * Short.BYTES;
+        return entry + Short.BYTES <= vtableSize ? Short.toUnsignedInt(buffer.getShort(vtable + entry)) : 0;
+    }
+
+    /**
+     * @return position referred by the offset at the given position, as offsets are relative to where they are stored
+     */
+    private static int indirect(final ByteBuffer buffer, final int position) {
+        checkPosition(buffer, position, SIZE_OF_OFFSET);
+        final int offset = buffer.getInt(position);
+        // referred objects are always stored after the offset, which also rules out cycles
+        if (offset <= 0) {
+            throw new IllegalArgumentException("offset [ " + offset + " ] at [ " + position + " ] is not positive");
+        }
+        return checkPosition(buffer, position + offset, 0);
+    }
+
+    /**
+     * @return number of elements of the vector at the given position after validating the vector fits in the buffer
+     */
+    private static int checkLength(final ByteBuffer buffer, final int start, final int elementSize) {
+        checkPosition(buffer, start, SIZE_OF_OFFSET);
+        final int length = buffer.getInt(start);
+        if (length < 0 || start + SIZE_OF_OFFSET + (long) length * elementSize > buffer.limit()) {
+            throw new IllegalArgumentException("vector at [ " + start + " ] is out of bounds");
+        }
+        return length;
+    }
+
+    private static int checkPosition(final ByteBuffer buffer, final int position, final int size) {
+        if (position < 0 || (long) position + size > buffer.limit()) {
+            throw new IllegalArgumentException("offset [ " + position + " ] is out of bounds");
+        }
+        return position;
+    }
+}
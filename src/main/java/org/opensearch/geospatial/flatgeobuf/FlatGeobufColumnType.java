@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+/**
+ * Values of ColumnType enum in FlatGeobuf schema
+ */
+public final class FlatGeobufColumnType {
+    public static final int BYTE = 0;
+    public static final int UBYTE = 1;
+    public static final int BOOL = 2;
+    public static final int SHORT = 3;
+    public static final int USHORT = 4;
+    public static final int INT = 5;
+    public static final int UINT = 6;
+    public static final int LONG = 7;
+    public static final int ULONG = 8;
+    public static final int FLOAT = 9;
+    public static final int DOUBLE = 10;
+    public static final int STRING = 11;
+    public static final int JSON = 12;
+    public static final int DATE_TIME = 13;
+    public static final int BINARY = 14;
+
+    private FlatGeobufColumnType() {}
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.util.Map;
+
+import org.opensearch.geometry.Geometry;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Feature of FlatGeobuf, decoded into {@link Geometry} and properties by column name
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class FlatGeobufFeature {
+    private final Geometry geometry;
+    /**
+     * Properties of the feature, which can be modified by the caller
+     */
+    private final Map<String, Object> properties;
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+/**
+ * Values of GeometryType enum in FlatGeobuf schema, which are supported for upload
+ */
+public final class FlatGeobufGeometryType {
+    public static final int UNKNOWN = 0;
+    public static final int POINT = 1;
+    public static final int LINE_STRING = 2;
+    public static final int POLYGON = 3;
+    public static final int MULTI_POINT = 4;
+    public static final int MULTI_LINE_STRING = 5;
+    public static final int MULTI_POLYGON = 6;
+    public static final int GEOMETRY_COLLECTION = 7;
+
+    private FlatGeobufGeometryType() {}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Header of FlatGeobuf, which describes geometry type, columns of properties and spatial index of the features
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FlatGeobufHeader {
+    // field indices of Header table in header.fbs
+    private static final int FIELD_GEOMETRY_TYPE = 2;
+    private static final int FIELD_HAS_Z = 3;
+    private static final int FIELD_COLUMNS = 7;
+    private static final int FIELD_FEATURES_COUNT = 8;
+    private static final int FIELD_INDEX_NODE_SIZE = 9;
+    // field indices of Column table in header.fbs
+    private static final int FIELD_COLUMN_NAME = 0;
+    private static final int FIELD_COLUMN_TYPE = 1;
+    private static final int DEFAULT_INDEX_NODE_SIZE = 16;
+    private static final int NODE_ITEM_SIZE = 4 * Double.BYTES + Long.BYTES;
+
+    /**
+     * Geometry type of all features, or {@link FlatGeobufGeometryType#UNKNOWN} if every feature has its own geometry type
+     */
+    private final int geometryType;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasZ;
+    private final List<Column> columns;
+    /**
+     * Number of features, or 0 if unknown
+     */
+    private final long featuresCount;
+    /**
+     * Number of children of a node of the spatial index, or 0 if there is no spatial index
+     */
+    private final int indexNodeSize;
+
+    static FlatGeobufHeader read(final ByteBuffer buffer) {
+        final FlatBufferTable header = FlatBufferTable.root(buffer);
+        final long featuresCount = header.getLong(FIELD_FEATURES_COUNT, 0);
+        if (featuresCount < 0) {
+            throw new IllegalArgumentException("features count [ " + Long.toUnsignedString(featuresCount) + " ] is too large");
+        }
+        return new FlatGeobufHeader(
+            header.getUByte(FIELD_GEOMETRY_TYPE, FlatGeobufGeometryType.UNKNOWN),
+            header.getBoolean(FIELD_HAS_Z),
+            readColumns(header, FIELD_COLUMNS),
+            featuresCount,
+            header.getUShort(FIELD_INDEX_NODE_SIZE, DEFAULT_INDEX_NODE_SIZE)
+        );
+    }
+
+    /**
+     * Read columns from a vector of Column tables, which is part of both Header and Feature
+     *
+     * @return columns, or empty list if the field is absent
+     */
+    static List<Column> readColumns(final FlatBufferTable table, final int field) {
+        final int count = table.getVectorLength(field, Integer.BYTES);
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        final List<Column> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final FlatBufferTable column = table.getTableAt(field, i);
+            final String name = column.getString(FIELD_COLUMN_NAME);
+            if (name == null) {
+                throw new IllegalArgumentException("name of column [ " + i + " ] is missing");
+            }
+            columns.add(new Column(name, column.getUByte(FIELD_COLUMN_TYPE, FlatGeobufColumnType.BYTE)));
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @return whether geometries have z coordinate
+     */
+    public boolean hasZ() {
+        return hasZ;
+    }
+
+    /**
+     * Size of the packed Hilbert R-tree stored between the header and the features
+     *
+     * The spatial index is not used for upload, since all features are read, but it has to be skipped to reach features.
+     *
+     * @return size of the spatial index in bytes
+     * @throws IllegalArgumentException if size of the spatial index of the features count overflows
+     */
+    long getIndexSize() {
+        if (indexNodeSize == 0 || featuresCount == 0) {
+            return 0;
+        }
+        final int nodeSize = Math.min(Math.max(indexNodeSize, 2), 65535);
+        // features count is unsigned, hence, a negative value is beyond any count which fits in the content
+        if (featuresCount < 0) {
+            throw new IllegalArgumentException("spatial index of [ " + Long.toUnsignedString(featuresCount) + " ] features is too large");
+        }
+        long count = featuresCount;
+        long nodes = count;
+        try {
+            do {
+                count = (count - 1) / nodeSize + 1;
+                nodes = Math.addExact(nodes, count);
+            } while (count != 1);
+            return Math.multiplyExact(nodes, NODE_ITEM_SIZE);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("spatial index of [ " + featuresCount + " ] features is too large", e);
+        }
+    }
+
+    /**
+     * Column of properties of features
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Column {
+        private final String name;
+        /**
+         * One of {@link FlatGeobufColumnType}
+         */
+        private final int type;
+    }
+}
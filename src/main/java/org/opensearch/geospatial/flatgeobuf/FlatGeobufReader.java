@@ -0,0 +1,445 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.apache.lucene.util.BytesRef;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.geometry.Geometry;
+import org.opensearch.geometry.GeometryCollection;
+import org.opensearch.geometry.Line;
+import org.opensearch.geometry.LinearRing;
+import org.opensearch.geometry.MultiLine;
+import org.opensearch.geometry.MultiPoint;
+import org.opensearch.geometry.MultiPolygon;
+import org.opensearch.geometry.Point;
+import org.opensearch.geometry.Polygon;
+
+/**
+ * FlatGeobufReader reads features of FlatGeobuf (https://flatgeobuf.org) one at a time
+ *
+ * Features are decoded straight from the binary encoding into {@link Geometry} and properties, without going
+ * through an intermediate representation like GeoJSON. Every feature is prefixed with its size, hence, features
+ * can be skipped or counted without being decoded. Structural errors of the header are reported when the reader
+ * is created, and errors of a feature are reported when the feature is read, after the reader moves past
+ * the feature, so that the caller can continue with the next feature.
+ */
+public final class FlatGeobufReader {
+    private static final byte[] MAGIC_BYTES = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62 };
+    // magic bytes end with patch version, which is not validated
+    private static final int MAGIC_BYTES_SIZE = MAGIC_BYTES.length + 1;
+    private static final int SIZE_PREFIX = Integer.BYTES;
+    private static final int MAX_GEOMETRY_DEPTH = 100;
+    // field indices of Feature table in feature.fbs
+    private static final int FIELD_FEATURE_GEOMETRY = 0;
+    private static final int FIELD_FEATURE_PROPERTIES = 1;
+    private static final int FIELD_FEATURE_COLUMNS = 2;
+    // field indices of Geometry table in feature.fbs
+    private static final int FIELD_GEOMETRY_ENDS = 0;
+    private static final int FIELD_GEOMETRY_XY = 1;
+    private static final int FIELD_GEOMETRY_Z = 2;
+    private static final int FIELD_GEOMETRY_TYPE = 6;
+    private static final int FIELD_GEOMETRY_PARTS = 7;
+
+    private final ByteBuffer buffer;
+    private final FlatGeobufHeader header;
+    private int offset;
+
+    private FlatGeobufReader(final ByteBuffer buffer, final FlatGeobufHeader header, final int offset) {
+        this.buffer = buffer;
+        this.header = header;
+        this.offset = offset;
+    }
+
+    /**
+     * Creates a reader positioned at the first feature
+     *
+     * Content is read in place if it is backed by a single array, otherwise it is copied once.
+     *
+     * @param content FlatGeobuf content
+     * @return reader of features of the content
+     * @throws IllegalArgumentException if content is not FlatGeobuf, or its header is not valid
+     */
+    public static FlatGeobufReader create(final BytesReference content) {
+        Objects.requireNonNull(content, "content cannot be null");
+        final BytesRef bytes = content.toBytesRef();
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes.bytes, bytes.offset, bytes.length).slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < MAGIC_BYTES_SIZE + SIZE_PREFIX) {
+            throw new IllegalArgumentException("content is not FlatGeobuf");
+        }
+        for (int i = 0; i < MAGIC_BYTES.length; i++) {
+            if (buffer.get(i) != MAGIC_BYTES[i]) {
+                throw new IllegalArgumentException("content is not FlatGeobuf of version 3");
+            }
+        }
+        final ByteBuffer headerBuffer;
+        final FlatGeobufHeader header;
+        final long indexSize;
+        try {
+            headerBuffer = slice(buffer, MAGIC_BYTES_SIZE, "header");
+            header = FlatGeobufHeader.read(headerBuffer);
+            indexSize = header.getIndexSize();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("header of FlatGeobuf is not valid: " + e.getMessage(), e);
+        }
+        final long featuresOffset;
+        try {
+            featuresOffset = Math.addExact(MAGIC_BYTES_SIZE + SIZE_PREFIX + headerBuffer.limit(), indexSize);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("spatial index of FlatGeobuf is out of bounds", e);
+        }
+        if (featuresOffset > buffer.limit()) {
+            throw new IllegalArgumentException("spatial index of FlatGeobuf is out of bounds");
+        }
+        return new FlatGeobufReader(buffer, header, (int) featuresOffset);
+    }
+
+    public FlatGeobufHeader getHeader() {
+        return header;
+    }
+
+    public boolean hasNext() {
+        return offset < buffer.limit();
+    }
+
+    /**
+     * Read next feature
+     *
+     * @return next feature
+     * @throws IllegalArgumentException if the feature cannot be decoded, in which case the reader still moves past it,
+     *         or if size of the feature is out of bounds, in which case the reader moves to the end of the content
+     */
+    public FlatGeobufFeature next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+        final ByteBuffer featureBuffer;
+        try {
+            featureBuffer = slice(buffer, offset, "feature");
+        } catch (IllegalArgumentException e) {
+            // following features cannot be located without the size of this feature
+            offset = buffer.limit();
+            throw e;
+        }
+        offset += SIZE_PREFIX + featureBuffer.limit();
+        try {
+            final FlatBufferTable feature = FlatBufferTable.root(featureBuffer);
+            final FlatBufferTable geometry = feature.getTable(FIELD_FEATURE_GEOMETRY);
+            if (geometry == null) {
+                throw new IllegalArgumentException("geometry is missing");
+            }
+            final int type = header.getGeometryType() == FlatGeobufGeometryType.UNKNOWN
+                ? geometry.getUByte(FIELD_GEOMETRY_TYPE, FlatGeobufGeometryType.UNKNOWN)
+                : header.getGeometryType();
+            return new FlatGeobufFeature(readGeometry(geometry, type, 0), readProperties(feature));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("feature is not valid", e);
+        }
+    }
+
+    /**
+     * Skip features without decoding them
+     *
+     * @param count number of features to skip
+     * @return number of features skipped, which is less than count if there are not enough features
+     * @throws IllegalArgumentException if size of a feature is out of bounds, in which case the reader moves to the end of the content
+     */
+    public long skip(final long count) {
+        long skipped = 0;
+        while (skipped < count && hasNext()) {
+            try {
+                offset += SIZE_PREFIX + slice(buffer, offset, "feature").limit();
+            } catch (IllegalArgumentException e) {
+                offset = buffer.limit();
+                throw e;
+            }
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * @return size prefixed buffer at the offset, without the size prefix
+     */
+    private static ByteBuffer slice(final ByteBuffer buffer, final int offset, final String name) {
+        if ((long) offset + SIZE_PREFIX > buffer.limit()) {
+            throw new IllegalArgumentException("size of " + name + " at [ " + offset + " ] is out of bounds");
+        }
+        final int size = buffer.getInt(offset);
+        final int start = offset + SIZE_PREFIX;
+        if (size < 0 || (long) start + size > buffer.limit()) {
+            throw new IllegalArgumentException(name + " at [ " + offset + " ] with size [ " + size + " ] is out of bounds");
+        }
+        return buffer.duplicate().position(start).limit(start + size).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private Map<String, Object> readProperties(final FlatBufferTable feature) {
+        final Map<String, Object> properties = new HashMap<>();
+        final int length = feature.getVectorLength(FIELD_FEATURE_PROPERTIES, Byte.BYTES);
+        if (length == 0) {
+            return properties;
+        }
+        final List<FlatGeobufHeader.Column> columns = feature.has(FIELD_FEATURE_COLUMNS)
+            ? FlatGeobufHeader.readColumns(feature, FIELD_FEATURE_COLUMNS)
+            : header.getColumns();
+        final ByteBuffer propertyBuffer = feature.buffer();
+        int position = feature.getVectorStart(FIELD_FEATURE_PROPERTIES);
+        final int end = position + length;
+        while (position < end) {
+            checkProperty(position, Short.BYTES, end);
+            final int index = Short.toUnsignedInt(propertyBuffer.getShort(position));
+            position += Short.BYTES;
+            if (index >= columns.size()) {
+                throw new IllegalArgumentException("column [ " + index + " ] is not defined");
+            }
+            final FlatGeobufHeader.Column column = columns.get(index);
+            final int size = getValueSize(propertyBuffer, column.getType(), position, end);
+            checkProperty(position, size, end);
+            properties.put(column.getName(), readValue(propertyBuffer, column.getType(), position, size));
+            position += size;
+        }
+        return properties;
+    }
+
+    /**
+     * @return number of bytes the value of the column type takes at the position
+     */
+    private static int getValueSize(final ByteBuffer buffer, final int type, final int position, final int end) {
+        switch (type) {
+            case FlatGeobufColumnType.BYTE:
+            case FlatGeobufColumnType.UBYTE:
+            case FlatGeobufColumnType.BOOL:
+                return Byte.BYTES;
+            case FlatGeobufColumnType.SHORT:
+            case FlatGeobufColumnType.USHORT:
+                return Short.BYTES;
+            case FlatGeobufColumnType.INT:
+            case FlatGeobufColumnType.UINT:
+            case FlatGeobufColumnType.FLOAT:
+                return Integer.BYTES;
+            case FlatGeobufColumnType.LONG:
+            case FlatGeobufColumnType.ULONG:
+            case FlatGeobufColumnType.DOUBLE:
+                return Long.BYTES;
+            case FlatGeobufColumnType.STRING:
+            case FlatGeobufColumnType.JSON:
+            case FlatGeobufColumnType.DATE_TIME:
+            case FlatGeobufColumnType.BINARY:
+                checkProperty(position, Integer.BYTES, end);
+                final int length = buffer.getInt(position);
+                if (length < 0) {
+                    throw new IllegalArgumentException("property at [ " + position + " ] is out of bounds");
+                }
+                return Integer.BYTES + length;
+            default:
+                throw new IllegalArgumentException("column type [ " + type + " ] is not supported");
+        }
+    }
+
+    /**
+     * Read value of the column type, where JSON and DateTime are kept as string, and binary as byte array
+     */
+    private static Object readValue(final ByteBuffer buffer, final int type, final int position, final int size) {
+        switch (type) {
+            case FlatGeobufColumnType.BYTE:
+                return (int) buffer.get(position);
+            case FlatGeobufColumnType.UBYTE:
+                return Byte.toUnsignedInt(buffer.get(position));
+            case FlatGeobufColumnType.BOOL:
+                return buffer.get(position) != 0;
+            case FlatGeobufColumnType.SHORT:
+                return (int) buffer.getShort(position);
+            case FlatGeobufColumnType.USHORT:
+                return Short.toUnsignedInt(buffer.getShort(position));
+            case FlatGeobufColumnType.INT:
+                return buffer.getInt(position);
+            case FlatGeobufColumnType.UINT:
+                return Integer.toUnsignedLong(buffer.getInt(position));
+            case FlatGeobufColumnType.LONG:
+                return buffer.getLong(position);
+            case FlatGeobufColumnType.ULONG:
+                final long value = buffer.getLong(position);
+                return value >= 0 ? (Object) value : new BigInteger(Long.toUnsignedString(value));
+            case FlatGeobufColumnType.FLOAT:
+                return buffer.getFloat(position);
+            case FlatGeobufColumnType.DOUBLE:
+                return buffer.getDouble(position);
+            case FlatGeobufColumnType.BINARY:
+                final byte[] bytes = new byte[size - Integer.BYTES];
+                buffer.duplicate().position(position + Integer.BYTES).get(bytes);
+                return bytes;
+            default:
+                return FlatBufferTable.readString(buffer, position + Integer.BYTES, size - Integer.BYTES);
+        }
+    }
+
+    private static void checkProperty(final int position, final int size, final int end) {
+        if ((long) position + size > end) {
+            throw new IllegalArgumentException("property at [ " + position + " ] is out of bounds");
+        }
+    }
+
+    private Geometry readGeometry(final FlatBufferTable geometry, final int type, final int depth) {
+        if (depth > MAX_GEOMETRY_DEPTH) {
+            throw new IllegalArgumentException("geometry is nested deeper than [ " + MAX_GEOMETRY_DEPTH + " ]");
+        }
+        switch (type) {
+            case FlatGeobufGeometryType.MULTI_POLYGON:
+                return new MultiPolygon(readParts(geometry, FlatGeobufGeometryType.POLYGON, depth));
+            case FlatGeobufGeometryType.GEOMETRY_COLLECTION:
+                return new GeometryCollection<>(readParts(geometry, FlatGeobufGeometryType.UNKNOWN, depth));
+            default:
+                break;
+        }
+        final Coordinates coordinates = new Coordinates(geometry, header.hasZ());
+        final int[] ends = readEnds(geometry, coordinates.size);
+        switch (type) {
+            case FlatGeobufGeometryType.POINT:
+                if (coordinates.size != 1) {
+                    throw new IllegalArgumentException("point must have one coordinate, but has [ " + coordinates.size + " ]");
+                }
+                return coordinates.point(0);
+            case FlatGeobufGeometryType.MULTI_POINT:
+                final List<Point> points = new ArrayList<>(coordinates.size);
+                for (int i = 0; i < coordinates.size; i++) {
+                    points.add(coordinates.point(i));
+                }
+                return new MultiPoint(points);
+            case FlatGeobufGeometryType.LINE_STRING:
+                return coordinates.line(0, coordinates.size);
+            case FlatGeobufGeometryType.MULTI_LINE_STRING:
+                final List<Line> lines = new ArrayList<>(ends.length);
+                for (int i = 0; i < ends.length; i++) {
+                    lines.add(coordinates.line(i == 0 ? 0 : ends[i - 1], ends[i]));
+                }
+                return new MultiLine(lines);
+            case FlatGeobufGeometryType.POLYGON:
+                final List<LinearRing> holes = new ArrayList<>(ends.length - 1);
+                for (int i = 1; i < ends.length; i++) {
+                    holes.add(coordinates.ring(ends[i - 1], ends[i]));
+                }
+                return new Polygon(coordinates.ring(0, ends[0]), holes);
+            default:
+                throw new IllegalArgumentException("geometry type [ " + type + " ] is not supported");
+        }
+    }
+
+    /**
+     * Read parts of a geometry, where each part has its own type if the given type is unknown
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Geometry> List<T> readParts(final FlatBufferTable geometry, final int type, final int depth) {
+        final int count = geometry.getVectorLength(FIELD_GEOMETRY_PARTS, Integer.BYTES);
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        final List<T> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final FlatBufferTable part = geometry.getTableAt(FIELD_GEOMETRY_PARTS, i);
+            final int partType = type == FlatGeobufGeometryType.UNKNOWN
+                ? part.getUByte(FIELD_GEOMETRY_TYPE, FlatGeobufGeometryType.UNKNOWN)
+                : type;
+            parts.add((T) readGeometry(part, partType, depth + 1));
+        }
+        return parts;
+    }
+
+    /**
+     * Read end positions of parts in coordinates, where a geometry without ends has a single part of all coordinates
+     */
+    private static int[] readEnds(final FlatBufferTable geometry, final int size) {
+        final int count = geometry.getVectorLength(FIELD_GEOMETRY_ENDS, Integer.BYTES);
+        if (count == 0) {
+            return new int[] { size };
+        }
+        final int start = geometry.getVectorStart(FIELD_GEOMETRY_ENDS);
+        final int[] ends = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            final long end = Integer.toUnsignedLong(geometry.buffer().getInt(start + i * Integer.BYTES));
+            if (end < previous || end > size) {
+                throw new IllegalArgumentException("end [ " + end + " ] of part [ " + i + " ] is out of bounds");
+            }
+            ends[i] = (int) end;
+            previous = ends[i];
+        }
+        return ends;
+    }
+
+    /**
+     * Coordinates of a geometry, read in place from xy and optional z vectors
+     */
+    private static final class Coordinates {
+        private final ByteBuffer buffer;
+        private final int xy;
+        private final int z;
+        private final int size;
+
+        private Coordinates(final FlatBufferTable geometry, final boolean hasZ) {
+            this.buffer = geometry.buffer();
+            final int length = geometry.getVectorLength(FIELD_GEOMETRY_XY, Double.BYTES);
+            if (length % 2 != 0) {
+                throw new IllegalArgumentException("xy must have even number of values, but has [ " + length + " ]");
+            }
+            this.size = length / 2;
+            this.xy = length == 0 ? 0 : geometry.getVectorStart(FIELD_GEOMETRY_XY);
+            final int zLength = hasZ ? geometry.getVectorLength(FIELD_GEOMETRY_Z, Double.BYTES) : 0;
+            if (zLength != 0 && zLength != size) {
+                throw new IllegalArgumentException("z must have [ " + size + " ] values, but has [ " + zLength + " ]");
+            }
+            this.z = zLength == 0 ? -1 : geometry.getVectorStart(FIELD_GEOMETRY_Z);
+        }
+
+        private double x(final int index) {
+            return buffer.getDouble(xy + 2 * index * Double.BYTES);
+        }
+
+        private double y(final int index) {
+            return buffer.getDouble(xy + (2 * index + 1) * Double.BYTES);
+        }
+
+        private Point point(final int index) {
+            return z < 0 ? new Point(x(index), y(index)) : new Point(x(index), y(index), buffer.getDouble(z + index * Double.BYTES));
+        }
+
+        private Line line(final int from, final int to) {
+            final double[][] values = values(from, to);
+            return values[2] == null ? new Line(values[0], values[1]) : new Line(values[0], values[1], values[2]);
+        }
+
+        private LinearRing ring(final int from, final int to) {
+            final double[][] values = values(from, to);
+            return values[2] == null ? new LinearRing(values[0], values[1]) : new LinearRing(values[0], values[1], values[2]);
+        }
+
+        /**
+         * @return x, y and z values of coordinates in the range, where z is null if there is no z coordinate
+         */
+        private double[][] values(final int from, final int to) {
+            final double[] xs = new double[to - from];
+            final double[] ys = new double[to - from];
+            final double[] zs = z < 0 ? null : new double[to - from];
+            for (int i = from; i < to; i++) {
+                xs[i - from] = x(i);
+                ys[i - from] = y(i);
+                if (zs != null) {
+                    zs[i - from] = buffer.getDouble(z + i * Double.BYTES);
+                }
+            }
+            return new double[][] { xs, ys, zs };
+        }
+    }
+}
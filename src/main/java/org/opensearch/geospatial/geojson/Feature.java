@@ -5,13 +5,14 @@
 
 package org.opensearch.geospatial.geojson;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import lombok.Value;
 
 /**
  * Feature object represents GEOJSON of type Feature.
+ *
+ * Geometry and properties are read only views over the maps of the input, they are not copied.
  */
 @Value
 public class Feature {
@@ -22,10 +23,9 @@ public class Feature {
     private final Map<String, Object> geometry;
     private final Map<String, Object> properties;
 
-    private Feature(Map<String, Object> geometry) {
-        this.geometry = new HashMap<>();
-        this.geometry.putAll(geometry);
-        this.properties = new HashMap<>();
+    private Feature(Map<String, Object> geometry, Map<String, Object> properties) {
+        this.geometry = geometry;
+        this.properties = properties;
     }
 
     /**
@@ -33,10 +33,11 @@ public class Feature {
      */
     static class FeatureBuilder {
 
-        private final Feature feature;
+        private final Map<String, Object> geometry;
+        private Map<String, Object> properties = Map.of();
 
         public FeatureBuilder(Map<String, Object> geometry) {
-            this.feature = new Feature(geometry);
+            this.geometry = geometry;
         }
 
         /**
@@ -45,17 +46,17 @@ public class Feature {
          * @return Feature, which is a GeoJSON Object of type Feature
          */
         public Feature build() {
-            return feature;
+            return new Feature(geometry, properties);
         }
 
         /**
-         * Adds given properties to existing properties
+         * Sets properties of the Feature, without copying them
          *
          * @param properties to be included in Feature
          * @return FeatureBuilder instance
          */
         public FeatureBuilder properties(Map<String, Object> properties) {
-            this.feature.properties.putAll(properties);
+            this.properties = properties;
             return this;
         }
     }
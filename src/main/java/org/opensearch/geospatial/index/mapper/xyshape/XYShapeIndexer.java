@@ -12,6 +12,7 @@ import java.util.Objects;
 import org.apache.lucene.index.IndexableField;
 import org.opensearch.geometry.Geometry;
 import org.opensearch.geometry.GeometryVisitor;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
 import org.opensearch.index.mapper.AbstractGeometryFieldMapper;
 import org.opensearch.index.mapper.ParseContext;
 
@@ -42,9 +43,16 @@ public class XYShapeIndexer implements AbstractGeometryFieldMapper.Indexer<Geome
         return Geometry.class;
     }
 
+    /**
+     * Time taken to tessellate the geometry into indexable fields is recorded in {@link GeospatialMetrics}
+     */
     @Override
     public List<IndexableField> indexShape(ParseContext parseContext, Geometry geometry) {
         Objects.requireNonNull(geometry, "geometry cannot be null");
-        return Arrays.asList(geometry.visit(indexableFieldsVisitor));
+        long startTime = System.nanoTime();
+        IndexableField[] fields = geometry.visit(indexableFieldsVisitor);
+        GeospatialMetrics.getInstance()
+            .onXYShapeTessellated(parseContext.indexSettings().getIndex().getName(), System.nanoTime() - startTime);
+        return Arrays.asList(fields);
     }
 }
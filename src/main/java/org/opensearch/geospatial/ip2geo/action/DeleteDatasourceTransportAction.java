@@ -6,6 +6,7 @@
 package org.opensearch.geospatial.ip2geo.action;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.support.ActionFilters;
@@ -19,9 +20,9 @@ import org.opensearch.geospatial.exceptions.ResourceInUseException;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
-import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
 import org.opensearch.geospatial.ip2geo.dao.Ip2GeoProcessorDao;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateService;
 import org.opensearch.ingest.IngestService;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -38,7 +39,7 @@ public class DeleteDatasourceTransportAction extends HandledTransportAction<Dele
     private final Ip2GeoLockService lockService;
     private final IngestService ingestService;
     private final DatasourceDao datasourceDao;
-    private final GeoIpDataDao geoIpDataDao;
+    private final DatasourceUpdateService datasourceUpdateService;
     private final Ip2GeoProcessorDao ip2GeoProcessorDao;
     private final ThreadPool threadPool;
 
@@ -57,7 +58,7 @@ public class DeleteDatasourceTransportAction extends HandledTransportAction<Dele
         final Ip2GeoLockService lockService,
         final IngestService ingestService,
         final DatasourceDao datasourceDao,
-        final GeoIpDataDao geoIpDataDao,
+        final DatasourceUpdateService datasourceUpdateService,
         final Ip2GeoProcessorDao ip2GeoProcessorDao,
         final ThreadPool threadPool
     ) {
@@ -65,7 +66,7 @@ public class DeleteDatasourceTransportAction extends HandledTransportAction<Dele
         this.lockService = lockService;
         this.ingestService = ingestService;
         this.datasourceDao = datasourceDao;
-        this.geoIpDataDao = geoIpDataDao;
+        this.datasourceUpdateService = datasourceUpdateService;
         this.ip2GeoProcessorDao = ip2GeoProcessorDao;
         this.threadPool = threadPool;
     }
@@ -114,8 +115,11 @@ public class DeleteDatasourceTransportAction extends HandledTransportAction<Dele
         DatasourceState previousState = datasource.getState();
         setDatasourceStateAsDeleting(datasource);
 
+        // Each index is removed from the datasource once released, so that a revert on failure keeps only indices not deleted yet
         try {
-            geoIpDataDao.deleteIp2GeoDataIndex(datasource.getIndices());
+            for (String index : new ArrayList<>(datasource.getIndices())) {
+                datasourceUpdateService.deleteIndexIfUnreferenced(datasource, index);
+            }
         } catch (Exception e) {
             if (previousState.equals(datasource.getState()) == false) {
                 datasource.setState(previousState);
@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.action;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.action.support.master.AcknowledgedResponse;
+
+/**
+ * Ip2Geo datasource routing publish action
+ *
+ * The action is used internally to publish datasource routing metadata in cluster state.
+ */
+public class PublishDatasourceRoutingAction extends ActionType<AcknowledgedResponse> {
+    /**
+     * Publish datasource routing action instance
+     */
+    public static final PublishDatasourceRoutingAction INSTANCE = new PublishDatasourceRoutingAction();
+    /**
+     * Publish datasource routing action name
+     */
+    public static final String NAME = "internal:geospatial/datasource/routing/publish";
+
+    private PublishDatasourceRoutingAction() {
+        super(NAME, AcknowledgedResponse::new);
+    }
+}
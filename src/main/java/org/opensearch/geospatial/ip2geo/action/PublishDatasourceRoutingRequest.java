@@ -0,0 +1,102 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.action;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.action.support.clustermanager.ClusterManagerNodeRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
+
+import lombok.Getter;
+
+/**
+ * Ip2Geo datasource routing publish request
+ */
+@Getter
+public class PublishDatasourceRoutingRequest extends ClusterManagerNodeRequest<PublishDatasourceRoutingRequest> {
+    /**
+     * @return uuid of the datasource index which routings are built from
+     */
+    private final String jobIndexUuid;
+    /**
+     * @return routings to add or update
+     */
+    private final List<DatasourceRouting> updates;
+    /**
+     * @return sequence numbers of removal keyed by datasource name
+     */
+    private final Map<String, Long> removals;
+
+    public PublishDatasourceRoutingRequest(
+        final String jobIndexUuid,
+        final List<DatasourceRouting> updates,
+        final Map<String, Long> removals
+    ) {
+        this.jobIndexUuid = jobIndexUuid;
+        this.updates = updates;
+        this.removals = removals;
+    }
+
+    /**
+     * Create a request to add or update a routing
+     *
+     * @param jobIndexUuid uuid of the datasource index
+     * @param routing the routing
+     * @return the request
+     */
+    public static PublishDatasourceRoutingRequest update(final String jobIndexUuid, final DatasourceRouting routing) {
+        return new PublishDatasourceRoutingRequest(jobIndexUuid, List.of(routing), Collections.emptyMap());
+    }
+
+    /**
+     * Create a request to remove a routing
+     *
+     * @param jobIndexUuid uuid of the datasource index
+     * @param name the datasource name
+     * @param seqNo sequence number of the deletion
+     * @return the request
+     */
+    public static PublishDatasourceRoutingRequest remove(final String jobIndexUuid, final String name, final long seqNo) {
+        return new PublishDatasourceRoutingRequest(jobIndexUuid, Collections.emptyList(), Map.of(name, seqNo));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param in the stream input
+     * @throws IOException IOException
+     */
+    public PublishDatasourceRoutingRequest(final StreamInput in) throws IOException {
+        super(in);
+        this.jobIndexUuid = in.readString();
+        this.updates = in.readList(DatasourceRouting::new);
+        this.removals = in.readMap(StreamInput::readString, StreamInput::readZLong);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException errors = null;
+        if (jobIndexUuid == null) {
+            errors = new ActionRequestValidationException();
+            errors.addValidationError("datasource index uuid is missing");
+        }
+        return errors;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(jobIndexUuid);
+        out.writeList(updates);
+        out.writeMap(removals, StreamOutput::writeString, StreamOutput::writeZLong);
+    }
+}
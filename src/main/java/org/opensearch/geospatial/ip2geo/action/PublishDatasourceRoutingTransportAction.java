@@ -0,0 +1,153 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.action;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.clustermanager.TransportClusterManagerNodeAction;
+import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateTaskConfig;
+import org.opensearch.cluster.ClusterStateTaskExecutor;
+import org.opensearch.cluster.ClusterStateTaskListener;
+import org.opensearch.cluster.block.ClusterBlockException;
+import org.opensearch.cluster.block.ClusterBlockLevel;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Priority;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.geospatial.annotation.VisibleForTesting;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Transport action to publish datasource routing metadata in cluster state
+ *
+ * Requests are applied by a single cluster state task executor so that concurrent requests are batched into one
+ * cluster state update.
+ */
+@Log4j2
+public class PublishDatasourceRoutingTransportAction extends TransportClusterManagerNodeAction<
+    PublishDatasourceRoutingRequest,
+    AcknowledgedResponse> {
+    private static final String TASK_SOURCE = "publish-ip2geo-datasource-routing";
+    private final RoutingTaskExecutor routingTaskExecutor = new RoutingTaskExecutor();
+
+    /**
+     * Constructor
+     * @param transportService the transport service
+     * @param clusterService the cluster service
+     * @param threadPool the thread pool
+     * @param actionFilters the action filters
+     * @param indexNameExpressionResolver the index name expression resolver
+     */
+    @Inject
+    public PublishDatasourceRoutingTransportAction(
+        final TransportService transportService,
+        final ClusterService clusterService,
+        final ThreadPool threadPool,
+        final ActionFilters actionFilters,
+        final IndexNameExpressionResolver indexNameExpressionResolver
+    ) {
+        super(
+            PublishDatasourceRoutingAction.NAME,
+            transportService,
+            clusterService,
+            threadPool,
+            actionFilters,
+            PublishDatasourceRoutingRequest::new,
+            indexNameExpressionResolver
+        );
+    }
+
+    @Override
+    protected String executor() {
+        return ThreadPool.Names.SAME;
+    }
+
+    @Override
+    protected AcknowledgedResponse read(final StreamInput in) throws IOException {
+        return new AcknowledgedResponse(in);
+    }
+
+    @Override
+    protected void clusterManagerOperation(
+        final PublishDatasourceRoutingRequest request,
+        final ClusterState state,
+        final ActionListener<AcknowledgedResponse> listener
+    ) {
+        clusterService.submitStateUpdateTask(
+            TASK_SOURCE,
+            request,
+            ClusterStateTaskConfig.build(Priority.NORMAL),
+            routingTaskExecutor,
+            new ClusterStateTaskListener() {
+                @Override
+                public void onFailure(final String source, final Exception e) {
+                    listener.onFailure(e);
+                }
+
+                @Override
+                public void clusterStateProcessed(final String source, final ClusterState oldState, final ClusterState newState) {
+                    listener.onResponse(new AcknowledgedResponse(true));
+                }
+            }
+        );
+    }
+
+    @Override
+    protected ClusterBlockException checkBlock(final PublishDatasourceRoutingRequest request, final ClusterState state) {
+        return state.blocks().globalBlockedException(ClusterBlockLevel.METADATA_WRITE);
+    }
+
+    /**
+     * Apply publish requests to datasource routing metadata
+     *
+     * A request built from a datasource index other than the current one is stale and ignored.
+     */
+    @VisibleForTesting
+    protected static class RoutingTaskExecutor implements ClusterStateTaskExecutor<PublishDatasourceRoutingRequest> {
+        @Override
+        public ClusterTasksResult<PublishDatasourceRoutingRequest> execute(
+            final ClusterState currentState,
+            final List<PublishDatasourceRoutingRequest> tasks
+        ) {
+            IndexMetadata jobIndexMetadata = currentState.metadata().index(DatasourceExtension.JOB_INDEX_NAME);
+            DatasourceRoutingMetadata current = currentState.metadata().custom(DatasourceRoutingMetadata.TYPE);
+            if (current == null) {
+                current = DatasourceRoutingMetadata.EMPTY;
+            }
+            DatasourceRoutingMetadata updated = current;
+            if (jobIndexMetadata != null) {
+                String jobIndexUuid = jobIndexMetadata.getIndexUUID();
+                for (PublishDatasourceRoutingRequest task : tasks) {
+                    if (jobIndexUuid.equals(task.getJobIndexUuid()) == false) {
+                        log.debug("Ignore datasource routing built from a stale datasource index[{}]", task.getJobIndexUuid());
+                        continue;
+                    }
+                    updated = updated.apply(jobIndexUuid, task.getUpdates(), task.getRemovals());
+                }
+            }
+
+            ClusterState newState = updated == current
+                ? currentState
+                : ClusterState.builder(currentState)
+                    .metadata(Metadata.builder(currentState.metadata()).putCustom(DatasourceRoutingMetadata.TYPE, updated))
+                    .build();
+            return ClusterTasksResult.<PublishDatasourceRoutingRequest>builder().successes(tasks).build(newState);
+        }
+    }
+}
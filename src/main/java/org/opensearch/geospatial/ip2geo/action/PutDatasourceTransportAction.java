@@ -24,11 +24,11 @@ import org.opensearch.geospatial.ip2geo.common.DatasourceState;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateService;
 import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.jobscheduler.spi.LockModel;
 import org.opensearch.tasks.Task;
-import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
 import lombok.extern.log4j.Log4j2;
@@ -38,7 +38,7 @@ import lombok.extern.log4j.Log4j2;
  */
 @Log4j2
 public class PutDatasourceTransportAction extends HandledTransportAction<PutDatasourceRequest, AcknowledgedResponse> {
-    private final ThreadPool threadPool;
+    private final DatasourceUpdateScheduler datasourceUpdateScheduler;
     private final DatasourceDao datasourceDao;
     private final DatasourceUpdateService datasourceUpdateService;
     private final Ip2GeoLockService lockService;
@@ -47,7 +47,7 @@ public class PutDatasourceTransportAction extends HandledTransportAction<PutData
      * Default constructor
      * @param transportService the transport service
      * @param actionFilters the action filters
-     * @param threadPool the thread pool
+     * @param datasourceUpdateScheduler the datasource update scheduler
      * @param datasourceDao the datasource facade
      * @param datasourceUpdateService the datasource update service
      * @param lockService the lock service
@@ -56,13 +56,13 @@ public class PutDatasourceTransportAction extends HandledTransportAction<PutData
     public PutDatasourceTransportAction(
         final TransportService transportService,
         final ActionFilters actionFilters,
-        final ThreadPool threadPool,
+        final DatasourceUpdateScheduler datasourceUpdateScheduler,
         final DatasourceDao datasourceDao,
         final DatasourceUpdateService datasourceUpdateService,
         final Ip2GeoLockService lockService
     ) {
         super(PutDatasourceAction.NAME, transportService, actionFilters, PutDatasourceRequest::new);
-        this.threadPool = threadPool;
+        this.datasourceUpdateScheduler = datasourceUpdateScheduler;
         this.datasourceDao = datasourceDao;
         this.datasourceUpdateService = datasourceUpdateService;
         this.lockService = lockService;
@@ -120,15 +120,15 @@ public class PutDatasourceTransportAction extends HandledTransportAction<PutData
         return new ActionListener<>() {
             @Override
             public void onResponse(final IndexResponse indexResponse) {
-                // This is user initiated request. Therefore, we want to handle the first datasource update task in a generic thread
-                // pool.
-                threadPool.generic().submit(() -> {
+                // This is user initiated request. Therefore, we want to run the first datasource update task ahead of
+                // scheduled updates waiting in the queue.
+                datasourceUpdateScheduler.submit(datasource.getName(), DatasourceUpdateScheduler.Priority.HIGH, completionListener -> {
                     AtomicReference<LockModel> lockReference = new AtomicReference<>(lock);
-                    try {
-                        createDatasource(datasource, lockService.getRenewLockRunnable(lockReference));
-                    } finally {
-                        lockService.releaseLock(lockReference.get());
-                    }
+                    createDatasource(
+                        datasource,
+                        lockService.getRenewLockRunnable(lockReference),
+                        ActionListener.runBefore(completionListener, () -> lockService.releaseLock(lockReference.get()))
+                    );
                 });
                 listener.onResponse(new AcknowledgedResponse(true));
             }
@@ -145,19 +145,29 @@ public class PutDatasourceTransportAction extends HandledTransportAction<PutData
         };
     }
 
+    /**
+     * Create GeoIP data of a datasource
+     *
+     * The listener is notified once the creation completes, regardless of whether it succeeded or not.
+     */
     @VisibleForTesting
-    protected void createDatasource(final Datasource datasource, final Runnable renewLock) {
+    protected void createDatasource(final Datasource datasource, final Runnable renewLock, final ActionListener<Void> listener) {
         if (DatasourceState.CREATING.equals(datasource.getState()) == false) {
             log.error("Invalid datasource state. Expecting {} but received {}", DatasourceState.CREATING, datasource.getState());
             markDatasourceAsCreateFailed(datasource);
+            listener.onResponse(null);
             return;
         }
 
-        try {
-            datasourceUpdateService.updateOrCreateGeoIpData(datasource, renewLock);
-        } catch (Exception e) {
+        ActionListener<Void> createListener = ActionListener.wrap(listener::onResponse, e -> {
             log.error("Failed to create datasource for {}", datasource.getName(), e);
             markDatasourceAsCreateFailed(datasource);
+            listener.onResponse(null);
+        });
+        try {
+            datasourceUpdateService.updateOrCreateGeoIpData(datasource, renewLock, createListener);
+        } catch (Exception e) {
+            createListener.onFailure(e);
         }
     }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import inet.ipaddr.IPAddress;
+import inet.ipaddr.IPAddressString;
+import lombok.Getter;
+
+/**
+ * Iterator merging adjacent ip ranges having the same GeoIP data into one range
+ *
+ * GeoIP databases list networks in ascending order and consecutive networks often have the same data,
+ * for example consecutive /24 networks in the same city. Each record is an array whose first value is a CIDR
+ * and the rest are GeoIP data. Records are merged when the first address of a record immediately follows the last
+ * address of the previous record and the rest of values are equal. The first value of a merged record is an ip range
+ * in the form of "{first address}-{last address}" which is not a valid CIDR. A record which is not merged with any
+ * other record is returned as is.
+ *
+ * Only one pending record is held in memory at a time.
+ */
+public class AdjacentIpRangeMerger implements Iterator<String[]> {
+    /**
+     * Separator between the first and last address of a merged ip range
+     */
+    public static final String IP_RANGE_SEPARATOR = "-";
+
+    private final Iterator<String[]> iterator;
+    private String[] next;
+    private IPAddress nextLower;
+    private IPAddress nextUpper;
+    /**
+     * @return Number of records read from the underlying iterator
+     */
+    @Getter
+    private long inputCount;
+    /**
+     * @return Number of records returned
+     */
+    @Getter
+    private long outputCount;
+
+    public AdjacentIpRangeMerger(final Iterator<String[]> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null || iterator.hasNext();
+    }
+
+    @Override
+    public String[] next() {
+        if (next == null) {
+            if (iterator.hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            read();
+        }
+
+        String[] merged = next;
+        IPAddress mergedLower = nextLower;
+        IPAddress mergedUpper = nextUpper;
+        boolean isMerged = false;
+        next = null;
+        while (iterator.hasNext()) {
+            read();
+            if (canMerge(merged, mergedUpper) == false) {
+                break;
+            }
+            mergedUpper = nextUpper;
+            isMerged = true;
+            next = null;
+        }
+
+        outputCount++;
+        if (isMerged == false) {
+            return merged;
+        }
+        String[] values = Arrays.copyOf(merged, merged.length);
+        values[0] = mergedLower.toCanonicalString() + IP_RANGE_SEPARATOR + mergedUpper.toCanonicalString();
+        return values;
+    }
+
+    private void read() {
+        next = iterator.next();
+        inputCount++;
+        IPAddress address = next.length == 0 ? null : new IPAddressString(next[0]).getAddress();
+        if (address == null) {
+            nextLower = null;
+            nextUpper = null;
+            return;
+        }
+        IPAddress block = address.toPrefixBlock();
+        nextLower = block.getLower().withoutPrefixLength();
+        nextUpper = block.getUpper().withoutPrefixLength();
+    }
+
+    private boolean canMerge(final String[] merged, final IPAddress mergedUpper) {
+        if (mergedUpper == null || nextLower == null || merged.length != next.length) {
+            return false;
+        }
+        IPAddress following = mergedUpper.increment(1);
+        if (following == null || following.equals(nextLower) == false) {
+            return false;
+        }
+        return Arrays.equals(merged, 1, merged.length, next, 1, next.length);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.common.unit.TimeValue;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Controller deciding when to flush a bulk request while indexing GeoIP data
+ *
+ * A bulk request is flushed when it reaches either the current document limit or the target size in bytes.
+ * The document limit starts at the configured batch size which also acts as its upper bound.
+ * The limit is halved when a bulk request takes longer than the target latency or gets rejected,
+ * and grows back gradually while bulk requests complete within the target latency.
+ */
+@Log4j2
+public class BulkSizeController {
+    private static final int MIN_DOC_LIMIT = 100;
+    private static final int MAX_CONSECUTIVE_REJECTIONS = 10;
+    private static final long INITIAL_BACKOFF_IN_MILLIS = 100;
+    private static final long MAX_BACKOFF_IN_MILLIS = 10000;
+
+    private final int maxDocs;
+    private final long targetBytes;
+    private final long targetLatencyInMillis;
+    /**
+     * @return Current max number of documents in a bulk request
+     */
+    @Getter
+    private int docLimit;
+    private int consecutiveRejections;
+    /**
+     * @return Total number of rejected bulk requests
+     */
+    @Getter
+    private long rejectionCount;
+
+    /**
+     * Constructor
+     *
+     * @param maxDocs upper bound of number of documents in a bulk request
+     * @param targetBytes target size of a bulk request in bytes
+     * @param targetLatencyInMillis target latency of a bulk request in milliseconds
+     */
+    public BulkSizeController(final int maxDocs, final long targetBytes, final long targetLatencyInMillis) {
+        if (maxDocs < 1) {
+            throw new IllegalArgumentException("max number of documents in a bulk request must be 1 or greater");
+        }
+        this.maxDocs = maxDocs;
+        this.targetBytes = targetBytes;
+        this.targetLatencyInMillis = targetLatencyInMillis;
+        this.docLimit = maxDocs;
+    }
+
+    /**
+     * Checks if a bulk request with given number of documents and size should be sent
+     *
+     * @param numDocs number of documents in a bulk request
+     * @param numBytes estimated size of a bulk request in bytes
+     * @return true if the bulk request should be sent, and false otherwise
+     */
+    public boolean shouldFlush(final int numDocs, final long numBytes) {
+        return numDocs >= docLimit || numBytes >= targetBytes;
+    }
+
+    /**
+     * Adjust document limit based on the latency of a succeeded bulk request
+     *
+     * @param numDocs number of documents in the bulk request
+     * @param tookInMillis latency of the bulk request in milliseconds
+     */
+    public void onSuccess(final int numDocs, final long tookInMillis) {
+        consecutiveRejections = 0;
+        if (tookInMillis > targetLatencyInMillis) {
+            decrease();
+            log.debug("Bulk request took {} millis. Reduced bulk size to {} documents", tookInMillis, docLimit);
+            return;
+        }
+
+        // Only grow when the document limit was what triggered the flush
+        if (numDocs >= docLimit && docLimit < maxDocs) {
+            docLimit = Math.min(maxDocs, docLimit + Math.max(1, docLimit / 4));
+        }
+    }
+
+    /**
+     * Reduce document limit on a rejected bulk request and return backoff time before retry
+     *
+     * @return time to wait before retrying the rejected bulk request
+     */
+    public TimeValue onRejection() {
+        consecutiveRejections++;
+        rejectionCount++;
+        if (consecutiveRejections > MAX_CONSECUTIVE_REJECTIONS) {
+            throw new OpenSearchException("bulk request was rejected {} times in a row", consecutiveRejections);
+        }
+        decrease();
+        long backoff = Math.min(MAX_BACKOFF_IN_MILLIS, INITIAL_BACKOFF_IN_MILLIS << (consecutiveRejections - 1));
+        log.debug("Bulk request was rejected. Reduced bulk size to {} documents and retry after {} millis", docLimit, backoff);
+        return TimeValue.timeValueMillis(backoff);
+    }
+
+    private void decrease() {
+        docLimit = Math.max(Math.min(MIN_DOC_LIMIT, maxDocs), docLimit / 2);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.AbstractNamedDiffable;
+import org.opensearch.cluster.NamedDiff;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.core.ParseField;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ConstructingObjectParser;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
+import org.opensearch.index.seqno.SequenceNumbers;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Routing metadata of Ip2Geo datasources published in cluster state
+ *
+ * The metadata has the minimal information of each datasource which Ip2Geo processors need to look up GeoIP data
+ * so that every node can read it from its cluster state without searching the datasource index.
+ *
+ * Each routing is tagged with the sequence number of the datasource document it was built from so that an update
+ * published out of order does not overwrite a newer one. Sequence numbers are only comparable within the same
+ * datasource index. Therefore, the metadata is tagged with the uuid of the datasource index and is ignored once
+ * the datasource index is recreated.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+public class DatasourceRoutingMetadata extends AbstractNamedDiffable<Metadata.Custom> implements Metadata.Custom {
+    public static final String TYPE = "ip2geo_datasource_routing";
+    public static final DatasourceRoutingMetadata EMPTY = new DatasourceRoutingMetadata(null, Collections.emptyMap());
+    private static final ParseField JOB_INDEX_UUID_FIELD = new ParseField("job_index_uuid");
+    private static final ParseField ROUTINGS_FIELD = new ParseField("routings");
+
+    /**
+     * @return uuid of the datasource index which routings are built from
+     */
+    private final String jobIndexUuid;
+    /**
+     * @return routings keyed by datasource name
+     */
+    private final Map<String, DatasourceRouting> routings;
+
+    public DatasourceRoutingMetadata(final String jobIndexUuid, final Map<String, DatasourceRouting> routings) {
+        this.jobIndexUuid = jobIndexUuid;
+        this.routings = Collections.unmodifiableMap(routings);
+    }
+
+    public DatasourceRoutingMetadata(final StreamInput in) throws IOException {
+        this(in.readOptionalString(), in.readMap(StreamInput::readString, DatasourceRouting::new));
+    }
+
+    /**
+     * Return routings of datasources in the current datasource index
+     *
+     * @param metadata cluster metadata
+     * @return routings keyed by datasource name
+     */
+    public static Map<String, DatasourceRouting> routings(final Metadata metadata) {
+        DatasourceRoutingMetadata routingMetadata = metadata.custom(TYPE);
+        IndexMetadata jobIndexMetadata = metadata.index(DatasourceExtension.JOB_INDEX_NAME);
+        if (routingMetadata == null
+            || jobIndexMetadata == null
+            || jobIndexMetadata.getIndexUUID().equals(routingMetadata.jobIndexUuid) == false) {
+            return Collections.emptyMap();
+        }
+        return routingMetadata.routings;
+    }
+
+    /**
+     * Apply routing updates and removals
+     *
+     * A routing is updated only when its sequence number is greater than the existing one, and removed only when the
+     * sequence number of removal is greater than the existing one. A routing with unassigned sequence number is added
+     * only when there is no routing of the datasource.
+     *
+     * @param currentJobIndexUuid uuid of the current datasource index
+     * @param updates routings to add or update
+     * @param removals sequence numbers of removal keyed by datasource name
+     * @return updated metadata, or this if nothing changed
+     */
+    public DatasourceRoutingMetadata apply(
+        final String currentJobIndexUuid,
+        final List<DatasourceRouting> updates,
+        final Map<String, Long> removals
+    ) {
+        boolean sameJobIndex = currentJobIndexUuid.equals(jobIndexUuid);
+        Map<String, DatasourceRouting> newRoutings = sameJobIndex ? new HashMap<>(routings) : new HashMap<>();
+        boolean changed = sameJobIndex == false;
+        for (DatasourceRouting update : updates) {
+            DatasourceRouting existing = newRoutings.get(update.getName());
+            if (existing == null || existing.getSeqNo() < update.getSeqNo()) {
+                newRoutings.put(update.getName(), update);
+                changed = true;
+            }
+        }
+        for (Map.Entry<String, Long> removal : removals.entrySet()) {
+            DatasourceRouting existing = newRoutings.get(removal.getKey());
+            if (existing != null && existing.getSeqNo() < removal.getValue()) {
+                newRoutings.remove(removal.getKey());
+                changed = true;
+            }
+        }
+        return changed ? new DatasourceRoutingMetadata(currentJobIndexUuid, newRoutings) : this;
+    }
+
+    /**
+     * Routings are derived from the datasource index and are republished by the cluster manager, hence, they are not
+     * persisted in the gateway or in snapshots where they would fail to load without the plugin.
+     */
+    @Override
+    public EnumSet<Metadata.XContentContext> context() {
+        return Metadata.API_ONLY;
+    }
+
+    @Override
+    public String getWriteableName() {
+        return TYPE;
+    }
+
+    /**
+     * Nodes of earlier versions have no reader of this custom, hence, it is not sent to them
+     */
+    @Override
+    public Version getMinimalSupportedVersion() {
+        return Version.V_3_0_0;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeOptionalString(jobIndexUuid);
+        out.writeMap(routings, StreamOutput::writeString, (o, routing) -> routing.writeTo(o));
+    }
+
+    public static NamedDiff<Metadata.Custom> readDiffFrom(final StreamInput in) throws IOException {
+        return readDiffFrom(Metadata.Custom.class, TYPE, in);
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        if (jobIndexUuid != null) {
+            builder.field(JOB_INDEX_UUID_FIELD.getPreferredName(), jobIndexUuid);
+        }
+        builder.startObject(ROUTINGS_FIELD.getPreferredName());
+        for (Map.Entry<String, DatasourceRouting> entry : routings.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        return builder;
+    }
+
+    public static DatasourceRoutingMetadata fromXContent(final XContentParser parser) throws IOException {
+        String jobIndexUuid = null;
+        Map<String, DatasourceRouting> routings = new HashMap<>();
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        XContentParser.Token token;
+        while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+            if (token != XContentParser.Token.FIELD_NAME) {
+                continue;
+            }
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if (JOB_INDEX_UUID_FIELD.match(fieldName, parser.getDeprecationHandler())) {
+                jobIndexUuid = parser.text();
+            } else if (ROUTINGS_FIELD.match(fieldName, parser.getDeprecationHandler())) {
+                while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    routings.put(name, DatasourceRouting.PARSER.parse(parser, name));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new DatasourceRoutingMetadata(jobIndexUuid, routings);
+    }
+
+    /**
+     * Routing of a datasource
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class DatasourceRouting implements Writeable, ToXContentObject {
+        private static final ParseField INDEX_NAME_FIELD = new ParseField("index_name");
+        private static final ParseField STATE_FIELD = new ParseField("state");
+        private static final ParseField EXPIRATION_DATE_FIELD = new ParseField("expiration_date");
+        private static final ParseField SEQ_NO_FIELD = new ParseField("seq_no");
+
+        /**
+         * @return name of the datasource
+         */
+        private final String name;
+        /**
+         * @return name of the GeoIP data index in use, or null if there is none
+         */
+        private final String indexName;
+        /**
+         * @return state of the datasource
+         */
+        private final DatasourceState state;
+        /**
+         * @return time after which GeoIP data of the datasource is expired
+         */
+        private final Instant expirationDate;
+        /**
+         * @return sequence number of the datasource document
+         */
+        private final long seqNo;
+
+        /**
+         * Routing parser which takes a datasource name as context
+         */
+        private static final ConstructingObjectParser<DatasourceRouting, String> PARSER = new ConstructingObjectParser<>(
+            "datasource_routing",
+            true,
+            (args, name) -> new DatasourceRouting(
+                name,
+                (String) args[0],
+                DatasourceState.valueOf((String) args[1]),
+                Instant.parse((String) args[2]),
+                (long) args[3]
+            )
+        );
+        static {
+            PARSER.declareString(ConstructingObjectParser.optionalConstructorArg(), INDEX_NAME_FIELD);
+            PARSER.declareString(ConstructingObjectParser.constructorArg(), STATE_FIELD);
+            PARSER.declareString(ConstructingObjectParser.constructorArg(), EXPIRATION_DATE_FIELD);
+            PARSER.declareLong(ConstructingObjectParser.constructorArg(), SEQ_NO_FIELD);
+        }
+
+        /**
+         * @param other another routing
+         * @return true if the other routing points to the same index with the same state and expiration date
+         */
+        public boolean isSameRoute(final DatasourceRouting other) {
+            return other != null
+                && Objects.equals(indexName, other.indexName)
+                && state == other.state
+                && Objects.equals(expirationDate, other.expirationDate);
+        }
+
+        /**
+         * Create a routing from a datasource
+         *
+         * @param datasource the datasource
+         * @param seqNo sequence number of the datasource document or {@link SequenceNumbers#UNASSIGNED_SEQ_NO} if unknown
+         */
+        public DatasourceRouting(final Datasource datasource, final long seqNo) {
+            this(datasource.getName(), datasource.getCurrentIndex(), datasource.getState(), datasource.expirationDay(), seqNo);
+        }
+
+        public DatasourceRouting(final StreamInput in) throws IOException {
+            this(in.readString(), in.readOptionalString(), in.readEnum(DatasourceState.class), in.readInstant(), in.readZLong());
+        }
+
+        @Override
+        public void writeTo(final StreamOutput out) throws IOException {
+            out.writeString(name);
+            out.writeOptionalString(indexName);
+            out.writeEnum(state);
+            out.writeInstant(expirationDate);
+            out.writeZLong(seqNo);
+        }
+
+        @Override
+        public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+            builder.startObject();
+            if (indexName != null) {
+                builder.field(INDEX_NAME_FIELD.getPreferredName(), indexName);
+            }
+            builder.field(STATE_FIELD.getPreferredName(), state.name());
+            builder.field(EXPIRATION_DATE_FIELD.getPreferredName(), expirationDate.toString());
+            builder.field(SEQ_NO_FIELD.getPreferredName(), seqNo);
+            builder.endObject();
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.opensearch.common.unit.TimeValue;
+
+/**
+ * Rate limiter for indexing GeoIP data shared by all datasource updates in a node
+ *
+ * Callers reserve permits for the documents of a bulk request and get back how long they should wait
+ * before sending the request. Reservations are served in order so that a datasource update which reserved
+ * earlier is not starved by others. Rate of zero means no limit.
+ */
+public class IndexingRateLimiter {
+    private final LongSupplier nanoTimeSupplier;
+    private int docsPerSecond;
+    private long nextFreeTimeInNanos;
+
+    public IndexingRateLimiter(final int docsPerSecond) {
+        this(docsPerSecond, System::nanoTime);
+    }
+
+    protected IndexingRateLimiter(final int docsPerSecond, final LongSupplier nanoTimeSupplier) {
+        this.nanoTimeSupplier = nanoTimeSupplier;
+        this.docsPerSecond = docsPerSecond;
+        this.nextFreeTimeInNanos = nanoTimeSupplier.getAsLong();
+    }
+
+    /**
+     * Update the rate
+     *
+     * @param docsPerSecond max number of documents per second, or zero for no limit
+     */
+    public synchronized void setDocsPerSecond(final int docsPerSecond) {
+        this.docsPerSecond = docsPerSecond;
+        this.nextFreeTimeInNanos = Math.min(nextFreeTimeInNanos, nanoTimeSupplier.getAsLong());
+    }
+
+    /**
+     * Reserve permits for given number of documents
+     *
+     * @param numDocs number of documents to index
+     * @return time to wait before indexing the documents
+     */
+    public synchronized TimeValue reserve(final int numDocs) {
+        if (docsPerSecond <= 0) {
+            return TimeValue.ZERO;
+        }
+        long now = nanoTimeSupplier.getAsLong();
+        long waitTimeInNanos = Math.max(0, nextFreeTimeInNanos - now);
+        nextFreeTimeInNanos = Math.max(nextFreeTimeInNanos, now) + TimeUnit.SECONDS.toNanos(numDocs) / docsPerSecond;
+        return TimeValue.timeValueNanos(waitTimeInNanos);
+    }
+}
@@ -5,33 +5,60 @@
 
 package org.opensearch.geospatial.ip2geo.common;
 
+import java.io.Closeable;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.opensearch.action.support.ThreadedActionListener;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.geospatial.annotation.VisibleForTesting;
 import org.opensearch.threadpool.ExecutorBuilder;
 import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 
+import lombok.extern.log4j.Log4j2;
+
 /**
  * Provide a list of static methods related with executors for Ip2Geo
  */
-public class Ip2GeoExecutor {
+@Log4j2
+public class Ip2GeoExecutor implements Closeable {
     private static final String THREAD_POOL_NAME = "_plugin_geospatial_ip2geo_datasource_update";
     private final ThreadPool threadPool;
+    /**
+     * Executor starting a virtual thread per task, or null if virtual threads are disabled or not supported
+     */
+    private final ExecutorService virtualThreadExecutor;
 
-    public Ip2GeoExecutor(final ThreadPool threadPool) {
+    public Ip2GeoExecutor(final ThreadPool threadPool, final Settings settings) {
         this.threadPool = threadPool;
+        this.virtualThreadExecutor = Ip2GeoSettings.VIRTUAL_THREADS_ENABLED.get(settings)
+            ? newVirtualThreadPerTaskExecutor().orElse(null)
+            : null;
     }
 
     /**
-     * We use fixed thread count of 1 for updating datasource as updating datasource is running background
-     * once a day at most and no need to expedite the task.
+     * Thread count is the upper bound of {@link Ip2GeoSettings#MAX_CONCURRENT_UPDATES} so that reading GeoIP data of
+     * concurrent updates does not wait on each other even after the dynamic setting is raised. Concurrency is limited
+     * by {@link org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler}, and threads of a fixed
+     * thread pool are started only when tasks are submitted.
      *
      * @param settings the settings
      * @return the executor builder
      */
     public static ExecutorBuilder executorBuilder(final Settings settings) {
-        return new FixedExecutorBuilder(settings, THREAD_POOL_NAME, 1, 1000, THREAD_POOL_NAME, false);
+        return new FixedExecutorBuilder(
+            settings,
+            THREAD_POOL_NAME,
+            Ip2GeoSettings.MAX_CONCURRENT_UPDATES_LIMIT,
+            1000,
+            THREAD_POOL_NAME,
+            false
+        );
     }
 
     /**
@@ -42,4 +69,69 @@ public class Ip2GeoExecutor {
     public ExecutorService forDatasourceUpdate() {
         return threadPool.executor(THREAD_POOL_NAME);
     }
+
+    /**
+     * Return a listener which is notified in the datasource update thread pool
+     *
+     * Listeners of asynchronous calls are notified in transport or cluster applier threads
+     * where blocking operations like reading GeoIP data from an endpoint are not allowed.
+     *
+     * @param listener the listener to be notified in the datasource update thread pool
+     * @return the listener
+     * @param <T> the response type
+     */
+    public <T> ActionListener<T> forkToDatasourceUpdate(final ActionListener<T> listener) {
+        return new ThreadedActionListener<>(log, threadPool, THREAD_POOL_NAME, listener, false);
+    }
+
+    /**
+     * Schedule a command to run in the datasource update thread pool after a given delay
+     *
+     * @param command the command
+     * @param delay the delay
+     */
+    public void schedule(final Runnable command, final TimeValue delay) {
+        threadPool.schedule(command, delay, THREAD_POOL_NAME);
+    }
+
+    /**
+     * Return an executor for tasks which mostly wait on other nodes, like GeoIP data lookups and lock acquisition
+     *
+     * Each task runs on a new virtual thread with the thread context of the caller so that thousands of waiting
+     * tasks do not occupy ingest or datasource update threads. Empty is returned when
+     * {@link Ip2GeoSettings#VIRTUAL_THREADS_ENABLED} is off or virtual threads are not supported by the JDK,
+     * in which case callers keep running the task in their own thread pool.
+     *
+     * @return the executor running each task on a virtual thread
+     */
+    public Optional<Executor> forBlockingCall() {
+        if (virtualThreadExecutor == null) {
+            return Optional.empty();
+        }
+        return Optional.of(command -> virtualThreadExecutor.execute(threadPool.getThreadContext().preserveContext(command)));
+    }
+
+    @Override
+    public void close() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Create an executor starting a virtual thread per task
+     *
+     * The plugin is compiled against JDK 11, so the factory method added in JDK 21 is looked up reflectively.
+     *
+     * @return the executor, or empty if virtual threads are not supported by the running JDK
+     */
+    @VisibleForTesting
+    protected static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Virtual threads are not supported by the running JDK. Blocking Ip2Geo calls run on platform threads", e);
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.stats.StatsHistogram;
+
+/**
+ * Counters and histograms of GeoIP data indexed by datasource updates in a node
+ *
+ * Throughput is the number of indexed documents per second of indexing time, where indexing time is the sum of time
+ * taken by completed indexing of GeoIP data. This class is thread safe.
+ */
+public class Ip2GeoIndexingStats implements Writeable, ToXContentFragment {
+    private static final String FIELD_DATASOURCE_UPDATE = "datasource_update";
+    private static final String FIELD_SUCCEEDED = "succeeded";
+    private static final String FIELD_FAILED = "failed";
+    private static final String FIELD_INDEXED_DOCUMENTS = "indexed_documents";
+    private static final String FIELD_REJECTED_DOCUMENTS = "rejected_documents";
+    private static final String FIELD_INDEXING_TIME_IN_MILLIS = "indexing_time_in_millis";
+    private static final String FIELD_DOCUMENTS_PER_SECOND = "documents_per_second";
+    private static final String FIELD_DURATION_IN_MILLIS = "duration_in_millis";
+    private static final String FIELD_BULK_LATENCY_IN_MILLIS = "bulk_latency_in_millis";
+
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder indexedDocuments = new LongAdder();
+    private final LongAdder rejectedDocuments = new LongAdder();
+    private final LongAdder indexingTimeInMillis = new LongAdder();
+    private final StatsHistogram duration = new StatsHistogram();
+    private final StatsHistogram bulkLatency = new StatsHistogram();
+
+    /**
+     * Get Ip2GeoIndexingStats from {@link StreamInput}
+     *
+     * @param input contains {@link Ip2GeoIndexingStats} in serialized form
+     * @return Ip2GeoIndexingStats instance
+     * @throws IOException if cannot read {@link Ip2GeoIndexingStats} from given input
+     */
+    public static Ip2GeoIndexingStats fromStreamInput(final StreamInput input) throws IOException {
+        Objects.requireNonNull(input, "StreamInput cannot be null");
+        final Ip2GeoIndexingStats stats = new Ip2GeoIndexingStats();
+        stats.failed.add(input.readVLong());
+        stats.indexedDocuments.add(input.readVLong());
+        stats.rejectedDocuments.add(input.readVLong());
+        stats.indexingTimeInMillis.add(input.readVLong());
+        stats.duration.add(new StatsHistogram(input));
+        stats.bulkLatency.add(new StatsHistogram(input));
+        return stats;
+    }
+
+    /**
+     * Record a bulk request of GeoIP data
+     *
+     * @param indexed number of documents indexed by the bulk request
+     * @param rejected number of documents rejected by the bulk request, which are retried
+     * @param tookInMillis time taken by the bulk request in milliseconds
+     */
+    public void onBulk(final int indexed, final int rejected, final long tookInMillis) {
+        indexedDocuments.add(indexed);
+        rejectedDocuments.add(rejected);
+        bulkLatency.record(tookInMillis);
+    }
+
+    /**
+     * Record indexing of GeoIP data into an index which completed successfully
+     *
+     * @param tookInMillis time taken to index all GeoIP data in milliseconds
+     */
+    public void onIndexingSucceeded(final long tookInMillis) {
+        indexingTimeInMillis.add(tookInMillis);
+        duration.record(tookInMillis);
+    }
+
+    /**
+     * Record indexing of GeoIP data into an index which failed
+     */
+    public void onIndexingFailed() {
+        failed.increment();
+    }
+
+    /**
+     * @return number of indexing of GeoIP data which completed successfully
+     */
+    public long getSucceeded() {
+        return duration.getTotalCount();
+    }
+
+    /**
+     * @return number of indexing of GeoIP data which failed
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of indexed GeoIP data documents
+     */
+    public long getIndexedDocuments() {
+        return indexedDocuments.sum();
+    }
+
+    /**
+     * @return number of GeoIP data documents rejected and retried
+     */
+    public long getRejectedDocuments() {
+        return rejectedDocuments.sum();
+    }
+
+    /**
+     * @return sum of time taken by completed indexing of GeoIP data in milliseconds
+     */
+    public long getIndexingTimeInMillis() {
+        return indexingTimeInMillis.sum();
+    }
+
+    /**
+     * @return number of indexed documents per second of indexing time, or 0 if no indexing completed
+     */
+    public long getDocumentsPerSecond() {
+        final long timeInMillis = getIndexingTimeInMillis();
+        return timeInMillis == 0 ? 0 : getIndexedDocuments() * 1000 / timeInMillis;
+    }
+
+    /**
+     * @return histogram of time taken by bulk requests of GeoIP data in milliseconds
+     */
+    public StatsHistogram getBulkLatency() {
+        return bulkLatency;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeVLong(getFailed());
+        out.writeVLong(getIndexedDocuments());
+        out.writeVLong(getRejectedDocuments());
+        out.writeVLong(getIndexingTimeInMillis());
+        duration.writeTo(out);
+        bulkLatency.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject(FIELD_DATASOURCE_UPDATE);
+        builder.field(FIELD_SUCCEEDED, getSucceeded());
+        builder.field(FIELD_FAILED, getFailed());
+        builder.field(FIELD_INDEXED_DOCUMENTS, getIndexedDocuments());
+        builder.field(FIELD_REJECTED_DOCUMENTS, getRejectedDocuments());
+        builder.field(FIELD_INDEXING_TIME_IN_MILLIS, getIndexingTimeInMillis());
+        builder.field(FIELD_DOCUMENTS_PER_SECOND, getDocumentsPerSecond());
+        builder.startObject(FIELD_DURATION_IN_MILLIS);
+        duration.percentilesToXContent(builder);
+        builder.endObject();
+        builder.startObject(FIELD_BULK_LATENCY_IN_MILLIS);
+        bulkLatency.percentilesToXContent(builder);
+        builder.endObject();
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.stats.StatsHistogram;
+
+/**
+ * Counters and latency histograms of Ip2Geo processors and their GeoIP data lookups in a node
+ *
+ * Lookups are counted by where GeoIP data came from, either the cache or a search on GeoIP data index. Lookups which
+ * timed out or failed are counted with how they were handled. Number of cache entries, their size and evictions are
+ * read from the cache when stats are serialized. This class is thread safe.
+ */
+public class Ip2GeoLookupStats implements Writeable, ToXContentFragment {
+    private static final String FIELD_PROCESSOR = "processor";
+    private static final String FIELD_LOOKUP = "lookup";
+    private static final String FIELD_CACHE = "cache";
+    private static final String FIELD_SEARCH = "search";
+    private static final String FIELD_LATENCY_IN_MICROS = "latency_in_micros";
+    private static final String FIELD_TIMED_OUT = "timed_out";
+    private static final String FIELD_FAILED = "failed";
+    private static final String FIELD_SKIPPED = "skipped";
+    private static final String FIELD_TAGGED = "tagged";
+    private static final String FIELD_SERVED_STALE = "served_stale";
+    private static final String FIELD_HITS = "hits";
+    private static final String FIELD_MISSES = "misses";
+    private static final String FIELD_EVICTIONS = "evictions";
+    private static final String FIELD_ENTRIES = "entries";
+    private static final String FIELD_SIZE_IN_BYTES = "size_in_bytes";
+
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder tagged = new LongAdder();
+    private final LongAdder servedStale = new LongAdder();
+    private final StatsHistogram processorLatency = new StatsHistogram();
+    private final StatsHistogram cacheLatency = new StatsHistogram();
+    private final StatsHistogram searchLatency = new StatsHistogram();
+    private final LongSupplier cacheEntries;
+    private final LongSupplier cacheSizeInBytes;
+    private final LongSupplier cacheEvictions;
+
+    public Ip2GeoLookupStats() {
+        this(() -> 0, () -> 0, () -> 0);
+    }
+
+    /**
+     * @param cacheEntries supplier of number of entries in the cache
+     * @param cacheSizeInBytes supplier of estimated size of entries in the cache
+     * @param cacheEvictions supplier of number of entries evicted from the cache
+     */
+    public Ip2GeoLookupStats(final LongSupplier cacheEntries, final LongSupplier cacheSizeInBytes, final LongSupplier cacheEvictions) {
+        this.cacheEntries = Objects.requireNonNull(cacheEntries);
+        this.cacheSizeInBytes = Objects.requireNonNull(cacheSizeInBytes);
+        this.cacheEvictions = Objects.requireNonNull(cacheEvictions);
+    }
+
+    /**
+     * Get Ip2GeoLookupStats from {@link StreamInput}
+     *
+     * @param input contains {@link Ip2GeoLookupStats} in serialized form
+     * @return Ip2GeoLookupStats instance
+     * @throws IOException if cannot read {@link Ip2GeoLookupStats} from given input
+     */
+    public static Ip2GeoLookupStats fromStreamInput(final StreamInput input) throws IOException {
+        Objects.requireNonNull(input, "StreamInput cannot be null");
+        final long entries = input.readVLong();
+        final long sizeInBytes = input.readVLong();
+        final long evictions = input.readVLong();
+        final Ip2GeoLookupStats stats = new Ip2GeoLookupStats(() -> entries, () -> sizeInBytes, () -> evictions);
+        stats.timedOut.add(input.readVLong());
+        stats.failed.add(input.readVLong());
+        stats.skipped.add(input.readVLong());
+        stats.tagged.add(input.readVLong());
+        stats.servedStale.add(input.readVLong());
+        stats.processorLatency.add(new StatsHistogram(input));
+        stats.cacheLatency.add(new StatsHistogram(input));
+        stats.searchLatency.add(new StatsHistogram(input));
+        return stats;
+    }
+
+    /**
+     * Record a lookup which timed out or failed, and how it was handled
+     *
+     * @param timeout true if the lookup timed out
+     * @param handledAs how the document was handled
+     */
+    public void onLookupFailure(final boolean timeout, final LookupFailureMode handledAs) {
+        if (timeout) {
+            timedOut.increment();
+        } else {
+            failed.increment();
+        }
+        switch (handledAs) {
+            case SKIP:
+                skipped.increment();
+                break;
+            case TAG:
+                tagged.increment();
+                break;
+            case STALE:
+                servedStale.increment();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Record a document processed by an Ip2Geo processor
+     *
+     * @param tookInNanos time taken to process the document in nanoseconds
+     */
+    public void onDocumentProcessed(final long tookInNanos) {
+        processorLatency.record(TimeUnit.NANOSECONDS.toMicros(tookInNanos));
+    }
+
+    /**
+     * Record a lookup served from the cache
+     *
+     * @param tookInNanos time taken by the lookup in nanoseconds
+     */
+    public void onCacheHit(final long tookInNanos) {
+        cacheLatency.record(TimeUnit.NANOSECONDS.toMicros(tookInNanos));
+    }
+
+    /**
+     * Record a lookup served by a search on GeoIP data index on cache miss
+     *
+     * @param tookInNanos time taken by the lookup in nanoseconds
+     */
+    public void onSearch(final long tookInNanos) {
+        searchLatency.record(TimeUnit.NANOSECONDS.toMicros(tookInNanos));
+    }
+
+    /**
+     * @return number of lookups which exceeded the lookup timeout
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * @return number of lookups which failed before the lookup timeout
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of timed out or failed lookups whose ip was skipped
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return number of timed out or failed lookups whose document was tagged with an error
+     */
+    public long getTagged() {
+        return tagged.sum();
+    }
+
+    /**
+     * @return number of timed out or failed lookups served with stale GeoIP data
+     */
+    public long getServedStale() {
+        return servedStale.sum();
+    }
+
+    /**
+     * @return number of lookups served from the cache
+     */
+    public long getCacheHits() {
+        return cacheLatency.getTotalCount();
+    }
+
+    /**
+     * @return number of lookups served by a search on cache miss
+     */
+    public long getCacheMisses() {
+        return searchLatency.getTotalCount();
+    }
+
+    /**
+     * @return ratio of lookups served from the cache, or 0 if no lookup is served yet
+     */
+    public double getCacheHitRatio() {
+        long hits = getCacheHits();
+        long lookups = hits + getCacheMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return number of entries evicted from the cache
+     */
+    public long getCacheEvictions() {
+        return cacheEvictions.getAsLong();
+    }
+
+    /**
+     * @return number of entries in the cache
+     */
+    public long getCacheEntries() {
+        return cacheEntries.getAsLong();
+    }
+
+    /**
+     * @return estimated size of entries in the cache in bytes
+     */
+    public long getCacheSizeInBytes() {
+        return cacheSizeInBytes.getAsLong();
+    }
+
+    /**
+     * @return histogram of time taken to process a document in microseconds
+     */
+    public StatsHistogram getProcessorLatency() {
+        return processorLatency;
+    }
+
+    /**
+     * @return histogram of time taken by lookups served from the cache in microseconds
+     */
+    public StatsHistogram getCacheLatency() {
+        return cacheLatency;
+    }
+
+    /**
+     * @return histogram of time taken by lookups served by a search in microseconds
+     */
+    public StatsHistogram getSearchLatency() {
+        return searchLatency;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeVLong(getCacheEntries());
+        out.writeVLong(getCacheSizeInBytes());
+        out.writeVLong(getCacheEvictions());
+        out.writeVLong(getTimedOut());
+        out.writeVLong(getFailed());
+        out.writeVLong(getSkipped());
+        out.writeVLong(getTagged());
+        out.writeVLong(getServedStale());
+        processorLatency.writeTo(out);
+        cacheLatency.writeTo(out);
+        searchLatency.writeTo(out);
+    }
+
+    /**
+     * {
+     *     "processor": { "latency_in_micros": { "count": 10, "p50": 127, "p90": 255, "p99": 1023 } },
+     *     "lookup": {
+     *         "latency_in_micros": { "cache": { ... }, "search": { ... } },
+     *         "timed_out": 0, "failed": 0, "skipped": 0, "tagged": 0, "served_stale": 0
+     *     },
+     *     "cache": { "hits": 8, "misses": 2, "evictions": 0, "entries": 2, "size_in_bytes": 1024 }
+     * }
+     */
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject(FIELD_PROCESSOR);
+        builder.startObject(FIELD_LATENCY_IN_MICROS);
+        processorLatency.percentilesToXContent(builder);
+        builder.endObject();
+        builder.endObject();
+
+        builder.startObject(FIELD_LOOKUP);
+        builder.startObject(FIELD_LATENCY_IN_MICROS);
+        builder.startObject(FIELD_CACHE);
+        cacheLatency.percentilesToXContent(builder);
+        builder.endObject();
+        builder.startObject(FIELD_SEARCH);
+        searchLatency.percentilesToXContent(builder);
+        builder.endObject();
+        builder.endObject();
+        builder.field(FIELD_TIMED_OUT, getTimedOut());
+        builder.field(FIELD_FAILED, getFailed());
+        builder.field(FIELD_SKIPPED, getSkipped());
+        builder.field(FIELD_TAGGED, getTagged());
+        builder.field(FIELD_SERVED_STALE, getServedStale());
+        builder.endObject();
+
+        builder.startObject(FIELD_CACHE);
+        builder.field(FIELD_HITS, getCacheHits());
+        builder.field(FIELD_MISSES, getCacheMisses());
+        builder.field(FIELD_EVICTIONS, getCacheEvictions());
+        builder.field(FIELD_ENTRIES, getCacheEntries());
+        builder.field(FIELD_SIZE_IN_BYTES, getCacheSizeInBytes());
+        return builder.endObject();
+    }
+}
@@ -14,6 +14,8 @@ import java.util.function.Function;
 
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
 
 /**
  * Settings for Ip2Geo datasource operations
@@ -43,7 +45,10 @@ public class Ip2GeoSettings {
     );
 
     /**
-     * Bulk size for indexing GeoIP data
+     * Max number of documents in a bulk request for indexing GeoIP data
+     *
+     * The actual number of documents in a bulk request is adjusted by {@link BulkSizeController}
+     * but never exceeds this value.
      */
     public static final Setting<Integer> BATCH_SIZE = Setting.intSetting(
         "plugins.geospatial.ip2geo.datasource.batch_size",
@@ -53,6 +58,92 @@ public class Ip2GeoSettings {
         Setting.Property.Dynamic
     );
 
+    /**
+     * Target size in bytes of a bulk request for indexing GeoIP data
+     */
+    public static final Setting<ByteSizeValue> BATCH_SIZE_IN_BYTES = Setting.byteSizeSetting(
+        "plugins.geospatial.ip2geo.datasource.batch_size_in_bytes",
+        new ByteSizeValue(5, ByteSizeUnit.MB),
+        new ByteSizeValue(1, ByteSizeUnit.KB),
+        new ByteSizeValue(100, ByteSizeUnit.MB),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Target latency of a bulk request for indexing GeoIP data
+     *
+     * Number of documents in a bulk request is reduced when a bulk request takes longer than this value.
+     */
+    public static final Setting<TimeValue> BATCH_TARGET_LATENCY = Setting.timeSetting(
+        "plugins.geospatial.ip2geo.datasource.batch_target_latency",
+        TimeValue.timeValueSeconds(5),
+        TimeValue.timeValueMillis(100),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Whether to merge adjacent ip ranges having the same GeoIP data into one document while indexing GeoIP data
+     *
+     * See {@link AdjacentIpRangeMerger}
+     */
+    public static final Setting<Boolean> MERGE_ADJACENT_RANGES = Setting.boolSetting(
+        "plugins.geospatial.ip2geo.datasource.merge_adjacent_ranges",
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Number of primary shards to index GeoIP data with
+     *
+     * GeoIP data is indexed in parallel across shards and then shrunk into an index with a single shard
+     * when this value is more than one.
+     */
+    public static final Setting<Integer> INDEXING_SHARDS = Setting.intSetting(
+        "plugins.geospatial.ip2geo.datasource.indexing_shards",
+        1,
+        1,
+        64,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Upper bound of {@link #MAX_CONCURRENT_UPDATES}
+     */
+    static final int MAX_CONCURRENT_UPDATES_LIMIT = 32;
+
+    /**
+     * Max number of datasource updates running concurrently in a node
+     *
+     * The datasource update thread pool is sized to the upper bound of this value, so that a new value takes effect
+     * without restarting the node.
+     * Updates exceeding this value wait in a queue until a running update completes.
+     */
+    public static final Setting<Integer> MAX_CONCURRENT_UPDATES = Setting.intSetting(
+        "plugins.geospatial.ip2geo.datasource.max_concurrent_updates",
+        2,
+        1,
+        MAX_CONCURRENT_UPDATES_LIMIT,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of GeoIP data documents indexed per second in a node, shared by all datasource updates
+     *
+     * Zero means no limit.
+     */
+    public static final Setting<Integer> MAX_INDEXING_DOCS_PER_SECOND = Setting.intSetting(
+        "plugins.geospatial.ip2geo.datasource.max_indexing_docs_per_second",
+        0,
+        0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
     /**
      * Timeout value for Ip2Geo processor
      */
@@ -64,6 +155,41 @@ public class Ip2GeoSettings {
         Setting.Property.Dynamic
     );
 
+    /**
+     * Timeout of a GeoIP data lookup of Ip2Geo processor on cache miss
+     *
+     * What happens to the document when a lookup exceeds this value is decided by {@link #LOOKUP_FAILURE_MODE}.
+     */
+    public static final Setting<TimeValue> LOOKUP_TIMEOUT = Setting.timeSetting(
+        "plugins.geospatial.ip2geo.processor.lookup_timeout",
+        TimeValue.timeValueSeconds(1),
+        TimeValue.timeValueMillis(1),
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * What Ip2Geo processor does when a GeoIP data lookup times out or fails. See {@link LookupFailureMode}
+     */
+    public static final Setting<LookupFailureMode> LOOKUP_FAILURE_MODE = new Setting<>(
+        "plugins.geospatial.ip2geo.processor.lookup_failure_mode",
+        LookupFailureMode.FAIL.getName(),
+        LookupFailureMode::fromString,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
+    /**
+     * Run blocking GeoIP data lookups of Ip2Geo processors and datasource update tasks on virtual threads
+     *
+     * Virtual threads are available from JDK 21. The setting is ignored with a warning on older JDKs.
+     */
+    public static final Setting<Boolean> VIRTUAL_THREADS_ENABLED = Setting.boolSetting(
+        "plugins.geospatial.ip2geo.virtual_threads.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
     /**
      * Max size for geo data cache
      */
@@ -115,7 +241,23 @@ public class Ip2GeoSettings {
      * @return a list of all settings for Ip2Geo feature
      */
     public static final List<Setting<?>> settings() {
-        return List.of(DATASOURCE_ENDPOINT, DATASOURCE_UPDATE_INTERVAL, BATCH_SIZE, TIMEOUT, CACHE_SIZE, DATASOURCE_ENDPOINT_DENYLIST);
+        return List.of(
+            DATASOURCE_ENDPOINT,
+            DATASOURCE_UPDATE_INTERVAL,
+            BATCH_SIZE,
+            BATCH_SIZE_IN_BYTES,
+            BATCH_TARGET_LATENCY,
+            MERGE_ADJACENT_RANGES,
+            INDEXING_SHARDS,
+            MAX_CONCURRENT_UPDATES,
+            MAX_INDEXING_DOCS_PER_SECOND,
+            TIMEOUT,
+            LOOKUP_TIMEOUT,
+            LOOKUP_FAILURE_MODE,
+            VIRTUAL_THREADS_ENABLED,
+            CACHE_SIZE,
+            DATASOURCE_ENDPOINT_DENYLIST
+        );
     }
 
     /**
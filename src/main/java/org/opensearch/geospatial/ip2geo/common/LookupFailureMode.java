@@ -0,0 +1,42 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.Locale;
+
+/**
+ * What Ip2Geo processor does when a GeoIP data lookup times out or fails
+ */
+public enum LookupFailureMode {
+    /**
+     * Fail the document
+     */
+    FAIL,
+    /**
+     * Leave the document without GeoIP data of the ip
+     */
+    SKIP,
+    /**
+     * Set an error to the target field of the document
+     */
+    TAG,
+    /**
+     * Use GeoIP data of the ip last looked up from any index of the datasource, and tag the document if there is none
+     */
+    STALE;
+
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static LookupFailureMode fromString(final String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, "unknown ip2geo lookup failure mode [%s]", value), e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.opensearch.common.SuppressForbidden;
+import org.opensearch.geospatial.shared.Constants;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Read a single entry of a remote zip file using HTTP range requests
+ *
+ * A zip file has its central directory at the end of the file. The reader fetches the end of central directory record
+ * and the central directory with range requests to find the location of the entry, and then fetches only the byte range
+ * of the entry. Other entries in the zip file are neither downloaded nor inflated.
+ *
+ * {@link Optional#empty()} is returned when the server does not support range requests or the zip file has a format
+ * the reader does not support such as ZIP64 or encryption so that the caller can fall back to streaming the whole file.
+ */
+@Log4j2
+public class ZipEntryRangeReader {
+    private static final String RANGE_KEY = "Range";
+    private static final String CONTENT_RANGE_KEY = "Content-Range";
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int MAX_CENTRAL_DIRECTORY_SIZE = 16 * 1024 * 1024;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ENCRYPTED_FLAG = 1;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final URL url;
+
+    public ZipEntryRangeReader(final URL url) {
+        this.url = url;
+    }
+
+    /**
+     * Open an input stream of an entry in the zip file
+     *
+     * @param entryName name of the entry to read, compared case-insensitively
+     * @return input stream of uncompressed entry data or empty if ranged read is not possible
+     * @throws IOException on network failure
+     * @throws IllegalArgumentException if the entry does not exist in the zip file
+     */
+    public Optional<InputStream> open(final String entryName) throws IOException {
+        RangeResponse tail = fetch(String.format(Locale.ROOT, "bytes=-%d", END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE));
+        if (tail == null) {
+            return Optional.empty();
+        }
+        byte[] tailBytes;
+        try (InputStream inputStream = tail.inputStream) {
+            tailBytes = inputStream.readAllBytes();
+        }
+
+        ByteBuffer eocd = findEndOfCentralDirectory(tailBytes);
+        if (eocd == null) {
+            log.debug("End of central directory is not found in [{}]", url);
+            return Optional.empty();
+        }
+        long centralDirectorySize = Integer.toUnsignedLong(eocd.getInt(12));
+        long centralDirectoryOffset = Integer.toUnsignedLong(eocd.getInt(16));
+        if (centralDirectoryOffset == ZIP64_MAGIC || centralDirectorySize > MAX_CENTRAL_DIRECTORY_SIZE) {
+            log.debug("Zip file [{}] is not supported for ranged read", url);
+            return Optional.empty();
+        }
+
+        ByteBuffer centralDirectory = readCentralDirectory(tail, tailBytes, centralDirectoryOffset, (int) centralDirectorySize);
+        if (centralDirectory == null) {
+            return Optional.empty();
+        }
+        CentralDirectoryEntry entry = findEntry(centralDirectory, entryName, centralDirectoryOffset);
+        if (entry == null) {
+            throw new IllegalArgumentException(
+                String.format(Locale.ROOT, "database file [%s] does not exist in the zip file [%s]", entryName, url)
+            );
+        }
+        if (entry.isSupported() == false) {
+            log.debug("Entry [{}] in zip file [{}] is not supported for ranged read", entryName, url);
+            return Optional.empty();
+        }
+        return openEntry(entry);
+    }
+
+    private ByteBuffer readCentralDirectory(
+        final RangeResponse tail,
+        final byte[] tailBytes,
+        final long centralDirectoryOffset,
+        final int centralDirectorySize
+    ) throws IOException {
+        if (centralDirectoryOffset >= tail.start) {
+            int offset = (int) (centralDirectoryOffset - tail.start);
+            if (offset + centralDirectorySize > tailBytes.length) {
+                return null;
+            }
+            return ByteBuffer.wrap(tailBytes, offset, centralDirectorySize).slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        RangeResponse response = fetch(rangeOf(centralDirectoryOffset, centralDirectoryOffset + centralDirectorySize - 1));
+        if (response == null) {
+            return null;
+        }
+        try (InputStream inputStream = response.inputStream) {
+            return ByteBuffer.wrap(inputStream.readNBytes(centralDirectorySize)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private Optional<InputStream> openEntry(final CentralDirectoryEntry entry) throws IOException {
+        RangeResponse response = fetch(rangeOf(entry.localHeaderOffset, entry.dataEnd - 1));
+        if (response == null) {
+            return Optional.empty();
+        }
+
+        InputStream inputStream = response.inputStream;
+        try {
+            ByteBuffer localHeader = ByteBuffer.wrap(readFully(inputStream, LOCAL_FILE_HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+            if (localHeader.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException(String.format(Locale.ROOT, "invalid local file header in the zip file [%s]", url));
+            }
+            int nameLength = Short.toUnsignedInt(localHeader.getShort(26));
+            int extraLength = Short.toUnsignedInt(localHeader.getShort(28));
+            readFully(inputStream, nameLength + extraLength);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+
+        InputStream data = new BoundedInputStream(inputStream, entry.compressedSize);
+        if (entry.method == STORED) {
+            return Optional.of(data);
+        }
+        return Optional.of(new RawInflaterInputStream(data));
+    }
+
+    private static ByteBuffer findEndOfCentralDirectory(final byte[] tailBytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(tailBytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = tailBytes.length - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (buffer.getInt(i) != END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                continue;
+            }
+            int commentLength = Short.toUnsignedInt(buffer.getShort(i + 20));
+            if (i + END_OF_CENTRAL_DIRECTORY_SIZE + commentLength == tailBytes.length) {
+                return ByteBuffer.wrap(tailBytes, i, END_OF_CENTRAL_DIRECTORY_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find an entry in the central directory
+     *
+     * Data of an entry ends at the nearest local file header following it or at the central directory.
+     */
+    private static CentralDirectoryEntry findEntry(
+        final ByteBuffer centralDirectory,
+        final String entryName,
+        final long centralDirectoryOffset
+    ) {
+        CentralDirectoryEntry found = null;
+        List<Long> localHeaderOffsets = new ArrayList<>();
+        int position = 0;
+        while (position + CENTRAL_DIRECTORY_HEADER_SIZE <= centralDirectory.limit()
+            && centralDirectory.getInt(position) == CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+            int nameLength = Short.toUnsignedInt(centralDirectory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(centralDirectory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(centralDirectory.getShort(position + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(centralDirectory.getInt(position + 42));
+            if (position + CENTRAL_DIRECTORY_HEADER_SIZE + nameLength > centralDirectory.limit()) {
+                break;
+            }
+            localHeaderOffsets.add(localHeaderOffset);
+
+            byte[] name = new byte[nameLength];
+            ByteBuffer nameBuffer = centralDirectory.duplicate();
+            nameBuffer.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+            nameBuffer.get(name);
+            if (found == null && entryName.equalsIgnoreCase(new String(name, StandardCharsets.UTF_8))) {
+                found = new CentralDirectoryEntry(
+                    Short.toUnsignedInt(centralDirectory.getShort(position + 8)),
+                    Short.toUnsignedInt(centralDirectory.getShort(position + 10)),
+                    Integer.toUnsignedLong(centralDirectory.getInt(position + 20)),
+                    localHeaderOffset
+                );
+            }
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        if (found == null) {
+            return null;
+        }
+        long dataEnd = centralDirectoryOffset;
+        for (long localHeaderOffset : localHeaderOffsets) {
+            if (localHeaderOffset > found.localHeaderOffset && localHeaderOffset < dataEnd) {
+                dataEnd = localHeaderOffset;
+            }
+        }
+        found.dataEnd = dataEnd;
+        return found;
+    }
+
+    /**
+     * Send a range request
+     *
+     * @param range value of range header
+     * @return response of the range request or null if the server does not respond with partial content
+     */
+    @SuppressForbidden(reason = "Need to connect to http endpoint to read GeoIP database file")
+    private RangeResponse fetch(final String range) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.addRequestProperty(Constants.USER_AGENT_KEY, Constants.USER_AGENT_VALUE);
+        connection.addRequestProperty(RANGE_KEY, range);
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+            log.debug("Server of [{}] responded to range request with status [{}]", url, connection.getResponseCode());
+            connection.disconnect();
+            return null;
+        }
+        String contentRange = connection.getHeaderField(CONTENT_RANGE_KEY);
+        Matcher matcher = contentRange == null ? null : CONTENT_RANGE_PATTERN.matcher(contentRange);
+        if (matcher == null || matcher.matches() == false) {
+            log.debug("Server of [{}] responded to range request with invalid content range [{}]", url, contentRange);
+            connection.disconnect();
+            return null;
+        }
+        return new RangeResponse(Long.parseLong(matcher.group(1)), connection.getInputStream());
+    }
+
+    private static String rangeOf(final long start, final long end) {
+        return String.format(Locale.ROOT, "bytes=%d-%d", start, end);
+    }
+
+    private static byte[] readFully(final InputStream inputStream, final int length) throws IOException {
+        byte[] bytes = inputStream.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("unexpected end of zip file");
+        }
+        return bytes;
+    }
+
+    private static class RangeResponse {
+        private final long start;
+        private final InputStream inputStream;
+
+        RangeResponse(final long start, final InputStream inputStream) {
+            this.start = start;
+            this.inputStream = inputStream;
+        }
+    }
+
+    private static class CentralDirectoryEntry {
+        private final int flags;
+        private final int method;
+        private final long compressedSize;
+        private final long localHeaderOffset;
+        private long dataEnd;
+
+        CentralDirectoryEntry(final int flags, final int method, final long compressedSize, final long localHeaderOffset) {
+            this.flags = flags;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        boolean isSupported() {
+            return (flags & ENCRYPTED_FLAG) == 0
+                && (method == STORED || method == DEFLATED)
+                && compressedSize != ZIP64_MAGIC
+                && localHeaderOffset != ZIP64_MAGIC;
+        }
+    }
+
+    /**
+     * Input stream limited to a given number of bytes
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(final InputStream inputStream, final long limit) {
+            super(inputStream);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = super.read();
+            if (value != -1) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(bytes, offset, (int) Math.min(length, remaining));
+            if (read != -1) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Inflater input stream for raw deflate data without zlib header
+     *
+     * Inflater in nowrap mode can require an extra dummy byte after the compressed data.
+     */
+    private static class RawInflaterInputStream extends InflaterInputStream {
+        private boolean eof;
+
+        RawInflaterInputStream(final InputStream inputStream) {
+            super(inputStream, new Inflater(true));
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("unexpected end of zip entry");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            inf.end();
+        }
+    }
+}
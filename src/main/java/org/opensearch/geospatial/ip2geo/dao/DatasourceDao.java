@@ -6,14 +6,23 @@
 package org.opensearch.geospatial.ip2geo.dao;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.opensearch.OpenSearchException;
@@ -23,6 +32,7 @@ import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteResponse;
@@ -32,12 +42,14 @@ import org.opensearch.action.get.MultiGetItemResponse;
 import org.opensearch.action.get.MultiGetResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequestBuilder;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentHelper;
@@ -54,6 +66,8 @@ import org.opensearch.geospatial.shared.StashedThreadContext;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortOrder;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -62,10 +76,12 @@ import lombok.extern.log4j.Log4j2;
  */
 @Log4j2
 public class DatasourceDao {
-    private static final Integer MAX_SIZE = 1000;
+    private static final int PAGE_SIZE = 1000;
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
     private final Client client;
     private final ClusterService clusterService;
     private final ClusterSettings clusterSettings;
+    private final Map<String, AtomicBoolean> batches = new ConcurrentHashMap<>();
 
     public DatasourceDao(final Client client, final ClusterService clusterService) {
         this.client = client;
@@ -115,49 +131,161 @@ public class DatasourceDao {
         }
     }
 
+    /**
+     * Start coalescing writes of a datasource
+     *
+     * Until {@link #finishBatch(Datasource, ActionListener)} is called, {@link #updateDatasource(Datasource)} only marks
+     * the datasource as changed instead of writing it, and {@link #updateDatasource(Datasource, ActionListener)} writes
+     * the datasource together with pending changes waiting for a refresh instead of forcing one. Therefore, one
+     * datasource update run results in a few writes of the datasource document without forced refreshes.
+     *
+     * The caller should hold a lock on the datasource until the batch is finished.
+     *
+     * @param name the datasource name
+     */
+    public void startBatch(final String name) {
+        batches.put(name, new AtomicBoolean(false));
+    }
+
+    /**
+     * Write pending changes of a datasource, if any, and stop coalescing writes of the datasource
+     *
+     * @param datasource the datasource
+     * @param listener the listener
+     */
+    public void finishBatch(final Datasource datasource, final ActionListener<Void> listener) {
+        AtomicBoolean changed = batches.remove(datasource.getName());
+        if (changed == null || changed.get() == false) {
+            listener.onResponse(null);
+            return;
+        }
+        datasource.setLastUpdateTime(Instant.now());
+        StashedThreadContext.run(
+            client,
+            () -> client.index(
+                toIndexRequest(datasource, WriteRequest.RefreshPolicy.WAIT_UNTIL),
+                ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure)
+            )
+        );
+    }
+
     /**
      * Update datasource in an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * If writes of the datasource are being coalesced, the datasource is only marked as changed.
+     * See {@link #startBatch(String)}
+     *
      * @param datasource the datasource
-     * @return index response
+     * @return index response, or null if the write is coalesced
      */
     public IndexResponse updateDatasource(final Datasource datasource) {
+        AtomicBoolean changed = batches.get(datasource.getName());
+        if (changed != null) {
+            changed.set(true);
+            return null;
+        }
         datasource.setLastUpdateTime(Instant.now());
-        return StashedThreadContext.run(client, () -> {
-            try {
-                return client.prepareIndex(DatasourceExtension.JOB_INDEX_NAME)
-                    .setId(datasource.getName())
-                    .setOpType(DocWriteRequest.OpType.INDEX)
-                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE)
-                    .setSource(datasource.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS))
-                    .execute()
-                    .actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return StashedThreadContext.run(
+            client,
+            () -> client.index(toIndexRequest(datasource)).actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
+        );
+    }
+
+    /**
+     * Update datasource in an index {@code DatasourceExtension.JOB_INDEX_NAME} and refresh the index
+     *
+     * Unlike {@link #updateDatasource(Datasource)}, the datasource is written even if writes of the datasource are being
+     * coalesced, together with pending changes, so that the change is visible to searches of other datasources right away.
+     *
+     * @param datasource the datasource
+     * @return index response
+     */
+    public IndexResponse updateDatasourceImmediately(final Datasource datasource) {
+        AtomicBoolean changed = batches.get(datasource.getName());
+        if (changed != null) {
+            changed.set(false);
+        }
+        datasource.setLastUpdateTime(Instant.now());
+        return StashedThreadContext.run(
+            client,
+            () -> client.index(toIndexRequest(datasource)).actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
+        );
+    }
+
+    /**
+     * Update datasource in an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * If writes of the datasource are being coalesced, pending changes are written together and the write waits
+     * for a refresh instead of forcing one. See {@link #startBatch(String)}
+     *
+     * @param datasource the datasource
+     * @param listener action listener
+     */
+    public void updateDatasource(final Datasource datasource, final ActionListener<IndexResponse> listener) {
+        AtomicBoolean changed = batches.get(datasource.getName());
+        if (changed != null) {
+            changed.set(false);
+        }
+        datasource.setLastUpdateTime(Instant.now());
+        WriteRequest.RefreshPolicy refreshPolicy = changed == null
+            ? WriteRequest.RefreshPolicy.IMMEDIATE
+            : WriteRequest.RefreshPolicy.WAIT_UNTIL;
+        StashedThreadContext.run(client, () -> client.index(toIndexRequest(datasource, refreshPolicy), listener));
     }
 
     /**
      * Update datasources in an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * Datasources are written in bulk requests of up to {@code PAGE_SIZE} datasources, one at a time, and the index
+     * is refreshed by the last bulk request only. Responses of all bulk requests are merged into one.
+     *
      * @param datasources the datasources
      * @param listener action listener
      */
     public void updateDatasource(final List<Datasource> datasources, final ActionListener<BulkResponse> listener) {
+        Instant now = Instant.now();
+        datasources.forEach(datasource -> datasource.setLastUpdateTime(now));
+        updateDatasource(datasources, 0, new ArrayList<>(), 0, listener);
+    }
+
+    private void updateDatasource(
+        final List<Datasource> datasources,
+        final int from,
+        final List<BulkItemResponse> items,
+        final long tookInMillis,
+        final ActionListener<BulkResponse> listener
+    ) {
+        int to = Math.min(from + PAGE_SIZE, datasources.size());
         BulkRequest bulkRequest = new BulkRequest();
-        datasources.stream().map(datasource -> {
-            datasource.setLastUpdateTime(Instant.now());
-            return datasource;
-        }).map(this::toIndexRequest).forEach(indexRequest -> bulkRequest.add(indexRequest));
-        StashedThreadContext.run(client, () -> client.bulk(bulkRequest, listener));
+        datasources.subList(from, to)
+            .stream()
+            .map(datasource -> toIndexRequest(datasource, WriteRequest.RefreshPolicy.NONE))
+            .forEach(bulkRequest::add);
+        if (to == datasources.size()) {
+            bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        }
+        StashedThreadContext.run(client, () -> client.bulk(bulkRequest, ActionListener.wrap(response -> {
+            items.addAll(Arrays.asList(response.getItems()));
+            long took = tookInMillis + response.getTook().millis();
+            if (to < datasources.size()) {
+                updateDatasource(datasources, to, items, took, listener);
+                return;
+            }
+            listener.onResponse(new BulkResponse(items.toArray(new BulkItemResponse[0]), took));
+        }, listener::onFailure)));
+    }
+
+    private IndexRequest toIndexRequest(final Datasource datasource) {
+        return toIndexRequest(datasource, WriteRequest.RefreshPolicy.IMMEDIATE);
     }
 
-    private IndexRequest toIndexRequest(Datasource datasource) {
+    private IndexRequest toIndexRequest(final Datasource datasource, final WriteRequest.RefreshPolicy refreshPolicy) {
         try {
             IndexRequest indexRequest = new IndexRequest();
             indexRequest.index(DatasourceExtension.JOB_INDEX_NAME);
             indexRequest.id(datasource.getName());
             indexRequest.opType(DocWriteRequest.OpType.INDEX);
-            indexRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            indexRequest.setRefreshPolicy(refreshPolicy);
             indexRequest.source(datasource.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
             return indexRequest;
         } catch (IOException e) {
@@ -287,36 +415,158 @@ public class DatasourceDao {
     }
 
     /**
-     * Get all datasources up to {@code MAX_SIZE} from an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     * Get all datasources from an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * Datasources are read in pages of {@code PAGE_SIZE} datasources using scroll.
+     *
      * @param actionListener the action listener
      */
     public void getAllDatasources(final ActionListener<List<Datasource>> actionListener) {
+        List<Datasource> datasources = new ArrayList<>();
         StashedThreadContext.run(
             client,
-            () -> client.prepareSearch(DatasourceExtension.JOB_INDEX_NAME)
-                .setQuery(QueryBuilders.matchAllQuery())
-                .setPreference(Preference.PRIMARY.type())
-                .setSize(MAX_SIZE)
-                .execute(createGetDataSourceQueryActionLister(SearchResponse.class, actionListener))
+            () -> prepareSearchAllDatasources().execute(createScrollDatasourceListener(datasources, null, actionListener))
         );
     }
 
     /**
-     * Get all datasources up to {@code MAX_SIZE} from an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     * The scroll is cleared when all pages are read, or when reading a page fails, in which case the scroll of the previous
+     * page is cleared as a failed response has no scroll id.
+     */
+    private ActionListener<SearchResponse> createScrollDatasourceListener(
+        final List<Datasource> datasources,
+        final String previousScrollId,
+        final ActionListener<List<Datasource>> actionListener
+    ) {
+        AtomicReference<String> scrollId = new AtomicReference<>(previousScrollId);
+        return ActionListener.wrap(response -> {
+            if (response.getScrollId() != null) {
+                scrollId.set(response.getScrollId());
+            }
+            toBytesReferences(response).stream().map(this::toDatasource).forEach(datasources::add);
+            if (hasNextPage(response)) {
+                StashedThreadContext.run(
+                    client,
+                    () -> client.prepareSearchScroll(response.getScrollId())
+                        .setScroll(SCROLL_KEEP_ALIVE)
+                        .execute(createScrollDatasourceListener(datasources, response.getScrollId(), actionListener))
+                );
+                return;
+            }
+            clearScroll(scrollId.getAndSet(null));
+            actionListener.onResponse(datasources);
+        }, e -> {
+            clearScroll(scrollId.getAndSet(null));
+            actionListener.onFailure(e);
+        });
+    }
+
+    /**
+     * Get all datasources from an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * @return all datasources
      */
     public List<Datasource> getAllDatasources() {
-        SearchResponse response = StashedThreadContext.run(
+        List<Datasource> datasources = new ArrayList<>();
+        try (DatasourceIterator iterator = iterateDatasources()) {
+            iterator.forEachRemaining(datasources::add);
+        }
+        return datasources;
+    }
+
+    /**
+     * Iterate all datasources from an index {@code DatasourceExtension.JOB_INDEX_NAME}
+     *
+     * Datasources are read lazily in pages of {@code PAGE_SIZE} datasources using scroll. Each page is read
+     * synchronously, so the iterator should not be used in a transport thread. The iterator should be closed
+     * to release the scroll when it is not consumed to the end.
+     *
+     * @return datasource iterator
+     */
+    public DatasourceIterator iterateDatasources() {
+        return new DatasourceIterator();
+    }
+
+    private SearchRequestBuilder prepareSearchAllDatasources() {
+        return client.prepareSearch(DatasourceExtension.JOB_INDEX_NAME)
+            .setQuery(QueryBuilders.matchAllQuery())
+            .setPreference(Preference.PRIMARY.type())
+            .setSize(PAGE_SIZE)
+            .addSort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC)
+            .setScroll(SCROLL_KEEP_ALIVE);
+    }
+
+    private boolean hasNextPage(final SearchResponse response) {
+        return response.getScrollId() != null && response.getHits().getHits().length == PAGE_SIZE;
+    }
+
+    private void clearScroll(final String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        StashedThreadContext.run(
             client,
-            () -> client.prepareSearch(DatasourceExtension.JOB_INDEX_NAME)
-                .setQuery(QueryBuilders.matchAllQuery())
-                .setPreference(Preference.PRIMARY.type())
-                .setSize(MAX_SIZE)
-                .execute()
-                .actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
+            () -> client.prepareClearScroll()
+                .addScrollId(scrollId)
+                .execute(
+                    ActionListener.wrap(
+                        response -> log.debug("Scroll of datasources is cleared"),
+                        e -> log.warn("Failed to clear scroll of datasources", e)
+                    )
+                )
         );
+    }
 
-        List<BytesReference> bytesReferences = toBytesReferences(response);
-        return bytesReferences.stream().map(bytesRef -> toDatasource(bytesRef)).collect(Collectors.toList());
+    /**
+     * Iterator reading datasources page by page
+     */
+    public class DatasourceIterator implements Iterator<Datasource>, Closeable {
+        private Iterator<Datasource> page = Collections.emptyIterator();
+        private String scrollId;
+        private boolean hasNextPage = true;
+        private boolean started = false;
+
+        @Override
+        public boolean hasNext() {
+            while (page.hasNext() == false && hasNextPage) {
+                fetchNextPage();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public Datasource next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        private void fetchNextPage() {
+            SearchResponse response = StashedThreadContext.run(client, () -> {
+                if (started) {
+                    return client.prepareSearchScroll(scrollId)
+                        .setScroll(SCROLL_KEEP_ALIVE)
+                        .execute()
+                        .actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT));
+                }
+                return prepareSearchAllDatasources().execute().actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT));
+            });
+            started = true;
+            scrollId = response.getScrollId();
+            hasNextPage = hasNextPage(response);
+            page = toBytesReferences(response).stream().map(DatasourceDao.this::toDatasource).iterator();
+            if (hasNextPage == false) {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            hasNextPage = false;
+            clearScroll(scrollId);
+            scrollId = null;
+        }
     }
 
     private <T> ActionListener<T> createGetDataSourceQueryActionLister(
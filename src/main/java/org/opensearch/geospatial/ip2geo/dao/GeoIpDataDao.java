@@ -11,6 +11,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
@@ -25,44 +26,79 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchException;
 import org.opensearch.SpecialPermission;
 import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeResponse;
+import org.opensearch.action.admin.indices.refresh.RefreshResponse;
+import org.opensearch.action.admin.indices.shrink.ResizeRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeResponse;
+import org.opensearch.action.admin.indices.shrink.ResizeType;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.MultiSearchRequestBuilder;
+import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
 import org.opensearch.client.Requests;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateObserver;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.SuppressForbidden;
 import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.geospatial.annotation.VisibleForTesting;
 import org.opensearch.geospatial.constants.IndexSetting;
+import org.opensearch.geospatial.ip2geo.common.AdjacentIpRangeMerger;
+import org.opensearch.geospatial.ip2geo.common.BulkSizeController;
 import org.opensearch.geospatial.ip2geo.common.DatasourceManifest;
+import org.opensearch.geospatial.ip2geo.common.IndexingRateLimiter;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoIndexingStats;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
 import org.opensearch.geospatial.ip2geo.common.URLDenyListChecker;
+import org.opensearch.geospatial.ip2geo.common.ZipEntryRangeReader;
 import org.opensearch.geospatial.shared.Constants;
 import org.opensearch.geospatial.shared.StashedThreadContext;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
 import org.opensearch.index.query.QueryBuilders;
 
+import inet.ipaddr.IPAddress;
+import inet.ipaddr.IPAddressString;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 
@@ -72,6 +108,7 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class GeoIpDataDao {
     private static final String IP_RANGE_FIELD_NAME = "_cidr";
+    private static final String IP_RANGE_START_FIELD_NAME = "_cidr_start";
     private static final String DATA_FIELD_NAME = "_data";
     private static final Map<String, Object> INDEX_SETTING_TO_CREATE = Map.of(
         IndexSetting.NUMBER_OF_SHARDS,
@@ -81,8 +118,24 @@ public class GeoIpDataDao {
         IndexSetting.REFRESH_INTERVAL,
         -1,
         IndexSetting.HIDDEN,
-        true
+        true,
+        IndexSetting.CODEC,
+        "best_compression",
+        IndexSetting.SORT_FIELD,
+        IP_RANGE_START_FIELD_NAME,
+        IndexSetting.SORT_ORDER,
+        "asc"
     );
+    private static final String BUILD_INDEX_NAME_SUFFIX = ".build";
+    private static final TimeValue MAX_WAIT_TIME_FOR_RELOCATION_TO_COMPLETE = TimeValue.timeValueHours(1);
+    /**
+     * Ip addresses spread over IPv4 and global unicast IPv6 address space to warm up GeoIP data index
+     */
+    @VisibleForTesting
+    protected static final List<String> WARM_UP_IPS = Stream.concat(
+        IntStream.range(0, 16).mapToObj(i -> String.format(Locale.ROOT, "%d.0.0.1", i * 16 + 1)),
+        IntStream.range(0, 4).mapToObj(i -> String.format(Locale.ROOT, "2%x00::1", i * 4))
+    ).collect(Collectors.toList());
     private static final Map<String, Object> INDEX_SETTING_TO_FREEZE = Map.of(
         IndexSetting.AUTO_EXPAND_REPLICAS,
         "0-all",
@@ -93,48 +146,192 @@ public class GeoIpDataDao {
     private final ClusterSettings clusterSettings;
     private final Client client;
     private final URLDenyListChecker urlDenyListChecker;
+    private final Ip2GeoExecutor ip2GeoExecutor;
+    private final IndexingRateLimiter indexingRateLimiter;
+    /**
+     * @return counters of GeoIP data indexed by datasource updates
+     */
+    @Getter
+    private final Ip2GeoIndexingStats indexingStats = new Ip2GeoIndexingStats();
 
-    public GeoIpDataDao(final ClusterService clusterService, final Client client, final URLDenyListChecker urlDenyListChecker) {
+    public GeoIpDataDao(
+        final ClusterService clusterService,
+        final Client client,
+        final URLDenyListChecker urlDenyListChecker,
+        final Ip2GeoExecutor ip2GeoExecutor
+    ) {
         this.clusterService = clusterService;
         this.clusterSettings = clusterService.getClusterSettings();
         this.client = client;
         this.urlDenyListChecker = urlDenyListChecker;
+        this.ip2GeoExecutor = ip2GeoExecutor;
+        this.indexingRateLimiter = new IndexingRateLimiter(clusterSettings.get(Ip2GeoSettings.MAX_INDEXING_DOCS_PER_SECOND));
+        clusterSettings.addSettingsUpdateConsumer(Ip2GeoSettings.MAX_INDEXING_DOCS_PER_SECOND, indexingRateLimiter::setDocsPerSecond);
     }
 
     /**
      * Create an index for GeoIP data
      *
      * Index setting start with single shard, zero replica, no refresh interval, and hidden.
+     * The index is laid out for read only range lookup. Documents are sorted by the start of ip range,
+     * stored fields are compressed with best compression, and only GeoIP data is kept in source.
      * Once the GeoIP data is indexed, do refresh and force merge.
      * Then, change the index setting to expand replica to all nodes, and read only allow delete.
      * See {@link #freezeIndex}
      *
+     * When {@link Ip2GeoSettings#INDEXING_SHARDS} is more than one, a build index with that many shards is created
+     * instead so that GeoIP data can be indexed in parallel across nodes. The build index is shrunk into the index
+     * with a single shard after GeoIP data is indexed. See {@link #shrinkIndex}
+     *
      * @param indexName index name
+     * @param listener the listener
      */
-    public void createIndexIfNotExists(final String indexName) {
-        if (clusterService.state().metadata().hasIndex(indexName) == true) {
+    public void createIndexIfNotExists(final String indexName, final ActionListener<Void> listener) {
+        Metadata metadata = clusterService.state().metadata();
+        int numberOfShards = clusterSettings.get(Ip2GeoSettings.INDEXING_SHARDS);
+        String indexToCreate = numberOfShards > 1 ? buildIndexName(indexName) : indexName;
+        if (metadata.hasIndex(indexName) || metadata.hasIndex(indexToCreate)) {
+            listener.onResponse(null);
             return;
         }
-        final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName).settings(INDEX_SETTING_TO_CREATE)
-            .mapping(getIndexMapping());
+        final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexToCreate).settings(
+            Settings.builder().loadFromMap(INDEX_SETTING_TO_CREATE).put(IndexSetting.NUMBER_OF_SHARDS, numberOfShards)
+        ).mapping(getIndexMapping());
         StashedThreadContext.run(
             client,
-            () -> client.admin().indices().create(createIndexRequest).actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
+            () -> client.admin()
+                .indices()
+                .create(createIndexRequest, ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure))
         );
     }
 
-    private void freezeIndex(final String indexName) {
-        TimeValue timeout = clusterSettings.get(Ip2GeoSettings.TIMEOUT);
-        StashedThreadContext.run(client, () -> {
-            client.admin().indices().prepareForceMerge(indexName).setMaxNumSegments(1).execute().actionGet(timeout);
-            client.admin().indices().prepareRefresh(indexName).execute().actionGet(timeout);
-            client.admin()
+    /**
+     * Shrink a build index having multiple shards into an index with a single shard and delete the build index
+     *
+     * All shards of the build index are moved to the node holding its first primary shard and the build index is made
+     * read only as required by shrink. Each step is sent only after the previous one completes.
+     *
+     * @param buildIndexName the build index name
+     * @param indexName the index name to shrink into
+     * @param listener the listener
+     */
+    private void shrinkIndex(final String buildIndexName, final String indexName, final ActionListener<Void> listener) {
+        final String nodeId;
+        try {
+            nodeId = clusterService.state().routingTable().index(buildIndexName).shard(0).primaryShard().currentNodeId();
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        StepListener<AcknowledgedResponse> prepareStep = new StepListener<>();
+        StepListener<Void> relocationStep = new StepListener<>();
+        StepListener<ResizeResponse> shrinkStep = new StepListener<>();
+        StashedThreadContext.run(
+            client,
+            () -> client.admin()
                 .indices()
-                .prepareUpdateSettings(indexName)
-                .setSettings(INDEX_SETTING_TO_FREEZE)
-                .execute()
-                .actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT));
-        });
+                .prepareUpdateSettings(buildIndexName)
+                .setSettings(Map.of(IndexSetting.BLOCKS_WRITE, true, IndexSetting.ROUTING_ALLOCATION_REQUIRE_ID, nodeId))
+                .execute(prepareStep)
+        );
+        prepareStep.whenComplete(
+            response -> waitUntilAllShardsStartedOnNode(buildIndexName, nodeId, relocationStep),
+            listener::onFailure
+        );
+        relocationStep.whenComplete(response -> {
+            ResizeRequest resizeRequest = new ResizeRequest(indexName, buildIndexName);
+            resizeRequest.setResizeType(ResizeType.SHRINK);
+            resizeRequest.getTargetIndexRequest()
+                .settings(
+                    Settings.builder()
+                        .put(IndexSetting.NUMBER_OF_SHARDS, 1)
+                        .put(IndexSetting.NUMBER_OF_REPLICAS, 0)
+                        .put(IndexSetting.BLOCKS_WRITE, false)
+                        .putNull(IndexSetting.ROUTING_ALLOCATION_REQUIRE_ID)
+                );
+            StashedThreadContext.run(client, () -> client.admin().indices().resizeIndex(resizeRequest, shrinkStep));
+        }, listener::onFailure);
+        shrinkStep.whenComplete(response -> deleteBuildIndex(buildIndexName, listener), listener::onFailure);
+    }
+
+    private void waitUntilAllShardsStartedOnNode(final String indexName, final String nodeId, final ActionListener<Void> listener) {
+        Predicate<ClusterState> allShardsStartedOnNode = state -> state.routingTable()
+            .allShards(indexName)
+            .stream()
+            .allMatch(shard -> shard.started() && nodeId.equals(shard.currentNodeId()));
+        ClusterStateObserver observer = new ClusterStateObserver(
+            clusterService,
+            MAX_WAIT_TIME_FOR_RELOCATION_TO_COMPLETE,
+            log,
+            client.threadPool().getThreadContext()
+        );
+        if (allShardsStartedOnNode.test(observer.setAndGetObservedState())) {
+            listener.onResponse(null);
+            return;
+        }
+
+        observer.waitForNextChange(new ClusterStateObserver.Listener() {
+            @Override
+            public void onNewClusterState(final ClusterState state) {
+                listener.onResponse(null);
+            }
+
+            @Override
+            public void onClusterServiceClose() {
+                listener.onFailure(new OpenSearchException("cluster service closed while waiting for index[{}] relocation", indexName));
+            }
+
+            @Override
+            public void onTimeout(final TimeValue timeout) {
+                listener.onFailure(new OpenSearchException("index[{}] relocation did not complete after {}", indexName, timeout));
+            }
+        }, allShardsStartedOnNode);
+    }
+
+    private void deleteBuildIndex(final String buildIndexName, final ActionListener<Void> listener) {
+        StashedThreadContext.run(
+            client,
+            () -> client.admin()
+                .indices()
+                .prepareDelete(buildIndexName)
+                .setIndicesOptions(IndicesOptions.LENIENT_EXPAND_OPEN_CLOSED_HIDDEN)
+                .execute(ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure))
+        );
+    }
+
+    /**
+     * Force merge, refresh, and make the index read only with replicas on all nodes
+     *
+     * Each step is sent only after the previous one completes without holding a thread while waiting.
+     *
+     * @param indexName the index name
+     * @param listener the listener
+     */
+    private void freezeIndex(final String indexName, final ActionListener<Void> listener) {
+        StepListener<ForceMergeResponse> forceMergeStep = new StepListener<>();
+        StepListener<RefreshResponse> refreshStep = new StepListener<>();
+        StashedThreadContext.run(
+            client,
+            () -> client.admin().indices().prepareForceMerge(indexName).setMaxNumSegments(1).execute(forceMergeStep)
+        );
+        forceMergeStep.whenComplete(
+            forceMergeResponse -> StashedThreadContext.run(
+                client,
+                () -> client.admin().indices().prepareRefresh(indexName).execute(refreshStep)
+            ),
+            listener::onFailure
+        );
+        refreshStep.whenComplete(
+            refreshResponse -> StashedThreadContext.run(
+                client,
+                () -> client.admin()
+                    .indices()
+                    .prepareUpdateSettings(indexName)
+                    .setSettings(INDEX_SETTING_TO_FREEZE)
+                    .execute(ActionListener.wrap(response -> listener.onResponse(null), listener::onFailure))
+            ),
+            listener::onFailure
+        );
     }
 
     /**
@@ -142,14 +339,24 @@ public class GeoIpDataDao {
      *
      * {
      *     "dynamic": false,
+     *     "_source": {
+     *         "excludes": ["_cidr", "_cidr_start"]
+     *     },
      *     "properties": {
      *         "_cidr": {
      *             "type": "ip_range",
      *             "doc_values": false
+     *         },
+     *         "_cidr_start": {
+     *             "type": "ip",
+     *             "index": false,
+     *             "doc_values": true
      *         }
      *     }
      * }
      *
+     * Ip range is excluded from source as it is the document id. The start of ip range is used only for index sorting.
+     *
      * @return String representing datasource database index mapping
      */
     private String getIndexMapping() {
@@ -186,6 +393,12 @@ public class GeoIpDataDao {
     @VisibleForTesting
     @SuppressForbidden(reason = "Need to connect to http endpoint to read GeoIP database file")
     protected CSVParser internalGetDatabaseReader(final DatasourceManifest manifest, final URLConnection connection) throws IOException {
+        if (connection instanceof HttpURLConnection) {
+            Optional<InputStream> entryIn = openZipEntryWithRange(manifest, connection.getURL());
+            if (entryIn.isPresent()) {
+                return new CSVParser(new BufferedReader(new InputStreamReader(entryIn.get())), CSVFormat.RFC4180);
+            }
+        }
         connection.addRequestProperty(Constants.USER_AGENT_KEY, Constants.USER_AGENT_VALUE);
         ZipInputStream zipIn = new ZipInputStream(connection.getInputStream());
         ZipEntry zipEntry = zipIn.getNextEntry();
@@ -201,14 +414,31 @@ public class GeoIpDataDao {
         );
     }
 
+    /**
+     * Open the database file in the zip file fetching only its byte range
+     *
+     * Failure of the ranged read other than a missing database file falls back to streaming the whole zip file.
+     */
+    private Optional<InputStream> openZipEntryWithRange(final DatasourceManifest manifest, final URL url) {
+        try {
+            return new ZipEntryRangeReader(url).open(manifest.getDbName());
+        } catch (IOException e) {
+            log.warn("Failed to read [{}] with range requests. Fall back to download the whole zip file", manifest.getUrl(), e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Create a document to ingest in datasource database index
      *
      * It assumes the first field as ip_range. The rest is added under data field.
+     * The first field is either a CIDR or an ip range merged by {@link AdjacentIpRangeMerger}.
+     * A merged ip range is added as an object having the first and last address of the range.
      *
      * Document example
      * {
      *   "_cidr":"1.0.0.1/25",
+     *   "_cidr_start":"1.0.0.0",
      *   "_data":{
      *       "country": "USA",
      *       "city": "Seattle",
@@ -227,7 +457,21 @@ public class GeoIpDataDao {
         }
         XContentBuilder builder = XContentFactory.jsonBuilder();
         builder.startObject();
-        builder.field(IP_RANGE_FIELD_NAME, values[0]);
+        int separatorIndex = values[0].indexOf(AdjacentIpRangeMerger.IP_RANGE_SEPARATOR);
+        if (separatorIndex > 0) {
+            String lower = values[0].substring(0, separatorIndex);
+            builder.startObject(IP_RANGE_FIELD_NAME);
+            builder.field("gte", lower);
+            builder.field("lte", values[0].substring(separatorIndex + 1));
+            builder.endObject();
+            builder.field(IP_RANGE_START_FIELD_NAME, lower);
+        } else {
+            builder.field(IP_RANGE_FIELD_NAME, values[0]);
+            IPAddress ipRange = new IPAddressString(values[0]).getAddress();
+            if (ipRange != null) {
+                builder.field(IP_RANGE_START_FIELD_NAME, ipRange.toPrefixBlock().getLower().withoutPrefixLength().toCanonicalString());
+            }
+        }
         builder.startObject(DATA_FIELD_NAME);
         for (int i = 1; i < fields.length; i++) {
             if (!Strings.hasText(values[i])) {
@@ -249,14 +493,27 @@ public class GeoIpDataDao {
      * @return geoIP data
      */
     public Map<String, Object> getGeoIpData(final String indexName, final String ip) {
+        return getGeoIpData(indexName, ip, clusterSettings.get(Ip2GeoSettings.TIMEOUT));
+    }
+
+    /**
+     * Query a given index using a given ip address to get geoip data within a given timeout
+     *
+     * @param indexName index
+     * @param ip ip address
+     * @param timeout timeout of the query
+     * @return geoIP data
+     */
+    public Map<String, Object> getGeoIpData(final String indexName, final String ip, final TimeValue timeout) {
         SearchResponse response = StashedThreadContext.run(
             client,
             () -> client.prepareSearch(indexName)
                 .setSize(1)
                 .setQuery(QueryBuilders.termQuery(IP_RANGE_FIELD_NAME, ip))
+                .setTrackTotalHits(false)
                 .setPreference(Preference.LOCAL.type())
                 .setRequestCache(true)
-                .get(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
+                .get(timeout)
         );
 
         if (response.getHits().getHits().length == 0) {
@@ -268,50 +525,294 @@ public class GeoIpDataDao {
         }
     }
 
+    /**
+     * Warm up a given index by looking up sample ip addresses
+     *
+     * Lookups load the parts of the index used by ip range queries into memory so that the first lookups of ingest
+     * after a node restart do not pay for it. Request cache is not used as sample ip addresses are not likely to be
+     * looked up by ingest.
+     *
+     * @param indexName index
+     * @param listener listener to be notified when all lookups complete
+     */
+    public void warmUpGeoIpData(final String indexName, final ActionListener<Void> listener) {
+        MultiSearchRequestBuilder requestBuilder = client.prepareMultiSearch();
+        for (String ip : WARM_UP_IPS) {
+            requestBuilder.add(
+                client.prepareSearch(indexName)
+                    .setSize(1)
+                    .setQuery(QueryBuilders.termQuery(IP_RANGE_FIELD_NAME, ip))
+                    .setTrackTotalHits(false)
+                    .setPreference(Preference.LOCAL.type())
+                    .setRequestCache(false)
+            );
+        }
+        StashedThreadContext.run(client, () -> requestBuilder.execute(ActionListener.wrap(response -> {
+            for (MultiSearchResponse.Item item : response.getResponses()) {
+                if (item.isFailure()) {
+                    listener.onFailure(item.getFailure());
+                    return;
+                }
+            }
+            listener.onResponse(null);
+        }, listener::onFailure)));
+    }
+
     /**
      * Puts GeoIP data from CSVRecord iterator into a given index in bulk
      *
+     * Size of each bulk request is decided by {@link BulkSizeController} based on the configured batch size,
+     * target size in bytes, observed latency and rejections. Rejected documents are retried after a backoff.
+     *
+     * Bulk requests are sent one at a time per lane. Reading the next batch of records from the iterator happens in
+     * datasource update thread pool once the previous bulk request completes. After all records are indexed,
+     * the index is frozen. See {@link #freezeIndex}
+     *
+     * Adjacent ip ranges having the same GeoIP data are merged into one document when
+     * {@link Ip2GeoSettings#MERGE_ADJACENT_RANGES} is enabled.
+     *
+     * If a build index exists for the index, GeoIP data is indexed into the build index with one bulk request
+     * in flight per shard, and the build index is shrunk into the index before it is frozen.
+     * See {@link #createIndexIfNotExists}
+     *
+     * Indexed documents, bulk requests and time taken until the listener is notified are recorded in {@link #indexingStats},
+     * and indexed rows of bulk requests are also recorded in {@link GeospatialMetrics} by datasource.
+     *
+     * @param datasourceName Name of the datasource whose GeoIP data is indexed
      * @param indexName Index name to puts the GeoIP data
      * @param fields Field name matching with data in CSVRecord in order
      * @param iterator GeoIP data to insert
      * @param renewLock Runnable to renew lock
+     * @param indexingListener the listener
      */
     public void putGeoIpData(
+        @NonNull final String datasourceName,
         @NonNull final String indexName,
         @NonNull final String[] fields,
         @NonNull final Iterator<CSVRecord> iterator,
-        @NonNull final Runnable renewLock
-    ) throws IOException {
-        TimeValue timeout = clusterSettings.get(Ip2GeoSettings.TIMEOUT);
-        Integer batchSize = clusterSettings.get(Ip2GeoSettings.BATCH_SIZE);
-        final BulkRequest bulkRequest = new BulkRequest();
-        Queue<DocWriteRequest> requests = new LinkedList<>();
-        for (int i = 0; i < batchSize; i++) {
-            requests.add(Requests.indexRequest(indexName));
+        @NonNull final Runnable renewLock,
+        @NonNull final ActionListener<Void> indexingListener
+    ) {
+        long startTime = System.nanoTime();
+        ActionListener<Void> listener = new ActionListener<>() {
+            @Override
+            public void onResponse(final Void response) {
+                indexingStats.onIndexingSucceeded(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                indexingListener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                indexingStats.onIndexingFailed();
+                indexingListener.onFailure(e);
+            }
+        };
+        Iterator<String[]> records = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .map(CSVRecord::values)
+            .iterator();
+        AdjacentIpRangeMerger merger = clusterSettings.get(Ip2GeoSettings.MERGE_ADJACENT_RANGES)
+            ? new AdjacentIpRangeMerger(records)
+            : null;
+
+        Metadata metadata = clusterService.state().metadata();
+        String buildIndexName = buildIndexName(indexName);
+        boolean shrink = metadata.hasIndex(buildIndexName) && metadata.hasIndex(indexName) == false;
+        if (shrink == false && metadata.hasIndex(buildIndexName)) {
+            // Leftover of a build which failed after shrink
+            deleteBuildIndex(
+                buildIndexName,
+                ActionListener.wrap(response -> {}, e -> log.error("Failed to delete build index[{}]", buildIndexName, e))
+            );
+        }
+        String targetIndexName = shrink ? buildIndexName : indexName;
+        int numberOfLanes = shrink ? metadata.index(buildIndexName).getNumberOfShards() : 1;
+
+        AtomicBoolean stopped = new AtomicBoolean();
+        GroupedActionListener<Void> lanesListener = new GroupedActionListener<>(ActionListener.wrap(response -> {
+            if (merger != null) {
+                log.info("Merged {} ip ranges into {} documents in {}", merger.getInputCount(), merger.getOutputCount(), indexName);
+            }
+            if (shrink) {
+                shrinkIndex(
+                    buildIndexName,
+                    indexName,
+                    ip2GeoExecutor.forkToDatasourceUpdate(
+                        ActionListener.wrap(shrinkResponse -> freezeIndex(indexName, listener), listener::onFailure)
+                    )
+                );
+            } else {
+                freezeIndex(indexName, listener);
+            }
+        }, listener::onFailure), numberOfLanes);
+        for (int i = 0; i < numberOfLanes; i++) {
+            BulkSizeController bulkSizeController = new BulkSizeController(
+                clusterSettings.get(Ip2GeoSettings.BATCH_SIZE),
+                clusterSettings.get(Ip2GeoSettings.BATCH_SIZE_IN_BYTES).getBytes(),
+                clusterSettings.get(Ip2GeoSettings.BATCH_TARGET_LATENCY).millis()
+            );
+            putNextBulk(
+                datasourceName,
+                targetIndexName,
+                fields,
+                merger == null ? records : merger,
+                renewLock,
+                bulkSizeController,
+                new LinkedList<>(),
+                stopped,
+                ActionListener.wrap(lanesListener::onResponse, e -> {
+                    stopped.set(true);
+                    lanesListener.onFailure(e);
+                })
+            );
         }
-        while (iterator.hasNext()) {
-            CSVRecord record = iterator.next();
-            XContentBuilder document = createDocument(fields, record.values());
-            IndexRequest indexRequest = (IndexRequest) requests.poll();
-            indexRequest.source(document);
-            indexRequest.id(record.get(0));
-            bulkRequest.add(indexRequest);
-            if (iterator.hasNext() == false || bulkRequest.requests().size() == batchSize) {
-                BulkResponse response = StashedThreadContext.run(client, () -> client.bulk(bulkRequest).actionGet(timeout));
-                if (response.hasFailures()) {
-                    throw new OpenSearchException(
-                        "error occurred while ingesting GeoIP data in {} with an error {}",
-                        indexName,
-                        response.buildFailureMessage()
-                    );
+    }
+
+    private static String buildIndexName(final String indexName) {
+        return indexName + BUILD_INDEX_NAME_SUFFIX;
+    }
+
+    private void putNextBulk(
+        final String datasourceName,
+        final String indexName,
+        final String[] fields,
+        final Iterator<String[]> iterator,
+        final Runnable renewLock,
+        final BulkSizeController bulkSizeController,
+        final Queue<DocWriteRequest> requests,
+        final AtomicBoolean stopped,
+        final ActionListener<Void> listener
+    ) {
+        if (stopped.get()) {
+            listener.onResponse(null);
+            return;
+        }
+
+        BulkRequest bulkRequest = new BulkRequest();
+        try {
+            while (true) {
+                final String[] values;
+                synchronized (iterator) {
+                    if (iterator.hasNext() == false) {
+                        break;
+                    }
+                    values = iterator.next();
+                }
+                XContentBuilder document = createDocument(fields, values);
+                IndexRequest indexRequest = requests.isEmpty() ? Requests.indexRequest(indexName) : (IndexRequest) requests.poll();
+                indexRequest.source(document);
+                indexRequest.id(values[0]);
+                bulkRequest.add(indexRequest);
+                renewLock.run();
+                if (bulkSizeController.shouldFlush(bulkRequest.numberOfActions(), bulkRequest.estimatedSizeInBytes())) {
+                    break;
                 }
-                requests.addAll(bulkRequest.requests());
-                bulkRequest.requests().clear();
             }
-            renewLock.run();
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+
+        if (bulkRequest.numberOfActions() == 0) {
+            listener.onResponse(null);
+            return;
+        }
+
+        ActionListener<Void> bulkListener = ip2GeoExecutor.forkToDatasourceUpdate(ActionListener.wrap(response -> {
+            requests.addAll(bulkRequest.requests());
+            putNextBulk(datasourceName, indexName, fields, iterator, renewLock, bulkSizeController, requests, stopped, listener);
+        }, listener::onFailure));
+        executeBulk(datasourceName, indexName, bulkRequest, bulkSizeController, bulkListener);
+    }
+
+    /**
+     * Execute a bulk request retrying rejected documents until all of them are indexed
+     *
+     * The request is delayed when sending it now would exceed the indexing rate shared by all datasource updates.
+     */
+    private void executeBulk(
+        final String datasourceName,
+        final String indexName,
+        final BulkRequest bulkRequest,
+        final BulkSizeController bulkSizeController,
+        final ActionListener<Void> listener
+    ) {
+        TimeValue delay = indexingRateLimiter.reserve(bulkRequest.numberOfActions());
+        if (delay.nanos() > 0) {
+            ip2GeoExecutor.schedule(() -> sendBulk(datasourceName, indexName, bulkRequest, bulkSizeController, listener), delay);
+            return;
         }
-        freezeIndex(indexName);
+        sendBulk(datasourceName, indexName, bulkRequest, bulkSizeController, listener);
+    }
 
+    private void sendBulk(
+        final String datasourceName,
+        final String indexName,
+        final BulkRequest bulkRequest,
+        final BulkSizeController bulkSizeController,
+        final ActionListener<Void> listener
+    ) {
+        long startTime = System.nanoTime();
+        StashedThreadContext.run(client, () -> client.bulk(bulkRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(final BulkResponse response) {
+                long tookInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                if (response.hasFailures() == false) {
+                    indexingStats.onBulk(bulkRequest.numberOfActions(), 0, tookInMillis);
+                    GeospatialMetrics.getInstance().onIp2GeoBulk(datasourceName, bulkRequest.numberOfActions(), tookInMillis);
+                    bulkSizeController.onSuccess(bulkRequest.numberOfActions(), tookInMillis);
+                    listener.onResponse(null);
+                    return;
+                }
+
+                BulkRequest retryRequest = new BulkRequest();
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed() == false) {
+                        continue;
+                    }
+                    if (item.status() != RestStatus.TOO_MANY_REQUESTS) {
+                        listener.onFailure(
+                            new OpenSearchException(
+                                "error occurred while ingesting GeoIP data in {} with an error {}",
+                                indexName,
+                                response.buildFailureMessage()
+                            )
+                        );
+                        return;
+                    }
+                    retryRequest.add(bulkRequest.requests().get(item.getItemId()));
+                }
+                int rejected = retryRequest.numberOfActions();
+                indexingStats.onBulk(bulkRequest.numberOfActions() - rejected, rejected, tookInMillis);
+                GeospatialMetrics.getInstance().onIp2GeoBulk(datasourceName, bulkRequest.numberOfActions() - rejected, tookInMillis);
+                retryAfterBackoff(datasourceName, indexName, retryRequest, bulkSizeController, listener);
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                if (ExceptionsHelper.status(e) != RestStatus.TOO_MANY_REQUESTS) {
+                    listener.onFailure(e);
+                    return;
+                }
+                retryAfterBackoff(datasourceName, indexName, bulkRequest, bulkSizeController, listener);
+            }
+        }));
+    }
+
+    private void retryAfterBackoff(
+        final String datasourceName,
+        final String indexName,
+        final BulkRequest bulkRequest,
+        final BulkSizeController bulkSizeController,
+        final ActionListener<Void> listener
+    ) {
+        TimeValue backoff;
+        try {
+            backoff = bulkSizeController.onRejection();
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        ip2GeoExecutor.schedule(() -> executeBulk(datasourceName, indexName, bulkRequest, bulkSizeController, listener), backoff);
     }
 
     public void deleteIp2GeoDataIndex(final String index) {
@@ -334,11 +835,15 @@ public class GeoIpDataDao {
             );
         }
 
+        // Build index of each index is deleted as well in case shrinking the build index has not completed
+        String[] indicesToDelete = indices.stream()
+            .flatMap(index -> Stream.of(index, buildIndexName(index)))
+            .toArray(String[]::new);
         AcknowledgedResponse response = StashedThreadContext.run(
             client,
             () -> client.admin()
                 .indices()
-                .prepareDelete(indices.toArray(new String[0]))
+                .prepareDelete(indicesToDelete)
                 .setIndicesOptions(IndicesOptions.LENIENT_EXPAND_OPEN_CLOSED_HIDDEN)
                 .execute()
                 .actionGet(clusterSettings.get(Ip2GeoSettings.TIMEOUT))
@@ -11,22 +11,38 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+import org.apache.lucene.util.RamUsageEstimator;
+import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.cache.Cache;
 import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.cache.RemovalReason;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.geospatial.annotation.VisibleForTesting;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingAction;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingRequest;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLookupStats;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+import org.opensearch.geospatial.ip2geo.common.LookupFailureMode;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
-import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.geospatial.shared.StashedThreadContext;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
 import org.opensearch.index.engine.Engine;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.index.shard.IndexingOperationListener;
 
 import lombok.AllArgsConstructor;
@@ -37,84 +53,192 @@ import lombok.extern.log4j.Log4j2;
 /**
  * Data access object for Datasource and GeoIP data with added caching layer
  *
- * Ip2GeoCachedDao has a memory cache to store Datasource and GeoIP data. To fully utilize the cache,
+ * Ip2GeoCachedDao has a memory cache to store GeoIP data. To fully utilize the cache,
  * do not create multiple Ip2GeoCachedDao. Ip2GeoCachedDao instance is bound to guice so that you can use
  * it through injection.
  *
+ * Datasource metadata is read from {@link DatasourceRoutingMetadata} in cluster state. Ip2GeoCachedDao listens to
+ * operations on the primary shard of datasource index and publishes datasource routing when index, state or expiration
+ * date of a datasource changes.
+ *
+ * Routing of a datasource can be missing in cluster state until the cluster manager republishes routings, for example
+ * during a rolling upgrade or after a cluster manager failover. In that case, the datasource is read once from the
+ * datasource index in background and its routing is used until it shows up in cluster state.
+ *
  * All IP2Geo processors share single Ip2GeoCachedDao instance.
  */
 @Log4j2
 public class Ip2GeoCachedDao implements IndexingOperationListener {
+    /**
+     * Time after which a routing read from the datasource index is read again
+     */
+    private static final TimeValue FALLBACK_ROUTING_TTL = TimeValue.timeValueMinutes(1);
+    private final ClusterService clusterService;
+    private final Client client;
     private final DatasourceDao datasourceDao;
     private final GeoIpDataDao geoIpDataDao;
     private final GeoDataCache geoDataCache;
-    private Map<String, DatasourceMetadata> metadata;
+    /**
+     * GeoIP data last looked up for each datasource and ip regardless of index, kept only in stale lookup failure mode
+     */
+    private final GeoDataCache staleGeoDataCache;
+    /**
+     * @return counters of failed GeoIP data lookups
+     */
+    @Getter
+    private final Ip2GeoLookupStats lookupStats;
+    /**
+     * Routings read from the datasource index for datasources missing in cluster state, keyed by datasource name
+     */
+    private final Map<String, FallbackRouting> fallbackRoutings = new ConcurrentHashMap<>();
+    /**
+     * Routings last published by this node, keyed by datasource name
+     */
+    private final Map<String, DatasourceRouting> publishedRoutings = new ConcurrentHashMap<>();
+    private volatile String publishedJobIndexUuid;
+    private volatile boolean keepStaleGeoData;
 
-    public Ip2GeoCachedDao(final ClusterService clusterService, final DatasourceDao datasourceDao, final GeoIpDataDao geoIpDataDao) {
+    public Ip2GeoCachedDao(
+        final ClusterService clusterService,
+        final Client client,
+        final DatasourceDao datasourceDao,
+        final GeoIpDataDao geoIpDataDao
+    ) {
+        this.clusterService = clusterService;
+        this.client = client;
         this.datasourceDao = datasourceDao;
         this.geoIpDataDao = geoIpDataDao;
-        this.geoDataCache = new GeoDataCache(clusterService.getClusterSettings().get(Ip2GeoSettings.CACHE_SIZE));
-        clusterService.getClusterSettings()
-            .addSettingsUpdateConsumer(Ip2GeoSettings.CACHE_SIZE, setting -> this.geoDataCache.updateMaxSize(setting.longValue()));
+        ClusterSettings clusterSettings = clusterService.getClusterSettings();
+        this.geoDataCache = new GeoDataCache(clusterSettings.get(Ip2GeoSettings.CACHE_SIZE));
+        this.staleGeoDataCache = new GeoDataCache(clusterSettings.get(Ip2GeoSettings.CACHE_SIZE));
+        this.lookupStats = new Ip2GeoLookupStats(geoDataCache::count, geoDataCache::sizeInBytes, geoDataCache::evictions);
+        this.keepStaleGeoData = LookupFailureMode.STALE.equals(clusterSettings.get(Ip2GeoSettings.LOOKUP_FAILURE_MODE));
+        clusterSettings.addSettingsUpdateConsumer(Ip2GeoSettings.CACHE_SIZE, setting -> {
+            this.geoDataCache.updateMaxSize(setting.longValue());
+            this.staleGeoDataCache.updateMaxSize(setting.longValue());
+        });
+        clusterSettings.addSettingsUpdateConsumer(
+            Ip2GeoSettings.LOOKUP_FAILURE_MODE,
+            mode -> this.keepStaleGeoData = LookupFailureMode.STALE.equals(mode)
+        );
     }
 
     public String getIndexName(final String datasourceName) {
-        return getMetadata().getOrDefault(datasourceName, DatasourceMetadata.EMPTY_METADATA).getIndexName();
+        DatasourceRouting routing = getRouting(datasourceName);
+        return routing == null ? null : routing.getIndexName();
     }
 
     public boolean isExpired(final String datasourceName) {
-        return getMetadata().getOrDefault(datasourceName, DatasourceMetadata.EMPTY_METADATA).getExpirationDate().isBefore(Instant.now());
+        DatasourceRouting routing = getRouting(datasourceName);
+        return routing == null || routing.getExpirationDate().isBefore(Instant.now());
     }
 
     public boolean has(final String datasourceName) {
-        return getMetadata().containsKey(datasourceName);
+        return getRouting(datasourceName) != null;
     }
 
     public DatasourceState getState(final String datasourceName) {
-        return getMetadata().getOrDefault(datasourceName, DatasourceMetadata.EMPTY_METADATA).getState();
+        DatasourceRouting routing = getRouting(datasourceName);
+        return routing == null ? null : routing.getState();
     }
 
-    public Map<String, Object> getGeoData(final String indexName, final String ip) {
+    /**
+     * Get GeoIP data of an ip from cache, or from a given index within a given timeout on cache miss
+     *
+     * Successful lookups are recorded in {@link #lookupStats} and in {@link GeospatialMetrics} by where GeoIP data came from.
+     *
+     * @param datasourceName the datasource name which the index belongs to
+     * @param indexName the index name
+     * @param ip the ip address
+     * @param timeout timeout of the lookup on cache miss
+     * @return GeoIP data
+     */
+    public Map<String, Object> getGeoData(final String datasourceName, final String indexName, final String ip, final TimeValue timeout) {
+        long startTime = System.nanoTime();
+        AtomicBoolean searched = new AtomicBoolean();
         try {
-            return geoDataCache.putIfAbsent(indexName, ip, addr -> geoIpDataDao.getGeoIpData(indexName, ip));
+            Map<String, Object> geoData = geoDataCache.putIfAbsent(indexName, ip, addr -> {
+                searched.set(true);
+                Map<String, Object> searchedGeoData = geoIpDataDao.getGeoIpData(indexName, ip, timeout);
+                if (keepStaleGeoData) {
+                    staleGeoDataCache.put(datasourceName, ip, searchedGeoData);
+                }
+                return searchedGeoData;
+            });
+            long tookInNanos = System.nanoTime() - startTime;
+            if (searched.get()) {
+                lookupStats.onSearch(tookInNanos);
+            } else {
+                lookupStats.onCacheHit(tookInNanos);
+            }
+            GeospatialMetrics.getInstance().onIp2GeoLookup(datasourceName, searched.get() == false, tookInNanos);
+            return geoData;
         } catch (ExecutionException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private Map<String, DatasourceMetadata> getMetadata() {
-        if (metadata != null) {
-            return metadata;
-        }
-        synchronized (this) {
-            if (metadata != null) {
-                return metadata;
-            }
-            Map<String, DatasourceMetadata> tempData = new ConcurrentHashMap<>();
-            try {
-                datasourceDao.getAllDatasources()
-                    .stream()
-                    .forEach(datasource -> tempData.put(datasource.getName(), new DatasourceMetadata(datasource)));
-            } catch (IndexNotFoundException e) {
-                log.debug("Datasource has never been created");
+    /**
+     * Get GeoIP data of an ip last looked up from any index of a datasource
+     *
+     * @param datasourceName the datasource name
+     * @param ip the ip address
+     * @return GeoIP data, or null if there is none
+     */
+    public Map<String, Object> getStaleGeoData(final String datasourceName, final String ip) {
+        return staleGeoDataCache.get(datasourceName, ip);
+    }
+
+    private DatasourceRouting getRouting(final String datasourceName) {
+        DatasourceRouting routing = DatasourceRoutingMetadata.routings(clusterService.state().metadata()).get(datasourceName);
+        if (routing != null) {
+            if (fallbackRoutings.isEmpty() == false) {
+                fallbackRoutings.remove(datasourceName);
             }
-            metadata = tempData;
-            return metadata;
+            return routing;
         }
+        return getFallbackRouting(datasourceName);
     }
 
-    private void put(final Datasource datasource) {
-        DatasourceMetadata metadata = new DatasourceMetadata(datasource);
-        getMetadata().put(datasource.getName(), metadata);
+    /**
+     * Return routing read from the datasource index, and read it in background if it is not read yet or is expired
+     *
+     * Only one read is in flight for a datasource at a time, and a failed read is retried after {@link #FALLBACK_ROUTING_TTL}.
+     */
+    private DatasourceRouting getFallbackRouting(final String datasourceName) {
+        FallbackRouting current = fallbackRoutings.get(datasourceName);
+        if (current != null && current.isExpired() == false) {
+            return current.routing;
+        }
+        DatasourceRouting previous = current == null ? null : current.routing;
+        FallbackRouting loading = new FallbackRouting(previous, System.nanoTime());
+        boolean claimed = current == null
+            ? fallbackRoutings.putIfAbsent(datasourceName, loading) == null
+            : fallbackRoutings.replace(datasourceName, current, loading);
+        if (claimed) {
+            datasourceDao.getDatasource(datasourceName, ActionListener.wrap(datasource -> {
+                DatasourceRouting routing = datasource == null
+                    ? null
+                    : new DatasourceRouting(datasource, SequenceNumbers.UNASSIGNED_SEQ_NO);
+                fallbackRoutings.replace(datasourceName, loading, new FallbackRouting(routing, System.nanoTime()));
+            }, e -> log.error("Failed to read datasource[{}] missing in cluster state", datasourceName, e)));
+        }
+        return previous;
     }
 
-    private void remove(final String datasourceName) {
-        getMetadata().remove(datasourceName);
+    private void publish(final PublishDatasourceRoutingRequest request, final Runnable onFailure) {
+        StashedThreadContext.run(
+            client,
+            () -> client.execute(PublishDatasourceRoutingAction.INSTANCE, request, ActionListener.wrap(response -> {}, e -> {
+                log.error("Failed to publish datasource routing of datasource index[{}]", request.getJobIndexUuid(), e);
+                onFailure.run();
+            }))
+        );
     }
 
     @Override
     public void postIndex(ShardId shardId, Engine.Index index, Engine.IndexResult result) {
-        if (Engine.Result.Type.FAILURE.equals(result.getResultType())) {
+        if (Engine.Result.Type.FAILURE.equals(result.getResultType()) || Engine.Operation.Origin.PRIMARY != index.origin()) {
             return;
         }
 
@@ -123,7 +247,21 @@ public class Ip2GeoCachedDao implements IndexingOperationListener {
                 .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, index.source().utf8ToString());
             parser.nextToken();
             Datasource datasource = Datasource.PARSER.parse(parser, null);
-            put(datasource);
+            DatasourceRouting routing = new DatasourceRouting(datasource, result.getSeqNo());
+            String jobIndexUuid = shardId.getIndex().getUUID();
+            if (jobIndexUuid.equals(publishedJobIndexUuid) == false) {
+                publishedRoutings.clear();
+                publishedJobIndexUuid = jobIndexUuid;
+            }
+            // Most writes only update stats of a datasource, which doesn't change its routing
+            DatasourceRouting published = publishedRoutings.put(routing.getName(), routing);
+            if (routing.isSameRoute(published)) {
+                return;
+            }
+            publish(
+                PublishDatasourceRoutingRequest.update(jobIndexUuid, routing),
+                () -> publishedRoutings.remove(routing.getName(), routing)
+            );
         } catch (IOException e) {
             log.error("IOException occurred updating datasource metadata for datasource {} ", index.id(), e);
         }
@@ -131,27 +269,23 @@ public class Ip2GeoCachedDao implements IndexingOperationListener {
 
     @Override
     public void postDelete(ShardId shardId, Engine.Delete delete, Engine.DeleteResult result) {
-        if (result.getResultType().equals(Engine.Result.Type.FAILURE)) {
+        if (result.getResultType().equals(Engine.Result.Type.FAILURE) || Engine.Operation.Origin.PRIMARY != delete.origin()) {
             return;
         }
-        remove(delete.id());
+        publishedRoutings.remove(delete.id());
+        publish(PublishDatasourceRoutingRequest.remove(shardId.getIndex().getUUID(), delete.id(), result.getSeqNo()), () -> {});
     }
 
-    @Getter
-    private static class DatasourceMetadata {
-        private static DatasourceMetadata EMPTY_METADATA = new DatasourceMetadata();
-        private String indexName;
-        private Instant expirationDate;
-        private DatasourceState state;
-
-        private DatasourceMetadata() {
-            expirationDate = Instant.MIN;
-        }
+    /**
+     * Routing read from the datasource index, or null if the datasource does not exist, with the time it is read
+     */
+    @AllArgsConstructor
+    private static class FallbackRouting {
+        private final DatasourceRouting routing;
+        private final long loadedAtInNanos;
 
-        public DatasourceMetadata(final Datasource datasource) {
-            this.indexName = datasource.currentIndexName();
-            this.expirationDate = datasource.expirationDay();
-            this.state = datasource.getState();
+        private boolean isExpired() {
+            return System.nanoTime() - loadedAtInNanos > FALLBACK_ROUTING_TTL.nanos();
         }
     }
 
@@ -159,16 +293,21 @@ public class Ip2GeoCachedDao implements IndexingOperationListener {
      * Cache to hold geo data
      *
      * GeoData in an index in immutable. Therefore, invalidation is not needed.
+     *
+     * Size of entries is estimated when they are added and removed, and evicted entries are counted, for stats.
      */
     @VisibleForTesting
     protected static class GeoDataCache {
-        private Cache<CacheKey, Map<String, Object>> cache;
+        private final LongAdder evictions = new LongAdder();
+        private volatile Cache<CacheKey, Map<String, Object>> cache;
+        private volatile LongAdder sizeInBytes;
 
         public GeoDataCache(final long maxSize) {
             if (maxSize < 0) {
                 throw new IllegalArgumentException("ip2geo max cache size must be 0 or greater");
             }
-            this.cache = CacheBuilder.<CacheKey, Map<String, Object>>builder().setMaximumWeight(maxSize).build();
+            this.sizeInBytes = new LongAdder();
+            this.cache = build(maxSize, sizeInBytes);
         }
 
         public Map<String, Object> putIfAbsent(
@@ -177,13 +316,45 @@ public class Ip2GeoCachedDao implements IndexingOperationListener {
             final Function<String, Map<String, Object>> retrieveFunction
         ) throws ExecutionException {
             CacheKey cacheKey = new CacheKey(indexName, ip);
-            return cache.computeIfAbsent(cacheKey, key -> retrieveFunction.apply(key.ip));
+            LongAdder size = sizeInBytes;
+            return cache.computeIfAbsent(cacheKey, key -> {
+                Map<String, Object> geoData = retrieveFunction.apply(key.ip);
+                size.add(sizeOf(key, geoData));
+                return geoData;
+            });
         }
 
         public Map<String, Object> get(final String indexName, final String ip) {
             return cache.get(new CacheKey(indexName, ip));
         }
 
+        public void put(final String indexName, final String ip, final Map<String, Object> geoData) {
+            CacheKey cacheKey = new CacheKey(indexName, ip);
+            sizeInBytes.add(sizeOf(cacheKey, geoData));
+            cache.put(cacheKey, geoData);
+        }
+
+        /**
+         * @return number of entries in the cache
+         */
+        public long count() {
+            return cache.count();
+        }
+
+        /**
+         * @return estimated size of entries in the cache in bytes
+         */
+        public long sizeInBytes() {
+            return sizeInBytes.sum();
+        }
+
+        /**
+         * @return number of entries evicted from the cache
+         */
+        public long evictions() {
+            return evictions.sum();
+        }
+
         /**
          * Create a new cache with give size and replace existing cache
          *
@@ -195,17 +366,34 @@ public class Ip2GeoCachedDao implements IndexingOperationListener {
             if (maxSize < 0) {
                 throw new IllegalArgumentException("ip2geo max cache size must be 0 or greater");
             }
-            Cache<CacheKey, Map<String, Object>> temp = CacheBuilder.<CacheKey, Map<String, Object>>builder()
-                .setMaximumWeight(maxSize)
-                .build();
+            LongAdder tempSizeInBytes = new LongAdder();
+            Cache<CacheKey, Map<String, Object>> temp = build(maxSize, tempSizeInBytes);
             int count = 0;
             Iterator<CacheKey> it = cache.keys().iterator();
             while (it.hasNext() && count < maxSize) {
                 CacheKey key = it.next();
-                temp.put(key, cache.get(key));
+                Map<String, Object> geoData = cache.get(key);
+                if (geoData != null) {
+                    tempSizeInBytes.add(sizeOf(key, geoData));
+                    temp.put(key, geoData);
+                }
                 count++;
             }
             cache = temp;
+            sizeInBytes = tempSizeInBytes;
+        }
+
+        private Cache<CacheKey, Map<String, Object>> build(final long maxSize, final LongAdder size) {
+            return CacheBuilder.<CacheKey, Map<String, Object>>builder().setMaximumWeight(maxSize).removalListener(notification -> {
+                size.add(-sizeOf(notification.getKey(), notification.getValue()));
+                if (RemovalReason.EVICTED == notification.getRemovalReason()) {
+                    evictions.increment();
+                }
+            }).build();
+        }
+
+        private static long sizeOf(final CacheKey key, final Map<String, Object> geoData) {
+            return RamUsageEstimator.sizeOf(key.indexName) + RamUsageEstimator.sizeOf(key.ip) + RamUsageEstimator.sizeOfMap(geoData);
         }
 
         @AllArgsConstructor
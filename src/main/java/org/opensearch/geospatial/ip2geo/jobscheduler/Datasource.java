@@ -6,6 +6,7 @@
 package org.opensearch.geospatial.ip2geo.jobscheduler;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
+import org.opensearch.common.hash.MessageDigests;
 import org.opensearch.core.ParseField;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
@@ -51,6 +53,12 @@ public class Datasource implements Writeable, ScheduledJobParameter {
      * Prefix of indices having Ip2Geo data
      */
     public static final String IP2GEO_DATA_INDEX_NAME_PREFIX = ".geospatial-ip2geo-data";
+    /**
+     * Infix of indices having Ip2Geo data shared by datasources
+     *
+     * Datasource name cannot start with '_'. Therefore, shared index names never collide with datasource specific ones.
+     */
+    private static final String SHARED_INDEX_NAME_INFIX = "_shared";
 
     /**
      * Default fields for job scheduling
@@ -387,6 +395,26 @@ public class Datasource implements Writeable, ScheduledJobParameter {
         return String.format(Locale.ROOT, "%s.%s.%s", IP2GEO_DATA_INDEX_NAME_PREFIX, name, suffix);
     }
 
+    /**
+     * Index name for GeoIP data of a given database
+     *
+     * The name is derived from url and SHA256 hash value of the database so that datasources
+     * having the same database share the same index.
+     *
+     * @param manifest the manifest of a database
+     * @return index name for GeoIP data of the database
+     */
+    public static String sharedIndexName(final DatasourceManifest manifest) {
+        String key = manifest.getUrl() + "|" + manifest.getSha256Hash();
+        return String.format(
+            Locale.ROOT,
+            "%s.%s.%s",
+            IP2GEO_DATA_INDEX_NAME_PREFIX,
+            SHARED_INDEX_NAME_INFIX,
+            MessageDigests.toHexString(MessageDigests.sha256().digest(key.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
     /**
      * Reset database so that it can be updated in next run regardless there is new update or not
      */
@@ -10,11 +10,12 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.annotation.VisibleForTesting;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
-import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.jobscheduler.spi.JobExecutionContext;
@@ -56,7 +57,7 @@ public class DatasourceRunner implements ScheduledJobRunner {
 
     private ClusterService clusterService;
     private DatasourceUpdateService datasourceUpdateService;
-    private Ip2GeoExecutor ip2GeoExecutor;
+    private DatasourceUpdateScheduler datasourceUpdateScheduler;
     private DatasourceDao datasourceDao;
     private Ip2GeoLockService ip2GeoLockService;
     private boolean initialized;
@@ -71,13 +72,13 @@ public class DatasourceRunner implements ScheduledJobRunner {
     public void initialize(
         final ClusterService clusterService,
         final DatasourceUpdateService datasourceUpdateService,
-        final Ip2GeoExecutor ip2GeoExecutor,
+        final DatasourceUpdateScheduler datasourceUpdateScheduler,
         final DatasourceDao datasourceDao,
         final Ip2GeoLockService ip2GeoLockService
     ) {
         this.clusterService = clusterService;
         this.datasourceUpdateService = datasourceUpdateService;
-        this.ip2GeoExecutor = ip2GeoExecutor;
+        this.datasourceUpdateScheduler = datasourceUpdateScheduler;
         this.datasourceDao = datasourceDao;
         this.ip2GeoLockService = ip2GeoLockService;
         this.initialized = true;
@@ -96,41 +97,63 @@ public class DatasourceRunner implements ScheduledJobRunner {
             );
         }
 
-        ip2GeoExecutor.forDatasourceUpdate().submit(updateDatasourceRunner(jobParameter));
+        datasourceUpdateScheduler.submit(
+            jobParameter.getName(),
+            DatasourceUpdateScheduler.Priority.NORMAL,
+            updateDatasourceRunner(jobParameter)
+        );
     }
 
     /**
      * Update GeoIP data
      *
      * Lock is used so that only one of nodes run this task.
+     * The returned update notifies a given listener after releasing the lock.
      *
      * @param jobParameter job parameter
      */
     @VisibleForTesting
-    protected Runnable updateDatasourceRunner(final ScheduledJobParameter jobParameter) {
-        return () -> {
+    protected Consumer<ActionListener<Void>> updateDatasourceRunner(final ScheduledJobParameter jobParameter) {
+        return completionListener -> {
             Optional<LockModel> lockModel = ip2GeoLockService.acquireLock(
                 jobParameter.getName(),
                 Ip2GeoLockService.LOCK_DURATION_IN_SECONDS
             );
             if (lockModel.isEmpty()) {
                 log.error("Failed to update. Another processor is holding a lock for datasource[{}]", jobParameter.getName());
+                completionListener.onResponse(null);
                 return;
             }
 
-            LockModel lock = lockModel.get();
+            AtomicReference<LockModel> lockReference = new AtomicReference<>(lockModel.get());
+            ActionListener<Void> listener = ActionListener.runBefore(
+                completionListener,
+                () -> ip2GeoLockService.releaseLock(lockReference.get())
+            );
             try {
-                updateDatasource(jobParameter, ip2GeoLockService.getRenewLockRunnable(new AtomicReference<>(lock)));
+                updateDatasource(jobParameter, ip2GeoLockService.getRenewLockRunnable(lockReference), listener);
             } catch (Exception e) {
-                log.error("Failed to update datasource[{}]", jobParameter.getName(), e);
-            } finally {
-                ip2GeoLockService.releaseLock(lock);
+                listener.onFailure(e);
             }
         };
     }
 
+    /**
+     * Update datasource
+     *
+     * The listener is notified once GeoIP data update, cleanup of unused indices, and post-processing complete.
+     * The update itself runs asynchronously and does not hold a thread while waiting.
+     *
+     * Writes of the datasource during the update are coalesced and pending changes are written once at the end.
+     * See {@link DatasourceDao#startBatch(String)}
+     *
+     * @param jobParameter the job parameter
+     * @param renewLock runnable to renew lock
+     * @param listener the listener
+     */
     @VisibleForTesting
-    protected void updateDatasource(final ScheduledJobParameter jobParameter, final Runnable renewLock) throws IOException {
+    protected void updateDatasource(final ScheduledJobParameter jobParameter, final Runnable renewLock, final ActionListener<Void> listener)
+        throws IOException {
         Datasource datasource = datasourceDao.getDatasource(jobParameter.getName());
         /**
          * If delete request comes while update task is waiting on a queue for other update tasks to complete,
@@ -140,6 +163,7 @@ public class DatasourceRunner implements ScheduledJobRunner {
          */
         if (datasource == null) {
             log.info("Datasource[{}] does not exist", jobParameter.getName());
+            listener.onResponse(null);
             return;
         }
 
@@ -148,22 +172,72 @@ public class DatasourceRunner implements ScheduledJobRunner {
             datasource.disable();
             datasource.getUpdateStats().setLastFailedAt(Instant.now());
             datasourceDao.updateDatasource(datasource);
+            listener.onResponse(null);
             return;
         }
 
+        datasourceDao.startBatch(datasource.getName());
+        ActionListener<Void> batchListener = finishBatchListener(datasource, listener);
         try {
             datasourceUpdateService.deleteUnusedIndices(datasource);
-            if (DatasourceTask.DELETE_UNUSED_INDICES.equals(datasource.getTask()) == false) {
-                datasourceUpdateService.updateOrCreateGeoIpData(datasource, renewLock);
+            if (DatasourceTask.DELETE_UNUSED_INDICES.equals(datasource.getTask())) {
+                onUpdateSucceeded(datasource, batchListener);
+                return;
             }
-            datasourceUpdateService.deleteUnusedIndices(datasource);
+            datasourceUpdateService.updateOrCreateGeoIpData(
+                datasource,
+                renewLock,
+                ActionListener.wrap(
+                    response -> onUpdateSucceeded(datasource, batchListener),
+                    e -> onUpdateFailed(datasource, e, batchListener)
+                )
+            );
         } catch (Exception e) {
-            log.error("Failed to update datasource for {}", datasource.getName(), e);
-            datasource.getUpdateStats().setLastFailedAt(Instant.now());
-            datasourceDao.updateDatasource(datasource);
-        } finally {
-            postProcessing(datasource);
+            onUpdateFailed(datasource, e, batchListener);
+        }
+    }
+
+    /**
+     * Write changes of a datasource made during an update run at once before notifying a given listener
+     */
+    private ActionListener<Void> finishBatchListener(final Datasource datasource, final ActionListener<Void> listener) {
+        return ActionListener.wrap(
+            response -> datasourceDao.finishBatch(datasource, listener),
+            e -> datasourceDao.finishBatch(datasource, ActionListener.wrap(response -> listener.onFailure(e), writeFailure -> {
+                e.addSuppressed(writeFailure);
+                listener.onFailure(e);
+            }))
+        );
+    }
+
+    private void onUpdateSucceeded(final Datasource datasource, final ActionListener<Void> listener) {
+        try {
+            try {
+                datasourceUpdateService.deleteUnusedIndices(datasource);
+            } finally {
+                postProcessing(datasource);
+            }
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(null);
+    }
+
+    private void onUpdateFailed(final Datasource datasource, final Exception exception, final ActionListener<Void> listener) {
+        log.error("Failed to update datasource for {}", datasource.getName(), exception);
+        try {
+            try {
+                datasource.getUpdateStats().setLastFailedAt(Instant.now());
+                datasourceDao.updateDatasource(datasource);
+            } finally {
+                postProcessing(datasource);
+            }
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
         }
+        listener.onResponse(null);
     }
 
     private void postProcessing(final Datasource datasource) {
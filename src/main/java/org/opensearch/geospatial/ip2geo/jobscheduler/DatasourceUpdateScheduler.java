@@ -0,0 +1,211 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.jobscheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Scheduler running datasource updates in a node
+ *
+ * Up to {@link Ip2GeoSettings#MAX_CONCURRENT_UPDATES} updates run at the same time and the rest wait in a queue.
+ * Updates with higher priority run first and updates with the same priority run in the order they are submitted.
+ * At most one update runs for a datasource at a time so that a single datasource cannot occupy multiple slots,
+ * and a scheduled update is dropped if another update for the same datasource is already waiting or running.
+ */
+@Log4j2
+public class DatasourceUpdateScheduler {
+    /**
+     * Priority of a datasource update
+     */
+    public enum Priority {
+        /**
+         * Update requested by a user, such as creation of a datasource
+         */
+        HIGH,
+        /**
+         * Update triggered by job scheduler
+         */
+        NORMAL
+    }
+
+    private final Ip2GeoExecutor ip2GeoExecutor;
+    private final TreeSet<PendingUpdate> queue = new TreeSet<>(
+        Comparator.comparing(PendingUpdate::getPriority).thenComparingLong(PendingUpdate::getSequence)
+    );
+    private final Set<String> runningDatasources = new HashSet<>();
+    private int maxConcurrentUpdates;
+    private long sequence;
+    /**
+     * @return Number of updates which started running
+     */
+    @Getter
+    private volatile long startedCount;
+    /**
+     * @return Total time in milliseconds which started updates waited in the queue
+     */
+    @Getter
+    private volatile long totalQueueWaitTimeInMillis;
+    /**
+     * @return Max time in milliseconds which an update waited in the queue
+     */
+    @Getter
+    private volatile long maxQueueWaitTimeInMillis;
+
+    public DatasourceUpdateScheduler(final ClusterSettings clusterSettings, final Ip2GeoExecutor ip2GeoExecutor) {
+        this.ip2GeoExecutor = ip2GeoExecutor;
+        this.maxConcurrentUpdates = clusterSettings.get(Ip2GeoSettings.MAX_CONCURRENT_UPDATES);
+        clusterSettings.addSettingsUpdateConsumer(Ip2GeoSettings.MAX_CONCURRENT_UPDATES, this::setMaxConcurrentUpdates);
+    }
+
+    /**
+     * Submit a datasource update
+     *
+     * The update is given a listener which must be notified when the update completes
+     * so that a next update in the queue can start.
+     *
+     * @param datasourceName the datasource name
+     * @param priority the priority
+     * @param update the update
+     * @return true if the update is queued, false if it is dropped because another update for the datasource is pending
+     */
+    public boolean submit(final String datasourceName, final Priority priority, final Consumer<ActionListener<Void>> update) {
+        synchronized (this) {
+            if (Priority.NORMAL.equals(priority) && isPending(datasourceName)) {
+                log.info("Skipping update of datasource[{}] as another update is waiting or running", datasourceName);
+                return false;
+            }
+            queue.add(new PendingUpdate(datasourceName, priority, sequence++, System.nanoTime(), update));
+        }
+        dispatch();
+        return true;
+    }
+
+    /**
+     * @return Number of updates waiting in the queue
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return Number of running updates
+     */
+    public synchronized int getRunningCount() {
+        return runningDatasources.size();
+    }
+
+    /**
+     * @return snapshot of queued, running and started updates
+     */
+    public synchronized DatasourceUpdateSchedulerStats getStats() {
+        return new DatasourceUpdateSchedulerStats(
+            queue.size(),
+            runningDatasources.size(),
+            startedCount,
+            totalQueueWaitTimeInMillis,
+            maxQueueWaitTimeInMillis
+        );
+    }
+
+    private void setMaxConcurrentUpdates(final int maxConcurrentUpdates) {
+        synchronized (this) {
+            this.maxConcurrentUpdates = maxConcurrentUpdates;
+        }
+        dispatch();
+    }
+
+    private boolean isPending(final String datasourceName) {
+        return runningDatasources.contains(datasourceName) || queue.stream().anyMatch(p -> p.getDatasourceName().equals(datasourceName));
+    }
+
+    private void dispatch() {
+        List<PendingUpdate> updatesToStart = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PendingUpdate> iterator = queue.iterator();
+            while (runningDatasources.size() < maxConcurrentUpdates && iterator.hasNext()) {
+                PendingUpdate pendingUpdate = iterator.next();
+                if (runningDatasources.contains(pendingUpdate.getDatasourceName())) {
+                    continue;
+                }
+                iterator.remove();
+                runningDatasources.add(pendingUpdate.getDatasourceName());
+                long waitTimeInMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingUpdate.getSubmittedAtInNanos());
+                startedCount++;
+                totalQueueWaitTimeInMillis += waitTimeInMillis;
+                maxQueueWaitTimeInMillis = Math.max(maxQueueWaitTimeInMillis, waitTimeInMillis);
+                log.info(
+                    "Starting update of datasource[{}] with {} priority after waiting {} millis in queue",
+                    pendingUpdate.getDatasourceName(),
+                    pendingUpdate.getPriority(),
+                    waitTimeInMillis
+                );
+                updatesToStart.add(pendingUpdate);
+            }
+        }
+
+        for (PendingUpdate pendingUpdate : updatesToStart) {
+            start(pendingUpdate);
+        }
+    }
+
+    private void start(final PendingUpdate pendingUpdate) {
+        ActionListener<Void> listener = ActionListener.notifyOnce(
+            ActionListener.runAfter(
+                ActionListener.wrap(
+                    response -> {},
+                    e -> log.error("Failed to update datasource[{}]", pendingUpdate.getDatasourceName(), e)
+                ),
+                () -> onCompletion(pendingUpdate.getDatasourceName())
+            )
+        );
+        try {
+            // An update starts with acquiring a lock on the datasource, which waits on the lock index
+            ip2GeoExecutor.forBlockingCall().orElseGet(ip2GeoExecutor::forDatasourceUpdate).execute(() -> {
+                try {
+                    pendingUpdate.getUpdate().accept(listener);
+                } catch (Exception e) {
+                    listener.onFailure(e);
+                }
+            });
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
+    private void onCompletion(final String datasourceName) {
+        synchronized (this) {
+            runningDatasources.remove(datasourceName);
+        }
+        dispatch();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingUpdate {
+        private final String datasourceName;
+        private final Priority priority;
+        private final long sequence;
+        private final long submittedAtInNanos;
+        private final Consumer<ActionListener<Void>> update;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.jobscheduler;
+
+import java.io.IOException;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Snapshot of queued, running and started datasource updates of {@link DatasourceUpdateScheduler} in a node
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DatasourceUpdateSchedulerStats implements Writeable, ToXContentFragment {
+    private static final String FIELD_SCHEDULER = "scheduler";
+    private static final String FIELD_QUEUED = "queued";
+    private static final String FIELD_RUNNING = "running";
+    private static final String FIELD_STARTED = "started";
+    private static final String FIELD_TOTAL_QUEUE_WAIT_TIME_IN_MILLIS = "total_queue_wait_time_in_millis";
+    private static final String FIELD_MAX_QUEUE_WAIT_TIME_IN_MILLIS = "max_queue_wait_time_in_millis";
+
+    /**
+     * Number of updates waiting in the queue
+     */
+    private final int queued;
+    /**
+     * Number of running updates
+     */
+    private final int running;
+    /**
+     * Number of updates which started running
+     */
+    private final long started;
+    /**
+     * Total time in milliseconds which started updates waited in the queue
+     */
+    private final long totalQueueWaitTimeInMillis;
+    /**
+     * Max time in milliseconds which an update waited in the queue
+     */
+    private final long maxQueueWaitTimeInMillis;
+
+    public DatasourceUpdateSchedulerStats(final StreamInput in) throws IOException {
+        this.queued = in.readVInt();
+        this.running = in.readVInt();
+        this.started = in.readVLong();
+        this.totalQueueWaitTimeInMillis = in.readVLong();
+        this.maxQueueWaitTimeInMillis = in.readVLong();
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeVInt(queued);
+        out.writeVInt(running);
+        out.writeVLong(started);
+        out.writeVLong(totalQueueWaitTimeInMillis);
+        out.writeVLong(maxQueueWaitTimeInMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject(FIELD_SCHEDULER);
+        builder.field(FIELD_QUEUED, queued);
+        builder.field(FIELD_RUNNING, running);
+        builder.field(FIELD_STARTED, started);
+        builder.field(FIELD_TOTAL_QUEUE_WAIT_TIME_IN_MILLIS, totalQueueWaitTimeInMillis);
+        builder.field(FIELD_MAX_QUEUE_WAIT_TIME_IN_MILLIS, maxQueueWaitTimeInMillis);
+        return builder.endObject();
+    }
+}
@@ -9,48 +9,70 @@ import java.io.IOException;
 import java.net.URL;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.opensearch.OpenSearchException;
+import org.opensearch.action.StepListener;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateObserver;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.routing.ShardRouting;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.annotation.VisibleForTesting;
+import org.opensearch.geospatial.exceptions.ConcurrentModificationException;
 import org.opensearch.geospatial.ip2geo.common.DatasourceManifest;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
 import org.opensearch.geospatial.ip2geo.common.URLDenyListChecker;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
+import org.opensearch.jobscheduler.spi.LockModel;
 import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
+import org.opensearch.threadpool.ThreadPool;
 
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 public class DatasourceUpdateService {
-    private static final int SLEEP_TIME_IN_MILLIS = 5000; // 5 seconds
-    private static final int MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE_IN_MILLIS = 10 * 60 * 60 * 1000; // 10 hours
+    private static final TimeValue MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE = TimeValue.timeValueHours(10);
+    private static final TimeValue MAX_WAIT_TIME_FOR_SHARED_INDEX_LOCK = TimeValue.timeValueMinutes(1);
     private final ClusterService clusterService;
     private final ClusterSettings clusterSettings;
+    private final ThreadPool threadPool;
     private final DatasourceDao datasourceDao;
     private final GeoIpDataDao geoIpDataDao;
     private final URLDenyListChecker urlDenyListChecker;
+    private final Ip2GeoExecutor ip2GeoExecutor;
+    private final Ip2GeoLockService ip2GeoLockService;
 
     public DatasourceUpdateService(
         final ClusterService clusterService,
+        final ThreadPool threadPool,
         final DatasourceDao datasourceDao,
         final GeoIpDataDao geoIpDataDao,
-        final URLDenyListChecker urlDenyListChecker
+        final URLDenyListChecker urlDenyListChecker,
+        final Ip2GeoExecutor ip2GeoExecutor,
+        final Ip2GeoLockService ip2GeoLockService
     ) {
         this.clusterService = clusterService;
         this.clusterSettings = clusterService.getClusterSettings();
+        this.threadPool = threadPool;
         this.datasourceDao = datasourceDao;
         this.geoIpDataDao = geoIpDataDao;
         this.urlDenyListChecker = urlDenyListChecker;
+        this.ip2GeoExecutor = ip2GeoExecutor;
+        this.ip2GeoLockService = ip2GeoLockService;
     }
 
     /**
@@ -59,29 +81,72 @@ public class DatasourceUpdateService {
      * The first column is ip range field regardless its header name.
      * Therefore, we don't store the first column's header name.
      *
+     * The update runs as a chain of asynchronous stages: set up a new index, index GeoIP data, wait for all shards
+     * of the new index to start, and point the datasource to the new index. No thread is held while waiting for
+     * a stage to complete. The listener is notified in datasource update thread pool.
+     *
+     * GeoIP data index is shared by datasources having the same database. See {@link Datasource#sharedIndexName}
+     * Indexing GeoIP data is skipped if another datasource has already built the index.
+     *
      * @param datasource the datasource
      * @param renewLock runnable to renew lock
-     *
-     * @throws IOException
+     * @param listener the listener
      */
-    public void updateOrCreateGeoIpData(final Datasource datasource, final Runnable renewLock) throws IOException {
-        URL url = urlDenyListChecker.toUrlIfNotInDenyList(datasource.getEndpoint());
-        DatasourceManifest manifest = DatasourceManifest.Builder.build(url);
+    public void updateOrCreateGeoIpData(final Datasource datasource, final Runnable renewLock, final ActionListener<Void> listener) {
+        ActionListener<Void> completionListener = ip2GeoExecutor.forkToDatasourceUpdate(listener);
+        try {
+            URL url = urlDenyListChecker.toUrlIfNotInDenyList(datasource.getEndpoint());
+            DatasourceManifest manifest = DatasourceManifest.Builder.build(url);
 
-        if (shouldUpdate(datasource, manifest) == false) {
-            log.info("Skipping GeoIP database update. Update is not required for {}", datasource.getName());
-            datasource.getUpdateStats().setLastSkippedAt(Instant.now());
-            datasourceDao.updateDatasource(datasource);
-            return;
+            if (shouldUpdate(datasource, manifest) == false) {
+                log.info("Skipping GeoIP database update. Update is not required for {}", datasource.getName());
+                datasource.getUpdateStats().setLastSkippedAt(Instant.now());
+                datasourceDao.updateDatasource(datasource);
+                completionListener.onResponse(null);
+                return;
+            }
+
+            Instant startTime = Instant.now();
+            String indexName = Datasource.sharedIndexName(manifest);
+            StepListener<Optional<LockModel>> setupIndexStep = new StepListener<>();
+            setupIndex(datasource, indexName, renewLock, setupIndexStep);
+            setupIndexStep.whenComplete(
+                indexLock -> putGeoIpData(indexName, indexLock, datasource, manifest, renewLock, startTime, completionListener),
+                completionListener::onFailure
+            );
+        } catch (Exception e) {
+            completionListener.onFailure(e);
         }
+    }
 
-        Instant startTime = Instant.now();
-        String indexName = setupIndex(datasource);
-        String[] header;
-        List<String> fieldsToStore;
-        try (CSVParser reader = geoIpDataDao.getDatabaseReader(manifest)) {
+    /**
+     * Index GeoIP data if a lock on the index is given, and point the datasource to the index
+     *
+     * The database is read even when indexing is skipped to validate its fields against the datasource.
+     */
+    private void putGeoIpData(
+        final String indexName,
+        final Optional<LockModel> indexLock,
+        final Datasource datasource,
+        final DatasourceManifest manifest,
+        final Runnable renewLock,
+        final Instant startTime,
+        final ActionListener<Void> listener
+    ) throws IOException {
+        final List<String> fieldsToStore;
+        StepListener<Void> putGeoIpDataStep = new StepListener<>();
+        AtomicReference<LockModel> indexLockReference = new AtomicReference<>(indexLock.orElse(null));
+        Runnable releaseIndexLock = () -> indexLock.ifPresent(lock -> ip2GeoLockService.releaseLock(indexLockReference.get()));
+        final CSVParser reader;
+        try {
+            reader = geoIpDataDao.getDatabaseReader(manifest);
+        } catch (Exception e) {
+            releaseIndexLock.run();
+            throw e;
+        }
+        try {
             CSVRecord headerLine = reader.iterator().next();
-            header = validateHeader(headerLine).values();
+            String[] header = validateHeader(headerLine).values();
             fieldsToStore = Arrays.asList(header).subList(1, header.length);
             if (datasource.isCompatible(fieldsToStore) == false) {
                 throw new OpenSearchException(
@@ -90,37 +155,73 @@ public class DatasourceUpdateService {
                     datasource.getDatabase().getFields().toString()
                 );
             }
-            geoIpDataDao.putGeoIpData(indexName, header, reader.iterator(), renewLock);
+            if (indexLock.isPresent()) {
+                Runnable renewIndexLock = ip2GeoLockService.getRenewLockRunnable(indexLockReference);
+                geoIpDataDao.putGeoIpData(datasource.getName(), indexName, header, reader.iterator(), () -> {
+                    renewLock.run();
+                    renewIndexLock.run();
+                }, ActionListener.runBefore(ActionListener.runBefore(putGeoIpDataStep, releaseIndexLock::run), reader::close));
+            } else {
+                log.info("Skipping GeoIP data indexing. Index[{}] is already built for {}", indexName, datasource.getName());
+                reader.close();
+                putGeoIpDataStep.onResponse(null);
+            }
+        } catch (Exception e) {
+            reader.close();
+            releaseIndexLock.run();
+            throw e;
         }
 
-        waitUntilAllShardsStarted(indexName, MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE_IN_MILLIS);
-        Instant endTime = Instant.now();
-        updateDatasourceAsSucceeded(indexName, datasource, manifest, fieldsToStore, startTime, endTime);
+        StepListener<Void> waitForShardsStep = new StepListener<>();
+        putGeoIpDataStep.whenComplete(
+            response -> waitUntilAllShardsStarted(indexName, MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE, waitForShardsStep),
+            listener::onFailure
+        );
+        waitForShardsStep.whenComplete(
+            response -> updateDatasourceAsSucceeded(indexName, datasource, manifest, fieldsToStore, startTime, Instant.now(), listener),
+            listener::onFailure
+        );
     }
 
     /**
      * We wait until all shards are ready to serve search requests before updating datasource metadata to
      * point to a new index so that there won't be latency degradation during GeoIP data update
      *
+     * Instead of polling, cluster state changes are observed so that the listener is notified as soon as
+     * all shards are started.
+     *
      * @param indexName the indexName
+     * @param timeout the timeout
+     * @param listener the listener
      */
     @VisibleForTesting
-    protected void waitUntilAllShardsStarted(final String indexName, final int timeout) {
-        Instant start = Instant.now();
-        try {
-            while (Instant.now().toEpochMilli() - start.toEpochMilli() < timeout) {
-                if (clusterService.state().routingTable().allShards(indexName).stream().allMatch(shard -> shard.started())) {
-                    return;
-                }
-                Thread.sleep(SLEEP_TIME_IN_MILLIS);
-            }
-            throw new OpenSearchException(
-                "index[{}] replication did not complete after {} millis",
-                MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE_IN_MILLIS
-            );
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    protected void waitUntilAllShardsStarted(final String indexName, final TimeValue timeout, final ActionListener<Void> listener) {
+        Predicate<ClusterState> allShardsStarted = state -> state.routingTable()
+            .allShards(indexName)
+            .stream()
+            .allMatch(ShardRouting::started);
+        ClusterStateObserver observer = new ClusterStateObserver(clusterService, timeout, log, threadPool.getThreadContext());
+        if (allShardsStarted.test(observer.setAndGetObservedState())) {
+            listener.onResponse(null);
+            return;
         }
+
+        observer.waitForNextChange(new ClusterStateObserver.Listener() {
+            @Override
+            public void onNewClusterState(final ClusterState state) {
+                listener.onResponse(null);
+            }
+
+            @Override
+            public void onClusterServiceClose() {
+                listener.onFailure(new OpenSearchException("cluster service closed while waiting for index[{}] replication", indexName));
+            }
+
+            @Override
+            public void onTimeout(final TimeValue timeout) {
+                listener.onFailure(new OpenSearchException("index[{}] replication did not complete after {}", indexName, timeout));
+            }
+        }, allShardsStarted);
     }
 
     /**
@@ -148,20 +249,74 @@ public class DatasourceUpdateService {
      * @param datasource
      */
     public void deleteUnusedIndices(final Datasource datasource) {
-        try {
-            List<String> indicesToDelete = datasource.getIndices()
-                .stream()
-                .filter(index -> index.equals(datasource.currentIndexName()) == false)
-                .collect(Collectors.toList());
+        List<String> indicesToDelete = datasource.getIndices()
+            .stream()
+            .filter(index -> index.equals(datasource.currentIndexName()) == false)
+            .collect(Collectors.toList());
 
-            List<String> deletedIndices = deleteIndices(indicesToDelete);
+        for (String index : indicesToDelete) {
+            try {
+                deleteIndexIfUnreferenced(datasource, index);
+            } catch (Exception e) {
+                log.error("Failed to delete an index [{}] for {}", index, datasource.getName(), e);
+            }
+        }
+    }
 
-            if (deletedIndices.isEmpty() == false) {
-                datasource.getIndices().removeAll(deletedIndices);
+    /**
+     * Remove a GeoIP data index from a datasource, and delete the index unless another datasource references it
+     *
+     * A lock on the index is held while checking references and deleting the index so that the index is not deleted
+     * while another datasource update is about to use it. Under the lock, the index is removed from the datasource and
+     * the datasource is written with an immediate refresh before references are checked. Therefore, when datasources
+     * release a shared index at the same time, the last one to check references sees the index released by the others
+     * and deletes it. If the index cannot be deleted, it is added back to the datasource so that it is deleted later.
+     *
+     * @param datasource the datasource releasing the index
+     * @param index the index
+     */
+    public void deleteIndexIfUnreferenced(final Datasource datasource, final String index) {
+        if (clusterService.state().metadata().hasIndex(index) == false) {
+            if (datasource.getIndices().remove(index)) {
                 datasourceDao.updateDatasource(datasource);
             }
+            return;
+        }
+
+        Optional<LockModel> lock = ip2GeoLockService.acquireLock(index, Ip2GeoLockService.LOCK_DURATION_IN_SECONDS);
+        if (lock.isEmpty()) {
+            throw new ConcurrentModificationException("index [{}] is being used by another datasource update", index);
+        }
+        try {
+            removeIndex(datasource, index);
+            boolean isReferenced = datasourceDao.getAllDatasources()
+                .stream()
+                .anyMatch(other -> other.getName().equals(datasource.getName()) == false && other.getIndices().contains(index));
+            if (isReferenced) {
+                log.info("Keeping index[{}] as it is referenced by another datasource", index);
+                return;
+            }
+            try {
+                geoIpDataDao.deleteIp2GeoDataIndex(index);
+            } catch (Exception e) {
+                datasource.getIndices().add(index);
+                datasourceDao.updateDatasourceImmediately(datasource);
+                throw e;
+            }
+        } finally {
+            ip2GeoLockService.releaseLock(lock.get());
+        }
+    }
+
+    private void removeIndex(final Datasource datasource, final String index) {
+        if (datasource.getIndices().remove(index) == false) {
+            return;
+        }
+        try {
+            datasourceDao.updateDatasourceImmediately(datasource);
         } catch (Exception e) {
-            log.error("Failed to delete old indices for {}", datasource.getName(), e);
+            datasource.getIndices().add(index);
+            throw e;
         }
     }
 
@@ -188,24 +343,6 @@ public class DatasourceUpdateService {
         }
     }
 
-    private List<String> deleteIndices(final List<String> indicesToDelete) {
-        List<String> deletedIndices = new ArrayList<>(indicesToDelete.size());
-        for (String index : indicesToDelete) {
-            if (clusterService.state().metadata().hasIndex(index) == false) {
-                deletedIndices.add(index);
-                continue;
-            }
-
-            try {
-                geoIpDataDao.deleteIp2GeoDataIndex(index);
-                deletedIndices.add(index);
-            } catch (Exception e) {
-                log.error("Failed to delete an index [{}]", index, e);
-            }
-        }
-        return deletedIndices;
-    }
-
     /**
      * Validate header
      *
@@ -230,6 +367,7 @@ public class DatasourceUpdateService {
      *
      * @param manifest the manifest
      * @param datasource the datasource
+     * @param listener the listener
      */
     private void updateDatasourceAsSucceeded(
         final String newIndexName,
@@ -237,7 +375,8 @@ public class DatasourceUpdateService {
         final DatasourceManifest manifest,
         final List<String> fields,
         final Instant startTime,
-        final Instant endTime
+        final Instant endTime,
+        final ActionListener<Void> listener
     ) {
         datasource.setCurrentIndex(newIndexName);
         datasource.setDatabase(manifest, fields);
@@ -245,32 +384,117 @@ public class DatasourceUpdateService {
         datasource.getUpdateStats().setLastProcessingTimeInMillis(endTime.toEpochMilli() - startTime.toEpochMilli());
         datasource.enable();
         datasource.setState(DatasourceState.AVAILABLE);
-        datasourceDao.updateDatasource(datasource);
-        log.info(
-            "GeoIP database creation succeeded for {} and took {} seconds",
-            datasource.getName(),
-            Duration.between(startTime, endTime)
-        );
+        datasourceDao.updateDatasource(datasource, ActionListener.wrap(response -> {
+            log.info(
+                "GeoIP database creation succeeded for {} and took {} seconds",
+                datasource.getName(),
+                Duration.between(startTime, endTime)
+            );
+            listener.onResponse(null);
+        }, listener::onFailure));
     }
 
     /***
      * Setup index to add a new geoip data
      *
+     * The index is added to the datasource before it is created so that it can be cleaned up on failure.
+     * A lock on the index is acquired so that only one datasource update builds the index at a time.
+     * If another update is holding the lock, this waits until the index is built or the lock becomes available.
+     *
      * @param datasource the datasource
-     * @return new index name
+     * @param indexName the index name
+     * @param renewLock runnable to renew lock on the datasource
+     * @param listener the listener notified with a lock on the index if the index needs to be built, and empty otherwise
      */
-    private String setupIndex(final Datasource datasource) {
-        String indexName = datasource.newIndexName(UUID.randomUUID().toString());
+    private void setupIndex(
+        final Datasource datasource,
+        final String indexName,
+        final Runnable renewLock,
+        final ActionListener<Optional<LockModel>> listener
+    ) {
+        if (datasource.getIndices().contains(indexName)) {
+            acquireIndexLock(indexName, renewLock, listener);
+            return;
+        }
+
         datasource.getIndices().add(indexName);
-        datasourceDao.updateDatasource(datasource);
-        geoIpDataDao.createIndexIfNotExists(indexName);
-        return indexName;
+        datasourceDao.updateDatasource(
+            datasource,
+            ActionListener.wrap(response -> acquireIndexLock(indexName, renewLock, listener), listener::onFailure)
+        );
+    }
+
+    private void acquireIndexLock(final String indexName, final Runnable renewLock, final ActionListener<Optional<LockModel>> listener) {
+        ip2GeoLockService.acquireLock(
+            indexName,
+            Ip2GeoLockService.LOCK_DURATION_IN_SECONDS,
+            ip2GeoExecutor.forkToDatasourceUpdate(ActionListener.wrap(lock -> {
+                if (lock == null) {
+                    log.info("Waiting for index[{}] to be built by another datasource update", indexName);
+                    renewLock.run();
+                    waitUntilIndexBuilt(
+                        indexName,
+                        MAX_WAIT_TIME_FOR_SHARED_INDEX_LOCK,
+                        ActionListener.wrap(response -> acquireIndexLock(indexName, renewLock, listener), listener::onFailure)
+                    );
+                    return;
+                }
+
+                if (isIndexBuilt(clusterService.state(), indexName)) {
+                    ip2GeoLockService.releaseLock(lock);
+                    listener.onResponse(Optional.empty());
+                    return;
+                }
+
+                geoIpDataDao.createIndexIfNotExists(
+                    indexName,
+                    ActionListener.wrap(response -> listener.onResponse(Optional.of(lock)), e -> {
+                        ip2GeoLockService.releaseLock(lock);
+                        listener.onFailure(e);
+                    })
+                );
+            }, listener::onFailure))
+        );
+    }
+
+    /**
+     * Wait until an index is built by another datasource update
+     *
+     * The listener is notified either when the index is built or when the timeout expires so that
+     * a caller can try acquiring a lock on the index again in case the other update failed.
+     */
+    private void waitUntilIndexBuilt(final String indexName, final TimeValue timeout, final ActionListener<Void> listener) {
+        ClusterStateObserver observer = new ClusterStateObserver(clusterService, timeout, log, threadPool.getThreadContext());
+        observer.waitForNextChange(new ClusterStateObserver.Listener() {
+            @Override
+            public void onNewClusterState(final ClusterState state) {
+                listener.onResponse(null);
+            }
+
+            @Override
+            public void onClusterServiceClose() {
+                listener.onFailure(new OpenSearchException("cluster service closed while waiting for index[{}] to be built", indexName));
+            }
+
+            @Override
+            public void onTimeout(final TimeValue timeout) {
+                listener.onResponse(null);
+            }
+        }, state -> isIndexBuilt(state, indexName));
+    }
+
+    /**
+     * Index is built when it is made read only after all GeoIP data is indexed. See {@link GeoIpDataDao#putGeoIpData}
+     */
+    private boolean isIndexBuilt(final ClusterState state, final String indexName) {
+        IndexMetadata indexMetadata = state.metadata().index(indexName);
+        return indexMetadata != null && IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.get(indexMetadata.getSettings());
     }
 
     /**
      * Determine if update is needed or not
      *
-     * Update is needed when all following conditions are met
+     * Update is needed when current index of datasource does not exist, or all following conditions are met
      * 1. updatedAt value in datasource is equal or before updateAt value in manifest
      * 2. SHA256 hash value in datasource is different with SHA256 hash value in manifest
      *
@@ -279,6 +503,10 @@ public class DatasourceUpdateService {
      * @return
      */
     private boolean shouldUpdate(final Datasource datasource, final DatasourceManifest manifest) {
+        if (datasource.getCurrentIndex() != null && clusterService.state().metadata().hasIndex(datasource.getCurrentIndex()) == false) {
+            return true;
+        }
+
         if (datasource.getDatabase().getUpdatedAt() != null
             && datasource.getDatabase().getUpdatedAt().toEpochMilli() > manifest.getUpdatedAt()) {
             return false;
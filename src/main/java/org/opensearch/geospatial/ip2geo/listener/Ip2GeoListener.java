@@ -11,22 +11,39 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.client.Client;
 import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.LocalNodeClusterManagerListener;
 import org.opensearch.cluster.RestoreInProgress;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.gateway.GatewayService;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingAction;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingRequest;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceTask;
+import org.opensearch.geospatial.shared.StashedThreadContext;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
 import org.opensearch.threadpool.ThreadPool;
 
@@ -35,13 +52,22 @@ import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 @AllArgsConstructor(onConstructor = @__(@Inject))
-public class Ip2GeoListener extends AbstractLifecycleComponent implements ClusterStateListener {
+public class Ip2GeoListener extends AbstractLifecycleComponent implements ClusterStateListener, LocalNodeClusterManagerListener {
     private static final int SCHEDULE_IN_MIN = 15;
     private static final int DELAY_IN_MILLIS = 10000;
+    private static final TimeValue INITIAL_PUBLISH_RETRY_DELAY = TimeValue.timeValueSeconds(1);
+    private static final TimeValue MAX_PUBLISH_RETRY_DELAY = TimeValue.timeValueMinutes(1);
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
     private final DatasourceDao datasourceDao;
     private final GeoIpDataDao geoIpDataDao;
+    private final Client client;
+    /**
+     * Whether routings of datasources need to be published, which is set when the local node is elected
+     */
+    private final AtomicBoolean routingPublishPending = new AtomicBoolean();
+    private final AtomicBoolean routingPublishInProgress = new AtomicBoolean();
+    private final AtomicInteger publishRetries = new AtomicInteger();
 
     @Override
     public void clusterChanged(final ClusterChangedEvent event) {
@@ -49,6 +75,8 @@ public class Ip2GeoListener extends AbstractLifecycleComponent implements Cluste
             return;
         }
 
+        maybePublishDatasourceRouting(event.state());
+
         for (RestoreInProgress.Entry entry : event.state().custom(RestoreInProgress.TYPE, RestoreInProgress.EMPTY)) {
             if (RestoreInProgress.State.SUCCESS.equals(entry.state()) == false) {
                 continue;
@@ -104,10 +132,131 @@ public class Ip2GeoListener extends AbstractLifecycleComponent implements Cluste
         datasource.setTask(DatasourceTask.ALL);
     }
 
+    /**
+     * Publish routings of all datasources when the local node is elected as cluster manager
+     *
+     * A routing published by a datasource update can be lost, for example when cluster manager fails over or the cluster
+     * restarts, as routings are not persisted, or can be missing when the cluster is upgraded from a version not publishing
+     * routings. Routings are published once cluster state is recovered and the primary shard of the datasource index is
+     * active, which is usually not the case yet at election after a full cluster restart. See {@link #clusterChanged}
+     * Routings are added only for datasources not having one, and routings of datasources which do not exist anymore
+     * are removed. A failed publish is retried with an exponential backoff while the local node is cluster manager.
+     */
+    @Override
+    public void onClusterManager() {
+        routingPublishPending.set(true);
+        publishRetries.set(0);
+        maybePublishDatasourceRouting(clusterService.state());
+    }
+
+    @Override
+    public void offClusterManager() {
+        routingPublishPending.set(false);
+    }
+
+    private void maybePublishDatasourceRouting(final ClusterState state) {
+        if (routingPublishPending.get() == false || isReadyToPublishRouting(state) == false) {
+            return;
+        }
+        if (routingPublishInProgress.compareAndSet(false, true) == false) {
+            return;
+        }
+        try {
+            threadPool.generic().submit(() -> publishDatasourceRouting(state));
+        } catch (Exception e) {
+            onPublishDatasourceRoutingFailure(e);
+        }
+    }
+
+    private boolean isReadyToPublishRouting(final ClusterState state) {
+        if (state.blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK)) {
+            return false;
+        }
+        if (state.metadata().hasIndex(DatasourceExtension.JOB_INDEX_NAME) == false) {
+            return true;
+        }
+        IndexRoutingTable jobIndexRoutingTable = state.routingTable().index(DatasourceExtension.JOB_INDEX_NAME);
+        return jobIndexRoutingTable != null && jobIndexRoutingTable.allPrimaryShardsActive();
+    }
+
+    /**
+     * Publish routings of datasources read from the datasource index
+     *
+     * Removals are computed against routings of the given state, which is taken before datasources are read, so that a
+     * routing published by a datasource created while datasources are read is not removed. A routing is removed only if
+     * it has not been updated since the given state.
+     */
+    private void publishDatasourceRouting(final ClusterState state) {
+        IndexMetadata jobIndexMetadata = state.metadata().index(DatasourceExtension.JOB_INDEX_NAME);
+        if (jobIndexMetadata == null) {
+            onPublishDatasourceRoutingSuccess();
+            return;
+        }
+        Map<String, DatasourceRouting> existing = DatasourceRoutingMetadata.routings(state.metadata());
+        datasourceDao.getAllDatasources(new ActionListener<>() {
+            @Override
+            public void onResponse(final List<Datasource> datasources) {
+                List<DatasourceRouting> routings = datasources.stream()
+                    .map(datasource -> new DatasourceRouting(datasource, SequenceNumbers.UNASSIGNED_SEQ_NO))
+                    .collect(Collectors.toList());
+                Set<String> names = datasources.stream().map(Datasource::getName).collect(Collectors.toSet());
+                Map<String, Long> removals = existing.values()
+                    .stream()
+                    .filter(routing -> names.contains(routing.getName()) == false)
+                    .collect(Collectors.toMap(DatasourceRouting::getName, routing -> routing.getSeqNo() + 1));
+                PublishDatasourceRoutingRequest request = new PublishDatasourceRoutingRequest(
+                    jobIndexMetadata.getIndexUUID(),
+                    routings,
+                    removals
+                );
+                StashedThreadContext.run(
+                    client,
+                    () -> client.execute(PublishDatasourceRoutingAction.INSTANCE, request, ActionListener.wrap(response -> {
+                        log.info("Routings of {} datasources are published", routings.size());
+                        onPublishDatasourceRoutingSuccess();
+                    }, e -> onPublishDatasourceRoutingFailure(e)))
+                );
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                onPublishDatasourceRoutingFailure(e);
+            }
+        });
+    }
+
+    private void onPublishDatasourceRoutingSuccess() {
+        routingPublishPending.set(false);
+        publishRetries.set(0);
+        routingPublishInProgress.set(false);
+    }
+
+    private void onPublishDatasourceRoutingFailure(final Exception e) {
+        if (routingPublishPending.get() == false) {
+            routingPublishInProgress.set(false);
+            return;
+        }
+        int retries = publishRetries.getAndIncrement();
+        TimeValue delay = TimeValue.timeValueMillis(
+            Math.min(INITIAL_PUBLISH_RETRY_DELAY.millis() << Math.min(retries, 16), MAX_PUBLISH_RETRY_DELAY.millis())
+        );
+        log.error("Failed to publish datasource routings. Retry after {}", delay, e);
+        try {
+            threadPool.schedule(() -> {
+                routingPublishInProgress.set(false);
+                maybePublishDatasourceRouting(clusterService.state());
+            }, delay, ThreadPool.Names.GENERIC);
+        } catch (Exception scheduleFailure) {
+            log.error("Failed to schedule publishing datasource routings", scheduleFailure);
+            routingPublishInProgress.set(false);
+        }
+    }
+
     @Override
     protected void doStart() {
         if (DiscoveryNode.isClusterManagerNode(clusterService.getSettings())) {
             clusterService.addListener(this);
+            clusterService.addLocalNodeClusterManagerListener(this);
         }
     }
 
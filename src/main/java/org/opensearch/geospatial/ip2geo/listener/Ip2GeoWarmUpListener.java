@@ -0,0 +1,199 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.listener;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.lifecycle.AbstractLifecycleComponent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
+import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
+import org.opensearch.geospatial.ip2geo.processor.Ip2GeoProcessor;
+import org.opensearch.ingest.IngestMetadata;
+import org.opensearch.ingest.IngestService;
+import org.opensearch.threadpool.ThreadPool;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Warm up GeoIP data indices used by Ip2Geo processors on an ingest node
+ *
+ * After a node starts, the first lookups of each GeoIP data index load the index from disk, which slows down ingest
+ * right after a rolling restart. The listener warms up data indices of available datasources referenced by existing
+ * pipelines in the background as soon as the indices are ready to be searched, and again whenever a datasource
+ * switches to a new data index. The node is reported as ready once all of those indices are warmed up, which is exposed
+ * with pending indices in the ip2geo section of geospatial node stats.
+ *
+ * Datasource metadata does not need warm-up as it is read from {@link DatasourceRoutingMetadata} in cluster state.
+ */
+@Log4j2
+public class Ip2GeoWarmUpListener extends AbstractLifecycleComponent implements ClusterStateListener {
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+    private final IngestService ingestService;
+    private final GeoIpDataDao geoIpDataDao;
+    private final Set<String> warmedIndices = ConcurrentHashMap.newKeySet();
+    private final Set<String> warmingIndices = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> targetIndices = Collections.emptySet();
+
+    @Inject
+    public Ip2GeoWarmUpListener(
+        final ClusterService clusterService,
+        final ThreadPool threadPool,
+        final IngestService ingestService,
+        final GeoIpDataDao geoIpDataDao
+    ) {
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.ingestService = ingestService;
+        this.geoIpDataDao = geoIpDataDao;
+    }
+
+    /**
+     * Check if all GeoIP data indices used by pipelines are warmed up on this node
+     *
+     * @return true if all GeoIP data indices used by pipelines are warmed up, and false otherwise
+     */
+    public boolean isReady() {
+        return warmedIndices.containsAll(targetIndices);
+    }
+
+    /**
+     * @return GeoIP data indices used by pipelines which are not warmed up yet
+     */
+    public Set<String> getPendingIndices() {
+        return targetIndices.stream().filter(index -> warmedIndices.contains(index) == false).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return snapshot of warm-up of GeoIP data indices used by pipelines on this node
+     */
+    public Ip2GeoWarmUpStats getStats() {
+        return new Ip2GeoWarmUpStats(getPendingIndices());
+    }
+
+    @Override
+    public void clusterChanged(final ClusterChangedEvent event) {
+        if (event.metadataChanged() == false && event.routingTableChanged() == false) {
+            return;
+        }
+
+        Set<String> indices = getTargetIndices(event.state());
+        boolean wasReady = isReady();
+        targetIndices = indices;
+        warmedIndices.retainAll(indices);
+        for (String index : indices) {
+            if (warmedIndices.contains(index) || isSearchable(event.state(), index) == false || warmingIndices.add(index) == false) {
+                continue;
+            }
+            threadPool.generic().execute(() -> warmUp(index));
+        }
+        if (wasReady && isReady() == false) {
+            log.info("Ip2Geo data indices {} need warm-up", getPendingIndices());
+        }
+    }
+
+    private void warmUp(final String index) {
+        geoIpDataDao.warmUpGeoIpData(index, ActionListener.runAfter(new ActionListener<>() {
+            @Override
+            public void onResponse(final Void response) {
+                warmedIndices.add(index);
+                log.debug("Ip2Geo data index[{}] is warmed up", index);
+                if (isReady()) {
+                    log.info("Ip2Geo data indices are warmed up");
+                }
+            }
+
+            @Override
+            public void onFailure(final Exception e) {
+                log.warn("Failed to warm up Ip2Geo data index[{}]. It will be retried on next cluster state change", index, e);
+            }
+        }, () -> warmingIndices.remove(index)));
+    }
+
+    /**
+     * Get current GeoIP data indices of available datasources referenced by Ip2Geo processors
+     */
+    private Set<String> getTargetIndices(final ClusterState state) {
+        IngestMetadata ingestMetadata = state.metadata().custom(IngestMetadata.TYPE);
+        if (ingestMetadata == null) {
+            return Collections.emptySet();
+        }
+        Map<String, DatasourceRouting> routings = DatasourceRoutingMetadata.routings(state.metadata());
+        if (routings.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return ingestMetadata.getPipelines()
+            .keySet()
+            .stream()
+            .flatMap(pipelineId -> getIp2GeoProcessors(pipelineId).stream())
+            .map(processor -> routings.get(processor.getDatasourceName()))
+            .filter(routing -> routing != null && DatasourceState.AVAILABLE.equals(routing.getState()))
+            .map(DatasourceRouting::getIndexName)
+            .filter(index -> index != null && state.metadata().hasIndex(index))
+            .collect(Collectors.toSet());
+    }
+
+    private List<Ip2GeoProcessor> getIp2GeoProcessors(final String pipelineId) {
+        try {
+            return ingestService.getProcessorsInPipeline(pipelineId, Ip2GeoProcessor.class);
+        } catch (IllegalArgumentException e) {
+            // Pipeline failed to be created on this node
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * An index is searchable for warm-up when its primary shard is active and the local shard copy, if any, is started
+     */
+    private boolean isSearchable(final ClusterState state, final String index) {
+        if (state.routingTable().hasIndex(index) == false) {
+            return false;
+        }
+        List<ShardRouting> shards = state.routingTable().allShards(index);
+        if (shards.stream().noneMatch(shard -> shard.primary() && shard.active())) {
+            return false;
+        }
+        String localNodeId = state.nodes().getLocalNodeId();
+        Optional<ShardRouting> localShard = shards.stream()
+            .filter(shard -> shard.currentNodeId() != null && shard.currentNodeId().equals(localNodeId))
+            .findAny();
+        return localShard.isEmpty() || localShard.get().started();
+    }
+
+    @Override
+    protected void doStart() {
+        if (DiscoveryNode.isIngestNode(clusterService.getSettings())) {
+            clusterService.addListener(this);
+        }
+    }
+
+    @Override
+    protected void doStop() {
+        clusterService.removeListener(this);
+    }
+
+    @Override
+    protected void doClose() throws IOException {
+
+    }
+}
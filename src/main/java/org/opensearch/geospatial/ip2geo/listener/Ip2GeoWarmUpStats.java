@@ -0,0 +1,63 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.listener;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Snapshot of warm-up of GeoIP data indices by {@link Ip2GeoWarmUpListener} in a node
+ */
+@Getter
+@EqualsAndHashCode
+public class Ip2GeoWarmUpStats implements Writeable, ToXContentFragment {
+    private static final String FIELD_WARM_UP = "warm_up";
+    private static final String FIELD_READY = "ready";
+    private static final String FIELD_PENDING_INDICES = "pending_indices";
+
+    /**
+     * GeoIP data indices used by pipelines which are not warmed up yet
+     */
+    private final Set<String> pendingIndices;
+
+    public Ip2GeoWarmUpStats(final Set<String> pendingIndices) {
+        this.pendingIndices = Set.copyOf(pendingIndices);
+    }
+
+    public Ip2GeoWarmUpStats(final StreamInput in) throws IOException {
+        this(in.readSet(StreamInput::readString));
+    }
+
+    /**
+     * @return true if all GeoIP data indices used by pipelines are warmed up, and false otherwise
+     */
+    public boolean isReady() {
+        return pendingIndices.isEmpty();
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeStringCollection(pendingIndices);
+    }
+
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject(FIELD_WARM_UP);
+        builder.field(FIELD_READY, isReady());
+        builder.field(FIELD_PENDING_INDICES, new TreeSet<>(pendingIndices));
+        return builder.endObject();
+    }
+}
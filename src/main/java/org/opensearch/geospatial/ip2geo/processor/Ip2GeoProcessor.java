@@ -10,16 +10,24 @@ import static org.opensearch.ingest.ConfigurationUtils.readOptionalList;
 import static org.opensearch.ingest.ConfigurationUtils.readStringProperty;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchTimeoutException;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+import org.opensearch.geospatial.ip2geo.common.LookupFailureMode;
 import org.opensearch.geospatial.ip2geo.common.ParameterValidator;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
@@ -38,6 +46,8 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public final class Ip2GeoProcessor extends AbstractProcessor {
     private static final Map<String, Object> DATA_EXPIRED = Map.of("error", "ip2geo_data_expired");
+    private static final Map<String, Object> LOOKUP_TIMED_OUT = Map.of("error", "ip2geo_lookup_timed_out");
+    private static final Map<String, Object> LOOKUP_FAILED = Map.of("error", "ip2geo_lookup_failed");
     public static final String CONFIG_FIELD = "field";
     public static final String CONFIG_TARGET_FIELD = "target_field";
     public static final String CONFIG_DATASOURCE = "datasource";
@@ -57,6 +67,7 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
     private final DatasourceDao datasourceDao;
     private final GeoIpDataDao geoIpDataDao;
     private final Ip2GeoCachedDao ip2GeoCachedDao;
+    private final Ip2GeoExecutor ip2GeoExecutor;
 
     /**
      * Ip2Geo processor type
@@ -76,6 +87,7 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
      * @param datasourceDao the datasource facade
      * @param geoIpDataDao the geoip data facade
      * @param ip2GeoCachedDao the cache
+     * @param ip2GeoExecutor the executor
      */
     public Ip2GeoProcessor(
         final String tag,
@@ -88,7 +100,8 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
         final ClusterSettings clusterSettings,
         final DatasourceDao datasourceDao,
         final GeoIpDataDao geoIpDataDao,
-        final Ip2GeoCachedDao ip2GeoCachedDao
+        final Ip2GeoCachedDao ip2GeoCachedDao,
+        final Ip2GeoExecutor ip2GeoExecutor
     ) {
         super(tag, description);
         this.field = field;
@@ -100,16 +113,41 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
         this.datasourceDao = datasourceDao;
         this.geoIpDataDao = geoIpDataDao;
         this.ip2GeoCachedDao = ip2GeoCachedDao;
+        this.ip2GeoExecutor = ip2GeoExecutor;
     }
 
     /**
      * Add geo data of a given ip address to ingestDocument in asynchronous way
      *
+     * When {@link Ip2GeoSettings#VIRTUAL_THREADS_ENABLED} is on, the document is processed in a virtual thread
+     * so that the ingest thread is not held while waiting for GeoIP data lookups.
+     *
+     * Time taken until the handler is called is recorded in {@link Ip2GeoCachedDao#getLookupStats()}.
+     *
      * @param ingestDocument the document
      * @param handler the handler
      */
     @Override
     public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
+        long startTime = System.nanoTime();
+        BiConsumer<IngestDocument, Exception> timedHandler = (document, e) -> {
+            ip2GeoCachedDao.getLookupStats().onDocumentProcessed(System.nanoTime() - startTime);
+            handler.accept(document, e);
+        };
+        Optional<Executor> executor = ip2GeoExecutor.forBlockingCall();
+        if (executor.isEmpty()) {
+            doExecute(ingestDocument, timedHandler);
+            return;
+        }
+
+        try {
+            executor.get().execute(() -> doExecute(ingestDocument, timedHandler));
+        } catch (Exception e) {
+            timedHandler.accept(null, e);
+        }
+    }
+
+    private void doExecute(final IngestDocument ingestDocument, final BiConsumer<IngestDocument, Exception> handler) {
         try {
             Object ip = ingestDocument.getFieldValue(field, Object.class, ignoreMissing);
 
@@ -158,15 +196,48 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
             return;
         }
 
-        Map<String, Object> geoData = ip2GeoCachedDao.getGeoData(indexName, ip);
+        Map<String, Object> geoData = lookUpGeoData(indexName, ip);
         if (geoData.isEmpty() == false) {
             ingestDocument.setFieldValue(targetField, filteredGeoData(geoData));
         }
         handler.accept(ingestDocument, null);
     }
 
+    /**
+     * Look up GeoIP data of an ip within {@link Ip2GeoSettings#LOOKUP_TIMEOUT}
+     *
+     * When the lookup times out or fails, the ip is handled as configured by {@link Ip2GeoSettings#LOOKUP_FAILURE_MODE}
+     * so that a slow or unhealthy GeoIP data index does not stall ingestion.
+     */
+    private Map<String, Object> lookUpGeoData(final String indexName, final String ip) {
+        try {
+            return ip2GeoCachedDao.getGeoData(datasourceName, indexName, ip, clusterSettings.get(Ip2GeoSettings.LOOKUP_TIMEOUT));
+        } catch (RuntimeException e) {
+            boolean timeout = ExceptionsHelper.unwrap(e, OpenSearchTimeoutException.class) != null;
+            LookupFailureMode mode = clusterSettings.get(Ip2GeoSettings.LOOKUP_FAILURE_MODE);
+            Map<String, Object> staleGeoData = null;
+            if (LookupFailureMode.STALE.equals(mode)) {
+                staleGeoData = ip2GeoCachedDao.getStaleGeoData(datasourceName, ip);
+                // Tag the document when there is no stale GeoIP data of the ip
+                mode = staleGeoData == null ? LookupFailureMode.TAG : mode;
+            }
+            ip2GeoCachedDao.getLookupStats().onLookupFailure(timeout, mode);
+            switch (mode) {
+                case SKIP:
+                    return Collections.emptyMap();
+                case TAG:
+                    return timeout ? LOOKUP_TIMED_OUT : LOOKUP_FAILED;
+                case STALE:
+                    return staleGeoData;
+                default:
+                    throw e;
+            }
+        }
+    }
+
     private Map<String, Object> filteredGeoData(final Map<String, Object> geoData) {
-        if (properties == null) {
+        // Errors are set as they are regardless of properties
+        if (properties == null || geoData == LOOKUP_TIMED_OUT || geoData == LOOKUP_FAILED) {
             return geoData;
         }
 
@@ -214,7 +285,7 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
         }
 
         List<Map<String, Object>> geoDataList = ips.stream()
-            .map(ip -> ip2GeoCachedDao.getGeoData(indexName, (String) ip))
+            .map(ip -> lookUpGeoData(indexName, (String) ip))
             .filter(geoData -> geoData.isEmpty() == false)
             .map(this::filteredGeoData)
             .collect(Collectors.toList());
@@ -239,17 +310,20 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
         private final DatasourceDao datasourceDao;
         private final GeoIpDataDao geoIpDataDao;
         private final Ip2GeoCachedDao ip2GeoCachedDao;
+        private final Ip2GeoExecutor ip2GeoExecutor;
 
         public Factory(
             final IngestService ingestService,
             final DatasourceDao datasourceDao,
             final GeoIpDataDao geoIpDataDao,
-            final Ip2GeoCachedDao ip2GeoCachedDao
+            final Ip2GeoCachedDao ip2GeoCachedDao,
+            final Ip2GeoExecutor ip2GeoExecutor
         ) {
             this.ingestService = ingestService;
             this.datasourceDao = datasourceDao;
             this.geoIpDataDao = geoIpDataDao;
             this.ip2GeoCachedDao = ip2GeoCachedDao;
+            this.ip2GeoExecutor = ip2GeoExecutor;
         }
 
         /**
@@ -285,7 +359,8 @@ public final class Ip2GeoProcessor extends AbstractProcessor {
                 ingestService.getClusterService().getClusterSettings(),
                 datasourceDao,
                 geoIpDataDao,
-                ip2GeoCachedDao
+                ip2GeoCachedDao,
+                ip2GeoExecutor
             );
         }
     }
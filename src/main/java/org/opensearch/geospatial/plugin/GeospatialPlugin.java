@@ -15,7 +15,9 @@ import java.util.function.Supplier;
 
 import org.opensearch.action.ActionRequest;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.NamedDiff;
 import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.collect.MapBuilder;
@@ -25,12 +27,15 @@ import org.opensearch.common.settings.IndexScopedSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.core.ParseField;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
 import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONAction;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONSettings;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONTask;
 import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONTransportAction;
 import org.opensearch.geospatial.index.mapper.xypoint.XYPointFieldMapper;
 import org.opensearch.geospatial.index.mapper.xypoint.XYPointFieldTypeParser;
@@ -41,6 +46,8 @@ import org.opensearch.geospatial.ip2geo.action.DeleteDatasourceAction;
 import org.opensearch.geospatial.ip2geo.action.DeleteDatasourceTransportAction;
 import org.opensearch.geospatial.ip2geo.action.GetDatasourceAction;
 import org.opensearch.geospatial.ip2geo.action.GetDatasourceTransportAction;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingAction;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingTransportAction;
 import org.opensearch.geospatial.ip2geo.action.PutDatasourceAction;
 import org.opensearch.geospatial.ip2geo.action.PutDatasourceTransportAction;
 import org.opensearch.geospatial.ip2geo.action.RestDeleteDatasourceHandler;
@@ -49,6 +56,7 @@ import org.opensearch.geospatial.ip2geo.action.RestPutDatasourceHandler;
 import org.opensearch.geospatial.ip2geo.action.RestUpdateDatasourceHandler;
 import org.opensearch.geospatial.ip2geo.action.UpdateDatasourceAction;
 import org.opensearch.geospatial.ip2geo.action.UpdateDatasourceTransportAction;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoExecutor;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
 import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
@@ -58,13 +66,22 @@ import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
 import org.opensearch.geospatial.ip2geo.dao.Ip2GeoCachedDao;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceRunner;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateService;
 import org.opensearch.geospatial.ip2geo.listener.Ip2GeoListener;
+import org.opensearch.geospatial.ip2geo.listener.Ip2GeoWarmUpListener;
 import org.opensearch.geospatial.ip2geo.processor.Ip2GeoProcessor;
 import org.opensearch.geospatial.processor.FeatureProcessor;
+import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadFlatGeobufAction;
 import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadGeoJSONAction;
+import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadGeoJSONSeqAction;
 import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGrid;
 import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridAggregationBuilder;
+import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridStats;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
+import org.opensearch.geospatial.stats.GeospatialStatsAction;
+import org.opensearch.geospatial.stats.GeospatialStatsTransportAction;
+import org.opensearch.geospatial.stats.RestGeospatialStatsAction;
 import org.opensearch.geospatial.stats.upload.RestUploadStatsAction;
 import org.opensearch.geospatial.stats.upload.UploadStats;
 import org.opensearch.geospatial.stats.upload.UploadStatsAction;
@@ -79,10 +96,14 @@ import org.opensearch.plugins.MapperPlugin;
 import org.opensearch.plugins.Plugin;
 import org.opensearch.plugins.SearchPlugin;
 import org.opensearch.plugins.SystemIndexPlugin;
+import org.opensearch.plugins.TelemetryAwarePlugin;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
+import org.opensearch.tasks.Task;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.tracing.Tracer;
 import org.opensearch.threadpool.ExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
@@ -94,11 +115,19 @@ import lombok.extern.log4j.Log4j2;
  * to interact with Cluster.
  */
 @Log4j2
-public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlugin, MapperPlugin, SearchPlugin, SystemIndexPlugin {
+public class GeospatialPlugin extends Plugin
+    implements
+        IngestPlugin,
+        ActionPlugin,
+        MapperPlugin,
+        SearchPlugin,
+        SystemIndexPlugin,
+        TelemetryAwarePlugin {
     private Ip2GeoCachedDao ip2GeoCachedDao;
     private DatasourceDao datasourceDao;
     private GeoIpDataDao geoIpDataDao;
     private URLDenyListChecker urlDenyListChecker;
+    private Ip2GeoExecutor ip2GeoExecutor;
 
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
@@ -109,11 +138,28 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
     public Map<String, Processor.Factory> getProcessors(Processor.Parameters parameters) {
         this.urlDenyListChecker = new URLDenyListChecker(parameters.ingestService.getClusterService().getClusterSettings());
         this.datasourceDao = new DatasourceDao(parameters.client, parameters.ingestService.getClusterService());
-        this.geoIpDataDao = new GeoIpDataDao(parameters.ingestService.getClusterService(), parameters.client, urlDenyListChecker);
-        this.ip2GeoCachedDao = new Ip2GeoCachedDao(parameters.ingestService.getClusterService(), datasourceDao, geoIpDataDao);
+        this.ip2GeoExecutor = new Ip2GeoExecutor(
+            parameters.client.threadPool(),
+            parameters.ingestService.getClusterService().getSettings()
+        );
+        this.geoIpDataDao = new GeoIpDataDao(
+            parameters.ingestService.getClusterService(),
+            parameters.client,
+            urlDenyListChecker,
+            ip2GeoExecutor
+        );
+        this.ip2GeoCachedDao = new Ip2GeoCachedDao(
+            parameters.ingestService.getClusterService(),
+            parameters.client,
+            datasourceDao,
+            geoIpDataDao
+        );
         return MapBuilder.<String, Processor.Factory>newMapBuilder()
             .put(FeatureProcessor.TYPE, new FeatureProcessor.Factory())
-            .put(Ip2GeoProcessor.TYPE, new Ip2GeoProcessor.Factory(parameters.ingestService, datasourceDao, geoIpDataDao, ip2GeoCachedDao))
+            .put(
+                Ip2GeoProcessor.TYPE,
+                new Ip2GeoProcessor.Factory(parameters.ingestService, datasourceDao, geoIpDataDao, ip2GeoCachedDao, ip2GeoExecutor)
+            )
             .immutableMap();
     }
 
@@ -127,7 +173,7 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
 
     @Override
     public Collection<Class<? extends LifecycleComponent>> getGuiceServiceClasses() {
-        return List.of(Ip2GeoListener.class);
+        return List.of(Ip2GeoListener.class, Ip2GeoWarmUpListener.class);
     }
 
     @Override
@@ -139,7 +185,9 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
 
     @Override
     public List<Setting<?>> getSettings() {
-        return Ip2GeoSettings.settings();
+        List<Setting<?>> settings = new ArrayList<>(Ip2GeoSettings.settings());
+        settings.addAll(UploadGeoJSONSettings.settings());
+        return settings;
     }
 
     @Override
@@ -156,24 +204,32 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
         IndexNameExpressionResolver indexNameExpressionResolver,
         Supplier<RepositoriesService> repositoriesServiceSupplier
     ) {
+        Ip2GeoLockService ip2GeoLockService = new Ip2GeoLockService(clusterService, client);
         DatasourceUpdateService datasourceUpdateService = new DatasourceUpdateService(
             clusterService,
+            threadPool,
             datasourceDao,
             geoIpDataDao,
-            urlDenyListChecker
+            urlDenyListChecker,
+            ip2GeoExecutor,
+            ip2GeoLockService
+        );
+        DatasourceUpdateScheduler datasourceUpdateScheduler = new DatasourceUpdateScheduler(
+            clusterService.getClusterSettings(),
+            ip2GeoExecutor
         );
-        Ip2GeoExecutor ip2GeoExecutor = new Ip2GeoExecutor(threadPool);
-        Ip2GeoLockService ip2GeoLockService = new Ip2GeoLockService(clusterService, client);
         /**
          * We don't need to return datasource runner because it is used only by job scheduler and job scheduler
          * does not use DI but it calls DatasourceExtension#getJobRunner to get DatasourceRunner instance.
          */
         DatasourceRunner.getJobRunnerInstance()
-            .initialize(clusterService, datasourceUpdateService, ip2GeoExecutor, datasourceDao, ip2GeoLockService);
+            .initialize(clusterService, datasourceUpdateService, datasourceUpdateScheduler, datasourceDao, ip2GeoLockService);
 
         return List.of(
             UploadStats.getInstance(),
+            GeoHexGridStats.getInstance(),
             datasourceUpdateService,
+            datasourceUpdateScheduler,
             datasourceDao,
             ip2GeoExecutor,
             geoIpDataDao,
@@ -182,6 +238,31 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
         );
     }
 
+    /**
+     * Hot path metrics of the plugin are exported through the metrics registry of the node. Other components are
+     * created by {@link #createComponents(Client, ClusterService, ThreadPool, ResourceWatcherService, ScriptService,
+     * NamedXContentRegistry, Environment, NodeEnvironment, NamedWriteableRegistry, IndexNameExpressionResolver, Supplier)}.
+     */
+    @Override
+    public Collection<Object> createComponents(
+        Client client,
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        ResourceWatcherService resourceWatcherService,
+        ScriptService scriptService,
+        NamedXContentRegistry xContentRegistry,
+        Environment environment,
+        NodeEnvironment nodeEnvironment,
+        NamedWriteableRegistry namedWriteableRegistry,
+        IndexNameExpressionResolver indexNameExpressionResolver,
+        Supplier<RepositoriesService> repositoriesServiceSupplier,
+        Tracer tracer,
+        MetricsRegistry metricsRegistry
+    ) {
+        GeospatialMetrics.getInstance().register(metricsRegistry, () -> ip2GeoCachedDao.getLookupStats().getCacheHitRatio());
+        return List.of(GeospatialMetrics.getInstance());
+    }
+
     @Override
     public List<RestHandler> getRestHandlers(
         Settings settings,
@@ -192,7 +273,12 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
         IndexNameExpressionResolver indexNameExpressionResolver,
         Supplier<DiscoveryNodes> nodesInCluster
     ) {
-        List<RestHandler> geoJsonHandlers = List.of(new RestUploadStatsAction(), new RestUploadGeoJSONAction());
+        List<RestHandler> geoJsonHandlers = List.of(
+            new RestUploadStatsAction(),
+            new RestUploadGeoJSONAction(),
+            new RestUploadGeoJSONSeqAction(),
+            new RestUploadFlatGeobufAction()
+        );
 
         List<RestHandler> ip2geoHandlers = List.of(
             new RestPutDatasourceHandler(clusterSettings, urlDenyListChecker),
@@ -202,6 +288,7 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
         );
 
         List<RestHandler> allHandlers = new ArrayList<>();
+        allHandlers.add(new RestGeospatialStatsAction());
         allHandlers.addAll(geoJsonHandlers);
         allHandlers.addAll(ip2geoHandlers);
         return allHandlers;
@@ -218,15 +305,44 @@ public class GeospatialPlugin extends Plugin implements IngestPlugin, ActionPlug
             new ActionHandler<>(PutDatasourceAction.INSTANCE, PutDatasourceTransportAction.class),
             new ActionHandler<>(GetDatasourceAction.INSTANCE, GetDatasourceTransportAction.class),
             new ActionHandler<>(UpdateDatasourceAction.INSTANCE, UpdateDatasourceTransportAction.class),
-            new ActionHandler<>(DeleteDatasourceAction.INSTANCE, DeleteDatasourceTransportAction.class)
+            new ActionHandler<>(DeleteDatasourceAction.INSTANCE, DeleteDatasourceTransportAction.class),
+            new ActionHandler<>(PublishDatasourceRoutingAction.INSTANCE, PublishDatasourceRoutingTransportAction.class)
         );
 
         List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> allHandlers = new ArrayList<>();
+        allHandlers.add(new ActionHandler<>(GeospatialStatsAction.INSTANCE, GeospatialStatsTransportAction.class));
         allHandlers.addAll(geoJsonHandlers);
         allHandlers.addAll(ip2geoHandlers);
         return allHandlers;
     }
 
+    @Override
+    public void close() {
+        if (ip2GeoExecutor != null) {
+            ip2GeoExecutor.close();
+        }
+    }
+
+    @Override
+    public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
+        return List.of(
+            new NamedWriteableRegistry.Entry(Metadata.Custom.class, DatasourceRoutingMetadata.TYPE, DatasourceRoutingMetadata::new),
+            new NamedWriteableRegistry.Entry(NamedDiff.class, DatasourceRoutingMetadata.TYPE, DatasourceRoutingMetadata::readDiffFrom),
+            new NamedWriteableRegistry.Entry(Task.Status.class, UploadGeoJSONTask.Status.NAME, UploadGeoJSONTask.Status::new)
+        );
+    }
+
+    @Override
+    public List<NamedXContentRegistry.Entry> getNamedXContent() {
+        return List.of(
+            new NamedXContentRegistry.Entry(
+                Metadata.Custom.class,
+                new ParseField(DatasourceRoutingMetadata.TYPE),
+                DatasourceRoutingMetadata::fromXContent
+            )
+        );
+    }
+
     @Override
     public Map<String, Mapper.TypeParser> getMappers() {
         return Map.of(
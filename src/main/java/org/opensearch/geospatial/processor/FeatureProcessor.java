@@ -23,6 +23,7 @@ public class FeatureProcessor extends AbstractProcessor {
 
     public static final String FIELD_KEY = "field";
     public static final String TYPE = "geojson-feature";
+    private static final char PATH_SEPARATOR = '.';
     private final String geoShapeField;
 
     public FeatureProcessor(String tag, String description, String geoShapeField) {
@@ -36,17 +37,37 @@ public class FeatureProcessor extends AbstractProcessor {
         // 2. Remove field "type", since, we are not storing as geo-json
         // 3. Move properties.* as document's fields, since, we don't have to group it inside "properties"
         // 5. Move geojson's geometry object to geoshape field.
-        final Feature feature = FeatureFactory.create(ingestDocument.getSourceAndMetadata());
-        ingestDocument.removeField(Feature.TYPE_KEY);
-        feature.getProperties().forEach(ingestDocument::setFieldValue);
-        if (ingestDocument.hasField(Feature.PROPERTIES_KEY)) { // properties are optional in Feature
-            ingestDocument.removeField(Feature.PROPERTIES_KEY);
-        }
-        ingestDocument.setFieldValue(this.geoShapeField, feature.getGeometry());
-        ingestDocument.removeField(Feature.GEOMETRY_KEY);
+        final Map<String, Object> source = ingestDocument.getSourceAndMetadata();
+        final Feature feature = FeatureFactory.create(source);
+        // Feature is a view over the document, hence, geometry is read before properties can replace it
+        final Object geometry = source.get(Feature.GEOMETRY_KEY);
+        source.remove(Feature.TYPE_KEY);
+        moveProperties(feature.getProperties(), ingestDocument);
+        source.remove(Feature.PROPERTIES_KEY); // properties are optional in Feature
+        ingestDocument.setFieldValue(this.geoShapeField, geometry);
+        source.remove(Feature.GEOMETRY_KEY);
         return ingestDocument;
     }
 
+    /**
+     * Move properties to the top level of the document
+     *
+     * Properties are put into the document directly, without resolving their names as a path one at a time.
+     * Only names which are paths, like "a.b", are set with {@link IngestDocument#setFieldValue(String, Object)},
+     * so that they are stored as nested objects like before.
+     */
+    private static void moveProperties(final Map<String, Object> properties, final IngestDocument ingestDocument) {
+        final Map<String, Object> source = ingestDocument.getSourceAndMetadata();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            final String name = property.getKey();
+            if (name.isEmpty() || name.indexOf(PATH_SEPARATOR) >= 0) {
+                ingestDocument.setFieldValue(name, property.getValue());
+                continue;
+            }
+            source.put(name, property.getValue());
+        }
+    }
+
     @Override
     public String getType() {
         return TYPE;
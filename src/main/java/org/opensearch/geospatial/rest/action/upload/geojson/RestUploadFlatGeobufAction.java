@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.rest.action.upload.geojson;
+
+import static org.opensearch.geospatial.shared.URLBuilder.URL_DELIMITER;
+import static org.opensearch.geospatial.shared.URLBuilder.getPluginURLPrefix;
+import static org.opensearch.rest.RestRequest.Method.POST;
+import static org.opensearch.rest.RestRequest.Method.PUT;
+
+import java.util.List;
+
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequest;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent;
+import org.opensearch.rest.RestRequest;
+
+/**
+ * Rest Action handler to accept FlatGeobuf and route for geojson upload action
+ */
+public class RestUploadFlatGeobufAction extends RestUploadGeoJSONAction {
+
+    public static final String ACTION_OBJECT_FLATGEOBUF = "flatgeobuf";
+    public static final String NAME = "upload_flatgeobuf_action";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Supported Routes are
+     * POST /_plugins/geospatial/flatgeobuf/_upload?index=create_new_index&amp;field=geospatial_field_name&amp;type=geo_shape
+     * (FlatGeobuf file as body)
+     * PUT /_plugins/geospatial/flatgeobuf/_upload?index=create_new_index_if_does_not_exists&amp;type=geo_shape
+     * ....... same as POST ..........
+     *
+     * Properties of a feature become fields of the document, and its geometry is stored in the field as WKT.
+     * The REST layer only accepts bodies with a known media type, hence, the file is sent with a binary
+     * media type like Content-Type application/cbor and is read as raw bytes regardless of the media type.
+     * The difference between PUT and POST, and the other parameters are same as {@link RestUploadGeoJSONAction}.
+     */
+    @Override
+    public List<Route> routes() {
+        String path = String.join(URL_DELIMITER, getPluginURLPrefix(), ACTION_OBJECT_FLATGEOBUF, ACTION_UPLOAD);
+        return List.of(new Route(POST, path), new Route(PUT, path));
+    }
+
+    @Override
+    protected UploadGeoJSONRequest createRequest(RestRequest restRequest) {
+        return UploadGeoJSONRequest.ofFlatGeobuf(
+            restRequest.getHttpRequest().method(),
+            restRequest.requiredContent(),
+            restRequest.paramAsLong(PARAM_RESUME_FROM, 0),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_INDEX.getPreferredName()),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL.getPreferredName()),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL_TYPE.getPreferredName())
+        );
+    }
+}
@@ -12,15 +12,23 @@ import static org.opensearch.rest.RestRequest.Method.PUT;
 
 import java.util.List;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.opensearch.client.node.NodeClient;
 import org.opensearch.common.collect.Tuple;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.tasks.TaskId;
 import org.opensearch.core.xcontent.MediaType;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONAction;
 import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequest;
 import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.tasks.Task;
 
 /**
  * Rest Action handler to accepts requests and route for geojson upload action
@@ -30,6 +38,11 @@ public class RestUploadGeoJSONAction extends BaseRestHandler {
     public static final String ACTION_OBJECT = "geojson";
     public static final String ACTION_UPLOAD = "_upload";
     public static final String NAME = "upload_geojson_action";
+    public static final String PARAM_WAIT_FOR_COMPLETION = "wait_for_completion";
+    public static final String PARAM_RESUME_FROM = "resume_from";
+    public static final String PARAM_INCREMENTAL = "incremental";
+    private static final String FIELD_TASK = "task";
+    private static final Logger LOGGER = LogManager.getLogger(RestUploadGeoJSONAction.class);
 
     @Override
     public String getName() {
@@ -75,6 +88,20 @@ public class RestUploadGeoJSONAction extends BaseRestHandler {
      * The difference between PUT and POST is how index existence is tolerated.
      * For POST, index should not exist, if found exists, operation will fail.
      * For PUT, index existence doesn't matter, it will create if it doesn't exist.
+     *
+     * Both accept following optional parameters
+     * wait_for_completion: if false, upload runs as a task, and the response contains only the task id.
+     *   Progress of the upload is available via task management API, and the result is stored once the upload completes.
+     *   Defaults to true.
+     * resume_from: position of the feature in data to start the upload from. Features before this position are skipped.
+     *   Use "acknowledged" from the status of an interrupted upload task, with PUT, to resume the upload. Defaults to 0.
+     *   Some features after "acknowledged" may already be indexed, since bulk requests complete out of order, and they
+     *   are indexed again on resume. Features with id are overwritten, while features without id are indexed as
+     *   duplicates unless incremental is true.
+     * incremental: if true, every document stores a hash of its feature in field "feature_hash", and features already
+     *   indexed with the same hash are not indexed again. Features are matched by id, and features without id are indexed
+     *   with the hash as id. Use with PUT to re-upload a dataset that changes little. Features removed from the dataset,
+     *   and previous versions of changed features without id, are not deleted. Defaults to false.
      */
     @Override
     public List<Route> routes() {
@@ -84,9 +111,38 @@ public class RestUploadGeoJSONAction extends BaseRestHandler {
 
     @Override
     protected RestChannelConsumer prepareRequest(RestRequest restRequest, NodeClient client) {
+        UploadGeoJSONRequest request = createRequest(restRequest);
+        request.setIncremental(restRequest.paramAsBoolean(PARAM_INCREMENTAL, false));
+        if (restRequest.paramAsBoolean(PARAM_WAIT_FOR_COMPLETION, true)) {
+            return channel -> client.execute(UploadGeoJSONAction.INSTANCE, request, new RestToXContentListener<>(channel));
+        }
+        request.setShouldStoreResult(true);
+        return channel -> {
+            final Task task = client.executeLocally(
+                UploadGeoJSONAction.INSTANCE,
+                request,
+                ActionListener.wrap(
+                    response -> LOGGER.info("Uploaded {} features with {} failures", response.getTotal(), response.getFailureCount()),
+                    e -> LOGGER.warn("Failed to upload GeoJSON", e)
+                )
+            );
+            try (XContentBuilder builder = channel.newBuilder()) {
+                builder.startObject();
+                builder.field(FIELD_TASK, new TaskId(client.getLocalNodeId(), task.getId()).toString());
+                builder.endObject();
+                channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
+            }
+        };
+    }
+
+    /**
+     * Creates upload request from the rest request
+     * @param restRequest rest request to upload GeoJSON
+     * @return upload request
+     */
+    protected UploadGeoJSONRequest createRequest(RestRequest restRequest) {
         Tuple<MediaType, BytesReference> sourceTuple = restRequest.contentOrSourceParam();
         RestRequest.Method method = restRequest.getHttpRequest().method();
-        UploadGeoJSONRequest request = new UploadGeoJSONRequest(method, sourceTuple.v2());
-        return channel -> client.execute(UploadGeoJSONAction.INSTANCE, request, new RestToXContentListener<>(channel));
+        return new UploadGeoJSONRequest(method, sourceTuple.v2(), restRequest.paramAsLong(PARAM_RESUME_FROM, 0));
     }
 }
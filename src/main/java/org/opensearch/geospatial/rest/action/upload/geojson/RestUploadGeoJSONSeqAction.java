@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.rest.action.upload.geojson;
+
+import static org.opensearch.geospatial.shared.URLBuilder.URL_DELIMITER;
+import static org.opensearch.geospatial.shared.URLBuilder.getPluginURLPrefix;
+import static org.opensearch.rest.RestRequest.Method.POST;
+import static org.opensearch.rest.RestRequest.Method.PUT;
+
+import java.util.List;
+
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequest;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent;
+import org.opensearch.rest.RestRequest;
+
+/**
+ * Rest Action handler to accept newline delimited GeoJSON Features and route for geojson upload action
+ */
+public class RestUploadGeoJSONSeqAction extends RestUploadGeoJSONAction {
+
+    public static final String ACTION_UPLOAD_SEQ = "_upload_seq";
+    public static final String NAME = "upload_geojson_seq_action";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Supported Routes are
+     * POST /_plugins/geospatial/geojson/_upload_seq?index=create_new_index&amp;field=geospatial_field_name&amp;type=geo_shape
+     * {"type": "Feature", "geometry": {"type": "Point", "coordinates": [100.0, 0.0]}, "properties": {"prop0": "value0"}}
+     * {"type": "Feature", "geometry": {"type": "Point", "coordinates": [101.0, 1.0]}, "properties": {"prop0": "value1"}}
+     * PUT /_plugins/geospatial/geojson/_upload_seq?index=create_new_index_if_does_not_exists&amp;type=geo_shape
+     * ....... same as POST ..........
+     *
+     * Every line of the body is a GeoJSON Feature, optionally prefixed with record separator as per
+     * GeoJSON Text Sequences (RFC 8142). Index, field and type are given as parameters, since the body has
+     * only Features. Request should be sent with Content-Type application/x-ndjson. The difference between
+     * PUT and POST, and the other parameters are same as {@link RestUploadGeoJSONAction}.
+     */
+    @Override
+    public List<Route> routes() {
+        String path = String.join(URL_DELIMITER, getPluginURLPrefix(), ACTION_OBJECT, ACTION_UPLOAD_SEQ);
+        return List.of(new Route(POST, path), new Route(PUT, path));
+    }
+
+    @Override
+    protected UploadGeoJSONRequest createRequest(RestRequest restRequest) {
+        return UploadGeoJSONRequest.ofSequence(
+            restRequest.getHttpRequest().method(),
+            restRequest.requiredContent(),
+            restRequest.paramAsLong(PARAM_RESUME_FROM, 0),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_INDEX.getPreferredName()),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL.getPreferredName()),
+            restRequest.param(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL_TYPE.getPreferredName())
+        );
+    }
+}
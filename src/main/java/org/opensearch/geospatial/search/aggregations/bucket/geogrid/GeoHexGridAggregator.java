@@ -11,6 +11,7 @@ import java.util.Map;
 
 import org.opensearch.geo.search.aggregations.bucket.geogrid.BaseGeoGridBucket;
 import org.opensearch.geo.search.aggregations.bucket.geogrid.GeoGridAggregator;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
 import org.opensearch.search.aggregations.Aggregator;
 import org.opensearch.search.aggregations.AggregatorFactories;
 import org.opensearch.search.aggregations.CardinalityUpperBound;
@@ -36,8 +37,13 @@ public class GeoHexGridAggregator extends GeoGridAggregator<GeoHexGrid> {
         super(name, factories, valuesSource, requiredSize, shardSize, aggregationContext, parent, cardinality, metadata);
     }
 
+    /**
+     * Number of buckets of every aggregation is recorded in {@link GeoHexGridStats} and in {@link GeospatialMetrics}
+     */
     @Override
     protected GeoHexGrid buildAggregation(String name, int requiredSize, List<BaseGeoGridBucket> buckets, Map<String, Object> metadata) {
+        GeoHexGridStats.getInstance().onAggregation(buckets.size());
+        GeospatialMetrics.getInstance().onGeoHexGridAggregation(context.indexShard().shardId().getIndexName(), buckets.size());
         return new GeoHexGrid(name, requiredSize, buckets, metadata);
     }
 
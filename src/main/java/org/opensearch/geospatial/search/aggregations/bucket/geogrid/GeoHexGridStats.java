@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.search.aggregations.bucket.geogrid;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.stats.StatsHistogram;
+
+/**
+ * Histogram of number of buckets built by geohex_grid aggregations on shards of a node
+ *
+ * Aggregators don't take part in dependency injection, hence, a singleton instance is shared by all aggregators
+ * of a node. This class is thread safe.
+ */
+public final class GeoHexGridStats implements Writeable, ToXContentFragment {
+    private static final GeoHexGridStats instance = new GeoHexGridStats();
+    private static final String FIELD_GEOHEX_GRID = "geohex_grid";
+    private static final String FIELD_BUCKETS = "buckets";
+
+    private final StatsHistogram buckets;
+
+    /**
+     * @return Singleton instance of GeoHexGridStats
+     */
+    public static GeoHexGridStats getInstance() {
+        return instance;
+    }
+
+    GeoHexGridStats() {
+        buckets = new StatsHistogram();
+    }
+
+    /**
+     * Get GeoHexGridStats from {@link StreamInput}
+     *
+     * @param input contains {@link GeoHexGridStats} in serialized form
+     * @return GeoHexGridStats instance
+     * @throws IOException if cannot read {@link GeoHexGridStats} from given input
+     */
+    public static GeoHexGridStats fromStreamInput(final StreamInput input) throws IOException {
+        Objects.requireNonNull(input, "StreamInput cannot be null");
+        final GeoHexGridStats stats = new GeoHexGridStats();
+        stats.buckets.add(new StatsHistogram(input));
+        return stats;
+    }
+
+    /**
+     * Record an aggregation built on a shard
+     *
+     * @param bucketCount number of buckets of the aggregation
+     */
+    public void onAggregation(final int bucketCount) {
+        buckets.record(bucketCount);
+    }
+
+    /**
+     * @return number of aggregations built so far
+     */
+    public long getAggregationCount() {
+        return buckets.getTotalCount();
+    }
+
+    /**
+     * @return histogram of number of buckets per aggregation
+     */
+    public StatsHistogram getBuckets() {
+        return buckets;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        buckets.writeTo(out);
+    }
+
+    /**
+     * { "geohex_grid": { "buckets": { "count": 10, "p50": 255, "p90": 1023, "p99": 8191 } } }
+     */
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startObject(FIELD_GEOHEX_GRID);
+        builder.startObject(FIELD_BUCKETS);
+        buckets.percentilesToXContent(builder);
+        builder.endObject();
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.opensearch.telemetry.metrics.Counter;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.noop.NoopMetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+
+/**
+ * Counters and histograms of hot paths of the plugin, exported through the telemetry {@link MetricsRegistry} of a node
+ *
+ * Instruments are no-op until {@link #register} is called with the registry of the node, which happens when the plugin
+ * creates its components. Like {@link org.opensearch.geospatial.stats.upload.UploadStats}, a singleton instance is shared
+ * by mappers, aggregators and processors, since they don't take part in dependency injection.
+ *
+ * Tags of a datasource or index are cached, so that they are not built for every recorded value. Up to
+ * {@link #MAX_CACHED_TAGS} tags are cached for every tag key, and tags are built per call beyond that.
+ * This class is thread safe.
+ */
+public final class GeospatialMetrics {
+    static final int MAX_CACHED_TAGS = 1000;
+    static final String TAG_DATASOURCE = "datasource";
+    static final String TAG_INDEX = "index";
+
+    static final String IP2GEO_LOOKUP_LATENCY = "geospatial.ip2geo.lookup.latency";
+    static final String IP2GEO_CACHE_HITS = "geospatial.ip2geo.cache.hits";
+    static final String IP2GEO_CACHE_MISSES = "geospatial.ip2geo.cache.misses";
+    static final String IP2GEO_CACHE_HIT_RATIO = "geospatial.ip2geo.cache.hit_ratio";
+    static final String IP2GEO_DATASOURCE_UPDATE_ROWS = "geospatial.ip2geo.datasource_update.rows";
+    static final String IP2GEO_DATASOURCE_UPDATE_ROWS_PER_SECOND = "geospatial.ip2geo.datasource_update.rows_per_second";
+    static final String UPLOAD_FEATURES = "geospatial.upload.features";
+    static final String UPLOAD_FEATURES_PER_SECOND = "geospatial.upload.features_per_second";
+    static final String XY_SHAPE_TESSELLATION_LATENCY = "geospatial.xy_shape.tessellation.latency";
+    static final String GEOHEX_GRID_CELLS = "geospatial.geohex_grid.cells";
+
+    private static final String UNIT_MILLIS = "ms";
+    private static final String UNIT_COUNT = "1";
+    private static final String UNIT_PER_SECOND = "1/s";
+    private static final GeospatialMetrics instance = new GeospatialMetrics();
+
+    private final Map<String, Tags> datasourceTags = new ConcurrentHashMap<>();
+    private final Map<String, Tags> indexTags = new ConcurrentHashMap<>();
+    private volatile Instruments instruments;
+
+    /**
+     * @return Singleton instance of GeospatialMetrics
+     */
+    public static GeospatialMetrics getInstance() {
+        return instance;
+    }
+
+    GeospatialMetrics() {
+        instruments = new Instruments(NoopMetricsRegistry.INSTANCE);
+    }
+
+    /**
+     * Create instruments in the given registry, replacing instruments created so far
+     *
+     * @param metricsRegistry telemetry metrics registry of the node
+     * @param cacheHitRatio supplier of the ratio of Ip2Geo lookups served from the cache
+     */
+    public void register(final MetricsRegistry metricsRegistry, final Supplier<Double> cacheHitRatio) {
+        Objects.requireNonNull(metricsRegistry, "MetricsRegistry cannot be null");
+        Objects.requireNonNull(cacheHitRatio, "cache hit ratio supplier cannot be null");
+        metricsRegistry.createGauge(
+            IP2GEO_CACHE_HIT_RATIO,
+            "Ratio of Ip2Geo lookups served from the cache",
+            UNIT_COUNT,
+            cacheHitRatio,
+            Tags.EMPTY
+        );
+        instruments = new Instruments(metricsRegistry);
+    }
+
+    /**
+     * Record an Ip2Geo lookup
+     *
+     * @param datasourceName datasource of the lookup
+     * @param cacheHit whether GeoIP data is served from the cache
+     * @param tookInNanos time taken by the lookup in nanoseconds
+     */
+    public void onIp2GeoLookup(final String datasourceName, final boolean cacheHit, final long tookInNanos) {
+        final Instruments current = instruments;
+        final Tags tags = tags(datasourceTags, TAG_DATASOURCE, datasourceName);
+        current.ip2GeoLookupLatency.record(toMillis(tookInNanos), tags);
+        (cacheHit ? current.ip2GeoCacheHits : current.ip2GeoCacheMisses).add(1, tags);
+    }
+
+    /**
+     * Record a bulk request of a datasource update
+     *
+     * Rows are tagged by datasource rather than by GeoIP data index, as every update of a datasource indexes into a new
+     * index, which would create new tags for every update.
+     *
+     * @param datasourceName datasource of the update
+     * @param rows number of indexed rows
+     * @param tookInMillis time taken by the bulk request in milliseconds
+     */
+    public void onIp2GeoBulk(final String datasourceName, final int rows, final long tookInMillis) {
+        final Instruments current = instruments;
+        final Tags tags = tags(datasourceTags, TAG_DATASOURCE, datasourceName);
+        current.ip2GeoDatasourceUpdateRows.add(rows, tags);
+        current.ip2GeoDatasourceUpdateRowsPerSecond.record(perSecond(rows, tookInMillis), tags);
+    }
+
+    /**
+     * Record a GeoJSON upload
+     *
+     * @param indexName index of the upload
+     * @param features number of features of the upload
+     * @param tookInMillis time taken by the upload in milliseconds
+     */
+    public void onUpload(final String indexName, final long features, final long tookInMillis) {
+        final Instruments current = instruments;
+        final Tags tags = tags(indexTags, TAG_INDEX, indexName);
+        current.uploadFeatures.add(features, tags);
+        current.uploadFeaturesPerSecond.record(perSecond(features, tookInMillis), tags);
+    }
+
+    /**
+     * Record tessellation of a xy_shape field of a document
+     *
+     * @param indexName index of the document
+     * @param tookInNanos time taken to tessellate the shape in nanoseconds
+     */
+    public void onXYShapeTessellated(final String indexName, final long tookInNanos) {
+        instruments.xyShapeTessellationLatency.record(toMillis(tookInNanos), tags(indexTags, TAG_INDEX, indexName));
+    }
+
+    /**
+     * Record a geohex_grid aggregation built on a shard
+     *
+     * @param indexName index of the shard
+     * @param cells number of cells of the aggregation
+     */
+    public void onGeoHexGridAggregation(final String indexName, final int cells) {
+        instruments.geoHexGridCells.record(cells, tags(indexTags, TAG_INDEX, indexName));
+    }
+
+    private static Tags tags(final Map<String, Tags> cache, final String key, final String value) {
+        final Tags tags = cache.get(value);
+        if (tags != null) {
+            return tags;
+        }
+        if (cache.size() >= MAX_CACHED_TAGS) {
+            return Tags.create().addTag(key, value);
+        }
+        return cache.computeIfAbsent(value, notUsed -> Tags.create().addTag(key, value));
+    }
+
+    private static double toMillis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static double perSecond(final long count, final long tookInMillis) {
+        return count * 1000.0 / Math.max(1, tookInMillis);
+    }
+
+    /**
+     * Instruments created in a registry, which are swapped as a whole when a registry is registered
+     */
+    private static final class Instruments {
+        private final Histogram ip2GeoLookupLatency;
+        private final Counter ip2GeoCacheHits;
+        private final Counter ip2GeoCacheMisses;
+        private final Counter ip2GeoDatasourceUpdateRows;
+        private final Histogram ip2GeoDatasourceUpdateRowsPerSecond;
+        private final Counter uploadFeatures;
+        private final Histogram uploadFeaturesPerSecond;
+        private final Histogram xyShapeTessellationLatency;
+        private final Histogram geoHexGridCells;
+
+        private Instruments(final MetricsRegistry registry) {
+            ip2GeoLookupLatency = registry.createHistogram(IP2GEO_LOOKUP_LATENCY, "Latency of Ip2Geo lookups", UNIT_MILLIS);
+            ip2GeoCacheHits = registry.createCounter(IP2GEO_CACHE_HITS, "Ip2Geo lookups served from the cache", UNIT_COUNT);
+            ip2GeoCacheMisses = registry.createCounter(IP2GEO_CACHE_MISSES, "Ip2Geo lookups served by a search", UNIT_COUNT);
+            ip2GeoDatasourceUpdateRows = registry.createCounter(
+                IP2GEO_DATASOURCE_UPDATE_ROWS,
+                "Rows indexed by Ip2Geo datasource updates",
+                UNIT_COUNT
+            );
+            ip2GeoDatasourceUpdateRowsPerSecond = registry.createHistogram(
+                IP2GEO_DATASOURCE_UPDATE_ROWS_PER_SECOND,
+                "Rows indexed per second by bulk requests of Ip2Geo datasource updates",
+                UNIT_PER_SECOND
+            );
+            uploadFeatures = registry.createCounter(UPLOAD_FEATURES, "Features of GeoJSON uploads", UNIT_COUNT);
+            uploadFeaturesPerSecond = registry.createHistogram(
+                UPLOAD_FEATURES_PER_SECOND,
+                "Features indexed per second by GeoJSON uploads",
+                UNIT_PER_SECOND
+            );
+            xyShapeTessellationLatency = registry.createHistogram(
+                XY_SHAPE_TESSELLATION_LATENCY,
+                "Time taken to tessellate a xy_shape field of a document",
+                UNIT_MILLIS
+            );
+            geoHexGridCells = registry.createHistogram(GEOHEX_GRID_CELLS, "Cells built by a geohex_grid aggregation", UNIT_COUNT);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Action to get node level stats of geospatial features
+ */
+public class GeospatialStatsAction extends ActionType<GeospatialStatsResponse> {
+
+    public static final GeospatialStatsAction INSTANCE = new GeospatialStatsAction();
+    public static final String NAME = "cluster:monitor/geospatial/stats";
+
+    public GeospatialStatsAction() {
+        super(NAME, GeospatialStatsResponse::new);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.transport.TransportRequest;
+
+public class GeospatialStatsNodeRequest extends TransportRequest {
+
+    private final GeospatialStatsRequest request;
+
+    public GeospatialStatsNodeRequest(StreamInput in) throws IOException {
+        super(in);
+        request = new GeospatialStatsRequest(in);
+    }
+
+    public GeospatialStatsNodeRequest(GeospatialStatsRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        request.writeTo(out);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoIndexingStats;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLookupStats;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateSchedulerStats;
+import org.opensearch.geospatial.ip2geo.listener.Ip2GeoWarmUpStats;
+import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridStats;
+import org.opensearch.geospatial.stats.upload.UploadStats;
+
+import lombok.Getter;
+
+/**
+ * Stats of geospatial features in a node
+ */
+@Getter
+public class GeospatialStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+
+    private static final String NAME = "name";
+    private static final String UPLOADS = "uploads";
+    private static final String IP2GEO = "ip2geo";
+    private static final String AGGREGATIONS = "aggregations";
+
+    private final UploadStats uploadStats;
+    private final Ip2GeoLookupStats ip2GeoLookupStats;
+    private final Ip2GeoIndexingStats ip2GeoIndexingStats;
+    private final DatasourceUpdateSchedulerStats datasourceUpdateSchedulerStats;
+    private final Ip2GeoWarmUpStats ip2GeoWarmUpStats;
+    private final GeoHexGridStats geoHexGridStats;
+
+    public GeospatialStatsNodeResponse(
+        DiscoveryNode node,
+        UploadStats uploadStats,
+        Ip2GeoLookupStats ip2GeoLookupStats,
+        Ip2GeoIndexingStats ip2GeoIndexingStats,
+        DatasourceUpdateSchedulerStats datasourceUpdateSchedulerStats,
+        Ip2GeoWarmUpStats ip2GeoWarmUpStats,
+        GeoHexGridStats geoHexGridStats
+    ) {
+        super(node);
+        this.uploadStats = Objects.requireNonNull(uploadStats, "upload stats cannot be null");
+        this.ip2GeoLookupStats = Objects.requireNonNull(ip2GeoLookupStats, "ip2geo lookup stats cannot be null");
+        this.ip2GeoIndexingStats = Objects.requireNonNull(ip2GeoIndexingStats, "ip2geo indexing stats cannot be null");
+        this.datasourceUpdateSchedulerStats = Objects.requireNonNull(
+            datasourceUpdateSchedulerStats,
+            "datasource update scheduler stats cannot be null"
+        );
+        this.ip2GeoWarmUpStats = Objects.requireNonNull(ip2GeoWarmUpStats, "ip2geo warm-up stats cannot be null");
+        this.geoHexGridStats = Objects.requireNonNull(geoHexGridStats, "geohex grid stats cannot be null");
+    }
+
+    public GeospatialStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        uploadStats = UploadStats.fromStreamInput(in);
+        ip2GeoLookupStats = Ip2GeoLookupStats.fromStreamInput(in);
+        ip2GeoIndexingStats = Ip2GeoIndexingStats.fromStreamInput(in);
+        datasourceUpdateSchedulerStats = new DatasourceUpdateSchedulerStats(in);
+        ip2GeoWarmUpStats = new Ip2GeoWarmUpStats(in);
+        geoHexGridStats = GeoHexGridStats.fromStreamInput(in);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        uploadStats.writeTo(out);
+        ip2GeoLookupStats.writeTo(out);
+        ip2GeoIndexingStats.writeTo(out);
+        datasourceUpdateSchedulerStats.writeTo(out);
+        ip2GeoWarmUpStats.writeTo(out);
+        geoHexGridStats.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field(NAME, getNode().getName());
+        builder.startObject(UPLOADS);
+        uploadStats.toXContent(builder, params);
+        builder.endObject();
+        builder.startObject(IP2GEO);
+        ip2GeoLookupStats.toXContent(builder, params);
+        ip2GeoIndexingStats.toXContent(builder, params);
+        datasourceUpdateSchedulerStats.toXContent(builder, params);
+        ip2GeoWarmUpStats.toXContent(builder, params);
+        builder.endObject();
+        builder.startObject(AGGREGATIONS);
+        geoHexGridStats.toXContent(builder, params);
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.core.common.io.stream.StreamInput;
+
+/**
+ * Request of {@link GeospatialStatsAction}
+ */
+public class GeospatialStatsRequest extends BaseNodesRequest<GeospatialStatsRequest> {
+
+    /**
+     * @param nodeIds ids of nodes to get stats from, or all nodes if empty
+     */
+    public GeospatialStatsRequest(String... nodeIds) {
+        super(nodeIds);
+    }
+
+    protected GeospatialStatsRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.action.RestActions;
+
+/**
+ * Response of {@link GeospatialStatsAction}
+ */
+public class GeospatialStatsResponse extends BaseNodesResponse<GeospatialStatsNodeResponse> implements ToXContentObject {
+
+    private static final String CLUSTER_NAME = "cluster_name";
+    private static final String NODES = "nodes";
+
+    public GeospatialStatsResponse(StreamInput in) throws IOException {
+        super(in);
+    }
+
+    public GeospatialStatsResponse(ClusterName clusterName, List<GeospatialStatsNodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<GeospatialStatsNodeResponse> readNodesFrom(StreamInput in) throws IOException {
+        return in.readList(GeospatialStatsNodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<GeospatialStatsNodeResponse> nodeResponses) throws IOException {
+        out.writeList(nodeResponses);
+    }
+
+    /**
+     * {
+     *     "_nodes": { "total": 1, "successful": 1, "failed": 0 },
+     *     "cluster_name": "cluster",
+     *     "nodes": {
+     *         "node-id": { "name": "node-name", "uploads": { ... }, "ip2geo": { ... }, "aggregations": { ... } }
+     *     }
+     * }
+     */
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        RestActions.buildNodesHeader(builder, params, this);
+        builder.field(CLUSTER_NAME, getClusterName().value());
+        builder.startObject(NODES);
+        for (GeospatialStatsNodeResponse nodeResponse : getNodes()) {
+            builder.startObject(nodeResponse.getNode().getId());
+            nodeResponse.toXContent(builder, params);
+            builder.endObject();
+        }
+        builder.endObject();
+        return builder.endObject();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
+import org.opensearch.geospatial.ip2geo.dao.Ip2GeoCachedDao;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler;
+import org.opensearch.geospatial.ip2geo.listener.Ip2GeoWarmUpListener;
+import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridStats;
+import org.opensearch.geospatial.stats.upload.UploadStats;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Transport action to collect stats of geospatial features from nodes
+ */
+public class GeospatialStatsTransportAction extends TransportNodesAction<
+    GeospatialStatsRequest,
+    GeospatialStatsResponse,
+    GeospatialStatsNodeRequest,
+    GeospatialStatsNodeResponse> {
+
+    private final TransportService transportService;
+    private final UploadStats uploadStats;
+    private final Ip2GeoCachedDao ip2GeoCachedDao;
+    private final GeoIpDataDao geoIpDataDao;
+    private final DatasourceUpdateScheduler datasourceUpdateScheduler;
+    private final Ip2GeoWarmUpListener ip2GeoWarmUpListener;
+    private final GeoHexGridStats geoHexGridStats;
+
+    @Inject
+    public GeospatialStatsTransportAction(
+        TransportService transportService,
+        ClusterService clusterService,
+        ThreadPool threadPool,
+        ActionFilters actionFilters,
+        UploadStats uploadStats,
+        Ip2GeoCachedDao ip2GeoCachedDao,
+        GeoIpDataDao geoIpDataDao,
+        DatasourceUpdateScheduler datasourceUpdateScheduler,
+        Ip2GeoWarmUpListener ip2GeoWarmUpListener,
+        GeoHexGridStats geoHexGridStats
+    ) {
+        super(
+            GeospatialStatsAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            GeospatialStatsRequest::new,
+            GeospatialStatsNodeRequest::new,
+            ThreadPool.Names.MANAGEMENT,
+            GeospatialStatsNodeResponse.class
+        );
+        this.transportService = transportService;
+        this.uploadStats = uploadStats;
+        this.ip2GeoCachedDao = ip2GeoCachedDao;
+        this.geoIpDataDao = geoIpDataDao;
+        this.datasourceUpdateScheduler = datasourceUpdateScheduler;
+        this.ip2GeoWarmUpListener = ip2GeoWarmUpListener;
+        this.geoHexGridStats = geoHexGridStats;
+    }
+
+    @Override
+    protected GeospatialStatsResponse newResponse(
+        GeospatialStatsRequest nodesRequest,
+        List<GeospatialStatsNodeResponse> nodeResponses,
+        List<FailedNodeException> failures
+    ) {
+        return new GeospatialStatsResponse(clusterService.getClusterName(), nodeResponses, failures);
+    }
+
+    @Override
+    protected GeospatialStatsNodeRequest newNodeRequest(GeospatialStatsRequest nodesRequest) {
+        return new GeospatialStatsNodeRequest(nodesRequest);
+    }
+
+    @Override
+    protected GeospatialStatsNodeResponse newNodeResponse(StreamInput streamInput) throws IOException {
+        return new GeospatialStatsNodeResponse(streamInput);
+    }
+
+    @Override
+    protected GeospatialStatsNodeResponse nodeOperation(GeospatialStatsNodeRequest nodeRequest) {
+        return new GeospatialStatsNodeResponse(
+            transportService.getLocalNode(),
+            uploadStats,
+            ip2GeoCachedDao.getLookupStats(),
+            geoIpDataDao.getIndexingStats(),
+            datasourceUpdateScheduler.getStats(),
+            ip2GeoWarmUpListener.getStats(),
+            geoHexGridStats
+        );
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import static org.opensearch.geospatial.shared.URLBuilder.URL_DELIMITER;
+import static org.opensearch.geospatial.shared.URLBuilder.getPluginURLPrefix;
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+import java.util.List;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+
+/**
+ * Rest handler to get node level stats of geospatial features
+ *
+ * Stats of GeoJSON uploads, Ip2Geo processors, their cache and datasource updates, and geohex_grid aggregations
+ * are collected from all nodes, or from nodes given as comma separated node ids.
+ */
+public class RestGeospatialStatsAction extends BaseRestHandler {
+
+    private static final String NAME = "geospatial_stats";
+    public static final String ACTION_STATS = "_stats";
+    public static final String PARAM_NODE_ID = "nodeId";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<Route> routes() {
+        String path = String.join(URL_DELIMITER, getPluginURLPrefix(), ACTION_STATS);
+        return List.of(new Route(GET, path), new Route(GET, String.join(URL_DELIMITER, path, "{" + PARAM_NODE_ID + "}")));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest restRequest, NodeClient nodeClient) {
+        String[] nodeIds = Strings.splitStringByCommaToArray(restRequest.param(PARAM_NODE_ID));
+        GeospatialStatsRequest request = new GeospatialStatsRequest(nodeIds);
+        return channel -> nodeClient.execute(GeospatialStatsAction.INSTANCE, request, new RestToXContentListener<>(channel));
+    }
+}
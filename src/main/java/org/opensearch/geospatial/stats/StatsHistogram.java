@@ -0,0 +1,174 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Histogram of non-negative values with a fixed number of buckets, whose bounds are powers of two
+ *
+ * Bucket 0 counts 0, bucket i counts values from 2^(i-1) up to, but excluding, 2^i, and the last bucket counts
+ * every value from 2^(BUCKETS - 2). Values are recorded without locks, and the histogram is serialized in
+ * constant size regardless of the number of recorded values. Histograms from different nodes can be merged
+ * by adding counts of same buckets. Percentiles are estimated as the largest value of the bucket the percentile falls in.
+ */
+public final class StatsHistogram implements Writeable, ToXContentFragment {
+    public static final int BUCKETS = 32;
+    private static final String FIELD_LESS_THAN = "lt";
+    private static final String FIELD_COUNT = "count";
+    private static final double[] PERCENTILES = { 50, 90, 99 };
+
+    private final AtomicLongArray counts;
+
+    public StatsHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    public StatsHistogram(final StreamInput in) throws IOException {
+        this();
+        final int buckets = in.readVInt();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            // values of buckets beyond this histogram belong to its last bucket
+            counts.addAndGet(Math.min(bucket, BUCKETS - 1), in.readVLong());
+        }
+    }
+
+    /**
+     * Record a value, negative values are recorded as 0
+     * @param value value to record
+     */
+    public void record(final long value) {
+        counts.incrementAndGet(bucket(value));
+    }
+
+    /**
+     * Add counts of other histogram to this histogram
+     * @param other histogram to add
+     */
+    public void add(final StatsHistogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.addAndGet(bucket, other.counts.get(bucket));
+        }
+    }
+
+    /**
+     * @param bucket index of the bucket
+     * @return number of values recorded in the bucket
+     */
+    public long getCount(final int bucket) {
+        return counts.get(bucket);
+    }
+
+    /**
+     * @return total number of recorded values
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += counts.get(bucket);
+        }
+        return total;
+    }
+
+    /**
+     * Estimate a percentile of recorded values
+     *
+     * @param percentile percentile between 0 and 100
+     * @return largest value of the bucket the percentile falls in, or 0 if no value is recorded
+     */
+    public long percentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total / 100));
+        long cumulative = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            cumulative += snapshot[bucket];
+            if (total > 0 && cumulative >= rank) {
+                return upperBound(bucket) < 0 ? 1L << (BUCKETS - 2) : upperBound(bucket) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Write number of recorded values and estimated p50, p90 and p99 as fields of the current object, like
+     * "count": 12, "p50": 1023, "p90": 2047, "p99": 4095
+     *
+     * @param builder builder to write fields to
+     * @return the builder
+     * @throws IOException if cannot write the fields
+     */
+    public XContentBuilder percentilesToXContent(final XContentBuilder builder) throws IOException {
+        builder.field(FIELD_COUNT, getTotalCount());
+        for (double percentile : PERCENTILES) {
+            builder.field("p" + (int) percentile, percentile(percentile));
+        }
+        return builder;
+    }
+
+    /**
+     * @param value value to record
+     * @return index of the bucket of the value
+     */
+    static int bucket(final long value) {
+        if (value <= 0) {
+            return 0;
+        }
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+    }
+
+    /**
+     * @param bucket index of the bucket
+     * @return exclusive upper bound of values in the bucket, or -1 if the bucket doesn't have an upper bound
+     */
+    static long upperBound(final int bucket) {
+        return bucket == BUCKETS - 1 ? -1 : 1L << bucket;
+    }
+
+    @Override
+    public void writeTo(final StreamOutput out) throws IOException {
+        out.writeVInt(BUCKETS);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            out.writeVLong(counts.get(bucket));
+        }
+    }
+
+    /**
+     * Buckets are written as an array, without buckets that have no values, like
+     * [ { "lt": 1024, "count": 2 }, { "lt": 2048, "count": 5 }, { "count": 1 } ]
+     */
+    @Override
+    public XContentBuilder toXContent(final XContentBuilder builder, final Params params) throws IOException {
+        builder.startArray();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            final long count = counts.get(bucket);
+            if (count == 0) {
+                continue;
+            }
+            builder.startObject();
+            if (upperBound(bucket) > 0) {
+                builder.field(FIELD_LESS_THAN, upperBound(bucket));
+            }
+            builder.field(FIELD_COUNT, count);
+            builder.endObject();
+        }
+        return builder.endArray();
+    }
+}
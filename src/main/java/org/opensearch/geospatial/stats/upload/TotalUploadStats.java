@@ -9,10 +9,11 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.stats.StatsHistogram;
 
 // Holder to construct summary of Upload API Stats across all Nodes
 public final class TotalUploadStats implements ToXContentObject {
@@ -20,11 +21,13 @@ public final class TotalUploadStats implements ToXContentObject {
     // XContent field names
     public enum FIELDS {
         DURATION,
+        DURATION_HISTOGRAM,
         FAILED,
         REQUEST_COUNT,
         SUCCESS,
         TOTAL,
-        UPLOAD;
+        UPLOAD,
+        UPLOAD_HISTOGRAM;
 
         @Override
         public String toString() {
@@ -44,25 +47,37 @@ public final class TotalUploadStats implements ToXContentObject {
         if (isUploadStatsEmpty()) {
             return builder.endObject();
         }
-        long totalRequestCount = uploadStatsList.stream().mapToLong(UploadStats::getTotalAPICount).sum();
+        long totalRequestCount = sum(UploadStats::getTotalAPICount);
         builder.field(FIELDS.REQUEST_COUNT.toString(), totalRequestCount);
 
-        long totalUpload = sumMetricField(uploadStatsList, UploadMetric::getUploadCount);
+        long totalUpload = sum(UploadStats::getTotalUploadCount);
         builder.field(FIELDS.UPLOAD.toString(), totalUpload);
 
-        long totalSuccess = sumMetricField(uploadStatsList, UploadMetric::getSuccessCount);
+        long totalSuccess = sum(UploadStats::getTotalSuccessCount);
         builder.field(FIELDS.SUCCESS.toString(), totalSuccess);
 
-        long totalFailed = sumMetricField(uploadStatsList, UploadMetric::getFailedCount);
+        long totalFailed = sum(UploadStats::getTotalFailedCount);
         builder.field(FIELDS.FAILED.toString(), totalFailed);
 
-        long totalDuration = sumMetricField(uploadStatsList, UploadMetric::getDuration);
+        long totalDuration = sum(UploadStats::getTotalDuration);
         builder.field(FIELDS.DURATION.toString(), totalDuration);
+
+        StatsHistogram durationHistogram = new StatsHistogram();
+        StatsHistogram uploadHistogram = new StatsHistogram();
+        for (UploadStats stats : uploadStatsList) {
+            durationHistogram.add(stats.getDurationHistogram());
+            uploadHistogram.add(stats.getUploadHistogram());
+        }
+        builder.field(FIELDS.DURATION_HISTOGRAM.toString());
+        durationHistogram.toXContent(builder, params);
+        builder.field(FIELDS.UPLOAD_HISTOGRAM.toString());
+        uploadHistogram.toXContent(builder, params);
         return builder.endObject();
     }
 
-    private long sumMetricField(List<UploadStats> stats, Function<UploadMetric, Long> mapper) {
-        return stats.stream().map(UploadStats::getMetrics).flatMap(List::stream).mapToLong(mapper::apply).sum();
+    // totals are kept by every node, since metrics of a node only contain recent uploads
+    private long sum(ToLongFunction<UploadStats> mapper) {
+        return uploadStatsList.stream().mapToLong(mapper).sum();
     }
 
     /**
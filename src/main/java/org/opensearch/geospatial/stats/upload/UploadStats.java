@@ -6,29 +6,51 @@
 package org.opensearch.geospatial.stats.upload;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import org.opensearch.Version;
 import org.opensearch.common.metrics.CounterMetric;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.geospatial.stats.StatsHistogram;
 
 /**
  * Contains the total upload stats
+ *
+ * Every added metric is aggregated into lock-free counters and into histograms of duration and of number of documents
+ * per upload, while only the last {@link #RECENT_METRICS_CAPACITY} metrics are kept as they are. Hence, memory used by
+ * stats and size of serialized stats don't grow with the number of uploads. This class is thread safe.
+ *
+ * Nodes before {@link #AGGREGATED_STATS_VERSION} only know the API count and the list of metrics. They are sent the
+ * recent metrics in that form, and metrics received from them are aggregated as if they were added.
  */
 public final class UploadStats implements Writeable, ToXContentObject {
 
+    /**
+     * Max number of recent metrics kept as they are
+     */
+    public static final int RECENT_METRICS_CAPACITY = 100;
+
+    /**
+     * Version from which aggregated counters and histograms are serialized
+     */
+    static final Version AGGREGATED_STATS_VERSION = Version.V_3_0_0;
+
     private static final UploadStats instance = new UploadStats();
 
     public enum FIELDS {
+        DURATION_HISTOGRAM,
         METRICS,
-        REQUEST_COUNT;
+        REQUEST_COUNT,
+        UPLOAD_HISTOGRAM;
 
         @Override
         public String toString() {
@@ -36,8 +58,16 @@ public final class UploadStats implements Writeable, ToXContentObject {
         }
     }
 
-    private final Set<UploadMetric> metrics;
+    private final AtomicReferenceArray<UploadMetric> recentMetrics;
+    private final AtomicLong recentMetricsCursor;
     private final CounterMetric totalAPICount;
+    private final CounterMetric totalMetricCount;
+    private final CounterMetric totalUploadCount;
+    private final CounterMetric totalSuccessCount;
+    private final CounterMetric totalFailedCount;
+    private final CounterMetric totalDuration;
+    private final StatsHistogram durationHistogram;
+    private final StatsHistogram uploadHistogram;
 
     /**
      * @return Singleton instance of UploadStats
@@ -47,8 +77,23 @@ public final class UploadStats implements Writeable, ToXContentObject {
     }
 
     UploadStats() {
-        metrics = new HashSet<>();
+        this(RECENT_METRICS_CAPACITY);
+    }
+
+    UploadStats(int recentMetricsCapacity) {
+        if (recentMetricsCapacity < 1) {
+            throw new IllegalArgumentException("capacity of recent metrics must be 1 or greater");
+        }
+        recentMetrics = new AtomicReferenceArray<>(recentMetricsCapacity);
+        recentMetricsCursor = new AtomicLong();
         totalAPICount = new CounterMetric();
+        totalMetricCount = new CounterMetric();
+        totalUploadCount = new CounterMetric();
+        totalSuccessCount = new CounterMetric();
+        totalFailedCount = new CounterMetric();
+        totalDuration = new CounterMetric();
+        durationHistogram = new StatsHistogram();
+        uploadHistogram = new StatsHistogram();
     }
 
     /**
@@ -61,7 +106,18 @@ public final class UploadStats implements Writeable, ToXContentObject {
         Objects.requireNonNull(input, "StreamInput cannot be null");
         UploadStats instance = new UploadStats();
         instance.totalAPICount.inc(input.readVLong());
-        instance.metrics.addAll(input.readSet(UploadMetric.UploadMetricBuilder::fromStreamInput));
+        if (input.getVersion().before(AGGREGATED_STATS_VERSION)) {
+            input.readList(UploadMetric.UploadMetricBuilder::fromStreamInput).forEach(instance::record);
+            return instance;
+        }
+        instance.totalMetricCount.inc(input.readVLong());
+        instance.totalUploadCount.inc(input.readVLong());
+        instance.totalSuccessCount.inc(input.readVLong());
+        instance.totalFailedCount.inc(input.readVLong());
+        instance.totalDuration.inc(input.readVLong());
+        instance.durationHistogram.add(new StatsHistogram(input));
+        instance.uploadHistogram.add(new StatsHistogram(input));
+        input.readList(UploadMetric.UploadMetricBuilder::fromStreamInput).forEach(instance::addRecentMetric);
         return instance;
     }
 
@@ -71,13 +127,29 @@ public final class UploadStats implements Writeable, ToXContentObject {
      */
     public void addMetric(UploadMetric newMetric) {
         Objects.requireNonNull(newMetric, "metric cannot be null");
-        if (metrics.contains(newMetric)) {
+        if (getMetrics().contains(newMetric)) {
             throw new IllegalArgumentException(newMetric.getMetricID() + " already exists");
         }
         if (newMetric.getUploadCount() < 1) {
             throw new IllegalArgumentException("metric should have at least 1 upload");
         }
-        metrics.add(newMetric);
+        record(newMetric);
+    }
+
+    private void record(UploadMetric newMetric) {
+        totalMetricCount.inc();
+        totalUploadCount.inc(newMetric.getUploadCount());
+        totalSuccessCount.inc(newMetric.getSuccessCount());
+        totalFailedCount.inc(newMetric.getFailedCount());
+        totalDuration.inc(newMetric.getDuration());
+        durationHistogram.record(newMetric.getDuration());
+        uploadHistogram.record(newMetric.getUploadCount());
+        addRecentMetric(newMetric);
+    }
+
+    private void addRecentMetric(UploadMetric metric) {
+        final long position = recentMetricsCursor.getAndIncrement();
+        recentMetrics.set((int) (position % recentMetrics.length()), metric);
     }
 
     /**
@@ -96,24 +168,98 @@ public final class UploadStats implements Writeable, ToXContentObject {
     }
 
     /**
-     * Get list of added metrics so far to stats
-     * @return List of {@link UploadMetric}
+     * @return total number of metrics added so far, including metrics which are no longer kept as recent metrics
+     */
+    public long getTotalMetricCount() {
+        return totalMetricCount.count();
+    }
+
+    /**
+     * @return sum of documents to upload across all metrics added so far
+     */
+    public long getTotalUploadCount() {
+        return totalUploadCount.count();
+    }
+
+    /**
+     * @return sum of successfully uploaded documents across all metrics added so far
+     */
+    public long getTotalSuccessCount() {
+        return totalSuccessCount.count();
+    }
+
+    /**
+     * @return sum of failed to upload documents across all metrics added so far
+     */
+    public long getTotalFailedCount() {
+        return totalFailedCount.count();
+    }
+
+    /**
+     * @return sum of duration in milliseconds across all metrics added so far
+     */
+    public long getTotalDuration() {
+        return totalDuration.count();
+    }
+
+    /**
+     * @return histogram of duration in milliseconds of all metrics added so far
+     */
+    public StatsHistogram getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    /**
+     * @return histogram of number of documents to upload of all metrics added so far
+     */
+    public StatsHistogram getUploadHistogram() {
+        return uploadHistogram;
+    }
+
+    /**
+     * Get list of recent metrics, from the oldest to the latest
+     * @return List of at most {@link #RECENT_METRICS_CAPACITY} {@link UploadMetric}
      */
     public List<UploadMetric> getMetrics() {
+        final int capacity = recentMetrics.length();
+        final long end = recentMetricsCursor.get();
+        final List<UploadMetric> metrics = new ArrayList<>(capacity);
+        for (long position = Math.max(0, end - capacity); position < end; position++) {
+            final UploadMetric metric = recentMetrics.get((int) (position % capacity));
+            // slot can be empty if a metric is being added concurrently
+            if (metric != null) {
+                metrics.add(metric);
+            }
+        }
         return List.copyOf(metrics);
     }
 
     @Override
     public void writeTo(StreamOutput output) throws IOException {
         output.writeVLong(getTotalAPICount());
-        output.writeCollection(metrics);
+        if (output.getVersion().before(AGGREGATED_STATS_VERSION)) {
+            output.writeCollection(getMetrics());
+            return;
+        }
+        output.writeVLong(getTotalMetricCount());
+        output.writeVLong(getTotalUploadCount());
+        output.writeVLong(getTotalSuccessCount());
+        output.writeVLong(getTotalFailedCount());
+        output.writeVLong(getTotalDuration());
+        durationHistogram.writeTo(output);
+        uploadHistogram.writeTo(output);
+        output.writeCollection(getMetrics());
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.field(FIELDS.REQUEST_COUNT.toString(), getTotalAPICount());
+        builder.field(FIELDS.DURATION_HISTOGRAM.toString());
+        durationHistogram.toXContent(builder, params);
+        builder.field(FIELDS.UPLOAD_HISTOGRAM.toString());
+        uploadHistogram.toXContent(builder, params);
         builder.startArray(FIELDS.METRICS.toString());
-        for (UploadMetric metric : metrics) {
+        for (UploadMetric metric : getMetrics()) {
             builder.startObject();
             metric.toXContent(builder, params);
             builder.endObject();
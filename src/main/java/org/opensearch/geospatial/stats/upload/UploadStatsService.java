@@ -38,8 +38,11 @@ public class UploadStatsService implements ToXContentFragment {
                 "upload"       : sum of documents to upload across API,
                 "success"     : sum of successfully uploaded documents across API,
                 "failed"      : sum of failed to upload documents across API,
-                "duration"    : sum of duration in milliseconds to ingest document across API
+                "duration"    : sum of duration in milliseconds to ingest document across API,
+                "duration_histogram" : [ { "lt": upper bound in milliseconds, "count": # of uploads }, ... ],
+                "upload_histogram"   : [ { "lt": upper bound of # of documents, "count": # of uploads }, ... ]
             },
+            // only recent uploads of every node, see UploadStats#RECENT_METRICS_CAPACITY
             "metrics" : [
                 {
                     "id"       : <metric-id>,
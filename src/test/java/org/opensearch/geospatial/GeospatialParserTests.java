@@ -39,6 +39,22 @@ public class GeospatialParserTests extends OpenSearchTestCase {
         assertEquals(testData, stringObjectMap);
     }
 
+    public void testToStringObjectMapDoesNotCopy() {
+        Map<String, Object> testData = getStringObjectMap();
+        Map<String, Object> stringObjectMap = GeospatialParser.toStringObjectMap(testData);
+        testData.put("key4", 4);
+        assertEquals(4, stringObjectMap.get("key4"));
+        assertThrows(UnsupportedOperationException.class, () -> stringObjectMap.put("key5", 5));
+    }
+
+    public void testToStringObjectMapWithNonStringKeys() {
+        Map<Object, Object> testData = new HashMap<>();
+        testData.put(1, "one");
+        testData.put("key2", "two");
+        Map<String, Object> stringObjectMap = GeospatialParser.toStringObjectMap(testData);
+        assertEquals(Map.of("1", "one", "key2", "two"), stringObjectMap);
+    }
+
     public void testExtractValueAsString() {
         final Map<String, Object> testData = getStringObjectMap();
         // assert invalid instance
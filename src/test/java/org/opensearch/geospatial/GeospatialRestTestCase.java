@@ -334,6 +334,16 @@ public abstract class GeospatialRestTestCase extends OpenSearchSecureRestTestCas
 
     private Response uploadGeoJSONFeaturesByMethod(String method, int featureCount, String indexName, String geospatialFieldName)
         throws IOException {
+        return uploadGeoJSONFeaturesByMethod(method, featureCount, indexName, geospatialFieldName, Map.of());
+    }
+
+    private Response uploadGeoJSONFeaturesByMethod(
+        String method,
+        int featureCount,
+        String indexName,
+        String geospatialFieldName,
+        Map<String, String> params
+    ) throws IOException {
         // upload geoJSON
         String path = String.join(
             URL_DELIMITER,
@@ -342,6 +352,7 @@ public abstract class GeospatialRestTestCase extends OpenSearchSecureRestTestCas
             RestUploadGeoJSONAction.ACTION_UPLOAD
         );
         Request request = new Request(method, path);
+        request.addParameters(params);
         final JSONObject requestBody = buildUploadGeoJSONRequestContent(featureCount, indexName, geospatialFieldName);
         request.setJsonEntity(requestBody.toString());
         return client().performRequest(request);
@@ -352,6 +363,15 @@ public abstract class GeospatialRestTestCase extends OpenSearchSecureRestTestCas
         return uploadGeoJSONFeaturesByMethod("PUT", featureCount, indexName, geospatialFieldName);
     }
 
+    protected final Response uploadGeoJSONFeaturesIntoExistingIndex(
+        int featureCount,
+        String indexName,
+        String geospatialFieldName,
+        Map<String, String> params
+    ) throws IOException {
+        return uploadGeoJSONFeaturesByMethod("PUT", featureCount, indexName, geospatialFieldName, params);
+    }
+
     protected final Response uploadGeoJSONFeatures(int featureCount, String indexName, String geospatialFieldName) throws IOException {
         return uploadGeoJSONFeaturesByMethod("POST", featureCount, indexName, geospatialFieldName);
     }
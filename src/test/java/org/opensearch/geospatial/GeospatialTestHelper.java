@@ -40,8 +40,11 @@ import org.opensearch.common.Randomness;
 import org.opensearch.common.UUIDs;
 import org.opensearch.common.collect.Tuple;
 import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.tasks.TaskId;
 import org.opensearch.geospatial.action.upload.geojson.ContentBuilder;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONAction;
 import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent;
+import org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONTask;
 import org.opensearch.geospatial.h3.H3;
 import org.opensearch.geospatial.stats.upload.UploadMetric;
 import org.opensearch.test.OpenSearchTestCase;
@@ -140,6 +143,18 @@ public class GeospatialTestHelper {
         return builder.build();
     }
 
+    public static UploadGeoJSONTask randomUploadGeoJSONTask(long resumedFrom) {
+        return new UploadGeoJSONTask(
+            randomNonNegativeLong(),
+            randomLowerCaseString(),
+            UploadGeoJSONAction.NAME,
+            randomLowerCaseString(),
+            TaskId.EMPTY_TASK_ID,
+            Collections.emptyMap(),
+            resumedFrom
+        );
+    }
+
     public static StringBuilder buildFieldNameValuePair(Object field, Object value) {
         StringBuilder builder = new StringBuilder();
         builder.append("\"").append(field).append("\":");
@@ -0,0 +1,352 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
+import static org.opensearch.geospatial.GeospatialTestHelper.randomUploadGeoJSONTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.mockito.ArgumentCaptor;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequestBuilder;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.tasks.TaskCancelledException;
+import org.opensearch.tasks.TaskCancelHelper;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+public class BulkRequestExecutorTests extends OpenSearchTestCase {
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final int MAX_RETRIES = 3;
+    private ContentBuilder mockContentBuilder;
+    private ThreadPool mockThreadPool;
+    private ActionListener<UploadGeoJSONResponse> mockListener;
+    private UploadGeoJSONTask task;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        mockContentBuilder = mock(ContentBuilder.class);
+        mockThreadPool = mock(ThreadPool.class);
+        mockListener = mock(ActionListener.class);
+        task = randomUploadGeoJSONTask(0);
+        // run scheduled retry immediately
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(mockThreadPool).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+        when(mockThreadPool.generic()).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+    }
+
+    private BulkRequestExecutor createExecutor(int maxInFlight, int maxRetries) {
+        return new BulkRequestExecutor(
+            mockContentBuilder,
+            mockThreadPool,
+            maxInFlight,
+            BackoffPolicy.constantBackoff(TimeValue.timeValueMillis(1), maxRetries)
+        );
+    }
+
+    private BulkItemResponse mockItem(int itemId, RestStatus failureStatus) {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.getItemId()).thenReturn(itemId);
+        when(item.isFailed()).thenReturn(failureStatus != null);
+        when(item.status()).thenReturn(failureStatus == null ? RestStatus.CREATED : failureStatus);
+        return item;
+    }
+
+    private BulkResponse bulkResponse(long tookInMillis, BulkItemResponse... items) {
+        return new BulkResponse(items, tookInMillis);
+    }
+
+    /**
+     * Mock a bulk request which completes only when the returned listener is notified
+     */
+    private List<ActionListener<BulkResponse>> mockPendingBulkRequest(BulkRequestBuilder bulkRequest) {
+        List<ActionListener<BulkResponse>> listeners = new ArrayList<>();
+        doAnswer(invocation -> {
+            listeners.add((ActionListener<BulkResponse>) invocation.getArguments()[0]);
+            return null;
+        }).when(bulkRequest).execute(any(ActionListener.class));
+        return listeners;
+    }
+
+    private void mockBulkRequest(BulkRequestBuilder bulkRequest, BulkResponse response) {
+        doAnswer(invocation -> {
+            ((ActionListener<BulkResponse>) invocation.getArguments()[0]).onResponse(response);
+            return null;
+        }).when(bulkRequest).execute(any(ActionListener.class));
+    }
+
+    private UploadGeoJSONResponse captureResponse() {
+        ArgumentCaptor<UploadGeoJSONResponse> captor = ArgumentCaptor.forClass(UploadGeoJSONResponse.class);
+        verify(mockListener).onResponse(captor.capture());
+        return captor.getValue();
+    }
+
+    public void testExecuteAggregatesResponses() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        mockBulkRequest(first, bulkResponse(3, mockItem(0, null), mockItem(1, null)));
+        mockBulkRequest(second, bulkResponse(4, mockItem(0, null), mockItem(1, RestStatus.BAD_REQUEST), mockItem(2, null)));
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(first, second).iterator(), task, mockListener);
+
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(5, response.getTotal());
+        assertEquals(1, response.getFailureCount());
+        assertEquals(4, response.getSuccessCount());
+        assertEquals(7, response.getTookInMillis());
+        assertTrue(response.hasFailures());
+    }
+
+    public void testExecuteBoundsBulkRequestsInFlight() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder third = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> firstListeners = mockPendingBulkRequest(first);
+        List<ActionListener<BulkResponse>> secondListeners = mockPendingBulkRequest(second);
+        List<ActionListener<BulkResponse>> thirdListeners = mockPendingBulkRequest(third);
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(first, second, third).iterator(), task, mockListener);
+
+        verify(first).execute(any(ActionListener.class));
+        verify(second).execute(any(ActionListener.class));
+        verify(third, never()).execute(any(ActionListener.class));
+
+        // next bulk request is executed only when a bulk request completes
+        secondListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+        verify(third).execute(any(ActionListener.class));
+        firstListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+        verify(mockListener, never()).onResponse(any());
+        thirdListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+
+        assertEquals(3, captureResponse().getTotal());
+    }
+
+    public void testExecuteReadsBulkRequestsInGenericThreadPool() {
+        List<Runnable> forked = new ArrayList<>();
+        ExecutorService generic = mock(ExecutorService.class);
+        doAnswer(invocation -> forked.add(invocation.getArgument(0))).when(generic).execute(any(Runnable.class));
+        when(mockThreadPool.generic()).thenReturn(generic);
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> firstListeners = mockPendingBulkRequest(first);
+        mockPendingBulkRequest(second);
+
+        createExecutor(1, MAX_RETRIES).execute(List.of(first, second).iterator(), task, mockListener);
+        verify(first, never()).execute(any(ActionListener.class));
+        forked.remove(0).run();
+        verify(first).execute(any(ActionListener.class));
+
+        // bulk response callback only releases the slot, and the next bulk request is read in generic thread pool
+        firstListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+        verify(second, never()).execute(any(ActionListener.class));
+        assertEquals(1, forked.size());
+        forked.remove(0).run();
+        verify(second).execute(any(ActionListener.class));
+    }
+
+    public void testExecuteRetriesRejectedItems() {
+        BulkRequestBuilder bulkRequest = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder retry = mock(BulkRequestBuilder.class);
+        mockBulkRequest(bulkRequest, bulkResponse(1, mockItem(0, null), mockItem(1, RestStatus.TOO_MANY_REQUESTS), mockItem(2, null)));
+        when(mockContentBuilder.prepareRetry(bulkRequest, List.of(1))).thenReturn(retry);
+        mockBulkRequest(retry, bulkResponse(1, mockItem(0, null)));
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(bulkRequest).iterator(), task, mockListener);
+
+        verify(mockThreadPool).schedule(any(Runnable.class), any(TimeValue.class), eq(ThreadPool.Names.GENERIC));
+        verify(retry).execute(any(ActionListener.class));
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(3, response.getTotal());
+        assertFalse(response.hasFailures());
+    }
+
+    public void testExecuteReportsRejectedItemsAsFailureAfterRetries() {
+        BulkRequestBuilder bulkRequest = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder retry = mock(BulkRequestBuilder.class);
+        mockBulkRequest(bulkRequest, bulkResponse(1, mockItem(0, RestStatus.TOO_MANY_REQUESTS)));
+        when(mockContentBuilder.prepareRetry(any(BulkRequestBuilder.class), any(List.class))).thenReturn(retry);
+        mockBulkRequest(retry, bulkResponse(1, mockItem(0, RestStatus.TOO_MANY_REQUESTS)));
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(bulkRequest).iterator(), task, mockListener);
+
+        verify(retry, times(MAX_RETRIES)).execute(any(ActionListener.class));
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(1, response.getTotal());
+        assertEquals(1, response.getFailureCount());
+    }
+
+    public void testExecuteRetriesRejectedBulkRequest() {
+        BulkRequestBuilder bulkRequest = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> listeners = mockPendingBulkRequest(bulkRequest);
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(bulkRequest).iterator(), task, mockListener);
+        listeners.get(0).onFailure(new OpenSearchStatusException(randomLowerCaseString(), RestStatus.TOO_MANY_REQUESTS));
+
+        verify(bulkRequest, times(2)).execute(any(ActionListener.class));
+        listeners.get(1).onResponse(bulkResponse(1, mockItem(0, null)));
+        assertEquals(1, captureResponse().getTotal());
+    }
+
+    public void testExecuteFailsWhenBulkRequestFails() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> listeners = mockPendingBulkRequest(first);
+        mockPendingBulkRequest(second);
+
+        createExecutor(1, MAX_RETRIES).execute(List.of(first, second).iterator(), task, mockListener);
+        listeners.get(0).onFailure(new OpenSearchStatusException(randomLowerCaseString(), RestStatus.BAD_REQUEST));
+
+        verify(mockListener).onFailure(any(IllegalStateException.class));
+        verify(second, never()).execute(any(ActionListener.class));
+        verify(mockListener, never()).onResponse(any());
+    }
+
+    public void testExecuteFailsAfterBulkRequestsInFlightAreDone() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder third = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> firstListeners = mockPendingBulkRequest(first);
+        List<ActionListener<BulkResponse>> secondListeners = mockPendingBulkRequest(second);
+        task.getAggregator().addChunk(1);
+        task.getAggregator().addChunk(2);
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(first, second, third).iterator(), task, mockListener);
+        secondListeners.get(0).onFailure(new OpenSearchStatusException(randomLowerCaseString(), RestStatus.BAD_REQUEST));
+
+        // failure is reported only after the bulk request in flight is done, and no more bulk requests are executed
+        verify(mockListener, never()).onFailure(any());
+        verify(third, never()).execute(any(ActionListener.class));
+        firstListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+
+        verify(mockListener).onFailure(any(IllegalStateException.class));
+        verify(third, never()).execute(any(ActionListener.class));
+        verify(mockListener, never()).onResponse(any());
+        assertEquals(1, task.getAggregator().getAcknowledged());
+    }
+
+    public void testExecuteAddsToAggregator() {
+        BulkRequestBuilder bulkRequest = mock(BulkRequestBuilder.class);
+        mockBulkRequest(bulkRequest, bulkResponse(1, mockItem(0, null)));
+        // results of features which are not part of bulk requests, like invalid features, are added beforehand
+        task.getAggregator().add(mockItem(0, RestStatus.BAD_REQUEST));
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(bulkRequest).iterator(), task, mockListener);
+
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(2, response.getTotal());
+        assertEquals(1, response.getFailureCount());
+    }
+
+    public void testExecuteCompletesChunksInOrder() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> firstListeners = mockPendingBulkRequest(first);
+        List<ActionListener<BulkResponse>> secondListeners = mockPendingBulkRequest(second);
+        task.getAggregator().addChunk(1);
+        task.getAggregator().addChunk(2);
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(first, second).iterator(), task, mockListener);
+
+        secondListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+        assertEquals(0, task.getAggregator().getAcknowledged());
+        assertEquals(1, task.getStatus().getIndexed());
+        firstListeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+        assertEquals(2, task.getAggregator().getAcknowledged());
+        assertEquals(2, captureResponse().getTotal());
+    }
+
+    public void testExecuteStopsWhenTaskIsCancelled() {
+        BulkRequestBuilder first = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder second = mock(BulkRequestBuilder.class);
+        List<ActionListener<BulkResponse>> listeners = mockPendingBulkRequest(first);
+        task.getAggregator().addChunk(1);
+
+        createExecutor(1, MAX_RETRIES).execute(List.of(first, second).iterator(), task, mockListener);
+        TaskCancelHelper.cancel(task, randomLowerCaseString());
+        // bulk request in flight is not interrupted
+        listeners.get(0).onResponse(bulkResponse(1, mockItem(0, null)));
+
+        verify(second, never()).execute(any(ActionListener.class));
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(mockListener).onFailure(captor.capture());
+        assertTrue(captor.getValue() instanceof TaskCancelledException);
+        assertTrue(captor.getValue().getMessage().contains("[1]"));
+        verify(mockListener, never()).onResponse(any());
+    }
+
+    public void testExecuteRemovesUnchangedFeaturesInIncrementalMode() {
+        BulkRequestBuilder unchanged = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder partiallyChanged = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder changed = mock(BulkRequestBuilder.class);
+        mockBulkRequest(changed, bulkResponse(1, mockItem(0, null)));
+        when(mockContentBuilder.isIncremental()).thenReturn(true);
+        doAnswer(invocation -> {
+            BulkResponseAggregator aggregator = (BulkResponseAggregator) invocation.getArguments()[1];
+            ActionListener<BulkRequestBuilder> listener = (ActionListener<BulkRequestBuilder>) invocation.getArguments()[2];
+            if (invocation.getArguments()[0] == unchanged) {
+                aggregator.addUnchanged(2);
+                listener.onResponse(null);
+            } else {
+                aggregator.addUnchanged(1);
+                listener.onResponse(changed);
+            }
+            return null;
+        }).when(mockContentBuilder)
+            .removeUnchanged(any(BulkRequestBuilder.class), any(BulkResponseAggregator.class), any(ActionListener.class));
+        task.getAggregator().addChunk(2);
+        task.getAggregator().addChunk(4);
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(unchanged, partiallyChanged).iterator(), task, mockListener);
+
+        // bulk request without changed features is not executed, but still completes its chunk
+        verify(unchanged, never()).execute(any(ActionListener.class));
+        verify(partiallyChanged, never()).execute(any(ActionListener.class));
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(4, response.getTotal());
+        assertEquals(3, response.getUnchanged());
+        assertEquals(4, response.getSuccessCount());
+        assertEquals(4, task.getAggregator().getAcknowledged());
+    }
+
+    public void testExecuteLimitsFailuresInResponse() {
+        int failureCount = BulkResponseAggregator.MAX_FAILURES_IN_RESPONSE + 1;
+        BulkItemResponse[] items = new BulkItemResponse[failureCount];
+        for (int i = 0; i < failureCount; i++) {
+            items[i] = mockItem(i, RestStatus.BAD_REQUEST);
+        }
+        BulkRequestBuilder bulkRequest = mock(BulkRequestBuilder.class);
+        mockBulkRequest(bulkRequest, bulkResponse(1, items));
+
+        createExecutor(MAX_IN_FLIGHT, MAX_RETRIES).execute(List.of(bulkRequest).iterator(), task, mockListener);
+
+        UploadGeoJSONResponse response = captureResponse();
+        assertEquals(failureCount, response.getTotal());
+        assertEquals(failureCount, response.getFailureCount());
+        assertEquals(0, response.getSuccessCount());
+        assertEquals(BulkResponseAggregator.MAX_FAILURES_IN_RESPONSE, response.getFailures().size());
+    }
+}
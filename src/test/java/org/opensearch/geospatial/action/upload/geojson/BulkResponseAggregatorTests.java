@@ -0,0 +1,92 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class BulkResponseAggregatorTests extends OpenSearchTestCase {
+
+    private BulkItemResponse mockItem(boolean isFailed) {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(isFailed);
+        return item;
+    }
+
+    public void testToResponse() {
+        BulkResponseAggregator aggregator = new BulkResponseAggregator();
+        int successCount = randomIntBetween(1, 10);
+        int failureCount = randomIntBetween(1, 10);
+        for (int i = 0; i < successCount; i++) {
+            aggregator.add(mockItem(false));
+        }
+        for (int i = 0; i < failureCount; i++) {
+            aggregator.add(mockItem(true));
+        }
+        aggregator.addTook(2);
+        aggregator.addTook(3);
+
+        UploadGeoJSONResponse response = aggregator.toResponse();
+        assertEquals(successCount + failureCount, aggregator.getTotal());
+        assertEquals(successCount + failureCount, response.getTotal());
+        assertEquals(failureCount, response.getFailureCount());
+        assertEquals(successCount, response.getSuccessCount());
+        assertEquals(failureCount, response.getFailures().size());
+        assertEquals(5, response.getTookInMillis());
+    }
+
+    public void testToResponseLimitsFailures() {
+        BulkResponseAggregator aggregator = new BulkResponseAggregator();
+        int failureCount = BulkResponseAggregator.MAX_FAILURES_IN_RESPONSE + randomIntBetween(1, 10);
+        for (int i = 0; i < failureCount; i++) {
+            aggregator.add(mockItem(true));
+        }
+
+        UploadGeoJSONResponse response = aggregator.toResponse();
+        assertEquals(failureCount, response.getFailureCount());
+        assertEquals(BulkResponseAggregator.MAX_FAILURES_IN_RESPONSE, response.getFailures().size());
+    }
+
+    public void testCompleteChunk() {
+        long resumedFrom = randomLongBetween(0, 100);
+        BulkResponseAggregator aggregator = new BulkResponseAggregator(resumedFrom);
+        aggregator.addChunk(resumedFrom + 2);
+        aggregator.addChunk(resumedFrom + 5);
+        aggregator.addChunk(resumedFrom + 6);
+        assertEquals(resumedFrom, aggregator.getAcknowledged());
+
+        // chunks completed out of order are acknowledged once all chunks before them are completed
+        aggregator.completeChunk(1);
+        assertEquals(resumedFrom, aggregator.getAcknowledged());
+        aggregator.completeChunk(0);
+        assertEquals(resumedFrom + 5, aggregator.getAcknowledged());
+        aggregator.completeChunk(2);
+        assertEquals(resumedFrom + 6, aggregator.getAcknowledged());
+        assertEquals(resumedFrom, aggregator.getResumedFrom());
+    }
+
+    public void testAddUnchanged() {
+        BulkResponseAggregator aggregator = new BulkResponseAggregator();
+        aggregator.add(mockItem(false));
+        aggregator.add(mockItem(true));
+        aggregator.addUnchanged(3);
+
+        UploadGeoJSONResponse response = aggregator.toResponse();
+        assertEquals(5, response.getTotal());
+        assertEquals(3, response.getUnchanged());
+        assertEquals(4, response.getSuccessCount());
+        assertEquals(1, response.getFailureCount());
+    }
+
+    public void testToResponseWithoutItems() {
+        UploadGeoJSONResponse response = new BulkResponseAggregator().toResponse();
+        assertEquals(0, response.getTotal());
+        assertFalse(response.hasFailures());
+    }
+}
@@ -6,22 +6,54 @@
 package org.opensearch.geospatial.action.upload.geojson;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildGeoJSONFeature;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildProperties;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeoJSONFeature;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeometryPoint;
 import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkRequestBuilder;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.get.MultiGetRequestBuilder;
+import org.opensearch.action.get.MultiGetResponse;
 import org.opensearch.action.index.IndexAction;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexRequestBuilder;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.client.Client;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.geometry.Point;
 import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufColumnType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufGeometryType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufTestBuilder;
+import org.opensearch.geospatial.geojson.Feature;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.test.client.NoOpClient;
 
@@ -34,6 +66,7 @@ public class ContentBuilderTests extends OpenSearchTestCase {
     private Client mockClient;
     private NoOpClient noOpClient;
     private ContentBuilder contentBuilder;
+    private BulkResponseAggregator aggregator;
 
     @Override
     public void setUp() throws Exception {
@@ -41,6 +74,7 @@ public class ContentBuilderTests extends OpenSearchTestCase {
         noOpClient = new NoOpClient(getTestName());
         mockClient = mock(Client.class);
         contentBuilder = new ContentBuilder(mockClient);
+        aggregator = new BulkResponseAggregator();
     }
 
     @Override
@@ -53,7 +87,6 @@ public class ContentBuilderTests extends OpenSearchTestCase {
         // mock BulkRequest
         BulkRequestBuilder mockBulkRequestBuilder = mock(BulkRequestBuilder.class);
         when(mockClient.prepareBulk()).thenReturn(mockBulkRequestBuilder);
-        when(mockBulkRequestBuilder.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL)).thenReturn(mockBulkRequestBuilder);
         when(mockBulkRequestBuilder.add(any(IndexRequestBuilder.class))).thenReturn(null);
         when(mockBulkRequestBuilder.numberOfActions()).thenReturn(noOfActions);
 
@@ -66,22 +99,372 @@ public class ContentBuilderTests extends OpenSearchTestCase {
         Map<String, Object> contentMap = GeospatialTestHelper.buildRequestContent(MAX_FEATURES_COUNT);
         UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(contentMap);
         BulkRequestBuilder mockBulkRequestBuilder = mockBulkRequestBuilder(MAX_NUM_ACTION);
-        final Optional<BulkRequestBuilder> prepare = contentBuilder.prepare(content, randomLowerCaseString());
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+        assertTrue("failed to build request", prepare.hasNext());
+        assertEquals(mockBulkRequestBuilder, prepare.next());
         verify(mockClient).prepareBulk();
         verify(mockClient, times(MAX_FEATURES_COUNT)).prepareIndex();
         verify(mockBulkRequestBuilder, times(MAX_FEATURES_COUNT)).add(any(IndexRequestBuilder.class));
-        assertTrue("failed to build request", prepare.isPresent());
+        verify(mockBulkRequestBuilder, never()).setRefreshPolicy(any(WriteRequest.RefreshPolicy.class));
+        // features are converted into documents without an ingest pipeline
+        verify(mockBulkRequestBuilder, never()).setPipeline(anyString());
+        assertFalse(prepare.hasNext());
+        assertEquals(0, aggregator.getTotal());
+    }
+
+    public void testContentBuilderConvertsFeatureIntoDocument() {
+        String propertyName = randomLowerCaseString();
+        String propertyValue = randomLowerCaseString();
+        JSONObject geometry = randomGeometryPoint();
+        JSONObject feature = buildGeoJSONFeature(geometry, buildProperties(Map.of(propertyName, propertyValue)));
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(buildRequestContent(new JSONArray().put(feature)));
+        BulkRequestBuilder mockBulkRequestBuilder = mockBulkRequestBuilder(MAX_NUM_ACTION);
+
+        contentBuilder.prepare(content, aggregator).next();
+
+        ArgumentCaptor<IndexRequestBuilder> captor = ArgumentCaptor.forClass(IndexRequestBuilder.class);
+        verify(mockBulkRequestBuilder).add(captor.capture());
+        Map<String, Object> document = captor.getValue().request().sourceAsMap();
+        assertEquals(propertyValue, document.get(propertyName));
+        assertTrue(document.containsKey(content.getFieldName()));
+        assertFalse(document.containsKey(Feature.TYPE_KEY));
+        assertFalse(document.containsKey(Feature.PROPERTIES_KEY));
+        assertFalse(document.containsKey(Feature.GEOMETRY_KEY));
+        assertEquals(content.getIndexName(), captor.getValue().request().index());
+    }
+
+    public void testContentBuilderReportsInvalidFeatures() {
+        JSONObject invalidFeature = buildGeoJSONFeature(randomGeometryPoint(), buildProperties(Map.of()));
+        invalidFeature.remove(Feature.GEOMETRY_KEY);
+        JSONArray features = new JSONArray().put(randomGeoJSONFeature(buildProperties(Map.of())))
+            .put(invalidFeature)
+            .put(randomGeoJSONFeature(buildProperties(Map.of())));
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(buildRequestContent(features));
+        BulkRequestBuilder mockBulkRequestBuilder = mockBulkRequestBuilder(MAX_NUM_ACTION);
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        assertEquals(mockBulkRequestBuilder, prepare.next());
+        assertFalse(prepare.hasNext());
+        verify(mockBulkRequestBuilder, times(2)).add(any(IndexRequestBuilder.class));
+        List<BulkItemResponse> invalidFeatures = aggregator.toResponse().getFailures();
+        assertEquals(1, invalidFeatures.size());
+        BulkItemResponse invalidFeatureResponse = invalidFeatures.get(0);
+        assertTrue(invalidFeatureResponse.isFailed());
+        assertEquals(1, invalidFeatureResponse.getItemId());
+        assertEquals(content.getIndexName(), invalidFeatureResponse.getIndex());
+    }
+
+    public void testContentBuilderWithOnlyInvalidFeatures() {
+        JSONObject invalidFeature = buildGeoJSONFeature(randomGeometryPoint(), buildProperties(Map.of()));
+        invalidFeature.remove(Feature.GEOMETRY_KEY);
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(buildRequestContent(new JSONArray().put(invalidFeature)));
+        mockBulkRequestBuilder(ZERO_ACTIONS);
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        // no empty bulk request is built if none of the features are valid
+        assertFalse(prepare.hasNext());
+        verify(mockClient, never()).prepareBulk();
+        assertEquals(1, aggregator.getFailureCount());
+    }
+
+    public void testContentBuilderIndexesFlatGeobufFeaturesAsDocuments() {
+        String propertyValue = randomLowerCaseString();
+        byte[] flatGeobuf = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addColumn("name", FlatGeobufColumnType.STRING)
+            .addRawFeature(new byte[] { 4, 0, 0, 0 })
+            .addFeature(new Point(1, 2), Map.of(0, propertyValue))
+            .build();
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.createFromFlatGeobuf(
+            randomLowerCaseString(),
+            randomLowerCaseString(),
+            "geo_shape",
+            new BytesArray(flatGeobuf)
+        );
+        BulkRequestBuilder mockBulkRequestBuilder = mockBulkRequestBuilder(MAX_NUM_ACTION);
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        assertEquals(mockBulkRequestBuilder, prepare.next());
+        assertFalse(prepare.hasNext());
+        ArgumentCaptor<IndexRequestBuilder> captor = ArgumentCaptor.forClass(IndexRequestBuilder.class);
+        verify(mockBulkRequestBuilder).add(captor.capture());
+        assertEquals(Map.of("name", propertyValue, content.getFieldName(), "POINT (1.0 2.0)"), captor.getValue().request().sourceAsMap());
+        // feature which cannot be decoded is reported at its position
+        List<BulkItemResponse> invalidFeatures = aggregator.toResponse().getFailures();
+        assertEquals(1, invalidFeatures.size());
+        assertEquals(0, invalidFeatures.get(0).getItemId());
+    }
+
+    private Map<String, Object> buildRequestContent(JSONArray features) {
+        JSONObject contents = new JSONObject();
+        contents.put(UploadGeoJSONRequestContent.FIELD_INDEX.getPreferredName(), randomLowerCaseString());
+        contents.put(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL.getPreferredName(), randomLowerCaseString());
+        contents.put(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+        contents.put(UploadGeoJSONRequestContent.FIELD_DATA.getPreferredName(), features);
+        return contents.toMap();
+    }
+
+    public void testContentBuilderSplitsFeaturesIntoBulkRequests() {
+        int maxFeatures = MAX_FEATURES_COUNT;
+        int featureCount = maxFeatures + MAX_FEATURES_COUNT - 1;
+        contentBuilder = new ContentBuilder(mockClient, maxFeatures, new ByteSizeValue(1, ByteSizeUnit.MB));
+        Map<String, Object> contentMap = GeospatialTestHelper.buildRequestContent(featureCount);
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(contentMap);
+        BulkRequestBuilder firstBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        BulkRequestBuilder lastBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(firstBulkRequestBuilder, lastBulkRequestBuilder);
+        when(mockClient.prepareIndex()).thenAnswer(invocation -> new IndexRequestBuilder(noOpClient, IndexAction.INSTANCE));
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        // bulk requests are built one at a time
+        verify(mockClient, never()).prepareBulk();
+        assertEquals(firstBulkRequestBuilder, prepare.next());
+        verify(firstBulkRequestBuilder, times(maxFeatures)).add(any(IndexRequestBuilder.class));
+        assertEquals(lastBulkRequestBuilder, prepare.next());
+        verify(lastBulkRequestBuilder, times(featureCount - maxFeatures)).add(any(IndexRequestBuilder.class));
+        assertFalse(prepare.hasNext());
+        // index is refreshed once after all bulk requests, not by each bulk request
+        verify(firstBulkRequestBuilder, never()).setRefreshPolicy(any(WriteRequest.RefreshPolicy.class));
+        verify(lastBulkRequestBuilder, never()).setRefreshPolicy(any(WriteRequest.RefreshPolicy.class));
+    }
+
+    public void testContentBuilderSplitsFeaturesIntoBulkRequestsBySize() {
+        contentBuilder = new ContentBuilder(mockClient, MAX_NUM_ACTION, new ByteSizeValue(1));
+        Map<String, Object> contentMap = GeospatialTestHelper.buildRequestContent(MAX_FEATURES_COUNT);
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(contentMap);
+        BulkRequestBuilder mockBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(mockBulkRequestBuilder);
+        when(mockClient.prepareIndex()).thenAnswer(invocation -> new IndexRequestBuilder(noOpClient, IndexAction.INSTANCE));
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        // every feature exceeds max size of a bulk request, hence, each bulk request has a single feature
+        int bulkRequestCount = 0;
+        while (prepare.hasNext()) {
+            prepare.next();
+            bulkRequestCount++;
+        }
+        assertEquals(MAX_FEATURES_COUNT, bulkRequestCount);
+        verify(mockBulkRequestBuilder, times(MAX_FEATURES_COUNT)).add(any(IndexRequestBuilder.class));
+    }
+
+    public void testContentBuilderAddsChunksToAggregator() {
+        int maxFeatures = MAX_FEATURES_COUNT;
+        int featureCount = maxFeatures + MAX_FEATURES_COUNT - 1;
+        contentBuilder = new ContentBuilder(mockClient, maxFeatures, new ByteSizeValue(1, ByteSizeUnit.MB));
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(GeospatialTestHelper.buildRequestContent(featureCount));
+        when(mockClient.prepareBulk()).thenAnswer(invocation -> mock(BulkRequestBuilder.class));
+        when(mockClient.prepareIndex()).thenAnswer(invocation -> new IndexRequestBuilder(noOpClient, IndexAction.INSTANCE));
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+        prepare.next();
+        prepare.next();
+        assertFalse(prepare.hasNext());
+
+        // chunks are acknowledged only in order
+        aggregator.completeChunk(1);
+        assertEquals(0, aggregator.getAcknowledged());
+        aggregator.completeChunk(0);
+        assertEquals(featureCount, aggregator.getAcknowledged());
+    }
+
+    public void testContentBuilderResumesFromPosition() {
+        int featureCount = MAX_FEATURES_COUNT + 1;
+        int resumeFrom = randomIntBetween(1, featureCount - 1);
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(GeospatialTestHelper.buildRequestContent(featureCount));
+        BulkRequestBuilder mockBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(mockBulkRequestBuilder);
+        when(mockClient.prepareIndex()).thenAnswer(invocation -> new IndexRequestBuilder(noOpClient, IndexAction.INSTANCE));
+        aggregator = new BulkResponseAggregator(resumeFrom);
+
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+
+        assertEquals(mockBulkRequestBuilder, prepare.next());
+        assertFalse(prepare.hasNext());
+        verify(mockBulkRequestBuilder, times(featureCount - resumeFrom)).add(any(IndexRequestBuilder.class));
+        assertEquals(resumeFrom, aggregator.getAcknowledged());
+        aggregator.completeChunk(0);
+        assertEquals(featureCount, aggregator.getAcknowledged());
+    }
+
+    public void testPrepareRetry() {
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < MAX_FEATURES_COUNT; i++) {
+            bulkRequest.add(new IndexRequest(randomLowerCaseString()).source(Map.of(randomLowerCaseString(), i)));
+        }
+        BulkRequestBuilder previousBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(previousBulkRequestBuilder.request()).thenReturn(bulkRequest);
+        BulkRequestBuilder retryBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(retryBulkRequestBuilder);
+
+        BulkRequestBuilder retry = contentBuilder.prepareRetry(previousBulkRequestBuilder, List.of(0, MAX_FEATURES_COUNT - 1));
+
+        assertEquals(retryBulkRequestBuilder, retry);
+        verify(retryBulkRequestBuilder).add((IndexRequest) bulkRequest.requests().get(0));
+        verify(retryBulkRequestBuilder).add((IndexRequest) bulkRequest.requests().get(MAX_FEATURES_COUNT - 1));
+        verify(retryBulkRequestBuilder, times(2)).add(any(IndexRequest.class));
+    }
+
+    public void testContentBuilderStoresFeatureHashInIncrementalMode() {
+        contentBuilder = new ContentBuilder(mockClient, MAX_NUM_ACTION, new ByteSizeValue(1, ByteSizeUnit.MB), true);
+        JSONObject feature = buildGeoJSONFeature(randomGeometryPoint(), buildProperties(Map.of(randomLowerCaseString(), 1)));
+        String featureId = randomLowerCaseString();
+        JSONObject featureWithId = new JSONObject(feature.toMap()).put(ContentBuilder.GEOJSON_FEATURE_ID_FIELD, featureId);
+        UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(
+            buildRequestContent(new JSONArray().put(feature).put(featureWithId))
+        );
+        BulkRequestBuilder mockBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(mockBulkRequestBuilder);
+        when(mockClient.prepareIndex()).thenAnswer(invocation -> new IndexRequestBuilder(noOpClient, IndexAction.INSTANCE));
+
+        contentBuilder.prepare(content, aggregator).next();
+
+        ArgumentCaptor<IndexRequestBuilder> captor = ArgumentCaptor.forClass(IndexRequestBuilder.class);
+        verify(mockBulkRequestBuilder, times(2)).add(captor.capture());
+        IndexRequest withoutId = captor.getAllValues().get(0).request();
+        IndexRequest withId = captor.getAllValues().get(1).request();
+        String hash = (String) withoutId.sourceAsMap().get(ContentBuilder.FEATURE_HASH_FIELD);
+        // hash is the first field, and the id of a feature without id
+        assertTrue(withoutId.source().utf8ToString().startsWith("{\"" + ContentBuilder.FEATURE_HASH_FIELD + "\":\"" + hash + "\""));
+        assertEquals(hash, withoutId.id());
+        assertEquals(featureId, withId.id());
+        assertNotEquals(hash, withId.sourceAsMap().get(ContentBuilder.FEATURE_HASH_FIELD));
+    }
+
+    public void testHashDoesNotDependOnOrderOfKeys() throws IOException {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("a", 1);
+        properties.put("b", List.of(Map.of("c", "d")));
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("properties", properties);
+        document.put("location", "POINT (1.0 2.0)");
+        Map<String, Object> reorderedProperties = new LinkedHashMap<>();
+        reorderedProperties.put("b", List.of(Map.of("c", "d")));
+        reorderedProperties.put("a", 1);
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("location", "POINT (1.0 2.0)");
+        reordered.put("properties", reorderedProperties);
+
+        String hash = ContentBuilder.hash(null, document);
+        assertEquals(hash, ContentBuilder.hash(null, reordered));
+        assertNotEquals(hash, ContentBuilder.hash("id", document));
+        assertNotEquals(hash, ContentBuilder.hash(null, Map.of("location", "POINT (1.0 2.0)")));
+    }
+
+    public void testRemoveUnchanged() {
+        String index = randomLowerCaseString();
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < MAX_FEATURES_COUNT; i++) {
+            bulkRequest.add(new IndexRequest(index).id(String.valueOf(i)).source(featureHashSource("hash" + i)));
+        }
+        BulkRequestBuilder previousBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(previousBulkRequestBuilder.request()).thenReturn(bulkRequest);
+        BulkRequestBuilder changedBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(mockClient.prepareBulk()).thenReturn(changedBulkRequestBuilder);
+        // first feature is unchanged, second feature is changed, and third feature is new
+        mockMultiGet(
+            new MultiGetResponse(
+                new MultiGetItemResponse[] {
+                    new MultiGetItemResponse(getResponse(index, "0", "hash0"), null),
+                    new MultiGetItemResponse(getResponse(index, "1", "previous"), null),
+                    new MultiGetItemResponse(getResponse(index, "2", null), null) }
+            )
+        );
+        ActionListener<BulkRequestBuilder> listener = mock(ActionListener.class);
+
+        contentBuilder.removeUnchanged(previousBulkRequestBuilder, aggregator, listener);
+
+        verify(listener).onResponse(changedBulkRequestBuilder);
+        verify(changedBulkRequestBuilder).add((IndexRequest) bulkRequest.requests().get(1));
+        verify(changedBulkRequestBuilder).add((IndexRequest) bulkRequest.requests().get(2));
+        verify(changedBulkRequestBuilder, times(2)).add(any(IndexRequest.class));
+        assertEquals(1, aggregator.getUnchanged());
+        assertEquals(1, aggregator.getTotal());
+    }
+
+    public void testRemoveUnchangedWhenEveryFeatureIsUnchanged() {
+        String index = randomLowerCaseString();
+        BulkRequest bulkRequest = new BulkRequest().add(new IndexRequest(index).id("0").source(featureHashSource("hash0")));
+        BulkRequestBuilder previousBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(previousBulkRequestBuilder.request()).thenReturn(bulkRequest);
+        when(mockClient.prepareBulk()).thenReturn(mock(BulkRequestBuilder.class));
+        mockMultiGet(new MultiGetResponse(new MultiGetItemResponse[] { new MultiGetItemResponse(getResponse(index, "0", "hash0"), null) }));
+        ActionListener<BulkRequestBuilder> listener = mock(ActionListener.class);
+
+        contentBuilder.removeUnchanged(previousBulkRequestBuilder, aggregator, listener);
+
+        verify(listener).onResponse(null);
+        assertEquals(1, aggregator.getUnchanged());
+    }
+
+    public void testRemoveUnchangedIndexesAllFeaturesWhenLookupFails() {
+        BulkRequest bulkRequest = new BulkRequest().add(
+            new IndexRequest(randomLowerCaseString()).id("0").source(featureHashSource("hash0"))
+        );
+        BulkRequestBuilder previousBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        when(previousBulkRequestBuilder.request()).thenReturn(bulkRequest);
+        MultiGetRequestBuilder multiGetRequestBuilder = mock(MultiGetRequestBuilder.class);
+        when(mockClient.prepareMultiGet()).thenReturn(multiGetRequestBuilder);
+        doAnswer(invocation -> {
+            ((ActionListener<MultiGetResponse>) invocation.getArguments()[0]).onFailure(new IllegalStateException());
+            return null;
+        }).when(multiGetRequestBuilder).execute(any(ActionListener.class));
+        ActionListener<BulkRequestBuilder> listener = mock(ActionListener.class);
+
+        contentBuilder.removeUnchanged(previousBulkRequestBuilder, aggregator, listener);
+
+        verify(listener).onResponse(previousBulkRequestBuilder);
+        assertEquals(0, aggregator.getUnchanged());
+    }
+
+    private Map<String, Object> featureHashSource(String hash) {
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put(ContentBuilder.FEATURE_HASH_FIELD, hash);
+        source.put(randomLowerCaseString(), randomLowerCaseString());
+        return source;
+    }
+
+    private GetResponse getResponse(String index, String id, String hash) {
+        if (hash == null) {
+            long seqNo = SequenceNumbers.UNASSIGNED_SEQ_NO;
+            return new GetResponse(new GetResult(index, id, seqNo, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, -1, false, null, null, null));
+        }
+        return new GetResponse(
+            new GetResult(
+                index,
+                id,
+                0,
+                1,
+                1,
+                true,
+                new BytesArray("{\"" + ContentBuilder.FEATURE_HASH_FIELD + "\":\"" + hash + "\"}"),
+                Collections.emptyMap(),
+                Collections.emptyMap()
+            )
+        );
+    }
+
+    private void mockMultiGet(MultiGetResponse response) {
+        MultiGetRequestBuilder multiGetRequestBuilder = mock(MultiGetRequestBuilder.class);
+        when(mockClient.prepareMultiGet()).thenReturn(multiGetRequestBuilder);
+        when(multiGetRequestBuilder.add(any(MultiGetRequest.Item.class))).thenReturn(multiGetRequestBuilder);
+        doAnswer(invocation -> {
+            ((ActionListener<MultiGetResponse>) invocation.getArguments()[0]).onResponse(response);
+            return null;
+        }).when(multiGetRequestBuilder).execute(any(ActionListener.class));
     }
 
     public void testContentBuilderFailed() {
         Map<String, Object> contentMap = GeospatialTestHelper.buildRequestContent(ZERO_FEATURES);
         UploadGeoJSONRequestContent content = UploadGeoJSONRequestContent.create(contentMap);
         BulkRequestBuilder mockBulkRequestBuilder = mockBulkRequestBuilder(ZERO_ACTIONS);
-        final Optional<BulkRequestBuilder> prepare = contentBuilder.prepare(content, randomLowerCaseString());
+        final Iterator<BulkRequestBuilder> prepare = contentBuilder.prepare(content, aggregator);
+        assertFalse("Feature count should be empty", prepare.hasNext());
         verify(mockClient, never()).prepareBulk();
         verify(mockClient, never()).prepareIndex();
         verify(mockBulkRequestBuilder, never()).add(any(IndexRequestBuilder.class));
-        assertFalse("Feature count should be empty", prepare.isPresent());
     }
 
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildProperties;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeoJSONFeature;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import org.json.JSONObject;
+import org.opensearch.OpenSearchParseException;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.geospatial.GeospatialParser;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class FeatureSequenceIteratorTests extends OpenSearchTestCase {
+    private static final char RECORD_SEPARATOR = 0x1E;
+
+    public void testIterateSkipsBlankLinesAndRecordSeparator() {
+        JSONObject first = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONObject second = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        String sequence = "\n" + RECORD_SEPARATOR + first + "\r\n  \n\t" + RECORD_SEPARATOR + second;
+        try (FeatureSequenceIterator iterator = new FeatureSequenceIterator(new BytesArray(sequence))) {
+            assertTrue(iterator.hasNext());
+            assertEquals(toParsedMap(first), iterator.next());
+            assertEquals(3, iterator.getLineNumber());
+            assertEquals(toParsedMap(second), iterator.next());
+            assertEquals(4, iterator.getLineNumber());
+            assertFalse(iterator.hasNext());
+            expectThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    public void testSkip() {
+        JSONObject first = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONObject second = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONObject third = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        BytesArray sequence = new BytesArray(first + "\n\n" + second + "\n" + third + "\n");
+        try (FeatureSequenceIterator iterator = new FeatureSequenceIterator(sequence)) {
+            assertTrue(iterator.hasNext());
+            assertEquals(2, iterator.skip(2));
+            assertEquals(toParsedMap(third), iterator.next());
+            assertEquals(0, iterator.skip(1));
+        }
+        try (FeatureSequenceIterator iterator = new FeatureSequenceIterator(sequence)) {
+            assertEquals(3, iterator.skip(4));
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    public void testClose() {
+        FeatureSequenceIterator iterator = new FeatureSequenceIterator(
+            new BytesArray(randomGeoJSONFeature(buildProperties(Collections.emptyMap())).toString())
+        );
+        iterator.close();
+        assertFalse(iterator.hasNext());
+    }
+
+    public void testInvalidLine() {
+        try (FeatureSequenceIterator iterator = new FeatureSequenceIterator(new BytesArray("\n{\"type\": "))) {
+            OpenSearchParseException exception = expectThrows(OpenSearchParseException.class, iterator::hasNext);
+            assertTrue(exception.getMessage().contains("line [ 2 ]"));
+        }
+    }
+
+    private static Object toParsedMap(JSONObject json) {
+        return GeospatialParser.convertToMap(new BytesArray(json.toString()));
+    }
+}
@@ -19,6 +19,8 @@ import org.opensearch.ResourceAlreadyExistsException;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshResponse;
 import org.opensearch.client.IndicesAdminClient;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.test.OpenSearchTestCase;
@@ -79,4 +81,17 @@ public class IndexManagerTests extends OpenSearchTestCase {
         verify(mockClient).create(any(CreateIndexRequest.class), any(ActionListener.class));
         expectThrows(ResourceAlreadyExistsException.class, listener::result);
     }
+
+    public void testIndexRefreshSucceeded() {
+        String indexName = randomLowerCaseString();
+        doAnswer(invocation -> {
+            RefreshRequest request = (RefreshRequest) invocation.getArguments()[0];
+            assertArrayEquals("index name did not match", new String[] { indexName }, request.indices());
+            ((ActionListener<RefreshResponse>) invocation.getArguments()[1]).onResponse(null);
+            return null;
+        }).when(mockClient).refresh(any(RefreshRequest.class), any(ActionListener.class));
+        manager.refresh(indexName, listener);
+        verify(mockClient).refresh(any(RefreshRequest.class), any(ActionListener.class));
+        assertNull("refresh index failed", listener.result());
+    }
 }
@@ -5,18 +5,27 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildGeoJSONFeatureCollection;
 import static org.opensearch.geospatial.GeospatialObjectBuilder.buildProperties;
 import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeoJSONFeature;
 import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
 import static org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent.FIELD_DATA;
 import static org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent.GEOSPATIAL_DEFAULT_FIELD_NAME;
-import static org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent.MAX_SUPPORTED_GEOJSON_FEATURE_COUNT;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.geometry.Point;
+import org.opensearch.geospatial.GeospatialParser;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufColumnType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufGeometryType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufTestBuilder;
+import org.opensearch.geospatial.geojson.Feature;
 import org.opensearch.test.OpenSearchTestCase;
 
 public class UploadGeoJSONRequestContentTests extends OpenSearchTestCase {
@@ -50,7 +59,107 @@ public class UploadGeoJSONRequestContentTests extends OpenSearchTestCase {
         assertNotNull(content);
         assertEquals(fieldName, content.getFieldName());
         assertEquals(indexName, content.getIndexName());
-        assertEquals(contents.get(FIELD_DATA.getPreferredName()), content.getData());
+        assertEquals(MIN_FEATURE_COUNT, content.getFeatureCount());
+        Map<String, Object> expected = toParsedMap(new JSONObject(contents));
+        assertEquals(expected.get(FIELD_DATA.getPreferredName()), readFeatures(content));
+    }
+
+    public void testCreateFromBytesWithDataBeforeOtherFields() {
+        JSONArray collectionFeatures = new JSONArray();
+        for (int i = 0; i < MIN_FEATURE_COUNT; i++) {
+            collectionFeatures.put(randomGeoJSONFeature(buildProperties(Collections.emptyMap())));
+        }
+        JSONObject firstFeature = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONObject lastFeature = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONArray values = new JSONArray();
+        values.put(firstFeature);
+        values.put(buildGeoJSONFeatureCollection(collectionFeatures));
+        values.put(new JSONObject().put(Feature.TYPE_KEY, randomLowerCaseString()));
+        values.put(lastFeature);
+        final var contents = new JSONObject();
+        contents.put(FIELD_DATA.getPreferredName(), values);
+        contents.put(UploadGeoJSONRequestContent.FIELD_INDEX.getPreferredName(), indexName);
+        contents.put(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+
+        final var content = UploadGeoJSONRequestContent.create(new BytesArray(contents.toString()));
+
+        assertEquals(indexName, content.getIndexName());
+        assertEquals(GEOSPATIAL_DEFAULT_FIELD_NAME, content.getFieldName());
+        assertEquals(MIN_FEATURE_COUNT + 2, content.getFeatureCount());
+        List<Map<String, Object>> expected = new ArrayList<>();
+        expected.add(toParsedMap(firstFeature));
+        collectionFeatures.forEach(feature -> expected.add(toParsedMap((JSONObject) feature)));
+        expected.add(toParsedMap(lastFeature));
+        assertEquals(expected, readFeatures(content));
+        // features can be read more than once
+        assertEquals(expected, readFeatures(content));
+    }
+
+    public void testCreateWithoutGeoJSONType() {
+        Map<String, Object> contents = buildRequestContent(indexName, fieldName, MIN_FEATURE_COUNT);
+        contents.put(FIELD_DATA.getPreferredName(), List.of(Map.of(randomLowerCaseString(), randomLowerCaseString())));
+        NullPointerException missingType = assertThrows(NullPointerException.class, () -> UploadGeoJSONRequestContent.create(contents));
+        assertEquals("type cannot be null", missingType.getMessage());
+    }
+
+    public void testCreateWithDataNotList() {
+        Map<String, Object> contents = buildRequestContent(indexName, fieldName, MIN_FEATURE_COUNT);
+        contents.put(FIELD_DATA.getPreferredName(), randomLowerCaseString());
+        IllegalArgumentException invalidData = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.create(contents)
+        );
+        assertTrue(invalidData.getMessage().contains("data is not an instance of List"));
+    }
+
+    public void testCreateWithoutData() {
+        Map<String, Object> contents = buildRequestContent(indexName, fieldName, MIN_FEATURE_COUNT);
+        contents.remove(FIELD_DATA.getPreferredName());
+        NullPointerException missingData = assertThrows(NullPointerException.class, () -> UploadGeoJSONRequestContent.create(contents));
+        assertTrue(missingData.getMessage().contains("[ data ] cannot be empty"));
+    }
+
+    // parse JSON the same way as request body, so that coordinates are compared as List of Double
+    private Map<String, Object> toParsedMap(JSONObject json) {
+        return GeospatialParser.convertToMap(new BytesArray(json.toString()));
+    }
+
+    public void testFeaturesSkip() {
+        JSONArray collectionFeatures = new JSONArray();
+        for (int i = 0; i < MIN_FEATURE_COUNT; i++) {
+            collectionFeatures.put(randomGeoJSONFeature(buildProperties(Collections.emptyMap())));
+        }
+        JSONObject lastFeature = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        JSONArray values = new JSONArray();
+        values.put(randomGeoJSONFeature(buildProperties(Collections.emptyMap())));
+        values.put(buildGeoJSONFeatureCollection(collectionFeatures));
+        values.put(lastFeature);
+        final var contents = new JSONObject();
+        contents.put(UploadGeoJSONRequestContent.FIELD_INDEX.getPreferredName(), indexName);
+        contents.put(UploadGeoJSONRequestContent.FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+        contents.put(FIELD_DATA.getPreferredName(), values);
+        final var content = UploadGeoJSONRequestContent.create(new BytesArray(contents.toString()));
+
+        try (FeatureIterator iterator = content.features()) {
+            // skip the first feature and all but the last feature of the collection
+            assertEquals(MIN_FEATURE_COUNT, iterator.skip(MIN_FEATURE_COUNT));
+            assertEquals(toParsedMap((JSONObject) collectionFeatures.get(MIN_FEATURE_COUNT - 1)), iterator.next());
+            assertEquals(toParsedMap(lastFeature), iterator.next());
+            assertFalse(iterator.hasNext());
+        }
+        try (FeatureIterator iterator = content.features()) {
+            // skip more features than available
+            assertEquals(content.getFeatureCount(), iterator.skip(content.getFeatureCount() + 1));
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    private List<Map<String, Object>> readFeatures(UploadGeoJSONRequestContent content) {
+        List<Map<String, Object>> features = new ArrayList<>();
+        try (FeatureIterator iterator = content.features()) {
+            iterator.forEachRemaining(features::add);
+        }
+        return features;
     }
 
     public void testCreateEmptyIndexName() {
@@ -61,17 +170,10 @@ public class UploadGeoJSONRequestContentTests extends OpenSearchTestCase {
         assertTrue(invalidIndexName.getMessage().contains("[ index ] cannot be empty"));
     }
 
-    public void testCreateWithOneMoreThanMaxSupportedFeatureCount() {
-        int featureCount = MAX_SUPPORTED_GEOJSON_FEATURE_COUNT + 1;
-        IllegalArgumentException reachedMaxFeatureCount = assertThrows(
-            IllegalArgumentException.class,
-            () -> UploadGeoJSONRequestContent.create(buildRequestContent(indexName, fieldName, featureCount))
-        );
-        assertEquals(
-            "wrong error returned",
-            reachedMaxFeatureCount.getMessage(),
-            "Received 10001 features, but, cannot upload more than 10000 features"
-        );
+    public void testCreateWithMoreThanTenThousandFeatures() {
+        int featureCount = 10_001;
+        final var content = UploadGeoJSONRequestContent.create(buildRequestContent(indexName, fieldName, featureCount));
+        assertEquals(featureCount, content.getFeatureCount());
     }
 
     public void testCreateEmptyGeospatialFieldName() {
@@ -89,4 +191,129 @@ public class UploadGeoJSONRequestContentTests extends OpenSearchTestCase {
         );
         assertTrue(invalidIndexName.getMessage().contains("[ type ] cannot be empty"));
     }
+
+    private String buildSequence(List<JSONObject> features) {
+        StringBuilder sequence = new StringBuilder();
+        for (JSONObject feature : features) {
+            sequence.append(feature).append('\n');
+        }
+        return sequence.toString();
+    }
+
+    public void testCreateFromSequence() {
+        List<JSONObject> features = new ArrayList<>();
+        for (int i = 0; i < MIN_FEATURE_COUNT; i++) {
+            features.add(randomGeoJSONFeature(buildProperties(Collections.emptyMap())));
+        }
+        final var content = UploadGeoJSONRequestContent.createFromSequence(
+            indexName,
+            fieldName,
+            "geo_shape",
+            new BytesArray(buildSequence(features))
+        );
+        assertEquals(indexName, content.getIndexName());
+        assertEquals(fieldName, content.getFieldName());
+        assertEquals("geo_shape", content.getFieldType());
+        assertEquals(MIN_FEATURE_COUNT, content.getFeatureCount());
+        List<Map<String, Object>> expected = new ArrayList<>();
+        for (JSONObject feature : features) {
+            expected.add(toParsedMap(feature));
+        }
+        assertEquals(expected, readFeatures(content));
+    }
+
+    public void testCreateFromSequenceEmptyGeospatialFieldName() {
+        final var content = UploadGeoJSONRequestContent.createFromSequence(
+            indexName,
+            "",
+            "geo_shape",
+            new BytesArray(buildSequence(List.of(randomGeoJSONFeature(buildProperties(Collections.emptyMap())))))
+        );
+        assertEquals(GEOSPATIAL_DEFAULT_FIELD_NAME, content.getFieldName());
+    }
+
+    public void testCreateFromSequenceWithoutIndexOrType() {
+        BytesArray sequence = new BytesArray(buildSequence(List.of(randomGeoJSONFeature(buildProperties(Collections.emptyMap())))));
+        IllegalArgumentException missingIndex = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromSequence(null, fieldName, "geo_shape", sequence)
+        );
+        assertTrue(missingIndex.getMessage().contains("[ index ] cannot be empty"));
+        IllegalArgumentException missingType = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromSequence(indexName, fieldName, null, sequence)
+        );
+        assertTrue(missingType.getMessage().contains("[ type ] cannot be empty"));
+    }
+
+    public void testCreateFromSequenceWithInvalidLine() {
+        JSONObject feature = randomGeoJSONFeature(buildProperties(Collections.emptyMap()));
+        IllegalArgumentException notFeature = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromSequence(
+                indexName,
+                fieldName,
+                "geo_shape",
+                new BytesArray(feature + "\n\n" + buildGeoJSONFeatureCollection(new JSONArray().put(feature)))
+            )
+        );
+        assertTrue(notFeature.getMessage().contains("line [ 3 ] is not a GeoJSON Feature"));
+        IllegalArgumentException notObject = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromSequence(indexName, fieldName, "geo_shape", new BytesArray("[" + feature + "]"))
+        );
+        assertTrue(notObject.getMessage().contains("line [ 1 ] is not an instance of Map"));
+        IllegalArgumentException twoObjects = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromSequence(indexName, fieldName, "geo_shape", new BytesArray(feature + " " + feature))
+        );
+        assertTrue(twoObjects.getMessage().contains("line [ 1 ] has more than one GeoJSON object"));
+    }
+
+    public void testCreateFromFlatGeobuf() {
+        Point point = new Point(1, 2);
+        byte[] flatGeobuf = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addColumn("name", FlatGeobufColumnType.STRING)
+            .addFeature(point, Map.of(0, "first"))
+            .addFeature(point, Map.of(0, "second"))
+            .build();
+        final var content = UploadGeoJSONRequestContent.createFromFlatGeobuf(indexName, null, "geo_shape", new BytesArray(flatGeobuf));
+        assertEquals(indexName, content.getIndexName());
+        assertEquals(GEOSPATIAL_DEFAULT_FIELD_NAME, content.getFieldName());
+        assertEquals(2, content.getFeatureCount());
+        assertTrue(content.hasDocuments());
+        assertEquals(
+            List.of(
+                Map.of("name", "first", GEOSPATIAL_DEFAULT_FIELD_NAME, "POINT (1.0 2.0)"),
+                Map.of("name", "second", GEOSPATIAL_DEFAULT_FIELD_NAME, "POINT (1.0 2.0)")
+            ),
+            readFeatures(content)
+        );
+    }
+
+    public void testCreateFromFlatGeobufWithWrongFeaturesCount() {
+        byte[] flatGeobuf = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addFeature(new Point(1, 2), Map.of()).build();
+        byte[] withExtraFeature = new byte[flatGeobuf.length + 8];
+        System.arraycopy(flatGeobuf, 0, withExtraFeature, 0, flatGeobuf.length);
+        // size prefix of an empty feature, followed by root offset which is never read
+        withExtraFeature[flatGeobuf.length] = 4;
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromFlatGeobuf(indexName, fieldName, "geo_shape", new BytesArray(withExtraFeature))
+        );
+        assertTrue(exception.getMessage().contains("FlatGeobuf has [ 2 ] features, but its header has [ 1 ]"));
+    }
+
+    public void testCreateFromFlatGeobufWithoutIndexOrType() {
+        BytesArray flatGeobuf = new BytesArray(new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).build());
+        IllegalArgumentException missingIndex = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromFlatGeobuf("", fieldName, "geo_shape", flatGeobuf)
+        );
+        assertTrue(missingIndex.getMessage().contains("[ index ] cannot be empty"));
+        IllegalArgumentException missingType = assertThrows(
+            IllegalArgumentException.class,
+            () -> UploadGeoJSONRequestContent.createFromFlatGeobuf(indexName, fieldName, "", flatGeobuf)
+        );
+        assertTrue(missingType.getMessage().contains("[ type ] cannot be empty"));
+    }
 }
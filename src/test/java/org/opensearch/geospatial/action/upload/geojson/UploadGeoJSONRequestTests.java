@@ -5,18 +5,28 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildProperties;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeoJSONFeature;
 import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
 import static org.opensearch.rest.RestRequest.Method.POST;
 import static org.opensearch.rest.RestRequest.Method.PUT;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
 
 import org.json.JSONObject;
+import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.geometry.Point;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufGeometryType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufTestBuilder;
 import org.opensearch.rest.RestRequest;
+import org.opensearch.tasks.Task;
 import org.opensearch.test.OpenSearchTestCase;
 
 public class UploadGeoJSONRequestTests extends OpenSearchTestCase {
@@ -30,7 +40,12 @@ public class UploadGeoJSONRequestTests extends OpenSearchTestCase {
     public void testStreams() throws IOException {
         String requestBody = getRandomRequestBody();
         RestRequest.Method method = PUT;
-        UploadGeoJSONRequest request = new UploadGeoJSONRequest(method, new BytesArray(requestBody.getBytes(StandardCharsets.UTF_8)));
+        long resumeFrom = randomNonNegativeLong();
+        UploadGeoJSONRequest request = new UploadGeoJSONRequest(
+            method,
+            new BytesArray(requestBody.getBytes(StandardCharsets.UTF_8)),
+            resumeFrom
+        );
         BytesStreamOutput output = new BytesStreamOutput();
         request.writeTo(output);
         StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
@@ -38,6 +53,77 @@ public class UploadGeoJSONRequestTests extends OpenSearchTestCase {
         UploadGeoJSONRequest serialized = new UploadGeoJSONRequest(in);
         assertEquals(requestBody, serialized.getContent().utf8ToString());
         assertEquals(method, serialized.getMethod());
+        assertEquals(resumeFrom, serialized.getResumeFrom());
+        assertEquals(UploadGeoJSONRequest.Format.GEOJSON, serialized.getFormat());
+        assertNull(serialized.getIndexName());
+    }
+
+    public void testStreamsOfSequence() throws IOException {
+        String requestBody = getRandomRequestBody();
+        String indexName = randomLowerCaseString();
+        String fieldName = randomLowerCaseString();
+        UploadGeoJSONRequest request = UploadGeoJSONRequest.ofSequence(
+            POST,
+            new BytesArray(requestBody.getBytes(StandardCharsets.UTF_8)),
+            0,
+            indexName,
+            fieldName,
+            "geo_shape"
+        );
+        BytesStreamOutput output = new BytesStreamOutput();
+        request.writeTo(output);
+        StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
+
+        UploadGeoJSONRequest serialized = new UploadGeoJSONRequest(in);
+        assertEquals(requestBody, serialized.getContent().utf8ToString());
+        assertEquals(UploadGeoJSONRequest.Format.GEOJSON_SEQ, serialized.getFormat());
+        assertEquals(indexName, serialized.getIndexName());
+        assertEquals(fieldName, serialized.getFieldName());
+        assertEquals("geo_shape", serialized.getFieldType());
+        assertFalse(serialized.isIncremental());
+    }
+
+    public void testStreamsIncremental() throws IOException {
+        UploadGeoJSONRequest request = new UploadGeoJSONRequest(
+            PUT,
+            new BytesArray(getRandomRequestBody().getBytes(StandardCharsets.UTF_8))
+        );
+        request.setIncremental(true);
+        BytesStreamOutput output = new BytesStreamOutput();
+        request.writeTo(output);
+
+        UploadGeoJSONRequest serialized = new UploadGeoJSONRequest(output.bytes().streamInput());
+        assertTrue(serialized.isIncremental());
+    }
+
+    public void testToRequestContentOfFlatGeobuf() {
+        String indexName = randomLowerCaseString();
+        byte[] flatGeobuf = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addFeature(new Point(1, 2), Map.of()).build();
+        UploadGeoJSONRequest request = UploadGeoJSONRequest.ofFlatGeobuf(POST, new BytesArray(flatGeobuf), 0, indexName, null, "geo_shape");
+        assertEquals(UploadGeoJSONRequest.Format.FLATGEOBUF, request.getFormat());
+        UploadGeoJSONRequestContent content = request.toRequestContent();
+        assertEquals(indexName, content.getIndexName());
+        assertTrue(content.hasDocuments());
+        assertEquals(1, content.getFeatureCount());
+    }
+
+    public void testToRequestContentOfSequence() {
+        String indexName = randomLowerCaseString();
+        String body = randomGeoJSONFeature(buildProperties(Collections.emptyMap())) + "\n" + randomGeoJSONFeature(
+            buildProperties(Collections.emptyMap())
+        );
+        UploadGeoJSONRequest request = UploadGeoJSONRequest.ofSequence(
+            PUT,
+            new BytesArray(body.getBytes(StandardCharsets.UTF_8)),
+            0,
+            indexName,
+            null,
+            "geo_shape"
+        );
+        UploadGeoJSONRequestContent content = request.toRequestContent();
+        assertEquals(indexName, content.getIndexName());
+        assertEquals(UploadGeoJSONRequestContent.GEOSPATIAL_DEFAULT_FIELD_NAME, content.getFieldName());
+        assertEquals(2, content.getFeatureCount());
     }
 
     public void testRequestValidation() {
@@ -46,5 +132,36 @@ public class UploadGeoJSONRequestTests extends OpenSearchTestCase {
             new BytesArray(getRandomRequestBody().getBytes(StandardCharsets.UTF_8))
         );
         assertNull(request.validate());
+        assertEquals(0, request.getResumeFrom());
+    }
+
+    public void testRequestValidationWithNegativeResumeFrom() {
+        UploadGeoJSONRequest request = new UploadGeoJSONRequest(
+            PUT,
+            new BytesArray(getRandomRequestBody().getBytes(StandardCharsets.UTF_8)),
+            -1
+        );
+        ActionRequestValidationException exception = request.validate();
+        assertNotNull(exception);
+        assertTrue(exception.getMessage().contains("resume_from"));
+    }
+
+    public void testCreateTask() {
+        long resumeFrom = randomNonNegativeLong();
+        UploadGeoJSONRequest request = new UploadGeoJSONRequest(
+            PUT,
+            new BytesArray(getRandomRequestBody().getBytes(StandardCharsets.UTF_8)),
+            resumeFrom
+        );
+        Task task = request.createTask(
+            randomNonNegativeLong(),
+            randomLowerCaseString(),
+            UploadGeoJSONAction.NAME,
+            TaskId.EMPTY_TASK_ID,
+            Map.of()
+        );
+        assertTrue(task instanceof UploadGeoJSONTask);
+        assertEquals(resumeFrom, ((UploadGeoJSONTask) task).getStatus().getResumedFrom());
+        assertEquals(resumeFrom, ((UploadGeoJSONTask) task).getStatus().getAcknowledged());
     }
 }
@@ -5,7 +5,11 @@
 
 package org.opensearch.geospatial.action.upload.geojson;
 
+import java.io.IOException;
+import java.util.List;
+
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.common.Strings;
 import org.opensearch.geospatial.GeospatialTestHelper;
@@ -40,4 +44,41 @@ public class UploadGeoJSONResponseTests extends OpenSearchTestCase {
         assertTrue(responseBody.contains("\"success\":" + successActionCount));
         assertTrue(responseBody.contains("\"failure\":" + FAILURE_ITEM_COUNT));
     }
+
+    public void testStreams() throws IOException {
+        int successActionCount = randomIntBetween(MIN_SUCCESS_ITEM_COUNT, MAX_SUCCESS_ITEM_COUNT);
+        final BulkResponse bulkItemResponses = GeospatialTestHelper.generateRandomBulkResponse(successActionCount, true);
+        UploadGeoJSONResponse response = new UploadGeoJSONResponse(bulkItemResponses);
+        BytesStreamOutput output = new BytesStreamOutput();
+        response.writeTo(output);
+        UploadGeoJSONResponse copy = new UploadGeoJSONResponse(output.bytes().streamInput());
+        assertEquals(response.getTookInMillis(), copy.getTookInMillis());
+        assertEquals(response.getTotal(), copy.getTotal());
+        assertEquals(response.getFailureCount(), copy.getFailureCount());
+        assertEquals(FAILURE_ITEM_COUNT, copy.getFailures().size());
+        assertEquals(Strings.toString(XContentType.JSON, response), Strings.toString(XContentType.JSON, copy));
+    }
+
+    public void testToXContentWithAggregatedResponse() {
+        int total = randomIntBetween(MIN_SUCCESS_ITEM_COUNT, MAX_SUCCESS_ITEM_COUNT) + BulkResponseAggregator.MAX_FAILURES_IN_RESPONSE;
+        long failureCount = total - 1;
+        UploadGeoJSONResponse response = new UploadGeoJSONResponse(randomNonNegativeLong(), total, failureCount, List.of());
+        String responseBody = Strings.toString(XContentType.JSON, response);
+        assertTrue(responseBody.contains("\"errors\":true"));
+        assertTrue(responseBody.contains("\"total\":" + total));
+        assertTrue(responseBody.contains("\"success\":1"));
+        assertTrue(responseBody.contains("\"failure\":" + failureCount));
+    }
+
+    public void testStreamsWithUnchanged() throws IOException {
+        int total = randomIntBetween(MIN_SUCCESS_ITEM_COUNT, MAX_SUCCESS_ITEM_COUNT);
+        long unchanged = total - 1;
+        UploadGeoJSONResponse response = new UploadGeoJSONResponse(randomNonNegativeLong(), total, 0, unchanged, List.of());
+        BytesStreamOutput output = new BytesStreamOutput();
+        response.writeTo(output);
+        UploadGeoJSONResponse copy = new UploadGeoJSONResponse(output.bytes().streamInput());
+        assertEquals(unchanged, copy.getUnchanged());
+        assertEquals(total, copy.getSuccessCount());
+        assertTrue(Strings.toString(XContentType.JSON, copy).contains("\"unchanged\":" + unchanged));
+    }
 }
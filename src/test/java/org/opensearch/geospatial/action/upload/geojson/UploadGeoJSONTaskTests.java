@@ -0,0 +1,74 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.action.upload.geojson;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.geospatial.GeospatialTestHelper.randomUploadGeoJSONTask;
+
+import java.io.IOException;
+
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class UploadGeoJSONTaskTests extends OpenSearchTestCase {
+
+    private BulkItemResponse mockItem(boolean isFailed) {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(isFailed);
+        return item;
+    }
+
+    public void testGetStatus() {
+        long resumedFrom = randomLongBetween(0, 100);
+        UploadGeoJSONTask task = randomUploadGeoJSONTask(resumedFrom);
+        task.setFeatureCount(resumedFrom + 3);
+        task.getAggregator().add(mockItem(false));
+        task.getAggregator().add(mockItem(false));
+        task.getAggregator().add(mockItem(true));
+        task.getAggregator().addChunk(resumedFrom + 3);
+
+        UploadGeoJSONTask.Status status = task.getStatus();
+        assertEquals(resumedFrom + 3, status.getFeatures());
+        assertEquals(2, status.getIndexed());
+        assertEquals(1, status.getFailed());
+        assertEquals(resumedFrom, status.getResumedFrom());
+        assertEquals(resumedFrom, status.getAcknowledged());
+
+        task.getAggregator().completeChunk(0);
+        assertEquals(resumedFrom + 3, task.getStatus().getAcknowledged());
+    }
+
+    public void testStatusStreams() throws IOException {
+        UploadGeoJSONTask.Status status = new UploadGeoJSONTask.Status(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
+        BytesStreamOutput output = new BytesStreamOutput();
+        status.writeTo(output);
+        StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
+
+        assertEquals(status, new UploadGeoJSONTask.Status(in));
+        assertEquals(UploadGeoJSONTask.Status.NAME, status.getWriteableName());
+    }
+
+    public void testStatusToXContent() {
+        UploadGeoJSONTask.Status status = new UploadGeoJSONTask.Status(5, 3, 1, 0, 2);
+        String statusAsString = Strings.toString(XContentType.JSON, status);
+        assertEquals("{\"features\":5,\"indexed\":3,\"failed\":1,\"resumed_from\":0,\"acknowledged\":2}", statusAsString);
+    }
+
+    public void testShouldCancelChildrenOnCancellation() {
+        assertTrue(randomUploadGeoJSONTask(0).shouldCancelChildrenOnCancellation());
+    }
+}
@@ -8,29 +8,36 @@ package org.opensearch.geospatial.action.upload.geojson;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
+import static org.opensearch.geospatial.GeospatialTestHelper.randomUploadGeoJSONTask;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.mockito.ArgumentCaptor;
 import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BackoffPolicy;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequestBuilder;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.stats.upload.UploadMetric;
 import org.opensearch.geospatial.stats.upload.UploadStats;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
 
 public class UploaderTests extends OpenSearchTestCase {
 
@@ -46,20 +53,29 @@ public class UploaderTests extends OpenSearchTestCase {
     private UploadGeoJSONRequestContent content;
     private ActionListener mockListener;
     private IndexManager mockIndexManager;
-    private PipelineManager mockPipelineManager;
     private ContentBuilder mockContentBuilder;
     private BulkRequestBuilder mockBulkRequestBuilder;
+    private UploadGeoJSONTask task;
 
     @Override
     public void setUp() throws Exception {
         super.setUp();
         mockListener = mock(ActionListener.class);
         mockIndexManager = mock(IndexManager.class);
-        mockPipelineManager = mock(PipelineManager.class);
         mockContentBuilder = mock(ContentBuilder.class);
         mockBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        task = randomUploadGeoJSONTask(0);
 
-        uploader = new Uploader(mockIndexManager, mockPipelineManager, mockContentBuilder);
+        ThreadPool mockThreadPool = mock(ThreadPool.class);
+        when(mockThreadPool.generic()).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        BulkRequestExecutor bulkRequestExecutor = new BulkRequestExecutor(
+            mockContentBuilder,
+            mockThreadPool,
+            1,
+            BackoffPolicy.noBackoff()
+        );
+        uploader = new Uploader(mockIndexManager, mockContentBuilder, bulkRequestExecutor);
+        mockRefreshIndexAction(ACTION_SUCCESS);
         Map<String, Object> contentMap = GeospatialTestHelper.buildRequestContent(3);
         content = UploadGeoJSONRequestContent.create(contentMap);
     }
@@ -78,35 +94,16 @@ public class UploaderTests extends OpenSearchTestCase {
         }).when(mockIndexManager).create(anyString(), anyMap(), any(StepListener.class));
     }
 
-    private String mockCreatePipelineAction(boolean status) {
-        String pipelineID = randomLowerCaseString();
+    private void mockRefreshIndexAction(boolean status) {
         doAnswer(invocation -> {
-            Object[] args = invocation.getArguments();
-            assert args.length == 2;
-            StepListener<String> createPipelineListener = (StepListener<String>) args[1];
-            if (status) {             // call onResponse flow
-                createPipelineListener.onResponse(pipelineID);
-                return null;
-            }
-            createPipelineListener.onFailure(new IllegalStateException(randomLowerCaseString()));
-            return null;
-        }).when(mockPipelineManager).create(anyString(), any(StepListener.class));
-        return pipelineID;
-    }
-
-    private void mockDeletePipelineAction(boolean status, Supplier<Exception> supplier) {
-        doAnswer(invocation -> {
-            Object[] args = invocation.getArguments();
-            assert args.length == 3;
-            StepListener<Exception> createPipelineListener = (StepListener<Exception>) args[1];
-
+            StepListener<Void> refreshIndexListener = (StepListener<Void>) invocation.getArguments()[1];
             if (status) {             // call onResponse flow
-                createPipelineListener.onResponse(supplier.get());
+                refreshIndexListener.onResponse(null);
                 return null;
             }
-            createPipelineListener.onFailure(new IllegalStateException(randomLowerCaseString()));
+            refreshIndexListener.onFailure(new IllegalStateException(randomLowerCaseString()));
             return null;
-        }).when(mockPipelineManager).delete(anyString(), any(StepListener.class), any(Supplier.class));
+        }).when(mockIndexManager).refresh(anyString(), any(StepListener.class));
     }
 
     private void mockContentPreparation(boolean status) {
@@ -114,91 +111,72 @@ public class UploaderTests extends OpenSearchTestCase {
             Object[] args = invocation.getArguments();
             assert args.length == 2;
             if (status) {             // call onResponse flow
-                return Optional.of(mockBulkRequestBuilder);
+                return List.of(mockBulkRequestBuilder).iterator();
             }
-            return Optional.empty();
-        }).when(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), anyString());
+            return Collections.emptyIterator();
+        }).when(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
     }
 
     public void testCreateIndexIsNotCalled() {
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
         verify(mockIndexManager, never()).create(anyString(), any(Map.class), any(StepListener.class));
     }
 
     public void testCreateIndexSuccess() {
         mockCreateIndexAction(ACTION_SUCCESS);
-        uploader.upload(content, INDEX_DOES_NOT_EXIST, mockListener);
+        uploader.upload(content, INDEX_DOES_NOT_EXIST, task, mockListener);
         verify(mockIndexManager).create(any(String.class), anyMap(), any(StepListener.class));
         // if create index is success, verify next step is called.
-        verify(mockPipelineManager).create(anyString(), any(StepListener.class));
+        verify(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+    }
+
+    public void testCreateIndexWithFeatureHashFieldInIncrementalMode() {
+        mockCreateIndexAction(ACTION_SUCCESS);
+        when(mockContentBuilder.isIncremental()).thenReturn(true);
+        uploader.upload(content, INDEX_DOES_NOT_EXIST, task, mockListener);
+        ArgumentCaptor<Map<String, String>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(mockIndexManager).create(eq(content.getIndexName()), captor.capture(), any(StepListener.class));
+        assertEquals(
+            Map.of(content.getFieldName(), content.getFieldType(), ContentBuilder.FEATURE_HASH_FIELD, "keyword"),
+            captor.getValue()
+        );
     }
 
     public void testCreateIndexFailed() {
         mockCreateIndexAction(ACTION_FAILED);
-        uploader.upload(content, INDEX_DOES_NOT_EXIST, mockListener);
+        uploader.upload(content, INDEX_DOES_NOT_EXIST, task, mockListener);
         verify(mockIndexManager).create(any(String.class), anyMap(), any(StepListener.class));
-        // if create index is success, verify, next step is not called.
-        verify(mockPipelineManager, never()).create(anyString(), any(StepListener.class));
-    }
-
-    public void testCreatePipelineSuccess() {
-        mockCreatePipelineAction(ACTION_SUCCESS);
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
-        verify(mockPipelineManager).create(anyString(), any(StepListener.class));
-        // if create pipeline is success, verify next step is called.
-        verify(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), anyString());
-    }
-
-    public void testCreatePipelineFailed() {
-
-        mockCreatePipelineAction(ACTION_FAILED);
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
-        // if create index is success, verify, next step is not called.
-        verify(mockContentBuilder, never()).prepare(any(UploadGeoJSONRequestContent.class), anyString());
+        // if create index is failed, verify, next step is not called.
+        verify(mockContentBuilder, never()).prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+        verify(mockListener).onFailure(any());
     }
 
     public void testBulkActionWithoutFailures() {
-        mockCreatePipelineAction(ACTION_SUCCESS);
         mockContentPreparation(ACTION_SUCCESS);
         mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
-        mockDeletePipelineAction(ACTION_SUCCESS, () -> null);
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
         verify(mockBulkRequestBuilder).execute(any(ActionListener.class));
-        verify(mockPipelineManager).delete(anyString(), any(StepListener.class), any(Supplier.class));
         verify(mockListener).onResponse(any());
     }
 
     public void testUploadMetricAddedToStats() {
-        String pipelineID = mockCreatePipelineAction(ACTION_SUCCESS);
         mockContentPreparation(ACTION_SUCCESS);
         mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
-        mockDeletePipelineAction(ACTION_SUCCESS, () -> null);
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
-        final List<String> uploadMetric = UploadStats.getInstance()
-            .getMetrics()
-            .stream()
-            .filter(metric -> pipelineID.equals(metric.getMetricID()))
-            .map(UploadMetric::getMetricID)
-            .collect(Collectors.toList());
+        final Set<String> existingMetricIDs = getMetricIDs();
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
         // check metric is added
-        assertNotNull(uploadMetric);
-        assertArrayEquals(new String[] { pipelineID }, uploadMetric.toArray());
+        assertEquals(1, getNewMetrics(existingMetricIDs).size());
     }
 
     public void testUploadMetricValues() {
-        String pipelineID = mockCreatePipelineAction(ACTION_SUCCESS);
         mockContentPreparation(ACTION_SUCCESS);
         final BulkResponse mockResponse = mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_FAILURE);
-        mockDeletePipelineAction(ACTION_SUCCESS, () -> null);
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
-        Optional<UploadMetric> actualMetric = UploadStats.getInstance()
-            .getMetrics()
-            .stream()
-            .filter(metric -> pipelineID.equals(metric.getMetricID()))
-            .findAny();
+        final Set<String> existingMetricIDs = getMetricIDs();
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        final List<UploadMetric> newMetrics = getNewMetrics(existingMetricIDs);
         // check metric is added
-        assertTrue(actualMetric.isPresent());
-        final UploadMetric metric = actualMetric.get();
+        assertEquals(1, newMetrics.size());
+        final UploadMetric metric = newMetrics.get(0);
         // check metric upload count
         assertEquals(mockResponse.getItems().length, metric.getUploadCount());
         // check metric failed count
@@ -212,18 +190,132 @@ public class UploaderTests extends OpenSearchTestCase {
     }
 
     public void testBulkActionWithFailedIndexRequest() {
-
-        mockCreatePipelineAction(ACTION_SUCCESS);
         mockContentPreparation(ACTION_SUCCESS);
         mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_FAILURE);
-        mockDeletePipelineAction(ACTION_SUCCESS, () -> new IllegalStateException(randomLowerCaseString()));
-        uploader.upload(content, INDEX_ALREADY_EXIST, mockListener);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        verify(mockBulkRequestBuilder).execute(any(ActionListener.class));
+        verify(mockListener).onResponse(any());
+    }
+
+    public void testBulkActionWithMultipleBulkRequests() {
+        BulkRequestBuilder lastBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        doAnswer(invocation -> List.of(mockBulkRequestBuilder, lastBulkRequestBuilder).iterator()).when(mockContentBuilder)
+            .prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+        final BulkResponse firstResponse = mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
+        final BulkResponse lastResponse = mockBulkRequestExecute(lastBulkRequestBuilder, MAX_NUM_ACTION, BULK_REQUEST_FAILURE);
+        final Set<String> existingMetricIDs = getMetricIDs();
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
         verify(mockBulkRequestBuilder).execute(any(ActionListener.class));
-        verify(mockPipelineManager).delete(anyString(), any(StepListener.class), any(Supplier.class));
+        verify(lastBulkRequestBuilder).execute(any(ActionListener.class));
+        verify(mockListener).onResponse(any());
+        final List<UploadMetric> newMetrics = getNewMetrics(existingMetricIDs);
+        assertEquals(1, newMetrics.size());
+        // check metric covers items of all bulk requests
+        final UploadMetric metric = newMetrics.get(0);
+        assertEquals(firstResponse.getItems().length + lastResponse.getItems().length, metric.getUploadCount());
+        long expectedFailCount = Arrays.stream(lastResponse.getItems()).filter(BulkItemResponse::isFailed).count();
+        assertEquals(expectedFailCount, metric.getFailedCount());
+        assertEquals(firstResponse.getTook().millis() + lastResponse.getTook().millis(), metric.getDuration());
+    }
+
+    public void testInvalidFeaturesReportedAsFailures() {
+        doAnswer(invocation -> {
+            BulkResponseAggregator aggregator = (BulkResponseAggregator) invocation.getArguments()[1];
+            aggregator.add(mockFailedItem());
+            return List.of(mockBulkRequestBuilder).iterator();
+        }).when(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+        final BulkResponse bulkResponse = mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        ArgumentCaptor<UploadGeoJSONResponse> captor = ArgumentCaptor.forClass(UploadGeoJSONResponse.class);
+        verify(mockListener).onResponse(captor.capture());
+        assertEquals(bulkResponse.getItems().length + 1, captor.getValue().getTotal());
+        assertEquals(1, captor.getValue().getFailureCount());
+    }
+
+    public void testOnlyInvalidFeaturesReportedAsFailures() {
+        doAnswer(invocation -> {
+            BulkResponseAggregator aggregator = (BulkResponseAggregator) invocation.getArguments()[1];
+            aggregator.add(mockFailedItem());
+            return Collections.emptyIterator();
+        }).when(mockContentBuilder).prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        ArgumentCaptor<UploadGeoJSONResponse> captor = ArgumentCaptor.forClass(UploadGeoJSONResponse.class);
+        verify(mockListener).onResponse(captor.capture());
+        assertEquals(1, captor.getValue().getTotal());
+        assertEquals(1, captor.getValue().getFailureCount());
+    }
+
+    public void testIndexRefreshedOnceAfterBulkRequests() {
+        BulkRequestBuilder lastBulkRequestBuilder = mock(BulkRequestBuilder.class);
+        doAnswer(invocation -> List.of(mockBulkRequestBuilder, lastBulkRequestBuilder).iterator()).when(mockContentBuilder)
+            .prepare(any(UploadGeoJSONRequestContent.class), any(BulkResponseAggregator.class));
+        mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
+        mockBulkRequestExecute(lastBulkRequestBuilder, MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        verify(mockIndexManager).refresh(eq(content.getIndexName()), any(StepListener.class));
+        verify(mockListener).onResponse(any());
+    }
+
+    public void testRefreshFailureDoesNotFailUpload() {
+        mockContentPreparation(ACTION_SUCCESS);
+        mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_SUCCESS);
+        mockRefreshIndexAction(ACTION_FAILED);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
         verify(mockListener).onResponse(any());
     }
 
+    public void testBulkActionNotCalledWithoutFeatures() {
+        mockContentPreparation(ACTION_FAILED);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        verify(mockBulkRequestBuilder, never()).execute(any(ActionListener.class));
+        verify(mockListener).onFailure(any());
+    }
+
+    public void testResumedUploadWithoutFeaturesLeft() {
+        task = randomUploadGeoJSONTask(content.getFeatureCount());
+        mockContentPreparation(ACTION_FAILED);
+        final Set<String> existingMetricIDs = getMetricIDs();
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        verify(mockBulkRequestBuilder, never()).execute(any(ActionListener.class));
+        ArgumentCaptor<UploadGeoJSONResponse> captor = ArgumentCaptor.forClass(UploadGeoJSONResponse.class);
+        verify(mockListener).onResponse(captor.capture());
+        verify(mockListener, never()).onFailure(any());
+        assertEquals(0, captor.getValue().getTotal());
+        assertTrue(getNewMetrics(existingMetricIDs).isEmpty());
+    }
+
+    public void testUploadReportsProgressToTask() {
+        mockContentPreparation(ACTION_SUCCESS);
+        final BulkResponse bulkResponse = mockBulkRequestExecute(MAX_NUM_ACTION, BULK_REQUEST_FAILURE);
+        uploader.upload(content, INDEX_ALREADY_EXIST, task, mockListener);
+        long expectedFailCount = Arrays.stream(bulkResponse.getItems()).filter(BulkItemResponse::isFailed).count();
+        assertEquals(bulkResponse.getItems().length - expectedFailCount, task.getStatus().getIndexed());
+        assertEquals(expectedFailCount, task.getStatus().getFailed());
+    }
+
+    private BulkItemResponse mockFailedItem() {
+        BulkItemResponse item = mock(BulkItemResponse.class);
+        when(item.isFailed()).thenReturn(true);
+        return item;
+    }
+
+    private Set<String> getMetricIDs() {
+        return UploadStats.getInstance().getMetrics().stream().map(UploadMetric::getMetricID).collect(Collectors.toSet());
+    }
+
+    private List<UploadMetric> getNewMetrics(Set<String> existingMetricIDs) {
+        return UploadStats.getInstance()
+            .getMetrics()
+            .stream()
+            .filter(metric -> existingMetricIDs.contains(metric.getMetricID()) == false)
+            .collect(Collectors.toList());
+    }
+
     private BulkResponse mockBulkRequestExecute(int noOfActions, boolean hasFailures) {
+        return mockBulkRequestExecute(mockBulkRequestBuilder, noOfActions, hasFailures);
+    }
+
+    private BulkResponse mockBulkRequestExecute(BulkRequestBuilder bulkRequestBuilder, int noOfActions, boolean hasFailures) {
         final BulkResponse response = GeospatialTestHelper.generateRandomBulkResponse(noOfActions, hasFailures);
         doAnswer(invocation -> {
             Object[] args = invocation.getArguments();
@@ -231,7 +323,7 @@ public class UploaderTests extends OpenSearchTestCase {
             ActionListener<BulkResponse> bulkRequestAction = (ActionListener<BulkResponse>) args[0];
             bulkRequestAction.onResponse(response);
             return null;
-        }).when(mockBulkRequestBuilder).execute(any(ActionListener.class));
+        }).when(bulkRequestBuilder).execute(any(ActionListener.class));
         return response;
     }
 }
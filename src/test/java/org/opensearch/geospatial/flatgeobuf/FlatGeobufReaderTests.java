@@ -0,0 +1,206 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.geometry.Geometry;
+import org.opensearch.geometry.GeometryCollection;
+import org.opensearch.geometry.Line;
+import org.opensearch.geometry.LinearRing;
+import org.opensearch.geometry.MultiLine;
+import org.opensearch.geometry.MultiPoint;
+import org.opensearch.geometry.MultiPolygon;
+import org.opensearch.geometry.Point;
+import org.opensearch.geometry.Polygon;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class FlatGeobufReaderTests extends OpenSearchTestCase {
+
+    public void testReadPointsWithProperties() {
+        Point point = new Point(randomDouble(), randomDouble());
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addColumn("name", FlatGeobufColumnType.STRING)
+            .addColumn("count", FlatGeobufColumnType.INT)
+            .addColumn("score", FlatGeobufColumnType.DOUBLE)
+            .addColumn("valid", FlatGeobufColumnType.BOOL)
+            .addFeature(point, Map.of(0, "first", 1, 10, 2, 1.5, 3, true))
+            .addFeature(point, Map.of(1, 20))
+            .build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(content));
+        assertEquals(FlatGeobufGeometryType.POINT, reader.getHeader().getGeometryType());
+        assertEquals(2, reader.getHeader().getFeaturesCount());
+        assertEquals(4, reader.getHeader().getColumns().size());
+
+        FlatGeobufFeature first = reader.next();
+        assertEquals(point, first.getGeometry());
+        assertEquals(Map.of("name", "first", "count", 10, "score", 1.5, "valid", true), first.getProperties());
+        FlatGeobufFeature second = reader.next();
+        assertEquals(Map.of("count", 20), second.getProperties());
+        assertFalse(reader.hasNext());
+        expectThrows(NoSuchElementException.class, reader::next);
+    }
+
+    public void testReadPolygonWithHoleAfterSpatialIndex() {
+        Polygon polygon = new Polygon(
+            new LinearRing(new double[] { 0, 10, 10, 0, 0 }, new double[] { 0, 0, 10, 10, 0 }),
+            List.of(new LinearRing(new double[] { 2, 4, 4, 2, 2 }, new double[] { 2, 2, 4, 4, 2 }))
+        );
+        FlatGeobufTestBuilder builder = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POLYGON, false).withIndex();
+        int featureCount = randomIntBetween(1, 40);
+        for (int i = 0; i < featureCount; i++) {
+            builder.addFeature(polygon, Map.of());
+        }
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(builder.build()));
+        assertEquals(16, reader.getHeader().getIndexNodeSize());
+        assertTrue(reader.getHeader().getIndexSize() > 0);
+        for (int i = 0; i < featureCount; i++) {
+            assertEquals(polygon, reader.next().getGeometry());
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    public void testReadMixedGeometryTypes() {
+        Line line = new Line(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 });
+        Polygon polygon = new Polygon(new LinearRing(new double[] { 0, 1, 1, 0 }, new double[] { 0, 0, 1, 0 }));
+        List<Geometry> geometries = List.of(
+            line,
+            new MultiPoint(List.of(new Point(1, 2), new Point(3, 4))),
+            new MultiLine(List.of(line, new Line(new double[] { 7, 8 }, new double[] { 9, 10 }))),
+            new MultiPolygon(List.of(polygon, polygon)),
+            new GeometryCollection<>(List.of(new Point(1, 2), line, new MultiPolygon(List.of(polygon))))
+        );
+        FlatGeobufTestBuilder builder = new FlatGeobufTestBuilder(FlatGeobufGeometryType.UNKNOWN, false);
+        geometries.forEach(geometry -> builder.addFeature(geometry, Map.of()));
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(builder.build()));
+        for (Geometry geometry : geometries) {
+            assertEquals(geometry, reader.next().getGeometry());
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    public void testReadZCoordinate() {
+        Line line = new Line(new double[] { 1, 2 }, new double[] { 3, 4 }, new double[] { 5, 6 });
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.LINE_STRING, true).addFeature(line, Map.of()).build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(content));
+        assertTrue(reader.getHeader().hasZ());
+        assertEquals(line, reader.next().getGeometry());
+    }
+
+    public void testReadUnsignedLong() {
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addColumn("id", FlatGeobufColumnType.ULONG)
+            .addFeature(new Point(1, 2), Map.of(0, -1L))
+            .build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(content));
+        assertEquals(new BigInteger("18446744073709551615"), reader.next().getProperties().get("id"));
+    }
+
+    public void testSkip() {
+        FlatGeobufTestBuilder builder = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false);
+        for (int i = 0; i < 3; i++) {
+            builder.addFeature(new Point(i, i), Map.of());
+        }
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(builder.build()));
+        assertEquals(2, reader.skip(2));
+        assertEquals(new Point(2, 2), reader.next().getGeometry());
+        assertEquals(0, reader.skip(1));
+    }
+
+    public void testNextMovesPastInvalidFeature() {
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addRawFeature(new byte[] { 4, 0, 0, 0, 1, 2 })
+            .addFeature(null, Map.of())
+            .addFeature(new Point(1, 2), Map.of())
+            .build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(content));
+        expectThrows(IllegalArgumentException.class, reader::next);
+        IllegalArgumentException missingGeometry = expectThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(missingGeometry.getMessage().contains("geometry is missing"));
+        assertEquals(new Point(1, 2), reader.next().getGeometry());
+    }
+
+    public void testCreateWithInvalidContent() {
+        IllegalArgumentException notFlatGeobuf = expectThrows(
+            IllegalArgumentException.class,
+            () -> FlatGeobufReader.create(new BytesArray("{\"type\": \"Feature\"}"))
+        );
+        assertTrue(notFlatGeobuf.getMessage().contains("not FlatGeobuf"));
+
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).build();
+        IllegalArgumentException truncated = expectThrows(
+            IllegalArgumentException.class,
+            () -> FlatGeobufReader.create(new BytesArray(Arrays.copyOf(content, content.length - 1)))
+        );
+        assertTrue(truncated.getMessage().contains("out of bounds"));
+    }
+
+    public void testSkipWithTruncatedFeature() {
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addFeature(new Point(1, 2), Map.of()).build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(Arrays.copyOf(content, content.length - 1)));
+        IllegalArgumentException exception = expectThrows(IllegalArgumentException.class, () -> reader.skip(1));
+        assertTrue(exception.getMessage().contains("out of bounds"));
+    }
+
+    public void testCreateWithOversizedSpatialIndex() {
+        byte[] overflow = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).withIndex()
+            .withFeaturesCount(randomLongBetween(Long.MAX_VALUE / 40, Long.MAX_VALUE))
+            .build();
+        IllegalArgumentException tooLarge = expectThrows(
+            IllegalArgumentException.class,
+            () -> FlatGeobufReader.create(new BytesArray(overflow))
+        );
+        assertTrue(tooLarge.getMessage().contains("too large"));
+
+        byte[] unsigned = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).withIndex().withFeaturesCount(-1).build();
+        tooLarge = expectThrows(IllegalArgumentException.class, () -> FlatGeobufReader.create(new BytesArray(unsigned)));
+        assertTrue(tooLarge.getMessage().contains("too large"));
+
+        byte[] beyondContent = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).withIndex()
+            .withFeaturesCount(randomLongBetween(1, Integer.MAX_VALUE))
+            .build();
+        IllegalArgumentException outOfBounds = expectThrows(
+            IllegalArgumentException.class,
+            () -> FlatGeobufReader.create(new BytesArray(beyondContent))
+        );
+        assertTrue(outOfBounds.getMessage().contains("out of bounds"));
+    }
+
+    public void testCreateWithTruncatedHeaderSize() {
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).build();
+        ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN).putInt(8, -1);
+
+        IllegalArgumentException exception = expectThrows(
+            IllegalArgumentException.class,
+            () -> FlatGeobufReader.create(new BytesArray(content))
+        );
+        assertTrue(exception.getMessage().contains("header of FlatGeobuf is not valid"));
+    }
+
+    public void testNextWithTruncatedFeature() {
+        byte[] content = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).addFeature(new Point(1, 2), Map.of())
+            .addFeature(new Point(3, 4), Map.of())
+            .build();
+
+        FlatGeobufReader reader = FlatGeobufReader.create(new BytesArray(Arrays.copyOf(content, content.length - 1)));
+        assertEquals(new Point(1, 2), reader.next().getGeometry());
+        IllegalArgumentException exception = expectThrows(IllegalArgumentException.class, reader::next);
+        assertTrue(exception.getMessage().contains("out of bounds"));
+        assertFalse(reader.hasNext());
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.flatgeobuf;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.opensearch.geometry.Geometry;
+import org.opensearch.geometry.GeometryCollection;
+import org.opensearch.geometry.Line;
+import org.opensearch.geometry.MultiLine;
+import org.opensearch.geometry.MultiPoint;
+import org.opensearch.geometry.MultiPolygon;
+import org.opensearch.geometry.Point;
+import org.opensearch.geometry.Polygon;
+
+/**
+ * Builds FlatGeobuf content for tests
+ *
+ * FlatBuffers tables are written with every referred object after the table, which is a valid layout even though
+ * it is not the layout the FlatBuffers library produces.
+ */
+public final class FlatGeobufTestBuilder {
+    private static final byte[] MAGIC_BYTES = { 0x66, 0x67, 0x62, 0x03, 0x66, 0x67, 0x62, 0x00 };
+    private final int geometryType;
+    private final boolean hasZ;
+    private final List<Table> columns = new ArrayList<>();
+    private final List<Integer> columnTypes = new ArrayList<>();
+    private final List<byte[]> features = new ArrayList<>();
+    private boolean withIndex;
+    private boolean withFeaturesCount = true;
+    private Long featuresCount;
+
+    public FlatGeobufTestBuilder(final int geometryType, final boolean hasZ) {
+        this.geometryType = geometryType;
+        this.hasZ = hasZ;
+    }
+
+    public FlatGeobufTestBuilder addColumn(final String name, final int type) {
+        columns.add(new Table().ref(0, string(name)).scalar(1, new byte[] { (byte) type }));
+        columnTypes.add(type);
+        return this;
+    }
+
+    /**
+     * Write a placeholder of spatial index between the header and features, which has to be skipped by the reader
+     */
+    public FlatGeobufTestBuilder withIndex() {
+        this.withIndex = true;
+        return this;
+    }
+
+    public FlatGeobufTestBuilder withoutFeaturesCount() {
+        this.withFeaturesCount = false;
+        return this;
+    }
+
+    /**
+     * Write the given features count instead of the number of added features, without writing a spatial index for it
+     */
+    public FlatGeobufTestBuilder withFeaturesCount(final long featuresCount) {
+        this.featuresCount = featuresCount;
+        return this;
+    }
+
+    /**
+     * @param geometry geometry of the feature, or null to write a feature without geometry
+     * @param properties values of properties by column index
+     */
+    public FlatGeobufTestBuilder addFeature(final Geometry geometry, final Map<Integer, Object> properties) {
+        final Table feature = new Table();
+        if (geometry != null) {
+            feature.ref(0, encode(geometry));
+        }
+        if (properties.isEmpty() == false) {
+            final byte[] encoded = encodeProperties(properties);
+            feature.ref(1, vector(encoded, encoded.length));
+        }
+        features.add(new Writer().writeRoot(feature));
+        return this;
+    }
+
+    /**
+     * Add raw bytes as a feature, to write a feature which cannot be decoded
+     */
+    public FlatGeobufTestBuilder addRawFeature(final byte[] feature) {
+        features.add(feature);
+        return this;
+    }
+
+    public byte[] build() {
+        final Table header = new Table().scalar(2, new byte[] { (byte) geometryType }).scalar(3, new byte[] { (byte) (hasZ ? 1 : 0) });
+        if (columns.isEmpty() == false) {
+            header.ref(7, columns);
+        }
+        if (withFeaturesCount) {
+            header.scalar(8, littleEndian(Long.BYTES).putLong(featuresCount == null ? features.size() : featuresCount).array());
+        }
+        // absent index node size means the default node size of 16
+        if (withIndex == false) {
+            header.scalar(9, littleEndian(Short.BYTES).putShort((short) 0).array());
+        }
+        final byte[] headerBytes = new Writer().writeRoot(header);
+        final long indexSize = withIndex && withFeaturesCount && featuresCount == null && features.isEmpty() == false
+            ? indexSize(features.size(), 16)
+            : 0;
+        int size = MAGIC_BYTES.length + Integer.BYTES + headerBytes.length + (int) indexSize;
+        for (byte[] feature : features) {
+            size += Integer.BYTES + feature.length;
+        }
+        final ByteBuffer buffer = littleEndian(size);
+        buffer.put(MAGIC_BYTES).putInt(headerBytes.length).put(headerBytes);
+        buffer.position(buffer.position() + (int) indexSize);
+        for (byte[] feature : features) {
+            buffer.putInt(feature.length).put(feature);
+        }
+        return buffer.array();
+    }
+
+    private static long indexSize(final long featureCount, final int nodeSize) {
+        long count = featureCount;
+        long nodes = count;
+        do {
+            count = (count + nodeSize - 1) / nodeSize;
+            nodes += count;
+        } while (count != 1);
+        return nodes * (4 * Double.BYTES + Long.BYTES);
+    }
+
+    private byte[] encodeProperties(final Map<Integer, Object> properties) {
+        final List<byte[]> values = new ArrayList<>();
+        for (Map.Entry<Integer, Object> property : new TreeMap<>(properties).entrySet()) {
+            values.add(littleEndian(Short.BYTES).putShort(property.getKey().shortValue()).array());
+            final Object value = property.getValue();
+            switch (columnTypes.get(property.getKey())) {
+                case FlatGeobufColumnType.BOOL:
+                    values.add(new byte[] { (byte) ((Boolean) value ? 1 : 0) });
+                    break;
+                case FlatGeobufColumnType.INT:
+                    values.add(littleEndian(Integer.BYTES).putInt((Integer) value).array());
+                    break;
+                case FlatGeobufColumnType.LONG:
+                case FlatGeobufColumnType.ULONG:
+                    values.add(littleEndian(Long.BYTES).putLong((Long) value).array());
+                    break;
+                case FlatGeobufColumnType.DOUBLE:
+                    values.add(littleEndian(Double.BYTES).putDouble((Double) value).array());
+                    break;
+                case FlatGeobufColumnType.STRING:
+                    values.add(string((String) value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported column type");
+            }
+        }
+        return concat(values);
+    }
+
+    private Table encode(final Geometry geometry) {
+        final Table table = new Table();
+        final List<double[]> coordinates = new ArrayList<>();
+        final List<Integer> ends = new ArrayList<>();
+        final int type;
+        if (geometry instanceof Point) {
+            type = FlatGeobufGeometryType.POINT;
+            final Point point = (Point) geometry;
+            coordinates.add(new double[] { point.getX(), point.getY(), point.getZ() });
+        } else if (geometry instanceof Line) {
+            type = FlatGeobufGeometryType.LINE_STRING;
+            addLine(coordinates, (Line) geometry);
+        } else if (geometry instanceof Polygon) {
+            type = FlatGeobufGeometryType.POLYGON;
+            addPolygon(coordinates, ends, (Polygon) geometry);
+        } else if (geometry instanceof MultiPoint) {
+            type = FlatGeobufGeometryType.MULTI_POINT;
+            for (Point point : (MultiPoint) geometry) {
+                coordinates.add(new double[] { point.getX(), point.getY(), point.getZ() });
+            }
+        } else if (geometry instanceof MultiLine) {
+            type = FlatGeobufGeometryType.MULTI_LINE_STRING;
+            for (Line line : (MultiLine) geometry) {
+                addLine(coordinates, line);
+                ends.add(coordinates.size());
+            }
+        } else if (geometry instanceof MultiPolygon) {
+            type = FlatGeobufGeometryType.MULTI_POLYGON;
+            final List<Table> parts = new ArrayList<>();
+            for (Polygon polygon : (MultiPolygon) geometry) {
+                parts.add(encode(polygon));
+            }
+            table.ref(7, parts);
+        } else if (geometry instanceof GeometryCollection) {
+            type = FlatGeobufGeometryType.GEOMETRY_COLLECTION;
+            final List<Table> parts = new ArrayList<>();
+            for (Geometry part : (GeometryCollection<?>) geometry) {
+                parts.add(encode(part));
+            }
+            table.ref(7, parts);
+        } else {
+            throw new IllegalArgumentException("unsupported geometry");
+        }
+        if (ends.size() > 1) {
+            final ByteBuffer buffer = littleEndian(ends.size() * Integer.BYTES);
+            ends.forEach(buffer::putInt);
+            table.ref(0, vector(buffer.array(), ends.size()));
+        }
+        if (coordinates.isEmpty() == false) {
+            final ByteBuffer xy = littleEndian(coordinates.size() * 2 * Double.BYTES);
+            final ByteBuffer z = littleEndian(coordinates.size() * Double.BYTES);
+            for (double[] coordinate : coordinates) {
+                xy.putDouble(coordinate[0]).putDouble(coordinate[1]);
+                z.putDouble(coordinate[2]);
+            }
+            table.ref(1, vector(xy.array(), coordinates.size() * 2));
+            if (hasZ) {
+                table.ref(2, vector(z.array(), coordinates.size()));
+            }
+        }
+        return table.scalar(6, new byte[] { (byte) type });
+    }
+
+    private static void addLine(final List<double[]> coordinates, final Line line) {
+        for (int i = 0; i < line.length(); i++) {
+            coordinates.add(new double[] { line.getX(i), line.getY(i), line.getZ(i) });
+        }
+    }
+
+    private static void addPolygon(final List<double[]> coordinates, final List<Integer> ends, final Polygon polygon) {
+        addLine(coordinates, polygon.getPolygon());
+        ends.add(coordinates.size());
+        for (int i = 0; i < polygon.getNumberOfHoles(); i++) {
+            addLine(coordinates, polygon.getHole(i));
+            ends.add(coordinates.size());
+        }
+    }
+
+    private static byte[] string(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return concat(List.of(littleEndian(Integer.BYTES).putInt(bytes.length).array(), bytes));
+    }
+
+    private static byte[] vector(final byte[] elements, final int length) {
+        return concat(List.of(littleEndian(Integer.BYTES).putInt(length).array(), elements));
+    }
+
+    private static byte[] concat(final List<byte[]> values) {
+        final ByteBuffer buffer = ByteBuffer.allocate(values.stream().mapToInt(value -> value.length).sum());
+        values.forEach(buffer::put);
+        return buffer.array();
+    }
+
+    private static ByteBuffer littleEndian(final int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * FlatBuffers table with fields by index, whose value is either inline bytes, or bytes, a table or a list of tables it refers
+     */
+    private static final class Table {
+        private final TreeMap<Integer, Object> fields = new TreeMap<>();
+        private final Map<Integer, Boolean> references = new TreeMap<>();
+
+        private Table scalar(final int field, final byte[] value) {
+            fields.put(field, value);
+            references.put(field, false);
+            return this;
+        }
+
+        private Table ref(final int field, final Object value) {
+            fields.put(field, value);
+            references.put(field, true);
+            return this;
+        }
+    }
+
+    private static final class Writer {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        private byte[] writeRoot(final Table table) {
+            final int root = reserve(Integer.BYTES);
+            putInt(root, write(table) - root);
+            return Arrays.copyOf(bytes, size);
+        }
+
+        @SuppressWarnings("unchecked")
+        private int write(final Table table) {
+            final int fieldCount = table.fields.isEmpty() ? 0 : table.fields.lastKey() + 1;
+            final int vtable = reserve(2 * Short.BYTES + fieldCount * Short.BYTES);
+            final int start = reserve(Integer.BYTES);
+            putShort(vtable, 2 * Short.BYTES + fieldCount * Short.BYTES);
+            putInt(start, start - vtable);
+            final Map<Integer, Integer> referencePositions = new TreeMap<>();
+            for (Map.Entry<Integer, Object> field : table.fields.entrySet()) {
+                final boolean reference = table.references.get(field.getKey());
+                final int position = reference ? reserve(Integer.BYTES) : append((byte[]) field.getValue());
+                putShort(vtable + 2 * Short.BYTES + field.getKey() * Short.BYTES, position - start);
+                if (reference) {
+                    referencePositions.put(field.getKey(), position);
+                }
+            }
+            putShort(vtable + Short.BYTES, size - start);
+            for (Map.Entry<Integer, Integer> reference : referencePositions.entrySet()) {
+                final Object value = table.fields.get(reference.getKey());
+                final int position;
+                if (value instanceof Table) {
+                    position = write((Table) value);
+                } else if (value instanceof List) {
+                    position = writeTables((List<Table>) value);
+                } else {
+                    position = append((byte[]) value);
+                }
+                putInt(reference.getValue(), position - reference.getValue());
+            }
+            return start;
+        }
+
+        private int writeTables(final List<Table> tables) {
+            final int start = reserve(Integer.BYTES + tables.size() * Integer.BYTES);
+            putInt(start, tables.size());
+            for (int i = 0; i < tables.size(); i++) {
+                final int element = start + Integer.BYTES + i * Integer.BYTES;
+                putInt(element, write(tables.get(i)) - element);
+            }
+            return start;
+        }
+
+        private int append(final byte[] value) {
+            final int position = reserve(value.length);
+            System.arraycopy(value, 0, bytes, position, value.length);
+            return position;
+        }
+
+        private int reserve(final int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+            final int position = size;
+            size += length;
+            return position;
+        }
+
+        private void putInt(final int position, final int value) {
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+        }
+
+        private void putShort(final int position, final int value) {
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putShort(position, (short) value);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.text.ParseException;
 
 import org.apache.lucene.index.IndexableField;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.geometry.Circle;
 import org.opensearch.geometry.Geometry;
 import org.opensearch.geometry.GeometryCollection;
@@ -36,6 +37,7 @@ import org.opensearch.geometry.Point;
 import org.opensearch.geometry.Polygon;
 import org.opensearch.geometry.Rectangle;
 import org.opensearch.index.mapper.ParseContext;
+import org.opensearch.test.IndexSettingsModule;
 import org.opensearch.test.OpenSearchTestCase;
 
 public class XYShapeIndexerTests extends OpenSearchTestCase {
@@ -55,6 +57,7 @@ public class XYShapeIndexerTests extends OpenSearchTestCase {
         mockSupportVisitor = mock(GeometryVisitor.class);
         indexer = new XYShapeIndexer(mockSupportVisitor, mockIndexableFieldVisitor);
         parseContext = mock(ParseContext.class);
+        when(parseContext.indexSettings()).thenReturn(IndexSettingsModule.newIndexSettings("test", Settings.EMPTY));
     }
 
     public void testIndexingNullGeometry() {
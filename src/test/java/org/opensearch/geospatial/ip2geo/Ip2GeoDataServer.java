@@ -10,6 +10,9 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.opensearch.common.SuppressForbidden;
 
@@ -22,6 +25,8 @@ import lombok.extern.log4j.Log4j2;
 
 /**
  * Simple http server to serve static files under test/java/resources/ip2geo/server for integration testing
+ *
+ * The server supports range requests as most of GeoIP database providers do.
  */
 @Log4j2
 @SuppressForbidden(reason = "used only for testing")
@@ -30,6 +35,7 @@ public class Ip2GeoDataServer {
     private static final String LOCAL_CLUSTER_ENDPOINT = "127.0.0.1";
     private static final String ROOT = "ip2geo/server";
     private static final int PORT = 8001;
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
     private static final String EXTERNAL_ENDPOINT_PREFIX =
         "https://raw.githubusercontent.com/opensearch-project/geospatial/main/src/test/resources/ip2geo/server";
 
@@ -114,14 +120,40 @@ public class Ip2GeoDataServer {
                 byte[] data = Files.readAllBytes(
                     Paths.get(this.getClass().getClassLoader().getResource(ROOT + exchange.getRequestURI().getPath()).toURI())
                 );
-                exchange.sendResponseHeaders(200, data.length);
-                OutputStream outputStream = exchange.getResponseBody();
-                outputStream.write(data);
-                outputStream.flush();
-                outputStream.close();
+                sendResponse(exchange, data);
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         }
     }
+
+    /**
+     * Send data as a response supporting a single range of "Range" header
+     *
+     * @param exchange http exchange
+     * @param data data to send
+     */
+    public static void sendResponse(final HttpExchange exchange, final byte[] data) throws IOException {
+        int start = 0;
+        int end = data.length - 1;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range == null ? null : RANGE_PATTERN.matcher(range);
+        if (matcher != null && matcher.matches()) {
+            if (matcher.group(1).isEmpty()) {
+                start = Math.max(0, data.length - Integer.parseInt(matcher.group(2)));
+            } else {
+                start = Integer.parseInt(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? end : Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+            exchange.getResponseHeaders()
+                .add("Content-Range", String.format(Locale.ROOT, "bytes %d-%d/%d", start, end, data.length));
+            exchange.sendResponseHeaders(206, end - start + 1);
+        } else {
+            exchange.sendResponseHeaders(200, data.length);
+        }
+        OutputStream outputStream = exchange.getResponseBody();
+        outputStream.write(data, start, end - start + 1);
+        outputStream.flush();
+        outputStream.close();
+    }
 }
@@ -5,7 +5,9 @@
 
 package org.opensearch.geospatial.ip2geo;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
@@ -40,6 +43,7 @@ import org.opensearch.common.SuppressForbidden;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.geospatial.GeospatialTestHelper;
@@ -54,6 +58,7 @@ import org.opensearch.geospatial.ip2geo.dao.Ip2GeoCachedDao;
 import org.opensearch.geospatial.ip2geo.dao.Ip2GeoProcessorDao;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceTask;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateService;
 import org.opensearch.geospatial.ip2geo.processor.Ip2GeoProcessor;
 import org.opensearch.ingest.IngestMetadata;
@@ -103,6 +108,7 @@ public abstract class Ip2GeoTestCase extends RestActionTestCase {
     protected RoutingTable routingTable;
     @Mock
     protected URLDenyListChecker urlDenyListChecker;
+    protected DatasourceUpdateScheduler datasourceUpdateScheduler;
     protected IngestMetadata ingestMetadata;
     protected NoOpNodeClient client;
     protected VerifyingClient verifyingClient;
@@ -129,8 +135,16 @@ public abstract class Ip2GeoTestCase extends RestActionTestCase {
         when(clusterState.getMetadata()).thenReturn(metadata);
         when(clusterState.routingTable()).thenReturn(routingTable);
         when(ip2GeoExecutor.forDatasourceUpdate()).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(ip2GeoExecutor.forkToDatasourceUpdate(any())).thenAnswer(i -> i.getArgument(0));
+        when(ip2GeoExecutor.forBlockingCall()).thenReturn(Optional.empty());
+        doAnswer(i -> {
+            ((Runnable) i.getArgument(0)).run();
+            return null;
+        }).when(ip2GeoExecutor).schedule(any(Runnable.class), any());
         when(ingestService.getClusterService()).thenReturn(clusterService);
         when(threadPool.generic()).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        datasourceUpdateScheduler = new DatasourceUpdateScheduler(clusterSettings, ip2GeoExecutor);
     }
 
     @After
@@ -274,7 +288,8 @@ public abstract class Ip2GeoTestCase extends RestActionTestCase {
             clusterSettings,
             datasourceDao,
             geoIpDataDao,
-            ip2GeoCachedDao
+            ip2GeoCachedDao,
+            ip2GeoExecutor
         );
         return ip2GeoProcessor;
     }
@@ -7,7 +7,9 @@ package org.opensearch.geospatial.ip2geo.action;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -17,6 +19,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -29,6 +32,7 @@ import org.opensearch.ResourceNotFoundException;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.exceptions.ConcurrentModificationException;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
@@ -48,7 +52,7 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
             ip2GeoLockService,
             ingestService,
             datasourceDao,
-            geoIpDataDao,
+            datasourceUpdateService,
             ip2GeoProcessorDao,
             threadPool
         );
@@ -123,8 +127,10 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
         // Verify
         assertEquals(DatasourceState.DELETING, datasource.getState());
         verify(datasourceDao).updateDatasource(datasource);
-        InOrder inOrder = Mockito.inOrder(geoIpDataDao, datasourceDao);
-        inOrder.verify(geoIpDataDao).deleteIp2GeoDataIndex(datasource.getIndices());
+        InOrder inOrder = Mockito.inOrder(datasourceUpdateService, datasourceDao);
+        for (String index : datasource.getIndices()) {
+            inOrder.verify(datasourceUpdateService).deleteIndexIfUnreferenced(datasource, index);
+        }
         inOrder.verify(datasourceDao).deleteDatasource(datasource);
     }
 
@@ -141,7 +147,7 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
         // Verify
         assertEquals(DatasourceState.AVAILABLE, datasource.getState());
         verify(datasourceDao, never()).updateDatasource(datasource);
-        verify(geoIpDataDao, never()).deleteIp2GeoDataIndex(datasource.getIndices());
+        verify(datasourceUpdateService, never()).deleteIndexIfUnreferenced(any(Datasource.class), anyString());
         verify(datasourceDao, never()).deleteDatasource(datasource);
     }
 
@@ -160,7 +166,7 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
 
         // Verify
         verify(datasourceDao, times(2)).updateDatasource(datasource);
-        verify(geoIpDataDao, never()).deleteIp2GeoDataIndex(datasource.getIndices());
+        verify(datasourceUpdateService, never()).deleteIndexIfUnreferenced(any(Datasource.class), anyString());
         verify(datasourceDao, never()).deleteDatasource(datasource);
     }
 
@@ -169,7 +175,7 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
         Datasource datasource = randomDatasource();
         datasource.setState(DatasourceState.AVAILABLE);
         when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
-        doThrow(new RuntimeException()).when(geoIpDataDao).deleteIp2GeoDataIndex(datasource.getIndices());
+        doThrow(new RuntimeException()).when(datasourceUpdateService).deleteIndexIfUnreferenced(any(Datasource.class), anyString());
 
         // Run
         expectThrows(RuntimeException.class, () -> action.deleteDatasource(datasource.getName()));
@@ -178,4 +184,27 @@ public class DeleteDatasourceTransportActionTests extends Ip2GeoTestCase {
         verify(datasourceDao, times(2)).updateDatasource(datasource);
         assertEquals(DatasourceState.AVAILABLE, datasource.getState());
     }
+
+    @SneakyThrows
+    public void testDeleteDatasource_whenSecondIndexFails_thenRevertStateWithoutReleasedIndex() {
+        Datasource datasource = randomDatasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        String releasedIndex = GeospatialTestHelper.randomLowerCaseString();
+        String lockedIndex = GeospatialTestHelper.randomLowerCaseString();
+        datasource.setIndices(new ArrayList<>(Arrays.asList(releasedIndex, lockedIndex)));
+        when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
+        doAnswer(invocation -> datasource.getIndices().remove(releasedIndex)).when(datasourceUpdateService)
+            .deleteIndexIfUnreferenced(datasource, releasedIndex);
+        doThrow(new ConcurrentModificationException("index is locked")).when(datasourceUpdateService)
+            .deleteIndexIfUnreferenced(datasource, lockedIndex);
+
+        // Run
+        expectThrows(ConcurrentModificationException.class, () -> action.deleteDatasource(datasource.getName()));
+
+        // Verify
+        assertEquals(DatasourceState.AVAILABLE, datasource.getState());
+        assertEquals(Arrays.asList(lockedIndex), datasource.getIndices());
+        verify(datasourceDao, times(2)).updateDatasource(datasource);
+        verify(datasourceDao, never()).deleteDatasource(datasource);
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.action;
+
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateTaskExecutor;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
+import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
+
+public class PublishDatasourceRoutingTransportActionTests extends Ip2GeoTestCase {
+    private final PublishDatasourceRoutingTransportAction.RoutingTaskExecutor executor =
+        new PublishDatasourceRoutingTransportAction.RoutingTaskExecutor();
+
+    public void testExecute_whenMultipleTasks_thenApplyAllInOneState() throws Exception {
+        String jobIndexUuid = GeospatialTestHelper.randomLowerCaseString();
+        ClusterState currentState = clusterStateWithJobIndex(jobIndexUuid);
+        Datasource datasource1 = randomDatasource();
+        Datasource datasource2 = randomDatasource();
+        List<PublishDatasourceRoutingRequest> tasks = List.of(
+            PublishDatasourceRoutingRequest.update(jobIndexUuid, new DatasourceRouting(datasource1, 1)),
+            PublishDatasourceRoutingRequest.update(jobIndexUuid, new DatasourceRouting(datasource2, 2)),
+            PublishDatasourceRoutingRequest.remove(jobIndexUuid, datasource1.getName(), 3)
+        );
+
+        // Run
+        ClusterStateTaskExecutor.ClusterTasksResult<PublishDatasourceRoutingRequest> result = executor.execute(currentState, tasks);
+
+        // Verify
+        assertTrue(tasks.stream().allMatch(task -> result.executionResults.get(task).isSuccess()));
+        assertEquals(
+            Map.of(datasource2.getName(), new DatasourceRouting(datasource2, 2)),
+            DatasourceRoutingMetadata.routings(result.resultingState.metadata())
+        );
+    }
+
+    public void testExecute_whenStaleJobIndex_thenIgnore() throws Exception {
+        ClusterState currentState = clusterStateWithJobIndex(GeospatialTestHelper.randomLowerCaseString());
+        List<PublishDatasourceRoutingRequest> tasks = List.of(
+            PublishDatasourceRoutingRequest.update(
+                GeospatialTestHelper.randomLowerCaseString(),
+                new DatasourceRouting(randomDatasource(), randomNonNegativeLong())
+            )
+        );
+
+        // Run
+        ClusterStateTaskExecutor.ClusterTasksResult<PublishDatasourceRoutingRequest> result = executor.execute(currentState, tasks);
+
+        // Verify
+        assertSame(currentState, result.resultingState);
+    }
+
+    public void testExecute_whenNoJobIndex_thenIgnore() throws Exception {
+        ClusterState currentState = ClusterState.builder(ClusterName.DEFAULT).build();
+        List<PublishDatasourceRoutingRequest> tasks = List.of(
+            PublishDatasourceRoutingRequest.update(
+                GeospatialTestHelper.randomLowerCaseString(),
+                new DatasourceRouting(randomDatasource(), randomNonNegativeLong())
+            )
+        );
+
+        // Run
+        ClusterStateTaskExecutor.ClusterTasksResult<PublishDatasourceRoutingRequest> result = executor.execute(currentState, tasks);
+
+        // Verify
+        assertSame(currentState, result.resultingState);
+    }
+
+    private ClusterState clusterStateWithJobIndex(final String jobIndexUuid) {
+        IndexMetadata jobIndexMetadata = IndexMetadata.builder(DatasourceExtension.JOB_INDEX_NAME)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, jobIndexUuid)
+            )
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        return ClusterState.builder(ClusterName.DEFAULT).metadata(Metadata.builder().put(jobIndexMetadata, false)).build();
+    }
+}
@@ -41,7 +41,7 @@ public class PutDatasourceTransportActionTests extends Ip2GeoTestCase {
         action = new PutDatasourceTransportAction(
             transportService,
             actionFilters,
-            threadPool,
+            datasourceUpdateScheduler,
             datasourceDao,
             datasourceUpdateService,
             ip2GeoLockService
@@ -156,28 +156,56 @@ public class PutDatasourceTransportActionTests extends Ip2GeoTestCase {
         datasource.setState(randomStateExcept(DatasourceState.CREATING));
         datasource.getUpdateStats().setLastFailedAt(null);
 
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        action.createDatasource(datasource, mock(Runnable.class));
+        action.createDatasource(datasource, mock(Runnable.class), listener);
 
         // Verify
         assertEquals(DatasourceState.CREATE_FAILED, datasource.getState());
         assertNotNull(datasource.getUpdateStats().getLastFailedAt());
         verify(datasourceDao).updateDatasource(datasource);
-        verify(datasourceUpdateService, never()).updateOrCreateGeoIpData(any(Datasource.class), any(Runnable.class));
+        verify(datasourceUpdateService, never()).updateOrCreateGeoIpData(
+            any(Datasource.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
+        verify(listener).onResponse(null);
     }
 
     @SneakyThrows
     public void testCreateDatasource_whenExceptionHappens_thenUpdateStateAsFailed() {
         Datasource datasource = new Datasource();
-        doThrow(new RuntimeException()).when(datasourceUpdateService).updateOrCreateGeoIpData(any(Datasource.class), any(Runnable.class));
+        doThrow(new RuntimeException()).when(datasourceUpdateService)
+            .updateOrCreateGeoIpData(any(Datasource.class), any(Runnable.class), any(ActionListener.class));
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        action.createDatasource(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        assertEquals(DatasourceState.CREATE_FAILED, datasource.getState());
+        assertNotNull(datasource.getUpdateStats().getLastFailedAt());
+        verify(datasourceDao).updateDatasource(datasource);
+        verify(listener).onResponse(null);
+    }
+
+    @SneakyThrows
+    public void testCreateDatasource_whenUpdateFailedAsynchronously_thenUpdateStateAsFailed() {
+        Datasource datasource = new Datasource();
+        ActionListener<Void> listener = mock(ActionListener.class);
 
         // Run
-        action.createDatasource(datasource, mock(Runnable.class));
+        action.createDatasource(datasource, mock(Runnable.class), listener);
+        ArgumentCaptor<ActionListener<Void>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), any(Runnable.class), captor.capture());
+        captor.getValue().onFailure(new RuntimeException());
 
         // Verify
         assertEquals(DatasourceState.CREATE_FAILED, datasource.getState());
         assertNotNull(datasource.getUpdateStats().getLastFailedAt());
         verify(datasourceDao).updateDatasource(datasource);
+        verify(listener).onResponse(null);
     }
 
     @SneakyThrows
@@ -186,10 +214,10 @@ public class PutDatasourceTransportActionTests extends Ip2GeoTestCase {
 
         Runnable renewLock = mock(Runnable.class);
         // Run
-        action.createDatasource(datasource, renewLock);
+        action.createDatasource(datasource, renewLock, mock(ActionListener.class));
 
         // Verify
-        verify(datasourceUpdateService).updateOrCreateGeoIpData(datasource, renewLock);
+        verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), eq(renewLock), any(ActionListener.class));
         assertEquals(DatasourceState.CREATING, datasource.getState());
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class AdjacentIpRangeMergerTests extends OpenSearchTestCase {
+    public void testNext_whenAdjacentRangesHaveSameData_thenMerge() {
+        AdjacentIpRangeMerger merger = new AdjacentIpRangeMerger(
+            Arrays.asList(
+                new String[] { "1.0.0.0/24", "USA", "Seattle" },
+                new String[] { "1.0.1.0/24", "USA", "Seattle" },
+                new String[] { "1.0.2.0/23", "USA", "Seattle" },
+                new String[] { "1.0.4.0/24", "USA", "Portland" }
+            ).iterator()
+        );
+
+        // Run
+        List<String[]> records = toList(merger);
+
+        // Verify
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[] { "1.0.0.0-1.0.3.255", "USA", "Seattle" }, records.get(0));
+        assertArrayEquals(new String[] { "1.0.4.0/24", "USA", "Portland" }, records.get(1));
+        assertEquals(4, merger.getInputCount());
+        assertEquals(2, merger.getOutputCount());
+    }
+
+    public void testNext_whenRangesAreNotAdjacent_thenDoNotMerge() {
+        AdjacentIpRangeMerger merger = new AdjacentIpRangeMerger(
+            Arrays.asList(
+                new String[] { "1.0.0.0/24", "USA" },
+                new String[] { "1.0.2.0/24", "USA" },
+                new String[] { "2001:db8::/33", "USA" },
+                new String[] { "2001:db8:8000::/33", "USA" }
+            ).iterator()
+        );
+
+        // Run
+        List<String[]> records = toList(merger);
+
+        // Verify
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[] { "1.0.0.0/24", "USA" }, records.get(0));
+        assertArrayEquals(new String[] { "1.0.2.0/24", "USA" }, records.get(1));
+        assertArrayEquals(new String[] { "2001:db8::-2001:db8:ffff:ffff:ffff:ffff:ffff:ffff", "USA" }, records.get(2));
+    }
+
+    public void testNext_whenInvalidRange_thenReturnAsIs() {
+        AdjacentIpRangeMerger merger = new AdjacentIpRangeMerger(
+            Arrays.asList(new String[] { "invalid", "USA" }, new String[] { "1.0.0.0/24", "USA" }).iterator()
+        );
+
+        // Run
+        List<String[]> records = toList(merger);
+
+        // Verify
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[] { "invalid", "USA" }, records.get(0));
+    }
+
+    public void testNext_whenNoMoreRecord_thenThrowException() {
+        AdjacentIpRangeMerger merger = new AdjacentIpRangeMerger(new ArrayList<String[]>().iterator());
+
+        // Verify
+        assertFalse(merger.hasNext());
+        expectThrows(NoSuchElementException.class, merger::next);
+    }
+
+    private List<String[]> toList(final AdjacentIpRangeMerger merger) {
+        List<String[]> records = new ArrayList<>();
+        while (merger.hasNext()) {
+            records.add(merger.next());
+        }
+        return records;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class BulkSizeControllerTests extends OpenSearchTestCase {
+    public void testShouldFlush_whenDocLimitOrTargetBytesReached_thenReturnTrue() {
+        BulkSizeController controller = new BulkSizeController(1000, 1024, 1000);
+        assertFalse(controller.shouldFlush(999, 1023));
+        assertTrue(controller.shouldFlush(1000, 1));
+        assertTrue(controller.shouldFlush(1, 1024));
+    }
+
+    public void testOnSuccess_whenSlow_thenReduceDocLimit() {
+        BulkSizeController controller = new BulkSizeController(1000, Long.MAX_VALUE, 1000);
+
+        // Run
+        controller.onSuccess(1000, 1001);
+
+        // Verify
+        assertEquals(500, controller.getDocLimit());
+    }
+
+    public void testOnSuccess_whenFast_thenGrowDocLimitUpToMax() {
+        BulkSizeController controller = new BulkSizeController(1000, Long.MAX_VALUE, 1000);
+        controller.onSuccess(1000, 2000);
+        assertEquals(500, controller.getDocLimit());
+
+        // Run
+        for (int i = 0; i < 10; i++) {
+            controller.onSuccess(controller.getDocLimit(), 10);
+        }
+
+        // Verify
+        assertEquals(1000, controller.getDocLimit());
+    }
+
+    public void testOnSuccess_whenFlushedByBytes_thenDoNotGrowDocLimit() {
+        BulkSizeController controller = new BulkSizeController(1000, Long.MAX_VALUE, 1000);
+        controller.onSuccess(1000, 2000);
+
+        // Run
+        controller.onSuccess(10, 10);
+
+        // Verify
+        assertEquals(500, controller.getDocLimit());
+    }
+
+    public void testOnRejection_whenCalled_thenReduceDocLimitAndBackoffExponentially() {
+        BulkSizeController controller = new BulkSizeController(10000, Long.MAX_VALUE, 1000);
+
+        // Run
+        TimeValue firstBackoff = controller.onRejection();
+        TimeValue secondBackoff = controller.onRejection();
+
+        // Verify
+        assertEquals(2500, controller.getDocLimit());
+        assertEquals(2, controller.getRejectionCount());
+        assertEquals(firstBackoff.millis() * 2, secondBackoff.millis());
+    }
+
+    public void testOnRejection_whenDocLimitIsSmall_thenKeepMinimum() {
+        BulkSizeController controller = new BulkSizeController(10, Long.MAX_VALUE, 1000);
+
+        // Run
+        controller.onRejection();
+
+        // Verify
+        assertEquals(10, controller.getDocLimit());
+    }
+
+    public void testOnRejection_whenRejectedTooManyTimes_thenThrowException() {
+        BulkSizeController controller = new BulkSizeController(10000, Long.MAX_VALUE, 1000);
+        for (int i = 0; i < 10; i++) {
+            controller.onRejection();
+        }
+
+        // Run
+        expectThrows(OpenSearchException.class, () -> controller.onRejection());
+    }
+
+    public void testOnSuccess_whenRejectedBefore_thenResetBackoff() {
+        BulkSizeController controller = new BulkSizeController(10000, Long.MAX_VALUE, 1000);
+        TimeValue firstBackoff = controller.onRejection();
+        controller.onRejection();
+
+        // Run
+        controller.onSuccess(10, 10);
+
+        // Verify
+        assertEquals(firstBackoff, controller.onRejection());
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
+import org.opensearch.index.seqno.SequenceNumbers;
+
+import lombok.SneakyThrows;
+
+public class DatasourceRoutingMetadataTests extends Ip2GeoTestCase {
+    private static final String JOB_INDEX_UUID = "job_index_uuid";
+
+    public void testApply_whenNewerSeqNo_thenUpdate() {
+        DatasourceRouting routing = randomRouting(10);
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(routing.getName(), routing));
+        DatasourceRouting newer = randomRouting(routing.getName(), 11);
+
+        // Run
+        DatasourceRoutingMetadata updated = metadata.apply(JOB_INDEX_UUID, List.of(newer), Collections.emptyMap());
+
+        // Verify
+        assertEquals(newer, updated.getRoutings().get(routing.getName()));
+    }
+
+    public void testApply_whenOlderSeqNo_thenIgnore() {
+        DatasourceRouting routing = randomRouting(10);
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(routing.getName(), routing));
+
+        // Run
+        DatasourceRoutingMetadata updated = metadata.apply(
+            JOB_INDEX_UUID,
+            List.of(randomRouting(routing.getName(), 9)),
+            Map.of(routing.getName(), 10L)
+        );
+
+        // Verify
+        assertSame(metadata, updated);
+    }
+
+    public void testApply_whenUnassignedSeqNo_thenAddOnlyIfAbsent() {
+        DatasourceRouting routing = randomRouting(0);
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(routing.getName(), routing));
+        DatasourceRouting absent = randomRouting(SequenceNumbers.UNASSIGNED_SEQ_NO);
+
+        // Run
+        DatasourceRoutingMetadata updated = metadata.apply(
+            JOB_INDEX_UUID,
+            List.of(randomRouting(routing.getName(), SequenceNumbers.UNASSIGNED_SEQ_NO), absent),
+            Collections.emptyMap()
+        );
+
+        // Verify
+        assertEquals(Map.of(routing.getName(), routing, absent.getName(), absent), updated.getRoutings());
+    }
+
+    public void testApply_whenNewerRemoval_thenRemove() {
+        DatasourceRouting routing = randomRouting(10);
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(routing.getName(), routing));
+
+        // Run
+        DatasourceRoutingMetadata updated = metadata.apply(JOB_INDEX_UUID, Collections.emptyList(), Map.of(routing.getName(), 11L));
+
+        // Verify
+        assertTrue(updated.getRoutings().isEmpty());
+    }
+
+    public void testApply_whenDifferentJobIndex_thenReplace() {
+        DatasourceRouting routing = randomRouting(10);
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(routing.getName(), routing));
+        DatasourceRouting newRouting = randomRouting(0);
+        String newJobIndexUuid = GeospatialTestHelper.randomLowerCaseString();
+
+        // Run
+        DatasourceRoutingMetadata updated = metadata.apply(newJobIndexUuid, List.of(newRouting), Collections.emptyMap());
+
+        // Verify
+        assertEquals(newJobIndexUuid, updated.getJobIndexUuid());
+        assertEquals(Map.of(newRouting.getName(), newRouting), updated.getRoutings());
+    }
+
+    public void testIsSameRoute_whenOnlySeqNoDiffers_thenTrue() {
+        DatasourceRouting routing = randomRouting(10);
+        DatasourceRouting newer = new DatasourceRouting(
+            routing.getName(),
+            routing.getIndexName(),
+            routing.getState(),
+            routing.getExpirationDate(),
+            11
+        );
+
+        // Verify
+        assertTrue(routing.isSameRoute(newer));
+        assertFalse(routing.isSameRoute(null));
+        assertFalse(routing.isSameRoute(randomRouting(routing.getName(), 11)));
+    }
+
+    public void testContext_whenCalled_thenApiOnly() {
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(JOB_INDEX_UUID, Collections.emptyMap());
+
+        // Verify
+        assertEquals(Metadata.API_ONLY, metadata.context());
+        assertEquals(Version.V_3_0_0, metadata.getMinimalSupportedVersion());
+    }
+
+    @SneakyThrows
+    public void testStreamInOut_whenCalled_thenSucceed() {
+        DatasourceRouting routing = new DatasourceRouting(randomDatasource(), randomNonNegativeLong());
+        DatasourceRouting noIndex = new DatasourceRouting(
+            GeospatialTestHelper.randomLowerCaseString(),
+            null,
+            DatasourceState.CREATING,
+            Instant.MAX,
+            SequenceNumbers.UNASSIGNED_SEQ_NO
+        );
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(
+            JOB_INDEX_UUID,
+            Map.of(routing.getName(), routing, noIndex.getName(), noIndex)
+        );
+
+        // Run
+        BytesStreamOutput output = new BytesStreamOutput();
+        metadata.writeTo(output);
+        DatasourceRoutingMetadata copy = new DatasourceRoutingMetadata(output.bytes().streamInput());
+
+        // Verify
+        assertEquals(metadata, copy);
+    }
+
+    @SneakyThrows
+    public void testToXContent_whenParsed_thenSame() {
+        DatasourceRouting routing = new DatasourceRouting(randomDatasource(), randomNonNegativeLong());
+        DatasourceRouting noIndex = new DatasourceRouting(
+            GeospatialTestHelper.randomLowerCaseString(),
+            null,
+            DatasourceState.CREATING,
+            Instant.MAX,
+            SequenceNumbers.UNASSIGNED_SEQ_NO
+        );
+        DatasourceRoutingMetadata metadata = new DatasourceRoutingMetadata(
+            JOB_INDEX_UUID,
+            Map.of(routing.getName(), routing, noIndex.getName(), noIndex)
+        );
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        metadata.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        builder.endObject();
+
+        // Run
+        XContentParser parser = JsonXContent.jsonXContent.createParser(
+            NamedXContentRegistry.EMPTY,
+            DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+            BytesReference.bytes(builder).utf8ToString()
+        );
+        DatasourceRoutingMetadata parsed = DatasourceRoutingMetadata.fromXContent(parser);
+
+        // Verify
+        assertEquals(metadata, parsed);
+    }
+
+    private DatasourceRouting randomRouting(final long seqNo) {
+        return randomRouting(GeospatialTestHelper.randomLowerCaseString(), seqNo);
+    }
+
+    private DatasourceRouting randomRouting(final String name, final long seqNo) {
+        return new DatasourceRouting(
+            name,
+            GeospatialTestHelper.randomLowerCaseString(),
+            randomState(),
+            Instant.ofEpochMilli(randomNonNegativeLong()),
+            seqNo
+        );
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class IndexingRateLimiterTests extends OpenSearchTestCase {
+    public void testReserve_whenNoLimit_thenNoWait() {
+        IndexingRateLimiter rateLimiter = new IndexingRateLimiter(0);
+        assertEquals(TimeValue.ZERO, rateLimiter.reserve(100000));
+        assertEquals(TimeValue.ZERO, rateLimiter.reserve(100000));
+    }
+
+    public void testReserve_whenRateExceeded_thenWait() {
+        AtomicLong now = new AtomicLong();
+        IndexingRateLimiter rateLimiter = new IndexingRateLimiter(100, now::get);
+
+        // Run
+        TimeValue first = rateLimiter.reserve(100);
+        TimeValue second = rateLimiter.reserve(50);
+        TimeValue third = rateLimiter.reserve(10);
+
+        // Verify
+        assertEquals(0, first.millis());
+        assertEquals(1000, second.millis());
+        assertEquals(1500, third.millis());
+    }
+
+    public void testReserve_whenTimePassed_thenNoWait() {
+        AtomicLong now = new AtomicLong();
+        IndexingRateLimiter rateLimiter = new IndexingRateLimiter(100, now::get);
+        rateLimiter.reserve(100);
+
+        // Run
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // Verify
+        assertEquals(0, rateLimiter.reserve(100).millis());
+    }
+
+    public void testSetDocsPerSecond_whenLimitRemoved_thenNoWait() {
+        AtomicLong now = new AtomicLong();
+        IndexingRateLimiter rateLimiter = new IndexingRateLimiter(1, now::get);
+        rateLimiter.reserve(100);
+
+        // Run
+        rateLimiter.setDocsPerSecond(0);
+
+        // Verify
+        assertEquals(TimeValue.ZERO, rateLimiter.reserve(100));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+
+import lombok.SneakyThrows;
+
+public class Ip2GeoExecutorTests extends Ip2GeoTestCase {
+    public void testForBlockingCall_whenDisabled_thenEmpty() {
+        Ip2GeoExecutor executor = new Ip2GeoExecutor(threadPool, Settings.EMPTY);
+
+        // Run
+        Optional<Executor> blockingCallExecutor = executor.forBlockingCall();
+
+        // Verify
+        assertTrue(blockingCallExecutor.isEmpty());
+        executor.close();
+    }
+
+    @SneakyThrows
+    public void testForBlockingCall_whenEnabled_thenRunInVirtualThreadWithThreadContext() {
+        assumeTrue("virtual threads are supported from JDK 21", Runtime.version().feature() >= 21);
+        Ip2GeoExecutor executor = new Ip2GeoExecutor(
+            threadPool,
+            Settings.builder().put(Ip2GeoSettings.VIRTUAL_THREADS_ENABLED.getKey(), true).build()
+        );
+        ThreadContext threadContext = threadPool.getThreadContext();
+        String header = GeospatialTestHelper.randomLowerCaseString();
+        AtomicBoolean isVirtual = new AtomicBoolean();
+        AtomicReference<String> headerInTask = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // Run
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            threadContext.putHeader("header", header);
+            executor.forBlockingCall().get().execute(() -> {
+                try {
+                    isVirtual.set((boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+                    headerInTask.set(threadContext.getHeader("header"));
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // Verify
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(isVirtual.get());
+        assertEquals(header, headerInTask.get());
+        executor.close();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.opensearch.common.SuppressForbidden;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoDataServer;
+import org.opensearch.test.OpenSearchTestCase;
+
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.SneakyThrows;
+
+@SuppressForbidden(reason = "used only for testing")
+public class ZipEntryRangeReaderTests extends OpenSearchTestCase {
+    private static final String DB_NAME = "GeoLite2-City-Blocks-IPv4.csv";
+    private static final String DB_CONTENT = "network,city_name\n1.0.0.0/24,Seattle\n1.0.1.0/24,Vancouver\n";
+
+    private HttpServer server;
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    @After
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @SneakyThrows
+    public void testOpen_whenRangeSupported_thenReadOnlyEntry() {
+        byte[] zip = createZip(randomBoolean() ? ZipEntry.DEFLATED : ZipEntry.STORED);
+        URL url = startServer(zip, true);
+
+        // Run
+        Optional<InputStream> inputStream = new ZipEntryRangeReader(url).open(DB_NAME.toLowerCase(Locale.ROOT));
+
+        // Verify
+        assertTrue(inputStream.isPresent());
+        try (InputStream in = inputStream.get()) {
+            assertEquals(DB_CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(ranges.contains(null));
+        assertTrue(bytesSent.get() < zip.length);
+    }
+
+    @SneakyThrows
+    public void testOpen_whenRangeNotSupported_thenEmpty() {
+        URL url = startServer(createZip(ZipEntry.DEFLATED), false);
+
+        // Run
+        Optional<InputStream> inputStream = new ZipEntryRangeReader(url).open(DB_NAME);
+
+        // Verify
+        assertFalse(inputStream.isPresent());
+        assertEquals(1, ranges.size());
+    }
+
+    @SneakyThrows
+    public void testOpen_whenNoEntry_thenException() {
+        URL url = startServer(createZip(ZipEntry.DEFLATED), true);
+
+        // Run
+        Exception e = expectThrows(IllegalArgumentException.class, () -> new ZipEntryRangeReader(url).open("no_file.csv"));
+
+        // Verify
+        assertTrue(e.getMessage().contains("does not exist"));
+    }
+
+    @SneakyThrows
+    public void testOpen_whenNotZip_thenEmpty() {
+        URL url = startServer(GeospatialTestHelper.randomLowerCaseString().getBytes(StandardCharsets.UTF_8), true);
+
+        // Run
+        Optional<InputStream> inputStream = new ZipEntryRangeReader(url).open(DB_NAME);
+
+        // Verify
+        assertFalse(inputStream.isPresent());
+    }
+
+    private URL startServer(final byte[] data, final boolean supportRange) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            ranges.add(exchange.getRequestHeaders().getFirst("Range"));
+            if (supportRange) {
+                Ip2GeoDataServer.sendResponse(exchange, data);
+                bytesSent.addAndGet(Long.parseLong(exchange.getResponseHeaders().getFirst("Content-length")));
+                return;
+            }
+            exchange.sendResponseHeaders(200, data.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(data);
+            }
+            bytesSent.addAndGet(data.length);
+        });
+        server.start();
+        return new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getAddress().getPort(), "/data.zip");
+    }
+
+    /**
+     * Create a zip file having large entries before and after the database file
+     */
+    private byte[] createZip(final int method) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(outputStream)) {
+            addEntry(zipOut, "GeoLite2-City-Blocks-IPv6.csv", randomAlphaOfLength(100000).getBytes(StandardCharsets.UTF_8), method);
+            addEntry(zipOut, DB_NAME, DB_CONTENT.getBytes(StandardCharsets.UTF_8), method);
+            addEntry(zipOut, "GeoLite2-City-Locations-en.csv", randomAlphaOfLength(100000).getBytes(StandardCharsets.UTF_8), method);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private void addEntry(final ZipOutputStream zipOut, final String name, final byte[] data, final int method) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setSize(data.length);
+            entry.setCompressedSize(data.length);
+            entry.setCrc(crc.getValue());
+        }
+        zipOut.putNextEntry(entry);
+        zipOut.write(data);
+        zipOut.closeEntry();
+    }
+}
@@ -5,26 +5,36 @@
 
 package org.opensearch.geospatial.ip2geo.dao;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.BiFunction;
 
 import org.apache.lucene.search.TotalHits;
 import org.junit.Before;
 import org.mockito.ArgumentCaptor;
+import org.opensearch.OpenSearchException;
 import org.opensearch.ResourceAlreadyExistsException;
 import org.opensearch.ResourceNotFoundException;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
 import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetRequest;
@@ -33,13 +43,20 @@ import org.opensearch.action.get.MultiGetItemResponse;
 import org.opensearch.action.get.MultiGetRequest;
 import org.opensearch.action.get.MultiGetResponse;
 import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.ClearScrollAction;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.ClearScrollResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollAction;
+import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.common.Randomness;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.geospatial.GeospatialTestHelper;
@@ -149,6 +166,75 @@ public class DatasourceDaoTests extends Ip2GeoTestCase {
         assertTrue(previousTime.isBefore(datasource.getLastUpdateTime()));
     }
 
+    public void testUpdateDatasource_whenInBatch_thenWriteOnceWhenBatchFinished() {
+        Datasource datasource = randomDatasource();
+        List<IndexRequest> requests = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof IndexRequest);
+            requests.add((IndexRequest) actionRequest);
+            return null;
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceDao.startBatch(datasource.getName());
+        assertNull(datasourceDao.updateDatasource(datasource));
+        datasourceDao.updateDatasource(datasource);
+
+        // Verify
+        assertTrue(requests.isEmpty());
+
+        // Run
+        datasourceDao.finishBatch(datasource, listener);
+
+        // Verify
+        assertEquals(1, requests.size());
+        assertEquals(WriteRequest.RefreshPolicy.WAIT_UNTIL, requests.get(0).getRefreshPolicy());
+        verify(listener).onResponse(null);
+    }
+
+    public void testUpdateDatasourceImmediately_whenInBatch_thenWriteWithRefreshAndClearPendingChanges() {
+        Datasource datasource = randomDatasource();
+        List<IndexRequest> requests = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            requests.add((IndexRequest) actionRequest);
+            return null;
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceDao.startBatch(datasource.getName());
+        datasourceDao.updateDatasource(datasource);
+        datasourceDao.updateDatasourceImmediately(datasource);
+        datasourceDao.finishBatch(datasource, listener);
+
+        // Verify
+        assertEquals(1, requests.size());
+        assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, requests.get(0).getRefreshPolicy());
+        verify(listener).onResponse(null);
+    }
+
+    public void testUpdateDatasource_whenWrittenInBatch_thenWaitForRefreshAndClearPendingChanges() {
+        Datasource datasource = randomDatasource();
+        List<IndexRequest> requests = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            requests.add((IndexRequest) actionRequest);
+            return null;
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceDao.startBatch(datasource.getName());
+        datasourceDao.updateDatasource(datasource);
+        datasourceDao.updateDatasource(datasource, mock(ActionListener.class));
+        datasourceDao.finishBatch(datasource, listener);
+
+        // Verify
+        assertEquals(1, requests.size());
+        assertEquals(WriteRequest.RefreshPolicy.WAIT_UNTIL, requests.get(0).getRefreshPolicy());
+        verify(listener).onResponse(null);
+    }
+
     @SneakyThrows
     public void testPutDatasource_whenValidInpu_thenSucceed() {
         Datasource datasource = randomDatasource();
@@ -359,6 +445,133 @@ public class DatasourceDaoTests extends Ip2GeoTestCase {
         datasourceDao.updateDatasource(datasources, mock(ActionListener.class));
     }
 
+    public void testGetAllDatasources_whenMultiplePages_thenScrollAndClear() {
+        List<Datasource> firstPage = Collections.nCopies(1000, randomDatasource());
+        List<Datasource> secondPage = Arrays.asList(randomDatasource());
+        ActionListener<List<Datasource>> listener = mock(ActionListener.class);
+        String scrollId = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier(scrollVerifier(scrollId, firstPage, secondPage));
+
+        // Run
+        datasourceDao.getAllDatasources(listener);
+
+        // Verify
+        ArgumentCaptor<List<Datasource>> captor = ArgumentCaptor.forClass(List.class);
+        verify(listener).onResponse(captor.capture());
+        assertEquals(1001, captor.getValue().size());
+        assertEquals(secondPage.get(0), captor.getValue().get(1000));
+        verify(verifyingClient).execute(eq(ClearScrollAction.INSTANCE), any(ClearScrollRequest.class), any(ActionListener.class));
+    }
+
+    public void testGetAllDatasources_whenScrollFails_thenClearScroll() {
+        String scrollId = GeospatialTestHelper.randomLowerCaseString();
+        BiFunction<ActionType<ActionResponse>, ActionRequest, ActionResponse> verifier = scrollVerifier(
+            scrollId,
+            Collections.nCopies(1000, randomDatasource()),
+            List.of()
+        );
+        verifyingClient.setExecuteVerifier((action, actionRequest) -> {
+            if (actionRequest instanceof SearchScrollRequest) {
+                throw new OpenSearchException("scroll failed");
+            }
+            return verifier.apply(action, actionRequest);
+        });
+        ActionListener<List<Datasource>> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceDao.getAllDatasources(listener);
+
+        // Verify
+        verify(listener).onFailure(any(OpenSearchException.class));
+        verify(listener, never()).onResponse(any());
+        verify(verifyingClient).execute(eq(ClearScrollAction.INSTANCE), any(ClearScrollRequest.class), any(ActionListener.class));
+    }
+
+    public void testIterateDatasources_whenMultiplePages_thenScrollAndClear() {
+        List<Datasource> firstPage = Collections.nCopies(1000, randomDatasource());
+        List<Datasource> secondPage = Arrays.asList(randomDatasource());
+        String scrollId = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier(scrollVerifier(scrollId, firstPage, secondPage));
+
+        // Run
+        List<Datasource> datasources = datasourceDao.getAllDatasources();
+
+        // Verify
+        assertEquals(1001, datasources.size());
+        assertEquals(secondPage.get(0), datasources.get(1000));
+        verify(verifyingClient).execute(eq(ClearScrollAction.INSTANCE), any(ClearScrollRequest.class), any(ActionListener.class));
+    }
+
+    public void testIterateDatasources_whenClosedEarly_thenClearScroll() {
+        String scrollId = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier(scrollVerifier(scrollId, Collections.nCopies(1000, randomDatasource()), List.of()));
+
+        // Run
+        try (DatasourceDao.DatasourceIterator iterator = datasourceDao.iterateDatasources()) {
+            iterator.next();
+        }
+
+        // Verify
+        verify(verifyingClient, never()).execute(eq(SearchScrollAction.INSTANCE), any(), any());
+        verify(verifyingClient).execute(eq(ClearScrollAction.INSTANCE), any(ClearScrollRequest.class), any(ActionListener.class));
+    }
+
+    public void testUpdateDatasource_whenMoreThanPageSize_thenUpdateInChunks() {
+        List<Datasource> datasources = Collections.nCopies(1001, randomDatasource());
+        List<BulkRequest> bulkRequests = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof BulkRequest);
+            BulkRequest request = (BulkRequest) actionRequest;
+            request.requests().forEach(item -> assertEquals(WriteRequest.RefreshPolicy.NONE, ((IndexRequest) item).getRefreshPolicy()));
+            bulkRequests.add(request);
+            BulkResponse response = mock(BulkResponse.class);
+            when(response.getItems()).thenReturn(new BulkItemResponse[request.numberOfActions()]);
+            when(response.getTook()).thenReturn(TimeValue.timeValueMillis(1));
+            return response;
+        });
+        ActionListener<BulkResponse> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceDao.updateDatasource(datasources, listener);
+
+        // Verify
+        assertEquals(2, bulkRequests.size());
+        assertEquals(1000, bulkRequests.get(0).numberOfActions());
+        assertEquals(WriteRequest.RefreshPolicy.NONE, bulkRequests.get(0).getRefreshPolicy());
+        assertEquals(1, bulkRequests.get(1).numberOfActions());
+        assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, bulkRequests.get(1).getRefreshPolicy());
+        ArgumentCaptor<BulkResponse> captor = ArgumentCaptor.forClass(BulkResponse.class);
+        verify(listener).onResponse(captor.capture());
+        assertEquals(1001, captor.getValue().getItems().length);
+        assertEquals(2, captor.getValue().getTook().millis());
+    }
+
+    private BiFunction<ActionType<ActionResponse>, ActionRequest, ActionResponse> scrollVerifier(
+        final String scrollId,
+        final List<Datasource> firstPage,
+        final List<Datasource> secondPage
+    ) {
+        return (action, actionRequest) -> {
+            SearchResponse response = mock(SearchResponse.class);
+            when(response.getScrollId()).thenReturn(scrollId);
+            if (actionRequest instanceof SearchRequest) {
+                SearchRequest request = (SearchRequest) actionRequest;
+                assertEquals(1000, request.source().size());
+                assertNotNull(request.scroll());
+                when(response.getHits()).thenReturn(getMockedSearchHits(firstPage));
+                return response;
+            } else if (actionRequest instanceof SearchScrollRequest) {
+                assertEquals(scrollId, ((SearchScrollRequest) actionRequest).scrollId());
+                when(response.getHits()).thenReturn(getMockedSearchHits(secondPage));
+                return response;
+            } else if (actionRequest instanceof ClearScrollRequest) {
+                assertEquals(List.of(scrollId), ((ClearScrollRequest) actionRequest).getScrollIds());
+                return new ClearScrollResponse(true, 1);
+            }
+            throw new AssertionError("Unexpected request " + actionRequest);
+        };
+    }
+
     private SearchHits getMockedSearchHits(List<Datasource> datasources) {
         SearchHit[] searchHitArray = datasources.stream().map(this::toBytesReference).map(this::toSearchHit).toArray(SearchHit[]::new);
 
@@ -19,36 +19,60 @@ import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.lucene.search.TotalHits;
 import org.junit.Before;
+import org.mockito.ArgumentCaptor;
 import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
 import org.opensearch.action.admin.indices.refresh.RefreshRequest;
 import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeType;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.routing.IndexRoutingTable;
+import org.opensearch.cluster.routing.IndexShardRoutingTable;
 import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterApplierService;
 import org.opensearch.common.SuppressForbidden;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
 import org.opensearch.geospatial.ip2geo.common.DatasourceManifest;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoIndexingStats;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
 import org.opensearch.geospatial.shared.Constants;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.SearchContext;
 
 import lombok.SneakyThrows;
 
@@ -61,15 +85,17 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
 
     @Before
     public void init() {
-        noOpsGeoIpDataDao = new GeoIpDataDao(clusterService, client, urlDenyListChecker);
-        verifyingGeoIpDataDao = new GeoIpDataDao(clusterService, verifyingClient, urlDenyListChecker);
+        noOpsGeoIpDataDao = new GeoIpDataDao(clusterService, client, urlDenyListChecker, ip2GeoExecutor);
+        verifyingGeoIpDataDao = new GeoIpDataDao(clusterService, verifyingClient, urlDenyListChecker, ip2GeoExecutor);
     }
 
     public void testCreateIndexIfNotExistsWithExistingIndex() {
         String index = GeospatialTestHelper.randomLowerCaseString();
         when(metadata.hasIndex(index)).thenReturn(true);
         verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> { throw new RuntimeException("Shouldn't get called"); });
-        verifyingGeoIpDataDao.createIndexIfNotExists(index);
+        ActionListener<Void> listener = mock(ActionListener.class);
+        verifyingGeoIpDataDao.createIndexIfNotExists(index, listener);
+        verify(listener).onResponse(null);
     }
 
     public void testCreateIndexIfNotExistsWithoutExistingIndex() {
@@ -84,14 +110,41 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
             assertEquals(0, (int) request.settings().getAsInt("index.number_of_replicas", 1));
             assertEquals(-1, (int) request.settings().getAsInt("index.refresh_interval", 0));
             assertEquals(true, request.settings().getAsBoolean("index.hidden", false));
+            assertEquals("best_compression", request.settings().get("index.codec"));
+            assertEquals("_cidr_start", request.settings().get("index.sort.field"));
+            assertEquals("asc", request.settings().get("index.sort.order"));
 
             assertEquals(
-                "{\"dynamic\": false,\"properties\": {\"_cidr\": {\"type\": \"ip_range\",\"doc_values\": false}}}",
+                "{\"dynamic\": false,\"_source\": {\"excludes\": [\"_cidr\", \"_cidr_start\"]},"
+                    + "\"properties\": {\"_cidr\": {\"type\": \"ip_range\",\"doc_values\": false},"
+                    + "\"_cidr_start\": {\"type\": \"ip\",\"index\": false,\"doc_values\": true}}}",
                 request.mappings()
             );
             return null;
         });
-        verifyingGeoIpDataDao.createIndexIfNotExists(index);
+        ActionListener<Void> listener = mock(ActionListener.class);
+        verifyingGeoIpDataDao.createIndexIfNotExists(index, listener);
+        verify(listener).onResponse(null);
+    }
+
+    public void testCreateIndexIfNotExists_whenIndexingShardsIsMoreThanOne_thenCreateBuildIndex() {
+        clusterSettings.applySettings(Settings.builder().put(Ip2GeoSettings.INDEXING_SHARDS.getKey(), 3).build());
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof CreateIndexRequest);
+            CreateIndexRequest request = (CreateIndexRequest) actionRequest;
+            assertEquals(index + ".build", request.index());
+            assertEquals(3, (int) request.settings().getAsInt("index.number_of_shards", 0));
+            assertEquals("_cidr_start", request.settings().get("index.sort.field"));
+            return null;
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        verifyingGeoIpDataDao.createIndexIfNotExists(index, listener);
+
+        // Verify
+        verify(listener).onResponse(null);
     }
 
     @SneakyThrows
@@ -99,11 +152,24 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
         String[] names = { "ip", "country", "location", "city" };
         String[] values = { "1.0.0.0/25", "USA", " ", "Seattle" };
         assertEquals(
-            "{\"_cidr\":\"1.0.0.0/25\",\"_data\":{\"country\":\"USA\",\"city\":\"Seattle\"}}",
+            "{\"_cidr\":\"1.0.0.0/25\",\"_cidr_start\":\"1.0.0.0\",\"_data\":{\"country\":\"USA\",\"city\":\"Seattle\"}}",
             noOpsGeoIpDataDao.createDocument(names, values).toString()
         );
     }
 
+    @SneakyThrows
+    public void testCreateDocument_whenHostBitsAreSet_thenAddStartOfIpRange() {
+        String[] names = { "ip", "country" };
+
+        // Run
+        String ipv4Document = noOpsGeoIpDataDao.createDocument(names, new String[] { "1.0.0.1/25", "USA" }).toString();
+        String ipv6Document = noOpsGeoIpDataDao.createDocument(names, new String[] { "2001:db8::1/32", "USA" }).toString();
+
+        // Verify
+        assertTrue(ipv4Document.contains("\"_cidr_start\":\"1.0.0.0\""));
+        assertTrue(ipv6Document.contains("\"_cidr_start\":\"2001:db8::\""));
+    }
+
     @SneakyThrows
     public void testCreateDocument_whenFieldsAndValuesLengthDoesNotMatch_thenThrowException() {
         String[] names = { "ip", "country", "location", "city" };
@@ -176,8 +242,9 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
         verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
             assertTrue(actionRequest instanceof DeleteIndexRequest);
             DeleteIndexRequest request = (DeleteIndexRequest) actionRequest;
-            assertEquals(1, request.indices().length);
+            assertEquals(2, request.indices().length);
             assertEquals(index, request.indices()[0]);
+            assertEquals(index + ".build", request.indices()[1]);
             return new AcknowledgedResponse(true);
         });
         verifyingGeoIpDataDao.deleteIp2GeoDataIndex(index);
@@ -227,9 +294,267 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
         try (CSVParser csvParser = CSVParser.parse(sampleIp2GeoFile(), StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
             Iterator<CSVRecord> iterator = csvParser.iterator();
             String[] fields = iterator.next().values();
-            verifyingGeoIpDataDao.putGeoIpData(index, fields, iterator, renewLock);
+            ActionListener<Void> listener = mock(ActionListener.class);
+            verifyingGeoIpDataDao.putGeoIpData(GeospatialTestHelper.randomLowerCaseString(), index, fields, iterator, renewLock, listener);
             verify(renewLock, times(2)).run();
+            verify(listener).onResponse(null);
+        }
+    }
+
+    @SneakyThrows
+    public void testPutGeoIpData_whenRejected_thenRetryRejectedDocuments() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        AtomicInteger bulkCount = new AtomicInteger();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            if (actionRequest instanceof BulkRequest) {
+                BulkRequest request = (BulkRequest) actionRequest;
+                BulkResponse response = mock(BulkResponse.class);
+                if (bulkCount.incrementAndGet() == 1) {
+                    assertEquals(2, request.numberOfActions());
+                    BulkItemResponse succeeded = mock(BulkItemResponse.class);
+                    when(succeeded.isFailed()).thenReturn(false);
+                    BulkItemResponse rejected = mock(BulkItemResponse.class);
+                    when(rejected.isFailed()).thenReturn(true);
+                    when(rejected.status()).thenReturn(RestStatus.TOO_MANY_REQUESTS);
+                    when(rejected.getItemId()).thenReturn(1);
+                    when(response.hasFailures()).thenReturn(true);
+                    when(response.getItems()).thenReturn(new BulkItemResponse[] { succeeded, rejected });
+                } else {
+                    assertEquals(1, request.numberOfActions());
+                    when(response.hasFailures()).thenReturn(false);
+                }
+                return response;
+            }
+            return null;
+        });
+        try (CSVParser csvParser = CSVParser.parse(sampleIp2GeoFile(), StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            String[] fields = iterator.next().values();
+            ActionListener<Void> listener = mock(ActionListener.class);
+            verifyingGeoIpDataDao.putGeoIpData(
+                GeospatialTestHelper.randomLowerCaseString(),
+                index,
+                fields,
+                iterator,
+                mock(Runnable.class),
+                listener
+            );
+            verify(listener).onResponse(null);
+        }
+        assertEquals(2, bulkCount.get());
+        verify(ip2GeoExecutor).schedule(any(Runnable.class), any(TimeValue.class));
+        Ip2GeoIndexingStats indexingStats = verifyingGeoIpDataDao.getIndexingStats();
+        assertEquals(2, indexingStats.getIndexedDocuments());
+        assertEquals(1, indexingStats.getRejectedDocuments());
+        assertEquals(2, indexingStats.getBulkLatency().getTotalCount());
+        assertEquals(1, indexingStats.getSucceeded());
+        assertEquals(0, indexingStats.getFailed());
+    }
+
+    @SneakyThrows
+    public void testPutGeoIpData_whenMergeAdjacentRangesEnabled_thenIndexMergedRanges() {
+        clusterSettings.applySettings(Settings.builder().put(Ip2GeoSettings.MERGE_ADJACENT_RANGES.getKey(), true).build());
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        List<String> ids = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            if (actionRequest instanceof BulkRequest) {
+                ((BulkRequest) actionRequest).requests().forEach(request -> ids.add(request.id()));
+                BulkResponse response = mock(BulkResponse.class);
+                when(response.hasFailures()).thenReturn(false);
+                return response;
+            }
+            return null;
+        });
+        String csv = "network,city\n1.0.0.0/24,Seattle\n1.0.1.0/24,Seattle\n1.0.2.0/24,Portland\n";
+        try (CSVParser csvParser = CSVParser.parse(csv, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            String[] fields = iterator.next().values();
+            ActionListener<Void> listener = mock(ActionListener.class);
+
+            // Run
+            verifyingGeoIpDataDao.putGeoIpData(
+                GeospatialTestHelper.randomLowerCaseString(),
+                index,
+                fields,
+                iterator,
+                mock(Runnable.class),
+                listener
+            );
+
+            // Verify
+            verify(listener).onResponse(null);
+        }
+        assertEquals(Arrays.asList("1.0.0.0-1.0.1.255", "1.0.2.0/24"), ids);
+    }
+
+    @SneakyThrows
+    public void testCreateDocument_whenMergedIpRange_thenAddRangeObject() {
+        String[] names = { "ip", "country" };
+        String[] values = { "1.0.0.0-1.0.1.255", "USA" };
+        assertEquals(
+            "{\"_cidr\":{\"gte\":\"1.0.0.0\",\"lte\":\"1.0.1.255\"},\"_cidr_start\":\"1.0.0.0\",\"_data\":{\"country\":\"USA\"}}",
+            noOpsGeoIpDataDao.createDocument(names, values).toString()
+        );
+    }
+
+    @SneakyThrows
+    public void testPutGeoIpData_whenBuildIndexExists_thenIndexInParallelAndShrink() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        String buildIndex = index + ".build";
+        String nodeId = GeospatialTestHelper.randomLowerCaseString();
+        when(metadata.hasIndex(buildIndex)).thenReturn(true);
+        when(metadata.index(buildIndex)).thenReturn(
+            IndexMetadata.builder(buildIndex)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(2)
+                .numberOfReplicas(0)
+                .build()
+        );
+        ShardRouting shardRouting = mock(ShardRouting.class);
+        when(shardRouting.started()).thenReturn(true);
+        when(shardRouting.currentNodeId()).thenReturn(nodeId);
+        IndexShardRoutingTable indexShardRoutingTable = mock(IndexShardRoutingTable.class);
+        when(indexShardRoutingTable.primaryShard()).thenReturn(shardRouting);
+        IndexRoutingTable indexRoutingTable = mock(IndexRoutingTable.class);
+        when(indexRoutingTable.shard(0)).thenReturn(indexShardRoutingTable);
+        when(routingTable.index(buildIndex)).thenReturn(indexRoutingTable);
+        when(routingTable.allShards(buildIndex)).thenReturn(Arrays.asList(shardRouting, shardRouting));
+        ClusterApplierService clusterApplierService = mock(ClusterApplierService.class);
+        when(clusterService.getClusterApplierService()).thenReturn(clusterApplierService);
+        when(clusterApplierService.state()).thenReturn(clusterState);
+        when(clusterApplierService.threadPool()).thenReturn(threadPool);
+        when(clusterState.nodes()).thenReturn(DiscoveryNodes.EMPTY_NODES);
+
+        List<String> requests = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            if (actionRequest instanceof BulkRequest) {
+                ((BulkRequest) actionRequest).requests().forEach(request -> assertEquals(buildIndex, request.index()));
+                requests.add("bulk");
+                BulkResponse response = mock(BulkResponse.class);
+                when(response.hasFailures()).thenReturn(false);
+                return response;
+            } else if (actionRequest instanceof UpdateSettingsRequest) {
+                UpdateSettingsRequest request = (UpdateSettingsRequest) actionRequest;
+                if (buildIndex.equals(request.indices()[0])) {
+                    assertEquals(nodeId, request.settings().get("index.routing.allocation.require._id"));
+                    assertTrue(request.settings().getAsBoolean("index.blocks.write", false));
+                    requests.add("prepare");
+                } else {
+                    assertEquals(index, request.indices()[0]);
+                    requests.add("freeze");
+                }
+            } else if (actionRequest instanceof ResizeRequest) {
+                ResizeRequest request = (ResizeRequest) actionRequest;
+                assertEquals(buildIndex, request.getSourceIndex());
+                assertEquals(index, request.getTargetIndexRequest().index());
+                assertEquals(ResizeType.SHRINK, request.getResizeType());
+                assertEquals(1, (int) request.getTargetIndexRequest().settings().getAsInt("index.number_of_shards", 0));
+                requests.add("shrink");
+            } else if (actionRequest instanceof DeleteIndexRequest) {
+                assertEquals(buildIndex, ((DeleteIndexRequest) actionRequest).indices()[0]);
+                requests.add("delete");
+            }
+            return null;
+        });
+        try (CSVParser csvParser = CSVParser.parse(sampleIp2GeoFile(), StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            String[] fields = iterator.next().values();
+            ActionListener<Void> listener = mock(ActionListener.class);
+
+            // Run
+            verifyingGeoIpDataDao.putGeoIpData(
+                GeospatialTestHelper.randomLowerCaseString(),
+                index,
+                fields,
+                iterator,
+                mock(Runnable.class),
+                listener
+            );
+
+            // Verify
+            verify(listener).onResponse(null);
         }
+        assertEquals(Arrays.asList("bulk", "prepare", "shrink", "delete", "freeze"), requests);
+    }
+
+    @SneakyThrows
+    public void testPutGeoIpData_whenIndexingRateLimited_thenDelayBulkRequest() {
+        clusterSettings.applySettings(
+            Settings.builder()
+                .put(Ip2GeoSettings.MAX_INDEXING_DOCS_PER_SECOND.getKey(), 1)
+                .put(Ip2GeoSettings.BATCH_SIZE.getKey(), 1)
+                .build()
+        );
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        AtomicInteger bulkCount = new AtomicInteger();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            if (actionRequest instanceof BulkRequest) {
+                bulkCount.incrementAndGet();
+                BulkResponse response = mock(BulkResponse.class);
+                when(response.hasFailures()).thenReturn(false);
+                return response;
+            }
+            return null;
+        });
+        try (CSVParser csvParser = CSVParser.parse(sampleIp2GeoFile(), StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            String[] fields = iterator.next().values();
+            ActionListener<Void> listener = mock(ActionListener.class);
+
+            // Run
+            verifyingGeoIpDataDao.putGeoIpData(
+                GeospatialTestHelper.randomLowerCaseString(),
+                index,
+                fields,
+                iterator,
+                mock(Runnable.class),
+                listener
+            );
+
+            // Verify
+            verify(listener).onResponse(null);
+        }
+        assertEquals(2, bulkCount.get());
+        verify(ip2GeoExecutor).schedule(any(Runnable.class), any(TimeValue.class));
+    }
+
+    @SneakyThrows
+    public void testPutGeoIpData_whenNonRetryableFailure_thenFail() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof BulkRequest);
+            BulkItemResponse failed = mock(BulkItemResponse.class);
+            when(failed.isFailed()).thenReturn(true);
+            when(failed.status()).thenReturn(RestStatus.BAD_REQUEST);
+            BulkResponse response = mock(BulkResponse.class);
+            when(response.hasFailures()).thenReturn(true);
+            when(response.getItems()).thenReturn(new BulkItemResponse[] { failed });
+            when(response.buildFailureMessage()).thenReturn("failure");
+            return response;
+        });
+        try (CSVParser csvParser = CSVParser.parse(sampleIp2GeoFile(), StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> iterator = csvParser.iterator();
+            String[] fields = iterator.next().values();
+            ActionListener<Void> listener = mock(ActionListener.class);
+
+            // Run
+            verifyingGeoIpDataDao.putGeoIpData(
+                GeospatialTestHelper.randomLowerCaseString(),
+                index,
+                fields,
+                iterator,
+                mock(Runnable.class),
+                listener
+            );
+
+            // Verify
+            ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+            verify(listener).onFailure(captor.capture());
+            assertTrue(captor.getValue() instanceof OpenSearchException);
+            assertTrue(captor.getValue().getMessage().contains("error occurred while ingesting GeoIP data"));
+        }
+        assertEquals(1, verifyingGeoIpDataDao.getIndexingStats().getFailed());
+        assertEquals(0, verifyingGeoIpDataDao.getIndexingStats().getSucceeded());
     }
 
     public void testGetGeoIpData_whenDataExist_thenReturnTheData() {
@@ -241,6 +566,7 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
             assertEquals(Preference.LOCAL.type(), request.preference());
             assertEquals(1, request.source().size());
             assertEquals(QueryBuilders.termQuery(IP_RANGE_FIELD_NAME, ip), request.source().query());
+            assertEquals(SearchContext.TRACK_TOTAL_HITS_DISABLED, (int) request.source().trackTotalHitsUpTo());
 
             String data = String.format(
                 Locale.ROOT,
@@ -289,4 +615,43 @@ public class GeoIpDataDaoTests extends Ip2GeoTestCase {
         // Verify
         assertTrue(geoData.isEmpty());
     }
+
+    public void testWarmUpGeoIpData_whenCalled_thenSearchSampleIpsLocally() {
+        String indexName = GeospatialTestHelper.randomLowerCaseString();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assert actionRequest instanceof MultiSearchRequest;
+            MultiSearchRequest request = (MultiSearchRequest) actionRequest;
+            assertEquals(GeoIpDataDao.WARM_UP_IPS.size(), request.requests().size());
+            for (SearchRequest searchRequest : request.requests()) {
+                assertEquals(indexName, searchRequest.indices()[0]);
+                assertEquals(Preference.LOCAL.type(), searchRequest.preference());
+                assertFalse(searchRequest.requestCache());
+                assertEquals(1, searchRequest.source().size());
+            }
+            MultiSearchResponse.Item item = new MultiSearchResponse.Item(mock(SearchResponse.class), null);
+            return new MultiSearchResponse(new MultiSearchResponse.Item[] { item }, 1);
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        verifyingGeoIpDataDao.warmUpGeoIpData(indexName, listener);
+
+        // Verify
+        verify(listener).onResponse(null);
+    }
+
+    public void testWarmUpGeoIpData_whenSearchFailed_thenFail() {
+        Exception exception = new RuntimeException();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            MultiSearchResponse.Item item = new MultiSearchResponse.Item(null, exception);
+            return new MultiSearchResponse(new MultiSearchResponse.Item[] { item }, 1);
+        });
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        verifyingGeoIpDataDao.warmUpGeoIpData(GeospatialTestHelper.randomLowerCaseString(), listener);
+
+        // Verify
+        verify(listener).onFailure(exception);
+    }
 }
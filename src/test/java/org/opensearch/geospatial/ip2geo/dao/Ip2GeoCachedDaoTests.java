@@ -5,7 +5,12 @@
 
 package org.opensearch.geospatial.ip2geo.dao;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -14,32 +19,65 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
+import org.opensearch.Version;
+import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.common.network.NetworkAddress;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.index.shard.ShardId;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingRequest;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLookupStats;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+import org.opensearch.geospatial.ip2geo.common.LookupFailureMode;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
-import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
 import org.opensearch.index.engine.Engine;
 
 import lombok.SneakyThrows;
 
 public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
     private Ip2GeoCachedDao ip2GeoCachedDao;
+    private String jobIndexUuid;
 
     @Before
     public void init() {
-        ip2GeoCachedDao = new Ip2GeoCachedDao(clusterService, datasourceDao, geoIpDataDao);
+        ip2GeoCachedDao = new Ip2GeoCachedDao(clusterService, verifyingClient, datasourceDao, geoIpDataDao);
+        jobIndexUuid = GeospatialTestHelper.randomLowerCaseString();
+        IndexMetadata jobIndexMetadata = IndexMetadata.builder(DatasourceExtension.JOB_INDEX_NAME)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, jobIndexUuid)
+            )
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        when(metadata.index(DatasourceExtension.JOB_INDEX_NAME)).thenReturn(jobIndexMetadata);
+    }
+
+    private void publish(final String uuid, final Datasource... datasources) {
+        Map<String, DatasourceRouting> routings = Arrays.stream(datasources)
+            .collect(Collectors.toMap(Datasource::getName, datasource -> new DatasourceRouting(datasource, 0)));
+        when(metadata.custom(DatasourceRoutingMetadata.TYPE)).thenReturn(new DatasourceRoutingMetadata(uuid, routings));
     }
 
     public void testGetIndexName_whenCalled_thenReturnIndexName() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         // Run
         String indexName = ip2GeoCachedDao.getIndexName(datasource.getName());
@@ -48,9 +86,7 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
         assertEquals(datasource.currentIndexName(), indexName);
     }
 
-    public void testGetIndexName_whenIndexNotFound_thenReturnNull() {
-        when(datasourceDao.getAllDatasources()).thenThrow(new IndexNotFoundException("not found"));
-
+    public void testGetIndexName_whenNoRoutingMetadata_thenReturnNull() {
         // Run
         String indexName = ip2GeoCachedDao.getIndexName(GeospatialTestHelper.randomLowerCaseString());
 
@@ -58,11 +94,44 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
         assertNull(indexName);
     }
 
+    public void testGetIndexName_whenStaleRoutingMetadata_thenReturnNull() {
+        Datasource datasource = randomDatasource();
+        publish(GeospatialTestHelper.randomLowerCaseString(), datasource);
+
+        // Run
+        String indexName = ip2GeoCachedDao.getIndexName(datasource.getName());
+
+        // Verify
+        assertNull(indexName);
+    }
+
+    public void testHas_whenRoutingMissingInClusterState_thenReadDatasourceOnceInBackground() {
+        Datasource datasource = randomDatasource();
+        List<ActionListener<Datasource>> listeners = new ArrayList<>();
+        doAnswer(invocation -> listeners.add(invocation.getArgument(1))).when(datasourceDao)
+            .getDatasource(eq(datasource.getName()), any(ActionListener.class));
+
+        // Run
+        assertFalse(ip2GeoCachedDao.has(datasource.getName()));
+        assertFalse(ip2GeoCachedDao.has(datasource.getName()));
+
+        // Verify
+        assertEquals(1, listeners.size());
+
+        // Run
+        listeners.get(0).onResponse(datasource);
+
+        // Verify
+        assertTrue(ip2GeoCachedDao.has(datasource.getName()));
+        assertEquals(datasource.getCurrentIndex(), ip2GeoCachedDao.getIndexName(datasource.getName()));
+        verify(datasourceDao, times(1)).getDatasource(eq(datasource.getName()), any(ActionListener.class));
+    }
+
     public void testIsExpired_whenExpired_thenReturnTrue() {
         Datasource datasource = randomDatasource();
         datasource.getUpdateStats().setLastSucceededAt(Instant.MIN);
         datasource.getUpdateStats().setLastSkippedAt(null);
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         // Run
         boolean isExpired = ip2GeoCachedDao.isExpired(datasource.getName());
@@ -75,7 +144,7 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
         Datasource datasource = randomDatasource();
         datasource.getUpdateStats().setLastSucceededAt(Instant.now());
         datasource.getUpdateStats().setLastSkippedAt(null);
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         // Run
         boolean isExpired = ip2GeoCachedDao.isExpired(datasource.getName());
@@ -86,7 +155,7 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
 
     public void testHas_whenHasDatasource_thenReturnTrue() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         // Run
         boolean hasDatasource = ip2GeoCachedDao.has(datasource.getName());
@@ -97,7 +166,7 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
 
     public void testHas_whenNoDatasource_thenReturnFalse() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         String datasourceName = GeospatialTestHelper.randomLowerCaseString();
         // Run
@@ -109,7 +178,7 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
 
     public void testGetState_whenCalled_thenReturnState() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        publish(jobIndexUuid, datasource);
 
         // Run
         DatasourceState state = ip2GeoCachedDao.getState(datasource.getName());
@@ -122,90 +191,187 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
         Datasource datasource = randomDatasource();
         String ip = NetworkAddress.format(randomIp(false));
         Map<String, Object> expectedGeoData = Map.of("city", "Seattle");
-        when(geoIpDataDao.getGeoIpData(datasource.currentIndexName(), ip)).thenReturn(expectedGeoData);
+        TimeValue timeout = TimeValue.timeValueMillis(randomIntBetween(1, 1000));
+        when(geoIpDataDao.getGeoIpData(datasource.currentIndexName(), ip, timeout)).thenReturn(expectedGeoData);
 
         // Run
-        Map<String, Object> geoData = ip2GeoCachedDao.getGeoData(datasource.currentIndexName(), ip);
+        Map<String, Object> geoData = ip2GeoCachedDao.getGeoData(datasource.getName(), datasource.currentIndexName(), ip, timeout);
 
         // Verify
         assertEquals(expectedGeoData, geoData);
+        assertNull(ip2GeoCachedDao.getStaleGeoData(datasource.getName(), ip));
+    }
+
+    public void testGetGeoData_whenCalledTwice_thenRecordSearchAndCacheHit() {
+        Datasource datasource = randomDatasource();
+        String ip = NetworkAddress.format(randomIp(false));
+        TimeValue timeout = TimeValue.timeValueMillis(randomIntBetween(1, 1000));
+        when(geoIpDataDao.getGeoIpData(datasource.currentIndexName(), ip, timeout)).thenReturn(Map.of("city", "Seattle"));
+
+        // Run
+        ip2GeoCachedDao.getGeoData(datasource.getName(), datasource.currentIndexName(), ip, timeout);
+        ip2GeoCachedDao.getGeoData(datasource.getName(), datasource.currentIndexName(), ip, timeout);
+
+        // Verify
+        Ip2GeoLookupStats lookupStats = ip2GeoCachedDao.getLookupStats();
+        assertEquals(1, lookupStats.getCacheMisses());
+        assertEquals(1, lookupStats.getCacheHits());
+        assertEquals(1, lookupStats.getCacheEntries());
+        assertTrue(lookupStats.getCacheSizeInBytes() > 0);
+    }
+
+    public void testGetStaleGeoData_whenStaleMode_thenReturnGeoDataOfPreviousIndex() {
+        clusterSettings.applySettings(
+            Settings.builder().put(Ip2GeoSettings.LOOKUP_FAILURE_MODE.getKey(), LookupFailureMode.STALE.getName()).build()
+        );
+        Datasource datasource = randomDatasource();
+        String ip = NetworkAddress.format(randomIp(false));
+        String previousIndex = GeospatialTestHelper.randomLowerCaseString();
+        Map<String, Object> expectedGeoData = Map.of("city", "Seattle");
+        when(geoIpDataDao.getGeoIpData(eq(previousIndex), eq(ip), any(TimeValue.class))).thenReturn(expectedGeoData);
+        ip2GeoCachedDao.getGeoData(datasource.getName(), previousIndex, ip, TimeValue.timeValueSeconds(1));
+
+        // Run
+        Map<String, Object> staleGeoData = ip2GeoCachedDao.getStaleGeoData(datasource.getName(), ip);
+
+        // Verify
+        assertEquals(expectedGeoData, staleGeoData);
     }
 
     @SneakyThrows
     public void testPostIndex_whenFailed_thenNoUpdate() {
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList());
         Datasource datasource = randomDatasource();
 
-        ShardId shardId = mock(ShardId.class);
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
         Engine.Index index = mock(Engine.Index.class);
         BytesReference bytesReference = BytesReference.bytes(datasource.toXContent(XContentFactory.jsonBuilder(), null));
         when(index.source()).thenReturn(bytesReference);
+        when(index.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
         Engine.IndexResult result = mock(Engine.IndexResult.class);
         when(result.getResultType()).thenReturn(Engine.Result.Type.FAILURE);
 
         // Run
         ip2GeoCachedDao.postIndex(shardId, index, result);
 
-        // Verify
-        assertFalse(ip2GeoCachedDao.has(datasource.getName()));
-        assertTrue(ip2GeoCachedDao.isExpired(datasource.getName()));
-        assertNull(ip2GeoCachedDao.getIndexName(datasource.getName()));
-        assertNull(ip2GeoCachedDao.getState(datasource.getName()));
+        // Verify: verifying client throws an error when called
     }
 
     @SneakyThrows
-    public void testPostIndex_whenSucceed_thenUpdate() {
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList());
+    public void testPostIndex_whenReplica_thenNoUpdate() {
         Datasource datasource = randomDatasource();
 
-        ShardId shardId = mock(ShardId.class);
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
         Engine.Index index = mock(Engine.Index.class);
         BytesReference bytesReference = BytesReference.bytes(datasource.toXContent(XContentFactory.jsonBuilder(), null));
         when(index.source()).thenReturn(bytesReference);
+        when(index.origin()).thenReturn(Engine.Operation.Origin.REPLICA);
         Engine.IndexResult result = mock(Engine.IndexResult.class);
         when(result.getResultType()).thenReturn(Engine.Result.Type.SUCCESS);
 
         // Run
         ip2GeoCachedDao.postIndex(shardId, index, result);
 
-        // Verify
-        assertTrue(ip2GeoCachedDao.has(datasource.getName()));
-        assertFalse(ip2GeoCachedDao.isExpired(datasource.getName()));
-        assertEquals(datasource.currentIndexName(), ip2GeoCachedDao.getIndexName(datasource.getName()));
-        assertEquals(datasource.getState(), ip2GeoCachedDao.getState(datasource.getName()));
+        // Verify: verifying client throws an error when called
     }
 
-    public void testPostDelete_whenFailed_thenNoUpdate() {
+    @SneakyThrows
+    public void testPostIndex_whenSucceed_thenPublishRouting() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        long seqNo = randomNonNegativeLong();
 
-        ShardId shardId = mock(ShardId.class);
-        Engine.Delete index = mock(Engine.Delete.class);
-        Engine.DeleteResult result = mock(Engine.DeleteResult.class);
-        when(result.getResultType()).thenReturn(Engine.Result.Type.FAILURE);
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
+        Engine.Index index = mock(Engine.Index.class);
+        BytesReference bytesReference = BytesReference.bytes(datasource.toXContent(XContentFactory.jsonBuilder(), null));
+        when(index.source()).thenReturn(bytesReference);
+        when(index.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
+        Engine.IndexResult result = mock(Engine.IndexResult.class);
+        when(result.getResultType()).thenReturn(Engine.Result.Type.SUCCESS);
+        when(result.getSeqNo()).thenReturn(seqNo);
+
+        AtomicBoolean published = new AtomicBoolean();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof PublishDatasourceRoutingRequest);
+            PublishDatasourceRoutingRequest request = (PublishDatasourceRoutingRequest) actionRequest;
+            assertEquals(jobIndexUuid, request.getJobIndexUuid());
+            assertEquals(List.of(new DatasourceRouting(datasource, seqNo)), request.getUpdates());
+            assertTrue(request.getRemovals().isEmpty());
+            published.set(true);
+            return new AcknowledgedResponse(true);
+        });
 
         // Run
-        ip2GeoCachedDao.postDelete(shardId, index, result);
+        ip2GeoCachedDao.postIndex(shardId, index, result);
 
         // Verify
-        assertTrue(ip2GeoCachedDao.has(datasource.getName()));
+        assertTrue(published.get());
     }
 
-    public void testPostDelete_whenSucceed_thenUpdate() {
+    @SneakyThrows
+    public void testPostIndex_whenRoutingUnchanged_thenPublishOnce() {
         Datasource datasource = randomDatasource();
-        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
+        Engine.Index index = mock(Engine.Index.class);
+        BytesReference bytesReference = BytesReference.bytes(datasource.toXContent(XContentFactory.jsonBuilder(), null));
+        when(index.source()).thenReturn(bytesReference);
+        when(index.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
+        Engine.IndexResult result = mock(Engine.IndexResult.class);
+        when(result.getResultType()).thenReturn(Engine.Result.Type.SUCCESS);
+        when(result.getSeqNo()).thenReturn(1L, 2L);
+
+        AtomicInteger publishCount = new AtomicInteger();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            publishCount.incrementAndGet();
+            return new AcknowledgedResponse(true);
+        });
+
+        // Run
+        ip2GeoCachedDao.postIndex(shardId, index, result);
+        ip2GeoCachedDao.postIndex(shardId, index, result);
+
+        // Verify
+        assertEquals(1, publishCount.get());
+    }
+
+    public void testPostDelete_whenFailed_thenNoUpdate() {
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
+        Engine.Delete delete = mock(Engine.Delete.class);
+        when(delete.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
+        Engine.DeleteResult result = mock(Engine.DeleteResult.class);
+        when(result.getResultType()).thenReturn(Engine.Result.Type.FAILURE);
 
-        ShardId shardId = mock(ShardId.class);
-        Engine.Delete index = mock(Engine.Delete.class);
-        when(index.id()).thenReturn(datasource.getName());
+        // Run
+        ip2GeoCachedDao.postDelete(shardId, delete, result);
+
+        // Verify: verifying client throws an error when called
+    }
+
+    public void testPostDelete_whenSucceed_thenPublishRemoval() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        long seqNo = randomNonNegativeLong();
+        ShardId shardId = new ShardId(DatasourceExtension.JOB_INDEX_NAME, jobIndexUuid, 0);
+        Engine.Delete delete = mock(Engine.Delete.class);
+        when(delete.id()).thenReturn(datasourceName);
+        when(delete.origin()).thenReturn(Engine.Operation.Origin.PRIMARY);
         Engine.DeleteResult result = mock(Engine.DeleteResult.class);
         when(result.getResultType()).thenReturn(Engine.Result.Type.SUCCESS);
+        when(result.getSeqNo()).thenReturn(seqNo);
+
+        AtomicBoolean published = new AtomicBoolean();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof PublishDatasourceRoutingRequest);
+            PublishDatasourceRoutingRequest request = (PublishDatasourceRoutingRequest) actionRequest;
+            assertEquals(jobIndexUuid, request.getJobIndexUuid());
+            assertTrue(request.getUpdates().isEmpty());
+            assertEquals(Map.of(datasourceName, seqNo), request.getRemovals());
+            published.set(true);
+            return new AcknowledgedResponse(true);
+        });
 
         // Run
-        ip2GeoCachedDao.postDelete(shardId, index, result);
+        ip2GeoCachedDao.postDelete(shardId, delete, result);
 
         // Verify
-        assertFalse(ip2GeoCachedDao.has(datasource.getName()));
+        assertTrue(published.get());
     }
 
     @SneakyThrows
@@ -262,4 +428,25 @@ public class Ip2GeoCachedDaoTests extends Ip2GeoTestCase {
         assertTrue(deleted.stream().allMatch(ip -> geoDataCache.get(datasource, ip) == null));
         assertTrue(retained.stream().allMatch(ip -> geoDataCache.get(datasource, ip) != null));
     }
+
+    @SneakyThrows
+    public void testGeoDataCache_whenEvicted_thenTrackSizeAndEvictions() {
+        int cacheSize = randomIntBetween(1, 10);
+        String datasource = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoCachedDao.GeoDataCache geoDataCache = new Ip2GeoCachedDao.GeoDataCache(cacheSize);
+        for (int i = 0; i < cacheSize; i++) {
+            geoDataCache.putIfAbsent(datasource, NetworkAddress.format(randomIp(false)), addr -> Map.of("city", "Seattle"));
+        }
+        long sizeInBytes = geoDataCache.sizeInBytes();
+        assertTrue(sizeInBytes > 0);
+        assertEquals(0, geoDataCache.evictions());
+
+        // Run
+        geoDataCache.putIfAbsent(datasource, "not-an-ip-" + cacheSize, addr -> Map.of("city", "Seattle"));
+
+        // Verify
+        assertEquals(cacheSize, geoDataCache.count());
+        assertEquals(1, geoDataCache.evictions());
+        assertTrue(geoDataCache.sizeInBytes() > 0);
+    }
 }
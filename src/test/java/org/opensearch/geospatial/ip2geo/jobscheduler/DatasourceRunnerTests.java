@@ -7,7 +7,9 @@ package org.opensearch.geospatial.ip2geo.jobscheduler;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -22,6 +24,9 @@ import java.util.Optional;
 
 import org.junit.Before;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.opensearch.OpenSearchException;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
@@ -38,7 +43,17 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
     @Before
     public void init() {
         DatasourceRunner.getJobRunnerInstance()
-            .initialize(clusterService, datasourceUpdateService, ip2GeoExecutor, datasourceDao, ip2GeoLockService);
+            .initialize(clusterService, datasourceUpdateService, datasourceUpdateScheduler, datasourceDao, ip2GeoLockService);
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(2);
+            listener.onResponse(null);
+            return null;
+        }).when(datasourceUpdateService).updateOrCreateGeoIpData(any(Datasource.class), any(Runnable.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(datasourceDao).finishBatch(any(Datasource.class), any(ActionListener.class));
     }
 
     public void testGetJobRunnerInstance_whenCalledAgain_thenReturnSameInstance() {
@@ -87,7 +102,10 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         );
 
         // Run
-        expectThrows(Exception.class, () -> DatasourceRunner.getJobRunnerInstance().updateDatasourceRunner(jobParameter).run());
+        expectThrows(
+            Exception.class,
+            () -> DatasourceRunner.getJobRunnerInstance().updateDatasourceRunner(jobParameter).accept(mock(ActionListener.class))
+        );
 
         // Verify
         verify(ip2GeoLockService, never()).releaseLock(any());
@@ -104,10 +122,12 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         when(datasourceDao.getDatasource(jobParameter.getName())).thenThrow(new RuntimeException());
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasourceRunner(jobParameter).run();
+        ActionListener<Void> listener = mock(ActionListener.class);
+        DatasourceRunner.getJobRunnerInstance().updateDatasourceRunner(jobParameter).accept(listener);
 
         // Verify
         verify(ip2GeoLockService).releaseLock(any());
+        verify(listener).onFailure(any(RuntimeException.class));
     }
 
     @SneakyThrows
@@ -115,7 +135,7 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         Datasource datasource = new Datasource();
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class));
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), mock(ActionListener.class));
 
         // Verify
         verify(datasourceUpdateService, never()).deleteUnusedIndices(any());
@@ -130,7 +150,7 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class));
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), mock(ActionListener.class));
 
         // Verify
         assertFalse(datasource.isEnabled());
@@ -146,14 +166,53 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         Runnable renewLock = mock(Runnable.class);
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock);
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock, mock(ActionListener.class));
 
         // Verify
         verify(datasourceUpdateService, times(2)).deleteUnusedIndices(datasource);
-        verify(datasourceUpdateService).updateOrCreateGeoIpData(datasource, renewLock);
+        verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), eq(renewLock), any(ActionListener.class));
         verify(datasourceUpdateService).updateDatasource(datasource, datasource.getUserSchedule(), DatasourceTask.ALL);
     }
 
+    @SneakyThrows
+    public void testUpdateDatasource_whenCompleted_thenWriteDatasourceOnceAtTheEnd() {
+        Datasource datasource = randomDatasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        InOrder inOrder = inOrder(datasourceDao, datasourceUpdateService, listener);
+        inOrder.verify(datasourceDao).startBatch(datasource.getName());
+        inOrder.verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), any(Runnable.class), any(ActionListener.class));
+        inOrder.verify(datasourceUpdateService).updateDatasource(datasource, datasource.getUserSchedule(), DatasourceTask.ALL);
+        inOrder.verify(datasourceDao).finishBatch(eq(datasource), any(ActionListener.class));
+        inOrder.verify(listener).onResponse(null);
+    }
+
+    @SneakyThrows
+    public void testUpdateDatasource_whenFinishBatchFailed_thenFail() {
+        Datasource datasource = randomDatasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
+        Exception exception = new RuntimeException();
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(1);
+            listener.onFailure(exception);
+            return null;
+        }).when(datasourceDao).finishBatch(any(Datasource.class), any(ActionListener.class));
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onFailure(exception);
+    }
+
     @SneakyThrows
     public void testUpdateDatasource_whenDeleteTask_thenDeleteOnly() {
         Datasource datasource = randomDatasource();
@@ -163,11 +222,15 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         Runnable renewLock = mock(Runnable.class);
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock);
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock, mock(ActionListener.class));
 
         // Verify
         verify(datasourceUpdateService, times(2)).deleteUnusedIndices(datasource);
-        verify(datasourceUpdateService, never()).updateOrCreateGeoIpData(datasource, renewLock);
+        verify(datasourceUpdateService, never()).updateOrCreateGeoIpData(
+            any(Datasource.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
         verify(datasourceUpdateService).updateDatasource(datasource, datasource.getUserSchedule(), DatasourceTask.ALL);
     }
 
@@ -182,11 +245,11 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         Runnable renewLock = mock(Runnable.class);
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock);
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock, mock(ActionListener.class));
 
         // Verify
         verify(datasourceUpdateService, times(3)).deleteUnusedIndices(datasource);
-        verify(datasourceUpdateService).updateOrCreateGeoIpData(datasource, renewLock);
+        verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), eq(renewLock), any(ActionListener.class));
         verify(datasourceUpdateService).updateDatasource(datasource, datasource.getUserSchedule(), DatasourceTask.ALL);
     }
 
@@ -201,11 +264,11 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         Runnable renewLock = mock(Runnable.class);
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock);
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, renewLock, mock(ActionListener.class));
 
         // Verify
         verify(datasourceUpdateService, times(2)).deleteUnusedIndices(datasource);
-        verify(datasourceUpdateService).updateOrCreateGeoIpData(datasource, renewLock);
+        verify(datasourceUpdateService).updateOrCreateGeoIpData(eq(datasource), eq(renewLock), any(ActionListener.class));
 
         ArgumentCaptor<IntervalSchedule> captor = ArgumentCaptor.forClass(IntervalSchedule.class);
         verify(datasourceUpdateService).updateDatasource(eq(datasource), captor.capture(), eq(DatasourceTask.DELETE_UNUSED_INDICES));
@@ -221,10 +284,34 @@ public class DatasourceRunnerTests extends Ip2GeoTestCase {
         doThrow(new RuntimeException("test failure")).when(datasourceUpdateService).deleteUnusedIndices(any());
 
         // Run
-        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class));
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), mock(ActionListener.class));
+
+        // Verify
+        assertNotNull(datasource.getUpdateStats().getLastFailedAt());
+        verify(datasourceDao).updateDatasource(datasource);
+    }
+
+    @SneakyThrows
+    public void testUpdateDatasource_whenUpdateFailed_thenUpdateLastFailedAt() {
+        Datasource datasource = randomDatasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        datasource.setTask(DatasourceTask.ALL);
+        datasource.getUpdateStats().setLastFailedAt(null);
+        when(datasourceDao.getDatasource(datasource.getName())).thenReturn(datasource);
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(2);
+            listener.onFailure(new OpenSearchException("test failure"));
+            return null;
+        }).when(datasourceUpdateService).updateOrCreateGeoIpData(any(Datasource.class), any(Runnable.class), any(ActionListener.class));
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        DatasourceRunner.getJobRunnerInstance().updateDatasource(datasource, mock(Runnable.class), listener);
 
         // Verify
         assertNotNull(datasource.getUpdateStats().getLastFailedAt());
         verify(datasourceDao).updateDatasource(datasource);
+        verify(datasourceUpdateService, times(1)).deleteUnusedIndices(datasource);
+        verify(listener).onResponse(null);
     }
 }
@@ -16,6 +16,7 @@ import java.util.Locale;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.common.DatasourceManifest;
 import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
 
 import lombok.SneakyThrows;
@@ -100,6 +101,23 @@ public class DatasourceTests extends Ip2GeoTestCase {
         assertEquals(String.format(Locale.ROOT, "%s.%s.%s", IP2GEO_DATA_INDEX_NAME_PREFIX, name, suffix), datasource.newIndexName(suffix));
     }
 
+    public void testSharedIndexName_whenSameDatabase_thenReturnSameName() {
+        String url = GeospatialTestHelper.randomLowerCaseString();
+        String sha256Hash = GeospatialTestHelper.randomLowerCaseString();
+        long updatedAt = Instant.now().toEpochMilli();
+        DatasourceManifest manifest = new DatasourceManifest(url, "db", sha256Hash, 1l, updatedAt, "provider");
+        DatasourceManifest sameDatabase = new DatasourceManifest(url, "other", sha256Hash, 2l, updatedAt, "other");
+        DatasourceManifest otherDatabase = new DatasourceManifest(url, "db", sha256Hash + "a", 1l, updatedAt, "provider");
+
+        // Run
+        String indexName = Datasource.sharedIndexName(manifest);
+
+        // Verify
+        assertTrue(indexName.startsWith(IP2GEO_DATA_INDEX_NAME_PREFIX + "._shared."));
+        assertEquals(indexName, Datasource.sharedIndexName(sameDatabase));
+        assertNotEquals(indexName, Datasource.sharedIndexName(otherDatabase));
+    }
+
     public void testResetDatabase_whenCalled_thenNullifySomeFields() {
         Datasource datasource = randomDatasource();
         assertNotNull(datasource.getDatabase().getSha256Hash());
@@ -0,0 +1,161 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.jobscheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+
+public class DatasourceUpdateSchedulerTests extends Ip2GeoTestCase {
+    private final List<String> startedUpdates = new ArrayList<>();
+    private final List<ActionListener<Void>> runningListeners = new ArrayList<>();
+
+    public void testSubmit_whenSlotAvailable_thenRunImmediately() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+
+        // Run
+        assertTrue(datasourceUpdateScheduler.submit(datasourceName, DatasourceUpdateScheduler.Priority.NORMAL, update(datasourceName)));
+
+        // Verify
+        assertEquals(List.of(datasourceName), startedUpdates);
+        assertEquals(1, datasourceUpdateScheduler.getRunningCount());
+        assertEquals(0, datasourceUpdateScheduler.getQueuedCount());
+        assertEquals(1, datasourceUpdateScheduler.getStartedCount());
+
+        // Run
+        runningListeners.get(0).onResponse(null);
+
+        // Verify
+        assertEquals(0, datasourceUpdateScheduler.getRunningCount());
+    }
+
+    public void testSubmit_whenMaxConcurrentUpdatesReached_thenQueue() {
+        setMaxConcurrentUpdates(2);
+
+        // Run
+        for (String name : List.of("a", "b", "c")) {
+            datasourceUpdateScheduler.submit(name, DatasourceUpdateScheduler.Priority.NORMAL, update(name));
+        }
+
+        // Verify
+        assertEquals(List.of("a", "b"), startedUpdates);
+        assertEquals(2, datasourceUpdateScheduler.getRunningCount());
+        assertEquals(1, datasourceUpdateScheduler.getQueuedCount());
+
+        // Run
+        runningListeners.get(0).onFailure(new RuntimeException());
+
+        // Verify
+        assertEquals(List.of("a", "b", "c"), startedUpdates);
+        assertEquals(0, datasourceUpdateScheduler.getQueuedCount());
+    }
+
+    public void testSubmit_whenHighPriority_thenRunBeforeNormalPriority() {
+        setMaxConcurrentUpdates(1);
+        datasourceUpdateScheduler.submit("a", DatasourceUpdateScheduler.Priority.NORMAL, update("a"));
+
+        // Run
+        datasourceUpdateScheduler.submit("b", DatasourceUpdateScheduler.Priority.NORMAL, update("b"));
+        datasourceUpdateScheduler.submit("c", DatasourceUpdateScheduler.Priority.HIGH, update("c"));
+        runningListeners.get(0).onResponse(null);
+
+        // Verify
+        assertEquals(List.of("a", "c"), startedUpdates);
+    }
+
+    public void testSubmit_whenSameDatasourceIsPending_thenDropNormalPriority() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        datasourceUpdateScheduler.submit(datasourceName, DatasourceUpdateScheduler.Priority.NORMAL, update(datasourceName));
+
+        // Run
+        boolean queued = datasourceUpdateScheduler.submit(
+            datasourceName,
+            DatasourceUpdateScheduler.Priority.NORMAL,
+            update(datasourceName)
+        );
+
+        // Verify
+        assertFalse(queued);
+        assertEquals(0, datasourceUpdateScheduler.getQueuedCount());
+    }
+
+    public void testSubmit_whenSameDatasourceIsRunning_thenWaitForCompletion() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        datasourceUpdateScheduler.submit(datasourceName, DatasourceUpdateScheduler.Priority.NORMAL, update(datasourceName));
+
+        // Run
+        assertTrue(datasourceUpdateScheduler.submit(datasourceName, DatasourceUpdateScheduler.Priority.HIGH, update(datasourceName)));
+
+        // Verify
+        assertEquals(1, startedUpdates.size());
+        assertEquals(1, datasourceUpdateScheduler.getQueuedCount());
+
+        // Run
+        runningListeners.get(0).onResponse(null);
+
+        // Verify
+        assertEquals(2, startedUpdates.size());
+        assertEquals(0, datasourceUpdateScheduler.getQueuedCount());
+    }
+
+    public void testSubmit_whenUpdateThrowsException_thenReleaseSlot() {
+        setMaxConcurrentUpdates(1);
+
+        // Run
+        datasourceUpdateScheduler.submit("a", DatasourceUpdateScheduler.Priority.NORMAL, listener -> {
+            throw new RuntimeException();
+        });
+        datasourceUpdateScheduler.submit("b", DatasourceUpdateScheduler.Priority.NORMAL, update("b"));
+
+        // Verify
+        assertEquals(List.of("b"), startedUpdates);
+    }
+
+    public void testSetMaxConcurrentUpdates_whenIncreased_thenStartQueuedUpdates() {
+        setMaxConcurrentUpdates(1);
+        datasourceUpdateScheduler.submit("a", DatasourceUpdateScheduler.Priority.NORMAL, update("a"));
+        datasourceUpdateScheduler.submit("b", DatasourceUpdateScheduler.Priority.NORMAL, update("b"));
+
+        // Run
+        setMaxConcurrentUpdates(2);
+
+        // Verify
+        assertEquals(List.of("a", "b"), startedUpdates);
+    }
+
+    public void testGetStats_whenQueued_thenReturnQueuedAndRunning() {
+        setMaxConcurrentUpdates(1);
+        datasourceUpdateScheduler.submit("a", DatasourceUpdateScheduler.Priority.NORMAL, update("a"));
+        datasourceUpdateScheduler.submit("b", DatasourceUpdateScheduler.Priority.NORMAL, update("b"));
+
+        // Run
+        DatasourceUpdateSchedulerStats stats = datasourceUpdateScheduler.getStats();
+
+        // Verify
+        assertEquals(1, stats.getQueued());
+        assertEquals(1, stats.getRunning());
+        assertEquals(1, stats.getStarted());
+        assertEquals(datasourceUpdateScheduler.getTotalQueueWaitTimeInMillis(), stats.getTotalQueueWaitTimeInMillis());
+        assertEquals(datasourceUpdateScheduler.getMaxQueueWaitTimeInMillis(), stats.getMaxQueueWaitTimeInMillis());
+    }
+
+    private void setMaxConcurrentUpdates(final int value) {
+        clusterSettings.applySettings(Settings.builder().put(Ip2GeoSettings.MAX_CONCURRENT_UPDATES.getKey(), value).build());
+    }
+
+    private Consumer<ActionListener<Void>> update(final String datasourceName) {
+        return listener -> {
+            startedUpdates.add(datasourceName);
+            runningListeners.add(listener);
+        };
+    }
+}
@@ -6,9 +6,12 @@
 package org.opensearch.geospatial.ip2geo.jobscheduler;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -19,31 +22,87 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.TimeoutClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterApplierService;
 import org.opensearch.common.SuppressForbidden;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
 import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.exceptions.ConcurrentModificationException;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
 import org.opensearch.geospatial.ip2geo.common.DatasourceManifest;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLockService;
+import org.opensearch.jobscheduler.spi.LockModel;
 import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
 
 import lombok.SneakyThrows;
 
 @SuppressForbidden(reason = "unit test")
 public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
+    @Mock
+    private ClusterApplierService clusterApplierService;
     private DatasourceUpdateService datasourceUpdateService;
 
     @Before
     public void init() {
-        datasourceUpdateService = new DatasourceUpdateService(clusterService, datasourceDao, geoIpDataDao, urlDenyListChecker);
+        datasourceUpdateService = new DatasourceUpdateService(
+            clusterService,
+            threadPool,
+            datasourceDao,
+            geoIpDataDao,
+            urlDenyListChecker,
+            ip2GeoExecutor,
+            ip2GeoLockService
+        );
+        when(clusterService.getClusterApplierService()).thenReturn(clusterApplierService);
+        when(clusterApplierService.state()).thenReturn(clusterState);
+        when(clusterApplierService.threadPool()).thenReturn(threadPool);
+        when(clusterState.nodes()).thenReturn(DiscoveryNodes.EMPTY_NODES);
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(datasourceDao).updateDatasource(any(Datasource.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(1);
+            listener.onResponse(null);
+            return null;
+        }).when(geoIpDataDao).createIndexIfNotExists(anyString(), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(5);
+            listener.onResponse(null);
+            return null;
+        }).when(geoIpDataDao)
+            .putGeoIpData(any(), anyString(), any(String[].class), any(Iterator.class), any(Runnable.class), any(ActionListener.class));
+        doAnswer(invocation -> {
+            ActionListener<LockModel> listener = invocation.getArgument(2);
+            listener.onResponse(randomLockModel());
+            return null;
+        }).when(ip2GeoLockService).acquireLock(anyString(), anyLong(), any(ActionListener.class));
+        when(ip2GeoLockService.acquireLock(anyString(), anyLong())).thenAnswer(invocation -> Optional.of(randomLockModel()));
     }
 
     @SneakyThrows
@@ -58,12 +117,16 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         datasource.getDatabase().setSha256Hash(manifest.getSha256Hash());
         datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
 
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class));
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
 
         // Verify
         assertNotNull(datasource.getUpdateStats().getLastSkippedAt());
         verify(datasourceDao).updateDatasource(datasource);
+        verify(geoIpDataDao, never()).createIndexIfNotExists(anyString(), any(ActionListener.class));
+        verify(listener).onResponse(null);
         verify(urlDenyListChecker).toUrlIfNotInDenyList(datasource.getEndpoint());
     }
 
@@ -76,6 +139,7 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         when(geoIpDataDao.getDatabaseReader(any())).thenReturn(CSVParser.parse(sampleFile, StandardCharsets.UTF_8, CSVFormat.RFC4180));
 
         Datasource datasource = new Datasource();
+        datasource.setName(GeospatialTestHelper.randomLowerCaseString());
         datasource.setState(DatasourceState.AVAILABLE);
         datasource.getDatabase().setUpdatedAt(Instant.ofEpochMilli(manifest.getUpdatedAt()));
         datasource.getDatabase().setSha256Hash(manifest.getSha256Hash());
@@ -83,16 +147,29 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
         datasource.resetDatabase();
 
+        ShardRouting shardRouting = mock(ShardRouting.class);
+        when(shardRouting.started()).thenReturn(true);
+        when(routingTable.allShards(anyString())).thenReturn(Arrays.asList(shardRouting));
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class));
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
 
         // Verify
-        verify(geoIpDataDao).putGeoIpData(eq(datasource.currentIndexName()), isA(String[].class), any(Iterator.class), any(Runnable.class));
+        verify(geoIpDataDao).putGeoIpData(
+            eq(datasource.getName()),
+            eq(datasource.currentIndexName()),
+            isA(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
         verify(urlDenyListChecker).toUrlIfNotInDenyList(datasource.getEndpoint());
+        verify(listener).onResponse(null);
     }
 
     @SneakyThrows
-    public void testUpdateOrCreateGeoIpData_whenInvalidData_thenThrowException() {
+    public void testUpdateOrCreateGeoIpData_whenInvalidData_thenFail() {
         File manifestFile = new File(this.getClass().getClassLoader().getResource("ip2geo/manifest.json").getFile());
         DatasourceManifest manifest = DatasourceManifest.Builder.build(manifestFile.toURI().toURL());
 
@@ -108,13 +185,26 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         datasource.getDatabase().setFields(Arrays.asList("country_name"));
         datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
 
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        expectThrows(OpenSearchException.class, () -> datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class)));
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onFailure(any(OpenSearchException.class));
+        verify(geoIpDataDao, never()).putGeoIpData(
+            any(),
+            anyString(),
+            any(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
         verify(urlDenyListChecker).toUrlIfNotInDenyList(datasource.getEndpoint());
     }
 
     @SneakyThrows
-    public void testUpdateOrCreateGeoIpData_whenIncompatibleFields_thenThrowException() {
+    public void testUpdateOrCreateGeoIpData_whenIncompatibleFields_thenFail() {
         File manifestFile = new File(this.getClass().getClassLoader().getResource("ip2geo/manifest.json").getFile());
         DatasourceManifest manifest = DatasourceManifest.Builder.build(manifestFile.toURI().toURL());
 
@@ -128,8 +218,21 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         datasource.getDatabase().setFields(Arrays.asList("country_name", "additional_field"));
         datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
 
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        expectThrows(OpenSearchException.class, () -> datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class)));
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onFailure(any(OpenSearchException.class));
+        verify(geoIpDataDao, never()).putGeoIpData(
+            any(),
+            anyString(),
+            any(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
         verify(urlDenyListChecker).toUrlIfNotInDenyList(datasource.getEndpoint());
     }
 
@@ -145,6 +248,7 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         when(routingTable.allShards(anyString())).thenReturn(Arrays.asList(shardRouting));
 
         Datasource datasource = new Datasource();
+        datasource.setName(GeospatialTestHelper.randomLowerCaseString());
         datasource.setState(DatasourceState.AVAILABLE);
         datasource.getDatabase().setUpdatedAt(Instant.ofEpochMilli(manifest.getUpdatedAt() - 1));
         datasource.getDatabase().setSha256Hash(manifest.getSha256Hash().substring(1));
@@ -153,47 +257,198 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         datasource.getUpdateStats().setLastSucceededAt(null);
         datasource.getUpdateStats().setLastProcessingTimeInMillis(null);
 
+        ActionListener<Void> listener = mock(ActionListener.class);
+
         // Run
-        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class));
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
 
         // Verify
+        verify(listener).onResponse(null);
         assertEquals(manifest.getProvider(), datasource.getDatabase().getProvider());
         assertEquals(manifest.getSha256Hash(), datasource.getDatabase().getSha256Hash());
         assertEquals(Instant.ofEpochMilli(manifest.getUpdatedAt()), datasource.getDatabase().getUpdatedAt());
         assertEquals(manifest.getValidForInDays(), datasource.getDatabase().getValidForInDays());
         assertNotNull(datasource.getUpdateStats().getLastSucceededAt());
         assertNotNull(datasource.getUpdateStats().getLastProcessingTimeInMillis());
-        verify(datasourceDao, times(2)).updateDatasource(datasource);
-        verify(geoIpDataDao).putGeoIpData(eq(datasource.currentIndexName()), isA(String[].class), any(Iterator.class), any(Runnable.class));
+        verify(datasourceDao, times(2)).updateDatasource(eq(datasource), any(ActionListener.class));
+        assertEquals(Datasource.sharedIndexName(manifest), datasource.currentIndexName());
+        verify(ip2GeoLockService).releaseLock(any(LockModel.class));
+        verify(geoIpDataDao).putGeoIpData(
+            eq(datasource.getName()),
+            eq(datasource.currentIndexName()),
+            isA(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
         verify(urlDenyListChecker).toUrlIfNotInDenyList(datasource.getEndpoint());
     }
 
-    public void testWaitUntilAllShardsStarted_whenTimedOut_thenThrowException() {
+    @SneakyThrows
+    public void testUpdateOrCreateGeoIpData_whenPutGeoIpDataFailed_thenDoNotUpdateCurrentIndex() {
+        File manifestFile = new File(this.getClass().getClassLoader().getResource("ip2geo/manifest.json").getFile());
+        DatasourceManifest manifest = DatasourceManifest.Builder.build(manifestFile.toURI().toURL());
+
+        File sampleFile = new File(this.getClass().getClassLoader().getResource("ip2geo/sample_valid.csv").getFile());
+        when(geoIpDataDao.getDatabaseReader(any())).thenReturn(CSVParser.parse(sampleFile, StandardCharsets.UTF_8, CSVFormat.RFC4180));
+        Exception exception = new OpenSearchException("failed");
+        doAnswer(invocation -> {
+            ActionListener<Void> listener = invocation.getArgument(5);
+            listener.onFailure(exception);
+            return null;
+        }).when(geoIpDataDao)
+            .putGeoIpData(any(), anyString(), any(String[].class), any(Iterator.class), any(Runnable.class), any(ActionListener.class));
+
+        Datasource datasource = new Datasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        datasource.getDatabase().setUpdatedAt(Instant.ofEpochMilli(manifest.getUpdatedAt() - 1));
+        datasource.getDatabase().setSha256Hash(manifest.getSha256Hash().substring(1));
+        datasource.getDatabase().setFields(Arrays.asList("country_name"));
+        datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
+        String currentIndex = datasource.currentIndexName();
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onFailure(exception);
+        assertEquals(currentIndex, datasource.currentIndexName());
+        verify(datasourceDao, times(1)).updateDatasource(eq(datasource), any(ActionListener.class));
+    }
+
+    @SneakyThrows
+    public void testUpdateOrCreateGeoIpData_whenIndexIsBuiltByAnotherDatasource_thenSkipIndexing() {
+        File manifestFile = new File(this.getClass().getClassLoader().getResource("ip2geo/manifest.json").getFile());
+        DatasourceManifest manifest = DatasourceManifest.Builder.build(manifestFile.toURI().toURL());
+        String indexName = Datasource.sharedIndexName(manifest);
+
+        File sampleFile = new File(this.getClass().getClassLoader().getResource("ip2geo/sample_valid.csv").getFile());
+        when(geoIpDataDao.getDatabaseReader(any())).thenReturn(CSVParser.parse(sampleFile, StandardCharsets.UTF_8, CSVFormat.RFC4180));
+        ShardRouting shardRouting = mock(ShardRouting.class);
+        when(shardRouting.started()).thenReturn(true);
+        when(routingTable.allShards(anyString())).thenReturn(Arrays.asList(shardRouting));
+        when(metadata.index(indexName)).thenReturn(builtIndexMetadata(indexName));
+
+        Datasource datasource = new Datasource();
+        datasource.setState(DatasourceState.AVAILABLE);
+        datasource.getDatabase().setUpdatedAt(Instant.ofEpochMilli(manifest.getUpdatedAt() - 1));
+        datasource.getDatabase().setSha256Hash(manifest.getSha256Hash().substring(1));
+        datasource.getDatabase().setFields(Arrays.asList("country_name"));
+        datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
+
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onResponse(null);
+        assertEquals(indexName, datasource.getCurrentIndex());
+        assertTrue(datasource.getIndices().contains(indexName));
+        verify(ip2GeoLockService).releaseLock(any(LockModel.class));
+        verify(geoIpDataDao, never()).createIndexIfNotExists(anyString(), any(ActionListener.class));
+        verify(geoIpDataDao, never()).putGeoIpData(
+            any(),
+            anyString(),
+            any(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
+    }
+
+    @SneakyThrows
+    public void testUpdateOrCreateGeoIpData_whenCurrentIndexIsMissing_thenUpdate() {
+        File manifestFile = new File(this.getClass().getClassLoader().getResource("ip2geo/manifest.json").getFile());
+        DatasourceManifest manifest = DatasourceManifest.Builder.build(manifestFile.toURI().toURL());
+
+        File sampleFile = new File(this.getClass().getClassLoader().getResource("ip2geo/sample_valid.csv").getFile());
+        when(geoIpDataDao.getDatabaseReader(any())).thenReturn(CSVParser.parse(sampleFile, StandardCharsets.UTF_8, CSVFormat.RFC4180));
+        ShardRouting shardRouting = mock(ShardRouting.class);
+        when(shardRouting.started()).thenReturn(true);
+        when(routingTable.allShards(anyString())).thenReturn(Arrays.asList(shardRouting));
+
+        Datasource datasource = new Datasource();
+        datasource.setName(GeospatialTestHelper.randomLowerCaseString());
+        datasource.setState(DatasourceState.AVAILABLE);
+        datasource.getDatabase().setUpdatedAt(Instant.ofEpochMilli(manifest.getUpdatedAt()));
+        datasource.getDatabase().setSha256Hash(manifest.getSha256Hash());
+        datasource.getDatabase().setFields(Arrays.asList("country_name"));
+        datasource.setEndpoint(manifestFile.toURI().toURL().toExternalForm());
+        datasource.setCurrentIndex(Datasource.sharedIndexName(manifest));
+        when(metadata.hasIndex(datasource.getCurrentIndex())).thenReturn(false);
+
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceUpdateService.updateOrCreateGeoIpData(datasource, mock(Runnable.class), listener);
+
+        // Verify
+        verify(listener).onResponse(null);
+        verify(geoIpDataDao).createIndexIfNotExists(eq(Datasource.sharedIndexName(manifest)), any(ActionListener.class));
+        verify(geoIpDataDao).putGeoIpData(
+            eq(datasource.getName()),
+            eq(Datasource.sharedIndexName(manifest)),
+            isA(String[].class),
+            any(Iterator.class),
+            any(Runnable.class),
+            any(ActionListener.class)
+        );
+    }
+
+    public void testWaitUntilAllShardsStarted_whenAllShardsStarted_thenRespondImmediately() {
+        String indexName = GeospatialTestHelper.randomLowerCaseString();
+        ShardRouting shardRouting = mock(ShardRouting.class);
+        when(shardRouting.started()).thenReturn(true);
+        when(routingTable.allShards(indexName)).thenReturn(Arrays.asList(shardRouting));
+        ActionListener<Void> listener = mock(ActionListener.class);
+
+        // Run
+        datasourceUpdateService.waitUntilAllShardsStarted(indexName, TimeValue.timeValueSeconds(10), listener);
+
+        // Verify
+        verify(listener).onResponse(null);
+        verify(clusterApplierService, never()).addTimeoutListener(any(), any());
+    }
+
+    public void testWaitUntilAllShardsStarted_whenTimedOut_thenFail() {
         String indexName = GeospatialTestHelper.randomLowerCaseString();
         ShardRouting shardRouting = mock(ShardRouting.class);
         when(shardRouting.started()).thenReturn(false);
         when(routingTable.allShards(indexName)).thenReturn(Arrays.asList(shardRouting));
+        ActionListener<Void> listener = mock(ActionListener.class);
+        TimeValue timeout = TimeValue.timeValueSeconds(10);
 
         // Run
-        Exception e = expectThrows(OpenSearchException.class, () -> datasourceUpdateService.waitUntilAllShardsStarted(indexName, 10));
+        datasourceUpdateService.waitUntilAllShardsStarted(indexName, timeout, listener);
+        ArgumentCaptor<TimeoutClusterStateListener> captor = ArgumentCaptor.forClass(TimeoutClusterStateListener.class);
+        verify(clusterApplierService).addTimeoutListener(any(), captor.capture());
+        captor.getValue().onTimeout(timeout);
 
         // Verify
-        assertTrue(e.getMessage().contains("did not complete"));
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener).onFailure(exceptionCaptor.capture());
+        assertTrue(exceptionCaptor.getValue().getMessage().contains("did not complete"));
     }
 
-    @SneakyThrows
-    public void testWaitUntilAllShardsStarted_whenInterrupted_thenThrowException() {
+    public void testWaitUntilAllShardsStarted_whenShardsStartedLater_thenRespond() {
         String indexName = GeospatialTestHelper.randomLowerCaseString();
         ShardRouting shardRouting = mock(ShardRouting.class);
         when(shardRouting.started()).thenReturn(false);
         when(routingTable.allShards(indexName)).thenReturn(Arrays.asList(shardRouting));
+        ActionListener<Void> listener = mock(ActionListener.class);
 
         // Run
-        Thread.currentThread().interrupt();
-        Exception e = expectThrows(RuntimeException.class, () -> datasourceUpdateService.waitUntilAllShardsStarted(indexName, 10));
+        datasourceUpdateService.waitUntilAllShardsStarted(indexName, TimeValue.timeValueSeconds(10), listener);
+        ArgumentCaptor<TimeoutClusterStateListener> captor = ArgumentCaptor.forClass(TimeoutClusterStateListener.class);
+        verify(clusterApplierService).addTimeoutListener(any(), captor.capture());
+        verify(listener, never()).onResponse(any());
+        when(shardRouting.started()).thenReturn(true);
+        captor.getValue().clusterChanged(new ClusterChangedEvent("test", clusterState, clusterState));
 
         // Verify
-        assertEquals(InterruptedException.class, e.getCause().getClass());
+        verify(listener).onResponse(null);
     }
 
     @SneakyThrows
@@ -226,15 +481,119 @@ public class DatasourceUpdateServiceTests extends Ip2GeoTestCase {
         when(metadata.hasIndex(currentIndex)).thenReturn(true);
         when(metadata.hasIndex(oldIndex)).thenReturn(true);
         when(metadata.hasIndex(lingeringIndex)).thenReturn(false);
+        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
 
         datasourceUpdateService.deleteUnusedIndices(datasource);
 
         assertEquals(1, datasource.getIndices().size());
         assertEquals(currentIndex, datasource.getIndices().get(0));
+        verify(datasourceDao).updateDatasourceImmediately(datasource);
         verify(datasourceDao).updateDatasource(datasource);
         verify(geoIpDataDao).deleteIp2GeoDataIndex(oldIndex);
     }
 
+    public void testDeleteIndexIfUnreferenced_whenReferencedByAnotherDatasource_thenKeepIndex() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        Datasource datasource = randomDatasource();
+        Datasource anotherDatasource = randomDatasource();
+        datasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        anotherDatasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        when(metadata.hasIndex(index)).thenReturn(true);
+        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource, anotherDatasource));
+
+        // Run
+        datasourceUpdateService.deleteIndexIfUnreferenced(datasource, index);
+
+        // Verify
+        assertTrue(datasource.getIndices().isEmpty());
+        verify(datasourceDao).updateDatasourceImmediately(datasource);
+        verify(geoIpDataDao, never()).deleteIp2GeoDataIndex(anyString());
+        verify(ip2GeoLockService).releaseLock(any(LockModel.class));
+    }
+
+    public void testDeleteIndexIfUnreferenced_whenTwoDatasourcesReleaseSameIndex_thenDeleteIndexOnce() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        Datasource datasource = randomDatasource();
+        Datasource anotherDatasource = randomDatasource();
+        datasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        anotherDatasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        when(metadata.hasIndex(index)).thenReturn(true);
+        // References are checked against persisted datasources only
+        Map<String, List<String>> persisted = new HashMap<>();
+        persisted.put(datasource.getName(), new ArrayList<>(datasource.getIndices()));
+        persisted.put(anotherDatasource.getName(), new ArrayList<>(anotherDatasource.getIndices()));
+        when(datasourceDao.updateDatasourceImmediately(any(Datasource.class))).thenAnswer(invocation -> {
+            Datasource written = invocation.getArgument(0);
+            persisted.put(written.getName(), new ArrayList<>(written.getIndices()));
+            return null;
+        });
+        when(datasourceDao.getAllDatasources()).thenAnswer(invocation -> persisted.entrySet().stream().map(entry -> {
+            Datasource stored = new Datasource();
+            stored.setName(entry.getKey());
+            stored.setIndices(new ArrayList<>(entry.getValue()));
+            return stored;
+        }).collect(Collectors.toList()));
+
+        // Run
+        datasourceUpdateService.deleteIndexIfUnreferenced(datasource, index);
+
+        // Verify
+        verify(geoIpDataDao, never()).deleteIp2GeoDataIndex(anyString());
+
+        // Run
+        datasourceUpdateService.deleteIndexIfUnreferenced(anotherDatasource, index);
+
+        // Verify
+        verify(geoIpDataDao).deleteIp2GeoDataIndex(index);
+        assertTrue(persisted.get(datasource.getName()).isEmpty());
+        assertTrue(persisted.get(anotherDatasource.getName()).isEmpty());
+    }
+
+    public void testDeleteIndexIfUnreferenced_whenDeleteFails_thenKeepIndexInDatasource() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        Datasource datasource = randomDatasource();
+        datasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        when(metadata.hasIndex(index)).thenReturn(true);
+        when(datasourceDao.getAllDatasources()).thenReturn(Arrays.asList(datasource));
+        doThrow(new OpenSearchException("test failure")).when(geoIpDataDao).deleteIp2GeoDataIndex(index);
+
+        // Run
+        expectThrows(OpenSearchException.class, () -> datasourceUpdateService.deleteIndexIfUnreferenced(datasource, index));
+
+        // Verify
+        assertEquals(Arrays.asList(index), datasource.getIndices());
+        verify(datasourceDao, times(2)).updateDatasourceImmediately(datasource);
+        verify(ip2GeoLockService).releaseLock(any(LockModel.class));
+    }
+
+    public void testDeleteIndexIfUnreferenced_whenIndexIsLocked_thenThrowException() {
+        String index = GeospatialTestHelper.randomLowerCaseString();
+        Datasource datasource = randomDatasource();
+        datasource.setIndices(new ArrayList<>(Arrays.asList(index)));
+        when(metadata.hasIndex(index)).thenReturn(true);
+        when(ip2GeoLockService.acquireLock(index, Ip2GeoLockService.LOCK_DURATION_IN_SECONDS)).thenReturn(Optional.empty());
+
+        // Run
+        expectThrows(ConcurrentModificationException.class, () -> datasourceUpdateService.deleteIndexIfUnreferenced(datasource, index));
+
+        // Verify
+        assertEquals(Arrays.asList(index), datasource.getIndices());
+        verify(datasourceDao, never()).updateDatasourceImmediately(any(Datasource.class));
+        verify(geoIpDataDao, never()).deleteIp2GeoDataIndex(anyString());
+    }
+
+    private IndexMetadata builtIndexMetadata(final String indexName) {
+        return IndexMetadata.builder(indexName)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.getKey(), true)
+            )
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+    }
+
     public void testUpdateDatasource_whenNoChange_thenNoUpdate() {
         Datasource datasource = randomDatasource();
 
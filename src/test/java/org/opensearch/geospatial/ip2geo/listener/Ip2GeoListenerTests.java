@@ -6,37 +6,54 @@
 package org.opensearch.geospatial.ip2geo.listener;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.mockito.ArgumentCaptor;
+import org.opensearch.Version;
+import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.RestoreInProgress;
+import org.opensearch.cluster.block.ClusterBlocks;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.gateway.GatewayService;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.action.PublishDatasourceRoutingRequest;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceTask;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.snapshots.Snapshot;
 import org.opensearch.snapshots.SnapshotId;
+import org.opensearch.threadpool.ThreadPool;
 
 public class Ip2GeoListenerTests extends Ip2GeoTestCase {
     private Ip2GeoListener ip2GeoListener;
 
     @Before
     public void init() {
-        ip2GeoListener = new Ip2GeoListener(clusterService, threadPool, datasourceDao, geoIpDataDao);
+        ip2GeoListener = new Ip2GeoListener(clusterService, threadPool, datasourceDao, geoIpDataDao, verifyingClient);
+        when(clusterState.blocks()).thenReturn(ClusterBlocks.EMPTY_CLUSTER_BLOCK);
     }
 
     public void testDoStart_whenClusterManagerNode_thenAddListener() {
@@ -48,6 +65,7 @@ public class Ip2GeoListenerTests extends Ip2GeoTestCase {
 
         // Verify
         verify(clusterService).addListener(ip2GeoListener);
+        verify(clusterService).addLocalNodeClusterManagerListener(ip2GeoListener);
     }
 
     public void testDoStart_whenNotClusterManagerNode_thenDoNotAddListener() {
@@ -196,4 +214,149 @@ public class Ip2GeoListenerTests extends Ip2GeoTestCase {
         verify(geoIpDataDao).deleteIp2GeoDataIndex(Arrays.asList(datasource.currentIndexName()));
     }
 
+    public void testOnClusterManager_whenNoDatasourceIndex_thenDoNothing() {
+        // Run
+        ip2GeoListener.onClusterManager();
+
+        // Verify
+        verify(datasourceDao, never()).getAllDatasources(any(ActionListener.class));
+    }
+
+    public void testOnClusterManager_whenCalled_thenPublishRoutings() {
+        String jobIndexUuid = mockJobIndex();
+        Datasource datasource = randomDatasource();
+        DatasourceRouting deleted = new DatasourceRouting(randomDatasource(), randomLongBetween(0, Integer.MAX_VALUE));
+        DatasourceRoutingMetadata routingMetadata = new DatasourceRoutingMetadata(jobIndexUuid, Map.of(deleted.getName(), deleted));
+        when(metadata.custom(DatasourceRoutingMetadata.TYPE)).thenReturn(routingMetadata);
+
+        AtomicBoolean published = new AtomicBoolean();
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            assertTrue(actionRequest instanceof PublishDatasourceRoutingRequest);
+            PublishDatasourceRoutingRequest request = (PublishDatasourceRoutingRequest) actionRequest;
+            assertEquals(jobIndexUuid, request.getJobIndexUuid());
+            assertEquals(List.of(new DatasourceRouting(datasource, SequenceNumbers.UNASSIGNED_SEQ_NO)), request.getUpdates());
+            assertEquals(Map.of(deleted.getName(), deleted.getSeqNo() + 1), request.getRemovals());
+            published.set(true);
+            return new AcknowledgedResponse(true);
+        });
+
+        // Run
+        ip2GeoListener.onClusterManager();
+
+        // Verify
+        ArgumentCaptor<ActionListener<List<Datasource>>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(datasourceDao).getAllDatasources(captor.capture());
+
+        // Routing of a datasource created while datasources are read is not removed
+        DatasourceRouting created = new DatasourceRouting(randomDatasource(), randomNonNegativeLong());
+        when(metadata.custom(DatasourceRoutingMetadata.TYPE)).thenReturn(
+            new DatasourceRoutingMetadata(jobIndexUuid, Map.of(deleted.getName(), deleted, created.getName(), created))
+        );
+
+        // Run
+        captor.getValue().onResponse(Arrays.asList(datasource));
+
+        // Verify
+        assertTrue(published.get());
+
+        // Run
+        ip2GeoListener.clusterChanged(clusterManagerEvent(clusterState));
+
+        // Verify
+        verify(datasourceDao).getAllDatasources(any(ActionListener.class));
+    }
+
+    public void testOnClusterManager_whenStateNotRecovered_thenPublishRoutingsOnceJobIndexIsActive() {
+        mockJobIndex();
+        IndexRoutingTable jobIndexRoutingTable = routingTable.index(DatasourceExtension.JOB_INDEX_NAME);
+        when(jobIndexRoutingTable.allPrimaryShardsActive()).thenReturn(false);
+        when(clusterState.blocks()).thenReturn(ClusterBlocks.builder().addGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK).build());
+
+        // Run
+        ip2GeoListener.onClusterManager();
+
+        // Verify
+        verify(datasourceDao, never()).getAllDatasources(any(ActionListener.class));
+
+        // Run
+        when(clusterState.blocks()).thenReturn(ClusterBlocks.EMPTY_CLUSTER_BLOCK);
+        ip2GeoListener.clusterChanged(clusterManagerEvent(clusterState));
+
+        // Verify
+        verify(datasourceDao, never()).getAllDatasources(any(ActionListener.class));
+
+        // Run
+        when(jobIndexRoutingTable.allPrimaryShardsActive()).thenReturn(true);
+        ip2GeoListener.clusterChanged(clusterManagerEvent(clusterState));
+
+        // Verify
+        verify(datasourceDao).getAllDatasources(any(ActionListener.class));
+    }
+
+    public void testOnClusterManager_whenPublishFails_thenRetryAfterBackoff() {
+        mockJobIndex();
+
+        // Run
+        ip2GeoListener.onClusterManager();
+        ArgumentCaptor<ActionListener<List<Datasource>>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(datasourceDao).getAllDatasources(captor.capture());
+        captor.getValue().onFailure(new RuntimeException("job index is not available"));
+
+        // Verify
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool).schedule(retry.capture(), eq(TimeValue.timeValueSeconds(1)), eq(ThreadPool.Names.GENERIC));
+
+        // Run
+        ip2GeoListener.clusterChanged(clusterManagerEvent(clusterState));
+
+        // Verify
+        verify(datasourceDao).getAllDatasources(any(ActionListener.class));
+
+        // Run
+        retry.getValue().run();
+
+        // Verify
+        verify(datasourceDao, times(2)).getAllDatasources(any(ActionListener.class));
+    }
+
+    public void testOffClusterManager_whenPublishFails_thenDoNotRetry() {
+        mockJobIndex();
+
+        // Run
+        ip2GeoListener.onClusterManager();
+        ip2GeoListener.offClusterManager();
+        ArgumentCaptor<ActionListener<List<Datasource>>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(datasourceDao).getAllDatasources(captor.capture());
+        captor.getValue().onFailure(new RuntimeException("no longer cluster manager"));
+
+        // Verify
+        verify(threadPool, never()).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+    }
+
+    private String mockJobIndex() {
+        String jobIndexUuid = GeospatialTestHelper.randomLowerCaseString();
+        IndexMetadata jobIndexMetadata = IndexMetadata.builder(DatasourceExtension.JOB_INDEX_NAME)
+            .settings(
+                Settings.builder()
+                    .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetadata.SETTING_INDEX_UUID, jobIndexUuid)
+            )
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .build();
+        when(metadata.index(DatasourceExtension.JOB_INDEX_NAME)).thenReturn(jobIndexMetadata);
+        when(metadata.hasIndex(DatasourceExtension.JOB_INDEX_NAME)).thenReturn(true);
+        IndexRoutingTable jobIndexRoutingTable = mock(IndexRoutingTable.class);
+        when(jobIndexRoutingTable.allPrimaryShardsActive()).thenReturn(true);
+        when(routingTable.index(DatasourceExtension.JOB_INDEX_NAME)).thenReturn(jobIndexRoutingTable);
+        return jobIndexUuid;
+    }
+
+    private ClusterChangedEvent clusterManagerEvent(final ClusterState state) {
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.localNodeClusterManager()).thenReturn(true);
+        when(event.state()).thenReturn(state);
+        when(state.custom(RestoreInProgress.TYPE, RestoreInProgress.EMPTY)).thenReturn(RestoreInProgress.EMPTY);
+        return event;
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.ip2geo.listener;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.cluster.routing.ShardRoutingState;
+import org.opensearch.cluster.routing.TestShardRouting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata;
+import org.opensearch.geospatial.ip2geo.common.DatasourceRoutingMetadata.DatasourceRouting;
+import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceExtension;
+import org.opensearch.geospatial.ip2geo.processor.Ip2GeoProcessor;
+import org.opensearch.ingest.IngestMetadata;
+import org.opensearch.ingest.PipelineConfiguration;
+
+public class Ip2GeoWarmUpListenerTests extends Ip2GeoTestCase {
+    private static final String JOB_INDEX_UUID = "job_index_uuid";
+    private Ip2GeoWarmUpListener ip2GeoWarmUpListener;
+    private String pipelineId;
+    private String datasourceName;
+    private String indexName;
+
+    @Before
+    public void init() {
+        ip2GeoWarmUpListener = new Ip2GeoWarmUpListener(clusterService, threadPool, ingestService, geoIpDataDao);
+        pipelineId = GeospatialTestHelper.randomLowerCaseString();
+        datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        indexName = GeospatialTestHelper.randomLowerCaseString();
+
+        PipelineConfiguration pipeline = new PipelineConfiguration(pipelineId, new BytesArray("{}"), XContentType.JSON);
+        when(metadata.custom(IngestMetadata.TYPE)).thenReturn(new IngestMetadata(Map.of(pipelineId, pipeline)));
+        when(ingestService.getProcessorsInPipeline(pipelineId, Ip2GeoProcessor.class)).thenReturn(
+            List.of(randomIp2GeoProcessor(datasourceName))
+        );
+        when(metadata.index(DatasourceExtension.JOB_INDEX_NAME)).thenReturn(
+            IndexMetadata.builder(DatasourceExtension.JOB_INDEX_NAME)
+                .settings(
+                    Settings.builder()
+                        .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                        .put(IndexMetadata.SETTING_INDEX_UUID, JOB_INDEX_UUID)
+                )
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .build()
+        );
+        when(metadata.hasIndex(indexName)).thenReturn(true);
+        when(routingTable.hasIndex(indexName)).thenReturn(true);
+        when(clusterState.nodes()).thenReturn(DiscoveryNodes.EMPTY_NODES);
+        publishRouting(DatasourceState.AVAILABLE);
+    }
+
+    public void testDoStart_whenIngestNode_thenAddListener() {
+        when(clusterService.getSettings()).thenReturn(Settings.builder().put("node.roles", "ingest").build());
+
+        // Run
+        ip2GeoWarmUpListener.doStart();
+
+        // Verify
+        verify(clusterService).addListener(ip2GeoWarmUpListener);
+    }
+
+    public void testDoStart_whenNotIngestNode_thenDoNotAddListener() {
+        when(clusterService.getSettings()).thenReturn(Settings.builder().put("node.roles", "data").build());
+
+        // Run
+        ip2GeoWarmUpListener.doStart();
+
+        // Verify
+        verify(clusterService, never()).addListener(ip2GeoWarmUpListener);
+    }
+
+    public void testClusterChanged_whenNothingChanged_thenDoNothing() {
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+
+        // Run
+        ip2GeoWarmUpListener.clusterChanged(event);
+
+        // Verify
+        verify(geoIpDataDao, never()).warmUpGeoIpData(anyString(), any(ActionListener.class));
+        assertTrue(ip2GeoWarmUpListener.isReady());
+    }
+
+    public void testClusterChanged_whenPrimaryNotActive_thenNotReady() {
+        setShardState(ShardRoutingState.INITIALIZING);
+
+        // Run
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+
+        // Verify
+        verify(geoIpDataDao, never()).warmUpGeoIpData(anyString(), any(ActionListener.class));
+        assertFalse(ip2GeoWarmUpListener.isReady());
+        assertEquals(Set.of(indexName), ip2GeoWarmUpListener.getPendingIndices());
+        assertFalse(ip2GeoWarmUpListener.getStats().isReady());
+        assertEquals(Set.of(indexName), ip2GeoWarmUpListener.getStats().getPendingIndices());
+    }
+
+    public void testClusterChanged_whenDatasourceNotAvailable_thenSkip() {
+        publishRouting(randomStateExcept(DatasourceState.AVAILABLE));
+        setShardState(ShardRoutingState.STARTED);
+
+        // Run
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+
+        // Verify
+        verify(geoIpDataDao, never()).warmUpGeoIpData(anyString(), any(ActionListener.class));
+        assertTrue(ip2GeoWarmUpListener.isReady());
+    }
+
+    public void testClusterChanged_whenWarmUpSucceeded_thenReadyAndDoNotWarmUpAgain() {
+        setShardState(ShardRoutingState.STARTED);
+
+        // Run
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+
+        // Verify
+        ArgumentCaptor<ActionListener<Void>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(geoIpDataDao).warmUpGeoIpData(eq(indexName), captor.capture());
+        assertFalse(ip2GeoWarmUpListener.isReady());
+
+        // Run
+        captor.getValue().onResponse(null);
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+
+        // Verify
+        assertTrue(ip2GeoWarmUpListener.isReady());
+        assertEquals(new Ip2GeoWarmUpStats(Set.of()), ip2GeoWarmUpListener.getStats());
+        verify(geoIpDataDao).warmUpGeoIpData(eq(indexName), any(ActionListener.class));
+    }
+
+    public void testClusterChanged_whenWarmUpFailed_thenRetryOnNextChange() {
+        setShardState(ShardRoutingState.STARTED);
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+        ArgumentCaptor<ActionListener<Void>> captor = ArgumentCaptor.forClass(ActionListener.class);
+        verify(geoIpDataDao).warmUpGeoIpData(eq(indexName), captor.capture());
+
+        // Run
+        captor.getValue().onFailure(new RuntimeException());
+        ip2GeoWarmUpListener.clusterChanged(metadataChangedEvent());
+
+        // Verify
+        assertFalse(ip2GeoWarmUpListener.isReady());
+        verify(geoIpDataDao, times(2)).warmUpGeoIpData(eq(indexName), any(ActionListener.class));
+    }
+
+    private ClusterChangedEvent metadataChangedEvent() {
+        ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+        when(event.metadataChanged()).thenReturn(true);
+        when(event.state()).thenReturn(clusterState);
+        return event;
+    }
+
+    private void publishRouting(final DatasourceState state) {
+        DatasourceRouting routing = new DatasourceRouting(datasourceName, indexName, state, Instant.MAX, 0);
+        when(metadata.custom(DatasourceRoutingMetadata.TYPE)).thenReturn(
+            new DatasourceRoutingMetadata(JOB_INDEX_UUID, Map.of(datasourceName, routing))
+        );
+    }
+
+    private void setShardState(final ShardRoutingState state) {
+        ShardId shardId = new ShardId(indexName, GeospatialTestHelper.randomLowerCaseString(), 0);
+        when(routingTable.allShards(indexName)).thenReturn(
+            List.of(TestShardRouting.newShardRouting(shardId, GeospatialTestHelper.randomLowerCaseString(), true, state))
+        );
+    }
+}
@@ -9,24 +9,33 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 
 import org.junit.Before;
 import org.mockito.ArgumentCaptor;
 import org.opensearch.OpenSearchException;
+import org.opensearch.OpenSearchTimeoutException;
 import org.opensearch.common.Randomness;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.geospatial.GeospatialTestHelper;
 import org.opensearch.geospatial.ip2geo.Ip2GeoTestCase;
 import org.opensearch.geospatial.ip2geo.common.DatasourceState;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLookupStats;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoSettings;
+import org.opensearch.geospatial.ip2geo.common.LookupFailureMode;
 import org.opensearch.geospatial.ip2geo.common.ParameterValidator;
 import org.opensearch.geospatial.ip2geo.jobscheduler.Datasource;
 import org.opensearch.ingest.IngestDocument;
@@ -41,7 +50,8 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
 
     @Before
     public void init() {
-        factory = new Ip2GeoProcessor.Factory(ingestService, datasourceDao, geoIpDataDao, ip2GeoCachedDao);
+        factory = new Ip2GeoProcessor.Factory(ingestService, datasourceDao, geoIpDataDao, ip2GeoCachedDao, ip2GeoExecutor);
+        when(ip2GeoCachedDao.getLookupStats()).thenReturn(new Ip2GeoLookupStats());
     }
 
     public void testExecuteWithNoIpAndIgnoreMissing() throws Exception {
@@ -120,7 +130,7 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
         when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.AVAILABLE);
         when(ip2GeoCachedDao.isExpired(datasourceName)).thenReturn(true);
         Map<String, Object> geoData = Map.of("city", "Seattle", "country", "USA");
-        when(ip2GeoCachedDao.getGeoData(eq(indexName), any())).thenReturn(geoData);
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), any())).thenReturn(geoData);
 
         // Run for single ip
         String ip = randomIpAddress();
@@ -153,7 +163,7 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
         when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.CREATE_FAILED);
         when(ip2GeoCachedDao.isExpired(datasourceName)).thenReturn(false);
         Map<String, Object> geoData = Map.of("city", "Seattle", "country", "USA");
-        when(ip2GeoCachedDao.getGeoData(eq(indexName), any())).thenReturn(geoData);
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), any())).thenReturn(geoData);
 
         // Run for single ip
         String ip = randomIpAddress();
@@ -183,7 +193,7 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
         when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.AVAILABLE);
         when(ip2GeoCachedDao.isExpired(datasourceName)).thenReturn(false);
         Map<String, Object> geoData = Map.of("city", "Seattle", "country", "USA");
-        when(ip2GeoCachedDao.getGeoData(eq(indexName), any())).thenReturn(geoData);
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), any())).thenReturn(geoData);
 
         // Run for single ip
         String ip = randomIpAddress();
@@ -218,7 +228,7 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
         when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.AVAILABLE);
         when(ip2GeoCachedDao.isExpired(datasourceName)).thenReturn(false);
         Map<String, Object> geoData = Map.of("city", "Seattle", "country", "USA");
-        when(ip2GeoCachedDao.getGeoData(eq(indexName), any())).thenReturn(geoData);
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), any())).thenReturn(geoData);
 
         // Run for single ip
         String ip = randomIpAddress();
@@ -241,6 +251,142 @@ public class Ip2GeoProcessorTests extends Ip2GeoTestCase {
         assertEquals(geoData.get("country"), addedValue.get("country"));
     }
 
+    @SneakyThrows
+    public void testExecute_whenLookupTimedOutInFailMode_thenException() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoProcessor processor = createProcessor(datasourceName, Collections.emptyMap());
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        Ip2GeoLookupStats lookupStats = mockLookupTimeout(datasourceName);
+
+        // Run
+        processor.execute(createDocument(randomIpAddress()), handler);
+
+        // Verify
+        verify(handler).accept(isNull(), any(RuntimeException.class));
+        assertEquals(1, lookupStats.getTimedOut());
+        assertEquals(1, lookupStats.getProcessorLatency().getTotalCount());
+    }
+
+    @SneakyThrows
+    public void testExecute_whenLookupTimedOutInSkipMode_thenSkipIp() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoProcessor processor = createProcessor(datasourceName, Collections.emptyMap());
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        Ip2GeoLookupStats lookupStats = mockLookupTimeout(datasourceName);
+        setLookupFailureMode(LookupFailureMode.SKIP);
+        IngestDocument document = createDocument(randomIpAddress());
+
+        // Run
+        processor.execute(document, handler);
+
+        // Verify
+        verify(handler).accept(document, null);
+        assertFalse(document.hasField(DEFAULT_TARGET_FIELD));
+        assertEquals(1, lookupStats.getSkipped());
+    }
+
+    @SneakyThrows
+    public void testExecute_whenLookupTimedOutInTagMode_thenTagDocument() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoProcessor processor = createProcessor(datasourceName, Map.of(Ip2GeoProcessor.CONFIG_PROPERTIES, Arrays.asList("country")));
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        Ip2GeoLookupStats lookupStats = mockLookupTimeout(datasourceName);
+        setLookupFailureMode(LookupFailureMode.TAG);
+        IngestDocument document = createDocument(randomIpAddress());
+
+        // Run
+        processor.execute(document, handler);
+
+        // Verify
+        verify(handler).accept(document, null);
+        assertEquals("ip2geo_lookup_timed_out", document.getFieldValue(DEFAULT_TARGET_FIELD + ".error", String.class));
+        assertEquals(1, lookupStats.getTagged());
+    }
+
+    @SneakyThrows
+    public void testExecute_whenLookupTimedOutInStaleMode_thenUseStaleGeoData() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoProcessor processor = createProcessor(datasourceName, Collections.emptyMap());
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        Ip2GeoLookupStats lookupStats = mockLookupTimeout(datasourceName);
+        setLookupFailureMode(LookupFailureMode.STALE);
+        String ip = randomIpAddress();
+        when(ip2GeoCachedDao.getStaleGeoData(datasourceName, ip)).thenReturn(Map.of("city", "Seattle"));
+        IngestDocument document = createDocument(ip);
+        IngestDocument documentWithoutStaleData = createDocument(randomIpAddress());
+
+        // Run
+        processor.execute(document, handler);
+        processor.execute(documentWithoutStaleData, handler);
+
+        // Verify
+        assertEquals("Seattle", document.getFieldValue(DEFAULT_TARGET_FIELD + ".city", String.class));
+        assertEquals("ip2geo_lookup_timed_out", documentWithoutStaleData.getFieldValue(DEFAULT_TARGET_FIELD + ".error", String.class));
+        assertEquals(1, lookupStats.getServedStale());
+        assertEquals(1, lookupStats.getTagged());
+    }
+
+    private Ip2GeoLookupStats mockLookupTimeout(final String datasourceName) {
+        String indexName = GeospatialTestHelper.randomLowerCaseString();
+        when(ip2GeoCachedDao.getIndexName(datasourceName)).thenReturn(indexName);
+        when(ip2GeoCachedDao.has(datasourceName)).thenReturn(true);
+        when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.AVAILABLE);
+        when(ip2GeoCachedDao.isExpired(datasourceName)).thenReturn(false);
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), eq(clusterSettings.get(Ip2GeoSettings.LOOKUP_TIMEOUT))))
+            .thenThrow(new RuntimeException(new OpenSearchTimeoutException("timeout")));
+        Ip2GeoLookupStats lookupStats = new Ip2GeoLookupStats();
+        when(ip2GeoCachedDao.getLookupStats()).thenReturn(lookupStats);
+        return lookupStats;
+    }
+
+    private void setLookupFailureMode(final LookupFailureMode mode) {
+        clusterSettings.applySettings(Settings.builder().put(Ip2GeoSettings.LOOKUP_FAILURE_MODE.getKey(), mode.getName()).build());
+    }
+
+    @SneakyThrows
+    public void testExecute_whenBlockingCallExecutorPresent_thenProcessInExecutor() {
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+        Ip2GeoProcessor processor = createProcessor(datasourceName, Collections.emptyMap());
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        String indexName = GeospatialTestHelper.randomLowerCaseString();
+        when(ip2GeoCachedDao.getIndexName(datasourceName)).thenReturn(indexName);
+        when(ip2GeoCachedDao.has(datasourceName)).thenReturn(true);
+        when(ip2GeoCachedDao.getState(datasourceName)).thenReturn(DatasourceState.AVAILABLE);
+        Map<String, Object> geoData = Map.of("city", "Seattle", "country", "USA");
+        when(ip2GeoCachedDao.getGeoData(eq(datasourceName), eq(indexName), any(), any())).thenReturn(geoData);
+        List<Runnable> tasks = new ArrayList<>();
+        when(ip2GeoExecutor.forBlockingCall()).thenReturn(Optional.of(tasks::add));
+        IngestDocument document = createDocument(randomIpAddress());
+
+        // Run
+        processor.execute(document, handler);
+
+        // Verify
+        assertEquals(1, tasks.size());
+        verify(handler, never()).accept(any(), any());
+
+        // Run
+        tasks.get(0).run();
+
+        // Verify
+        verify(handler).accept(document, null);
+        assertEquals(geoData.get("city"), document.getFieldValue("ip2geo.city", String.class));
+    }
+
+    @SneakyThrows
+    public void testExecute_whenBlockingCallExecutorRejects_thenException() {
+        Ip2GeoProcessor processor = createProcessor(GeospatialTestHelper.randomLowerCaseString(), Collections.emptyMap());
+        BiConsumer<IngestDocument, Exception> handler = mock(BiConsumer.class);
+        RejectedExecutionException exception = new RejectedExecutionException();
+        when(ip2GeoExecutor.forBlockingCall()).thenReturn(Optional.of(command -> { throw exception; }));
+
+        // Run
+        processor.execute(createDocument(randomIpAddress()), handler);
+
+        // Verify
+        verify(handler).accept(null, exception);
+    }
+
     @SneakyThrows
     public void testExecute_whenNoHandler_thenException() {
         String datasourceName = GeospatialTestHelper.randomLowerCaseString();
@@ -5,7 +5,11 @@
 
 package org.opensearch.geospatial.plugin;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.opensearch.geospatial.ip2geo.jobscheduler.Datasource.IP2GEO_DATA_INDEX_NAME_PREFIX;
 
@@ -44,10 +48,18 @@ import org.opensearch.geospatial.ip2geo.common.URLDenyListChecker;
 import org.opensearch.geospatial.ip2geo.dao.DatasourceDao;
 import org.opensearch.geospatial.ip2geo.dao.GeoIpDataDao;
 import org.opensearch.geospatial.ip2geo.dao.Ip2GeoCachedDao;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateScheduler;
 import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateService;
 import org.opensearch.geospatial.ip2geo.listener.Ip2GeoListener;
+import org.opensearch.geospatial.ip2geo.listener.Ip2GeoWarmUpListener;
 import org.opensearch.geospatial.processor.FeatureProcessor;
+import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadFlatGeobufAction;
 import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadGeoJSONAction;
+import org.opensearch.geospatial.rest.action.upload.geojson.RestUploadGeoJSONSeqAction;
+import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridStats;
+import org.opensearch.geospatial.stats.GeospatialMetrics;
+import org.opensearch.geospatial.stats.GeospatialStatsAction;
+import org.opensearch.geospatial.stats.RestGeospatialStatsAction;
 import org.opensearch.geospatial.stats.upload.RestUploadStatsAction;
 import org.opensearch.geospatial.stats.upload.UploadStats;
 import org.opensearch.indices.SystemIndexDescriptor;
@@ -58,6 +70,9 @@ import org.opensearch.plugins.IngestPlugin;
 import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.noop.NoopMetricsRegistry;
+import org.opensearch.telemetry.tracing.Tracer;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
@@ -66,7 +81,10 @@ public class GeospatialPluginTests extends OpenSearchTestCase {
     private final ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, new HashSet(Ip2GeoSettings.settings()));
     private final URLDenyListChecker urlDenyListChecker = new URLDenyListChecker(clusterSettings);
     private final List<RestHandler> SUPPORTED_REST_HANDLERS = List.of(
+        new RestGeospatialStatsAction(),
         new RestUploadGeoJSONAction(),
+        new RestUploadGeoJSONSeqAction(),
+        new RestUploadFlatGeobufAction(),
         new RestUploadStatsAction(),
         new RestPutDatasourceHandler(clusterSettings, urlDenyListChecker),
         new RestGetDatasourceHandler(),
@@ -78,7 +96,9 @@ public class GeospatialPluginTests extends OpenSearchTestCase {
 
     private final Set<Class> SUPPORTED_COMPONENTS = Set.of(
         UploadStats.class,
+        GeoHexGridStats.class,
         DatasourceUpdateService.class,
+        DatasourceUpdateScheduler.class,
         DatasourceDao.class,
         Ip2GeoExecutor.class,
         GeoIpDataDao.class,
@@ -166,8 +186,33 @@ public class GeospatialPluginTests extends OpenSearchTestCase {
         assertEquals(SUPPORTED_COMPONENTS, registeredComponents);
     }
 
+    public void testCreateTelemetryComponents() {
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        try {
+            Collection<Object> components = plugin.createComponents(
+                client,
+                clusterService,
+                threadPool,
+                resourceWatcherService,
+                scriptService,
+                xContentRegistry,
+                environment,
+                nodeEnvironment,
+                namedWriteableRegistry,
+                indexNameExpressionResolver,
+                repositoriesServiceSupplier,
+                mock(Tracer.class),
+                metricsRegistry
+            );
+            assertEquals(List.of(GeospatialMetrics.getInstance()), components);
+            verify(metricsRegistry).createGauge(eq("geospatial.ip2geo.cache.hit_ratio"), anyString(), anyString(), any(), any());
+        } finally {
+            GeospatialMetrics.getInstance().register(NoopMetricsRegistry.INSTANCE, () -> 0d);
+        }
+    }
+
     public void testGetGuiceServiceClasses() {
-        Collection<Class<? extends LifecycleComponent>> classes = List.of(Ip2GeoListener.class);
+        Collection<Class<? extends LifecycleComponent>> classes = List.of(Ip2GeoListener.class, Ip2GeoWarmUpListener.class);
         assertEquals(classes, plugin.getGuiceServiceClasses());
     }
 
@@ -193,6 +238,11 @@ public class GeospatialPluginTests extends OpenSearchTestCase {
         assertEquals(1, actions.stream().filter(actionHandler -> actionHandler.getAction() instanceof UploadGeoJSONAction).count());
     }
 
+    public void testGeospatialStatsTransportIsAdded() {
+        final List<ActionPlugin.ActionHandler<? extends ActionRequest, ? extends ActionResponse>> actions = plugin.getActions();
+        assertEquals(1, actions.stream().filter(actionHandler -> actionHandler.getAction() instanceof GeospatialStatsAction).count());
+    }
+
     private Processor.Parameters getProcessorParameter() {
         return new Processor.Parameters(
             mock(Environment.class),
@@ -52,6 +52,22 @@ public class FeatureProcessorTests extends OpenSearchTestCase {
         assertNull(ingestDocument.getSourceAndMetadata().get(PROPERTIES_KEY));
     }
 
+    public void testFeatureProcessorWithPathProperties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("name", "Dinagat Islands");
+        properties.put("address.country", "Philippines");
+        Map<String, Object> document = randomGeoJSONFeature(buildProperties(properties)).toMap();
+        IngestDocument ingestDocument = randomIngestDocument(random(), document);
+        FeatureProcessor processor = new FeatureProcessor("sample", "description", "geo.location");
+        processor.execute(ingestDocument);
+        // properties with a path are set as nested objects, like the geometry field
+        assertEquals("Philippines", ingestDocument.getFieldValue("address.country", String.class));
+        assertFalse(ingestDocument.getSourceAndMetadata().containsKey("address.country"));
+        assertEquals("Dinagat Islands", ingestDocument.getSourceAndMetadata().get("name"));
+        assertEquals(document.get(GEOMETRY_KEY), ingestDocument.getFieldValue("geo.location", Object.class));
+        assertNull(ingestDocument.getSourceAndMetadata().get(PROPERTIES_KEY));
+    }
+
     public void testFeatureProcessorWithoutProperties() {
         Map<String, Object> document = buildTestFeature();
         document.remove(PROPERTIES_KEY);
@@ -11,18 +11,31 @@
 
 package org.opensearch.geospatial.rest.action.upload.geojson;
 
+import static org.opensearch.geospatial.GeospatialObjectBuilder.buildProperties;
+import static org.opensearch.geospatial.GeospatialObjectBuilder.randomGeoJSONFeature;
 import static org.opensearch.geospatial.GeospatialTestHelper.randomLowerCaseString;
 import static org.opensearch.geospatial.action.upload.geojson.UploadGeoJSONRequestContent.*;
+import static org.opensearch.geospatial.shared.URLBuilder.getPluginURLPrefix;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.opensearch.client.Request;
 import org.opensearch.client.Response;
 import org.opensearch.client.ResponseException;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.geometry.Point;
 import org.opensearch.geospatial.GeospatialRestTestCase;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufGeometryType;
+import org.opensearch.geospatial.flatgeobuf.FlatGeobufTestBuilder;
 
 public class RestUploadGeoJSONActionIT extends GeospatialRestTestCase {
 
@@ -75,4 +88,123 @@ public class RestUploadGeoJSONActionIT extends GeospatialRestTestCase {
         int expectedDocCountAfterUpload = indexDocumentCount + NUMBER_OF_FEATURES_TO_ADD;
         assertEquals("failed to index documents", expectedDocCountAfterUpload, getIndexDocumentCount(index));
     }
+
+    public void testGeoJSONUploadWithoutWaitingForCompletion() throws Exception {
+
+        String index = randomLowerCaseString();
+        Response response = uploadGeoJSONFeaturesIntoExistingIndex(
+            NUMBER_OF_FEATURES_TO_ADD,
+            index,
+            null,
+            Map.of(RestUploadGeoJSONAction.PARAM_WAIT_FOR_COMPLETION, "false")
+        );
+        assertEquals(RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+        Map<String, Object> responseMap = createParser(XContentType.JSON.xContent(), EntityUtils.toString(response.getEntity())).map();
+        String taskId = (String) responseMap.get("task");
+        assertNotNull(taskId);
+
+        Request getTaskRequest = new Request("GET", String.join(URL_DELIMITER, "_tasks", taskId));
+        getTaskRequest.addParameter(RestUploadGeoJSONAction.PARAM_WAIT_FOR_COMPLETION, "true");
+        Map<String, Object> taskMap = createParser(
+            XContentType.JSON.xContent(),
+            EntityUtils.toString(client().performRequest(getTaskRequest).getEntity())
+        ).map();
+        assertEquals(true, taskMap.get("completed"));
+        Map<String, Object> taskResponse = (Map<String, Object>) taskMap.get("response");
+        assertEquals(NUMBER_OF_FEATURES_TO_ADD, taskResponse.get("total"));
+        assertEquals("failed to index documents", NUMBER_OF_FEATURES_TO_ADD, getIndexDocumentCount(index));
+    }
+
+    public void testGeoJSONUploadResumeFrom() throws Exception {
+
+        String index = randomLowerCaseString();
+        int resumeFrom = NUMBER_OF_FEATURES_TO_ADD - 1;
+        Response response = uploadGeoJSONFeaturesIntoExistingIndex(
+            NUMBER_OF_FEATURES_TO_ADD,
+            index,
+            null,
+            Map.of(RestUploadGeoJSONAction.PARAM_RESUME_FROM, String.valueOf(resumeFrom))
+        );
+        assertEquals(RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+        assertEquals("failed to skip features", NUMBER_OF_FEATURES_TO_ADD - resumeFrom, getIndexDocumentCount(index));
+    }
+
+    public void testGeoJSONSequenceUpload() throws Exception {
+
+        String index = randomLowerCaseString();
+        String path = String.join(
+            URL_DELIMITER,
+            getPluginURLPrefix(),
+            RestUploadGeoJSONAction.ACTION_OBJECT,
+            RestUploadGeoJSONSeqAction.ACTION_UPLOAD_SEQ
+        );
+        Request request = new Request("POST", path);
+        request.addParameter(FIELD_INDEX.getPreferredName(), index);
+        request.addParameter(FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < NUMBER_OF_FEATURES_TO_ADD; i++) {
+            body.append(randomGeoJSONFeature(buildProperties(Collections.emptyMap()))).append('\n');
+        }
+        request.setEntity(new StringEntity(body.toString(), ContentType.create("application/x-ndjson")));
+        Response response = client().performRequest(request);
+        assertEquals(RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+        assertIndexExists(index);
+        assertEquals("failed to index documents", NUMBER_OF_FEATURES_TO_ADD, getIndexDocumentCount(index));
+    }
+
+    public void testIncrementalGeoJSONSequenceUpload() throws Exception {
+
+        String index = randomLowerCaseString();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < NUMBER_OF_FEATURES_TO_ADD; i++) {
+            body.append(randomGeoJSONFeature(buildProperties(Collections.emptyMap()))).append('\n');
+        }
+        Map<String, Object> first = uploadGeoJSONSequenceIncrementally(index, body.toString());
+        assertEquals(0, first.get("unchanged"));
+        // upload of the same features again doesn't index any of them
+        Map<String, Object> second = uploadGeoJSONSequenceIncrementally(index, body.toString());
+        assertEquals(NUMBER_OF_FEATURES_TO_ADD, second.get("unchanged"));
+        assertEquals(NUMBER_OF_FEATURES_TO_ADD, second.get("success"));
+        assertEquals("failed to index documents", NUMBER_OF_FEATURES_TO_ADD, getIndexDocumentCount(index));
+    }
+
+    private Map<String, Object> uploadGeoJSONSequenceIncrementally(String index, String body) throws IOException {
+        String path = String.join(
+            URL_DELIMITER,
+            getPluginURLPrefix(),
+            RestUploadGeoJSONAction.ACTION_OBJECT,
+            RestUploadGeoJSONSeqAction.ACTION_UPLOAD_SEQ
+        );
+        Request request = new Request("PUT", path);
+        request.addParameter(FIELD_INDEX.getPreferredName(), index);
+        request.addParameter(FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+        request.addParameter(RestUploadGeoJSONAction.PARAM_INCREMENTAL, "true");
+        request.setEntity(new StringEntity(body, ContentType.create("application/x-ndjson")));
+        Response response = client().performRequest(request);
+        assertEquals(RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+        return createParser(XContentType.JSON.xContent(), EntityUtils.toString(response.getEntity())).map();
+    }
+
+    public void testFlatGeobufUpload() throws Exception {
+
+        String index = randomLowerCaseString();
+        String path = String.join(
+            URL_DELIMITER,
+            getPluginURLPrefix(),
+            RestUploadFlatGeobufAction.ACTION_OBJECT_FLATGEOBUF,
+            RestUploadGeoJSONAction.ACTION_UPLOAD
+        );
+        Request request = new Request("POST", path);
+        request.addParameter(FIELD_INDEX.getPreferredName(), index);
+        request.addParameter(FIELD_GEOSPATIAL_TYPE.getPreferredName(), "geo_shape");
+        FlatGeobufTestBuilder builder = new FlatGeobufTestBuilder(FlatGeobufGeometryType.POINT, false).withIndex();
+        for (int i = 0; i < NUMBER_OF_FEATURES_TO_ADD; i++) {
+            builder.addFeature(new Point(randomDoubleBetween(-180, 180, true), randomDoubleBetween(-90, 90, true)), Map.of());
+        }
+        request.setEntity(new ByteArrayEntity(builder.build(), ContentType.create("application/cbor")));
+        Response response = client().performRequest(request);
+        assertEquals(RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+        assertIndexExists(index);
+        assertEquals("failed to index documents", NUMBER_OF_FEATURES_TO_ADD, getIndexDocumentCount(index));
+    }
 }
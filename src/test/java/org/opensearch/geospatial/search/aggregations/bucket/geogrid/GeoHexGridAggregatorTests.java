@@ -95,7 +95,9 @@ public class GeoHexGridAggregatorTests extends AggregatorTestCase {
         int precision = randomPrecision();
         int numPoints = randomIntBetween(8, 128);
         Map<String, Integer> expectedCountPerGeoHex = new HashMap<>();
+        long aggregationCount = GeoHexGridStats.getInstance().getAggregationCount();
         testCase(new MatchAllDocsQuery(), GEO_POINT_FIELD_NAME, precision, null, geoHexGrid -> {
+            assertTrue(GeoHexGridStats.getInstance().getAggregationCount() > aggregationCount);
             assertEquals(expectedCountPerGeoHex.size(), geoHexGrid.getBuckets().size());
             for (GeoGrid.Bucket bucket : geoHexGrid.getBuckets()) {
                 assertEquals((long) expectedCountPerGeoHex.get(bucket.getKeyAsString()), bucket.getDocCount());
@@ -0,0 +1,115 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.telemetry.metrics.Counter;
+import org.opensearch.telemetry.metrics.Histogram;
+import org.opensearch.telemetry.metrics.MetricsRegistry;
+import org.opensearch.telemetry.metrics.tags.Tags;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class GeospatialMetricsTests extends OpenSearchTestCase {
+
+    private MetricsRegistry metricsRegistry;
+    private GeospatialMetrics metrics;
+
+    @Before
+    public void init() {
+        metricsRegistry = mock(MetricsRegistry.class);
+        when(metricsRegistry.createCounter(anyString(), anyString(), anyString())).thenAnswer(invocation -> mock(Counter.class));
+        when(metricsRegistry.createHistogram(anyString(), anyString(), anyString())).thenAnswer(invocation -> mock(Histogram.class));
+        metrics = new GeospatialMetrics();
+    }
+
+    public void testOnIp2GeoLookup_whenNotRegistered_thenNoop() {
+        metrics.onIp2GeoLookup(GeospatialTestHelper.randomLowerCaseString(), randomBoolean(), randomNonNegativeLong());
+        verify(metricsRegistry, never()).createCounter(anyString(), anyString(), anyString());
+    }
+
+    public void testRegister_thenRegisterCacheHitRatio() {
+        metrics.register(metricsRegistry, () -> 0.5);
+        verify(metricsRegistry).createGauge(eq(GeospatialMetrics.IP2GEO_CACHE_HIT_RATIO), anyString(), anyString(), any(), any());
+    }
+
+    public void testOnIp2GeoLookup_whenCacheHit_thenCountHitTaggedByDatasource() {
+        Counter hits = mock(Counter.class);
+        Counter misses = mock(Counter.class);
+        Histogram latency = mock(Histogram.class);
+        when(metricsRegistry.createCounter(eq(GeospatialMetrics.IP2GEO_CACHE_HITS), anyString(), anyString())).thenReturn(hits);
+        when(metricsRegistry.createCounter(eq(GeospatialMetrics.IP2GEO_CACHE_MISSES), anyString(), anyString())).thenReturn(misses);
+        when(metricsRegistry.createHistogram(eq(GeospatialMetrics.IP2GEO_LOOKUP_LATENCY), anyString(), anyString())).thenReturn(latency);
+        metrics.register(metricsRegistry, () -> 0d);
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+
+        metrics.onIp2GeoLookup(datasourceName, true, 2_000_000);
+
+        ArgumentCaptor<Tags> tags = ArgumentCaptor.forClass(Tags.class);
+        verify(hits).add(eq(1d), tags.capture());
+        verify(misses, never()).add(anyDouble(), any());
+        verify(latency).record(eq(2d), eq(tags.getValue()));
+        assertEquals(Map.of(GeospatialMetrics.TAG_DATASOURCE, datasourceName), tags.getValue().getTagsMap());
+    }
+
+    public void testOnUpload_thenRecordFeaturesPerSecondTaggedByIndex() {
+        Counter features = mock(Counter.class);
+        Histogram featuresPerSecond = mock(Histogram.class);
+        when(metricsRegistry.createCounter(eq(GeospatialMetrics.UPLOAD_FEATURES), anyString(), anyString())).thenReturn(features);
+        when(metricsRegistry.createHistogram(eq(GeospatialMetrics.UPLOAD_FEATURES_PER_SECOND), anyString(), anyString())).thenReturn(
+            featuresPerSecond
+        );
+        metrics.register(metricsRegistry, () -> 0d);
+        String indexName = GeospatialTestHelper.randomLowerCaseString();
+
+        metrics.onUpload(indexName, 500, 250);
+
+        ArgumentCaptor<Tags> tags = ArgumentCaptor.forClass(Tags.class);
+        verify(features).add(eq(500d), tags.capture());
+        verify(featuresPerSecond).record(eq(2000d), eq(tags.getValue()));
+        assertEquals(Map.of(GeospatialMetrics.TAG_INDEX, indexName), tags.getValue().getTagsMap());
+    }
+
+    public void testOnIp2GeoBulk_whenSameDatasource_thenReuseTagsOfDatasource() {
+        Counter rows = mock(Counter.class);
+        when(metricsRegistry.createCounter(eq(GeospatialMetrics.IP2GEO_DATASOURCE_UPDATE_ROWS), anyString(), anyString())).thenReturn(
+            rows
+        );
+        metrics.register(metricsRegistry, () -> 0d);
+        String datasourceName = GeospatialTestHelper.randomLowerCaseString();
+
+        metrics.onIp2GeoBulk(datasourceName, 10, 0);
+        metrics.onIp2GeoBulk(datasourceName, 20, 5);
+
+        ArgumentCaptor<Tags> tags = ArgumentCaptor.forClass(Tags.class);
+        verify(rows).add(eq(10d), tags.capture());
+        verify(rows).add(eq(20d), tags.capture());
+        assertSame(tags.getAllValues().get(0), tags.getAllValues().get(1));
+        assertEquals(Map.of(GeospatialMetrics.TAG_DATASOURCE, datasourceName), tags.getValue().getTagsMap());
+    }
+
+    public void testOnGeoHexGridAggregation_thenRecordCells() {
+        Histogram cells = mock(Histogram.class);
+        when(metricsRegistry.createHistogram(eq(GeospatialMetrics.GEOHEX_GRID_CELLS), anyString(), anyString())).thenReturn(cells);
+        metrics.register(metricsRegistry, () -> 0d);
+
+        metrics.onGeoHexGridAggregation(GeospatialTestHelper.randomLowerCaseString(), 42);
+
+        verify(cells).record(eq(42d), any(Tags.class));
+    }
+}
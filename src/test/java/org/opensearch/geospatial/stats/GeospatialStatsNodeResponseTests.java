@@ -0,0 +1,108 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoIndexingStats;
+import org.opensearch.geospatial.ip2geo.common.Ip2GeoLookupStats;
+import org.opensearch.geospatial.ip2geo.common.LookupFailureMode;
+import org.opensearch.geospatial.ip2geo.jobscheduler.DatasourceUpdateSchedulerStats;
+import org.opensearch.geospatial.ip2geo.listener.Ip2GeoWarmUpStats;
+import org.opensearch.geospatial.search.aggregations.bucket.geogrid.GeoHexGridStats;
+import org.opensearch.geospatial.stats.upload.UploadStatsBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class GeospatialStatsNodeResponseTests extends OpenSearchTestCase {
+
+    public static GeospatialStatsNodeResponse randomNodeResponse(String nodeID) {
+        DiscoveryNode node = new DiscoveryNode(
+            GeospatialTestHelper.randomLowerCaseString(),
+            nodeID,
+            buildNewFakeTransportAddress(),
+            emptyMap(),
+            emptySet(),
+            Version.CURRENT
+        );
+        long cacheEntries = randomIntBetween(0, 1000);
+        Ip2GeoLookupStats lookupStats = new Ip2GeoLookupStats(() -> cacheEntries, () -> cacheEntries * 100, () -> 1);
+        lookupStats.onCacheHit(randomIntBetween(1, 1_000_000));
+        lookupStats.onSearch(randomIntBetween(1, 1_000_000));
+        lookupStats.onDocumentProcessed(randomIntBetween(1, 1_000_000));
+        lookupStats.onLookupFailure(randomBoolean(), randomFrom(LookupFailureMode.values()));
+        Ip2GeoIndexingStats indexingStats = new Ip2GeoIndexingStats();
+        indexingStats.onBulk(randomIntBetween(1, 1000), randomIntBetween(0, 10), randomIntBetween(1, 1000));
+        indexingStats.onIndexingSucceeded(randomIntBetween(1, 1000));
+        DatasourceUpdateSchedulerStats schedulerStats = new DatasourceUpdateSchedulerStats(
+            randomIntBetween(0, 10),
+            randomIntBetween(0, 10),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
+        Ip2GeoWarmUpStats warmUpStats = new Ip2GeoWarmUpStats(
+            randomBoolean() ? Set.of() : Set.of(GeospatialTestHelper.randomLowerCaseString())
+        );
+        GeoHexGridStats geoHexGridStats = GeoHexGridStats.getInstance();
+        geoHexGridStats.onAggregation(randomIntBetween(0, 10000));
+        return new GeospatialStatsNodeResponse(
+            node,
+            UploadStatsBuilder.randomUploadStats(),
+            lookupStats,
+            indexingStats,
+            schedulerStats,
+            warmUpStats,
+            geoHexGridStats
+        );
+    }
+
+    public void testStream() throws IOException {
+        GeospatialStatsNodeResponse nodeResponse = randomNodeResponse(GeospatialTestHelper.randomLowerCaseString());
+        BytesStreamOutput output = new BytesStreamOutput();
+        nodeResponse.writeTo(output);
+        StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
+
+        GeospatialStatsNodeResponse serializedNodeResponse = new GeospatialStatsNodeResponse(in);
+        assertEquals(nodeResponse.getNode().getId(), serializedNodeResponse.getNode().getId());
+        assertEquals(nodeResponse.getUploadStats().getMetrics(), serializedNodeResponse.getUploadStats().getMetrics());
+        assertEquals(nodeResponse.getUploadStats().getTotalAPICount(), serializedNodeResponse.getUploadStats().getTotalAPICount());
+
+        Ip2GeoLookupStats lookupStats = nodeResponse.getIp2GeoLookupStats();
+        Ip2GeoLookupStats serializedLookupStats = serializedNodeResponse.getIp2GeoLookupStats();
+        assertEquals(lookupStats.getCacheHits(), serializedLookupStats.getCacheHits());
+        assertEquals(lookupStats.getCacheMisses(), serializedLookupStats.getCacheMisses());
+        assertEquals(lookupStats.getCacheEntries(), serializedLookupStats.getCacheEntries());
+        assertEquals(lookupStats.getCacheSizeInBytes(), serializedLookupStats.getCacheSizeInBytes());
+        assertEquals(lookupStats.getCacheEvictions(), serializedLookupStats.getCacheEvictions());
+        assertEquals(lookupStats.getTimedOut(), serializedLookupStats.getTimedOut());
+        assertEquals(lookupStats.getFailed(), serializedLookupStats.getFailed());
+        assertEquals(lookupStats.getProcessorLatency().percentile(50), serializedLookupStats.getProcessorLatency().percentile(50));
+        assertEquals(lookupStats.getSearchLatency().percentile(99), serializedLookupStats.getSearchLatency().percentile(99));
+
+        Ip2GeoIndexingStats indexingStats = nodeResponse.getIp2GeoIndexingStats();
+        Ip2GeoIndexingStats serializedIndexingStats = serializedNodeResponse.getIp2GeoIndexingStats();
+        assertEquals(indexingStats.getIndexedDocuments(), serializedIndexingStats.getIndexedDocuments());
+        assertEquals(indexingStats.getRejectedDocuments(), serializedIndexingStats.getRejectedDocuments());
+        assertEquals(indexingStats.getSucceeded(), serializedIndexingStats.getSucceeded());
+        assertEquals(indexingStats.getDocumentsPerSecond(), serializedIndexingStats.getDocumentsPerSecond());
+
+        assertEquals(nodeResponse.getDatasourceUpdateSchedulerStats(), serializedNodeResponse.getDatasourceUpdateSchedulerStats());
+        assertEquals(nodeResponse.getIp2GeoWarmUpStats(), serializedNodeResponse.getIp2GeoWarmUpStats());
+        assertEquals(
+            nodeResponse.getGeoHexGridStats().getAggregationCount(),
+            serializedNodeResponse.getGeoHexGridStats().getAggregationCount()
+        );
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import static org.opensearch.geospatial.GeospatialTestHelper.buildFieldNameValuePair;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class GeospatialStatsResponseTests extends OpenSearchTestCase {
+
+    private GeospatialStatsResponse randomResponse() {
+        List<GeospatialStatsNodeResponse> nodes = new ArrayList<>();
+        int nodeCount = randomIntBetween(1, 5);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(GeospatialStatsNodeResponseTests.randomNodeResponse(GeospatialTestHelper.randomLowerCaseString()));
+        }
+        return new GeospatialStatsResponse(new ClusterName(GeospatialTestHelper.randomLowerCaseString()), nodes, Collections.emptyList());
+    }
+
+    public void testToXContent() throws IOException {
+        GeospatialStatsResponse response = randomResponse();
+        String content = response.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).toString();
+        assertTrue(content.contains(buildFieldNameValuePair("cluster_name", response.getClusterName().value())));
+        for (GeospatialStatsNodeResponse nodeResponse : response.getNodes()) {
+            assertTrue(content.contains("\"" + nodeResponse.getNode().getId() + "\":{"));
+            assertTrue(content.contains(buildFieldNameValuePair("name", nodeResponse.getNode().getName())));
+            assertTrue(content.contains(buildFieldNameValuePair("hits", nodeResponse.getIp2GeoLookupStats().getCacheHits())));
+            assertTrue(
+                content.contains(
+                    buildFieldNameValuePair("indexed_documents", nodeResponse.getIp2GeoIndexingStats().getIndexedDocuments())
+                )
+            );
+            assertTrue(content.contains("\"warm_up\":{\"ready\":" + nodeResponse.getIp2GeoWarmUpStats().isReady()));
+            for (String pendingIndex : nodeResponse.getIp2GeoWarmUpStats().getPendingIndices()) {
+                assertTrue(content.contains("\"pending_indices\":[\"" + pendingIndex + "\"]"));
+            }
+        }
+        assertTrue(content.contains("\"geohex_grid\":{\"buckets\":{"));
+        assertTrue(content.contains("\"scheduler\":{\"queued\":"));
+    }
+
+    public void testStreams() throws IOException {
+        GeospatialStatsResponse response = randomResponse();
+        BytesStreamOutput output = new BytesStreamOutput();
+        response.writeTo(output);
+        StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
+
+        GeospatialStatsResponse serializedResponse = new GeospatialStatsResponse(in);
+        assertEquals(response.getClusterName(), serializedResponse.getClusterName());
+        assertEquals(response.getNodes().size(), serializedResponse.getNodes().size());
+        String content = response.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).toString();
+        String serializedContent = serializedResponse.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS).toString();
+        assertEquals(content, serializedContent);
+    }
+}
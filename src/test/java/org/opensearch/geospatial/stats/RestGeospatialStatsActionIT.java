@@ -0,0 +1,40 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import static org.opensearch.geospatial.shared.URLBuilder.getPluginURLPrefix;
+import static org.opensearch.geospatial.stats.RestGeospatialStatsAction.ACTION_STATS;
+
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.opensearch.client.Request;
+import org.opensearch.client.Response;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.geospatial.GeospatialRestTestCase;
+
+public class RestGeospatialStatsActionIT extends GeospatialRestTestCase {
+
+    private String getStatsPath() {
+        return String.join(URL_DELIMITER, getPluginURLPrefix(), ACTION_STATS);
+    }
+
+    public void testStatsAPISuccess() throws Exception {
+        Request request = new Request("GET", getStatsPath());
+        Response response = client().performRequest(request);
+        assertEquals("Failed to retrieve stats", RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+
+        String content = EntityUtils.toString(response.getEntity());
+        assertTrue(content.contains("\"uploads\""));
+        assertTrue(content.contains("\"ip2geo\""));
+        assertTrue(content.contains("\"warm_up\":{\"ready\":"));
+        assertTrue(content.contains("\"geohex_grid\""));
+    }
+
+    public void testStatsAPIForLocalNode() throws Exception {
+        Request request = new Request("GET", String.join(URL_DELIMITER, getStatsPath(), "_local"));
+        Response response = client().performRequest(request);
+        assertEquals("Failed to retrieve stats", RestStatus.OK, RestStatus.fromCode(response.getStatusLine().getStatusCode()));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.geospatial.stats;
+
+import java.io.IOException;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class StatsHistogramTests extends OpenSearchTestCase {
+
+    public void testBucket() {
+        assertEquals(0, StatsHistogram.bucket(-1));
+        assertEquals(0, StatsHistogram.bucket(0));
+        assertEquals(1, StatsHistogram.bucket(1));
+        assertEquals(2, StatsHistogram.bucket(2));
+        assertEquals(2, StatsHistogram.bucket(3));
+        assertEquals(11, StatsHistogram.bucket(1024));
+        assertEquals(StatsHistogram.BUCKETS - 1, StatsHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    public void testBucketIsWithinUpperBound() {
+        for (int i = 0; i < 100; i++) {
+            long value = randomLongBetween(0, (1L << (StatsHistogram.BUCKETS - 2)) - 1);
+            int bucket = StatsHistogram.bucket(value);
+            assertTrue(value < StatsHistogram.upperBound(bucket));
+            assertTrue(bucket == 0 || value >= StatsHistogram.upperBound(bucket - 1));
+        }
+        assertEquals(-1, StatsHistogram.upperBound(StatsHistogram.BUCKETS - 1));
+    }
+
+    public void testRecordAndAdd() {
+        StatsHistogram histogram = new StatsHistogram();
+        histogram.record(0);
+        histogram.record(5);
+        histogram.record(6);
+        assertEquals(1, histogram.getCount(0));
+        assertEquals(2, histogram.getCount(3));
+        assertEquals(3, histogram.getTotalCount());
+
+        StatsHistogram other = new StatsHistogram();
+        other.record(7);
+        other.record(Long.MAX_VALUE);
+        histogram.add(other);
+        assertEquals(3, histogram.getCount(3));
+        assertEquals(1, histogram.getCount(StatsHistogram.BUCKETS - 1));
+        assertEquals(5, histogram.getTotalCount());
+        assertEquals(2, other.getTotalCount());
+    }
+
+    public void testStreams() throws IOException {
+        StatsHistogram histogram = new StatsHistogram();
+        int valueCount = randomIntBetween(1, 20);
+        for (int i = 0; i < valueCount; i++) {
+            histogram.record(randomNonNegativeLong());
+        }
+        BytesStreamOutput output = new BytesStreamOutput();
+        histogram.writeTo(output);
+        StreamInput in = StreamInput.wrap(output.bytes().toBytesRef().bytes);
+        StatsHistogram serializedHistogram = new StatsHistogram(in);
+        for (int bucket = 0; bucket < StatsHistogram.BUCKETS; bucket++) {
+            assertEquals(histogram.getCount(bucket), serializedHistogram.getCount(bucket));
+        }
+    }
+
+    public void testToXContent() throws IOException {
+        StatsHistogram histogram = new StatsHistogram();
+        histogram.record(1000);
+        histogram.record(1023);
+        histogram.record(Long.MAX_VALUE);
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject().field("histogram");
+        histogram.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        String content = builder.endObject().toString();
+        assertEquals("{\"histogram\":[{\"lt\":1024,\"count\":2},{\"count\":1}]}", content);
+    }
+
+    public void testPercentile() {
+        StatsHistogram histogram = new StatsHistogram();
+        assertEquals(0, histogram.percentile(50));
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000);
+        }
+        assertEquals(127, histogram.percentile(50));
+        assertEquals(127, histogram.percentile(90));
+        assertEquals(1023, histogram.percentile(99));
+        assertEquals(1023, histogram.percentile(100));
+        expectThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+
+    public void testPercentilesToXContent() throws IOException {
+        StatsHistogram histogram = new StatsHistogram();
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        histogram.percentilesToXContent(builder);
+        String content = builder.endObject().toString();
+        assertEquals("{\"count\":2,\"p50\":0,\"p90\":" + (1L << 30) + ",\"p99\":" + (1L << 30) + "}", content);
+    }
+}
@@ -9,23 +9,28 @@ import static org.opensearch.geospatial.GeospatialTestHelper.GEOJSON;
 import static org.opensearch.geospatial.GeospatialTestHelper.buildFieldNameValuePair;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.IntStream;
 
+import org.opensearch.Version;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.geospatial.GeospatialTestHelper;
+import org.opensearch.geospatial.stats.StatsHistogram;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.VersionUtils;
 
 public class UploadStatsTests extends OpenSearchTestCase {
 
     private static final int NO_API_CALLED = 0;
     private static final int MIN_API_CALLED = 1;
     private static final int MAX_API_CALLED = 5;
+    private static final int MAX_METRIC_SIZE = 1024;
 
     public void testGetInstance() {
         UploadStats stats = new UploadStats();
@@ -36,7 +41,7 @@ public class UploadStatsTests extends OpenSearchTestCase {
         UploadStats stats = new UploadStats();
         assertEquals(NO_API_CALLED, stats.getTotalAPICount());
         int metricCount = randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
-        Set<UploadMetric> expectedMetrics = new HashSet<>();
+        List<UploadMetric> expectedMetrics = new ArrayList<>();
         IntStream.rangeClosed(MIN_API_CALLED, metricCount).forEach(unUsed -> {
             UploadMetric randomMetric = GeospatialTestHelper.generateRandomUploadMetric();
             expectedMetrics.add(randomMetric);
@@ -71,7 +76,7 @@ public class UploadStatsTests extends OpenSearchTestCase {
     public void testStreams() throws IOException {
         UploadStats stats = new UploadStats();
         int metricCount = randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
-        Set<UploadMetric> expectedMetrics = new HashSet<>();
+        List<UploadMetric> expectedMetrics = new ArrayList<>();
         IntStream.rangeClosed(MIN_API_CALLED, metricCount).forEach(unUsed -> {
             UploadMetric randomMetric = GeospatialTestHelper.generateRandomUploadMetric();
             expectedMetrics.add(randomMetric);
@@ -85,6 +90,131 @@ public class UploadStatsTests extends OpenSearchTestCase {
         assertNotNull("serialized stats cannot be null", serializedStats);
         assertEquals("api count is ", stats.getTotalAPICount(), serializedStats.getTotalAPICount());
         assertEquals("failed to serialize metrics", stats.getMetrics().size(), serializedStats.getMetrics().size());
+        assertEquals(stats.getTotalMetricCount(), serializedStats.getTotalMetricCount());
+        assertEquals(stats.getTotalUploadCount(), serializedStats.getTotalUploadCount());
+        assertEquals(stats.getTotalSuccessCount(), serializedStats.getTotalSuccessCount());
+        assertEquals(stats.getTotalFailedCount(), serializedStats.getTotalFailedCount());
+        assertEquals(stats.getTotalDuration(), serializedStats.getTotalDuration());
+        assertEquals(metricCount, serializedStats.getDurationHistogram().getTotalCount());
+        assertEquals(metricCount, serializedStats.getUploadHistogram().getTotalCount());
+    }
+
+    public void testStreamsToNodeBeforeAggregatedStats() throws IOException {
+        UploadStats stats = new UploadStats();
+        int metricCount = randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
+        IntStream.rangeClosed(MIN_API_CALLED, metricCount).forEach(unUsed -> {
+            stats.addMetric(GeospatialTestHelper.generateRandomUploadMetric());
+            stats.incrementAPICount();
+        });
+        Version previousVersion = VersionUtils.getPreviousVersion(UploadStats.AGGREGATED_STATS_VERSION);
+        BytesStreamOutput output = new BytesStreamOutput();
+        output.setVersion(previousVersion);
+        stats.writeTo(output);
+
+        // older nodes read API count followed by the list of metrics
+        StreamInput in = output.bytes().streamInput();
+        in.setVersion(previousVersion);
+        assertEquals(stats.getTotalAPICount(), in.readVLong());
+        assertEquals(stats.getMetrics(), in.readList(UploadMetric.UploadMetricBuilder::fromStreamInput));
+        assertEquals(0, in.available());
+    }
+
+    public void testStreamsFromNodeBeforeAggregatedStats() throws IOException {
+        List<UploadMetric> metrics = new ArrayList<>();
+        long expectedUploadCount = 0;
+        int metricCount = randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
+        for (int i = 0; i < metricCount; i++) {
+            UploadMetric randomMetric = GeospatialTestHelper.generateRandomUploadMetric();
+            metrics.add(randomMetric);
+            expectedUploadCount += randomMetric.getUploadCount();
+        }
+        Version previousVersion = VersionUtils.getPreviousVersion(UploadStats.AGGREGATED_STATS_VERSION);
+        BytesStreamOutput output = new BytesStreamOutput();
+        output.setVersion(previousVersion);
+        output.writeVLong(metricCount);
+        output.writeCollection(metrics);
+
+        StreamInput in = output.bytes().streamInput();
+        in.setVersion(previousVersion);
+        UploadStats serializedStats = UploadStats.fromStreamInput(in);
+        assertEquals(metricCount, serializedStats.getTotalAPICount());
+        assertEquals(metrics, serializedStats.getMetrics());
+        assertEquals(metricCount, serializedStats.getTotalMetricCount());
+        assertEquals(expectedUploadCount, serializedStats.getTotalUploadCount());
+        assertEquals(metricCount, serializedStats.getDurationHistogram().getTotalCount());
+    }
+
+    public void testKeepsOnlyRecentMetrics() {
+        int capacity = randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
+        UploadStats stats = new UploadStats(capacity);
+        int metricCount = capacity + randomIntBetween(MIN_API_CALLED, MAX_API_CALLED);
+        List<UploadMetric> addedMetrics = new ArrayList<>();
+        long expectedUploadCount = 0;
+        for (int i = 0; i < metricCount; i++) {
+            UploadMetric randomMetric = GeospatialTestHelper.generateRandomUploadMetric();
+            addedMetrics.add(randomMetric);
+            expectedUploadCount += randomMetric.getUploadCount();
+            stats.addMetric(randomMetric);
+        }
+        assertEquals(addedMetrics.subList(metricCount - capacity, metricCount), stats.getMetrics());
+        assertEquals(metricCount, stats.getTotalMetricCount());
+        assertEquals(expectedUploadCount, stats.getTotalUploadCount());
+        assertEquals(metricCount, stats.getUploadHistogram().getTotalCount());
+    }
+
+    public void testStreamsInConstantSize() throws IOException {
+        UploadStats stats = new UploadStats(MIN_API_CALLED);
+        stats.addMetric(GeospatialTestHelper.generateRandomUploadMetric());
+        BytesStreamOutput output = new BytesStreamOutput();
+        stats.writeTo(output);
+        long maxSize = output.size();
+        for (int i = 0; i < MAX_API_CALLED; i++) {
+            stats.addMetric(GeospatialTestHelper.generateRandomUploadMetric());
+            stats.incrementAPICount();
+            output = new BytesStreamOutput();
+            stats.writeTo(output);
+            maxSize = Math.max(maxSize, output.size());
+        }
+        // counters and histograms are written as variable length longs of at most 10 bytes, besides a single recent metric
+        int maxValueCount = 6 + 2 * (StatsHistogram.BUCKETS + 1);
+        assertTrue(maxSize <= maxValueCount * 10 + MAX_METRIC_SIZE);
+    }
+
+    public void testAddMetricConcurrently() throws InterruptedException {
+        UploadStats stats = new UploadStats();
+        int threadCount = randomIntBetween(2, 8);
+        int metricsPerThread = randomIntBetween(MIN_API_CALLED, UploadStats.RECENT_METRICS_CAPACITY);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            List<UploadMetric> metrics = new ArrayList<>();
+            for (int j = 0; j < metricsPerThread; j++) {
+                metrics.add(GeospatialTestHelper.generateRandomUploadMetric());
+            }
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                metrics.forEach(metric -> {
+                    stats.addMetric(metric);
+                    stats.incrementAPICount();
+                });
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long expectedCount = (long) threadCount * metricsPerThread;
+        assertEquals(expectedCount, stats.getTotalAPICount());
+        assertEquals(expectedCount, stats.getTotalMetricCount());
+        assertEquals(expectedCount, stats.getDurationHistogram().getTotalCount());
+        assertEquals(Math.min(expectedCount, UploadStats.RECENT_METRICS_CAPACITY), stats.getMetrics().size());
     }
 
     public void testToXContent() throws IOException {